@@ -0,0 +1,53 @@
+package com.kanban.backend.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O preço do BCrypt por fator de custo: 'encode' (cadastro) e 'matches' (login).
+ * Cada +1 no custo dobra o tempo. O login roda 'matches' uma vez por tentativa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String SENHA = "senha-do-benchmark-123";
+
+    @Param({"4", "8", "10", "12"})
+    private int custo;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void preparar() {
+        encoder = new BCryptPasswordEncoder(custo);
+        hash = encoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(SENHA);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(SENHA, hash);
+    }
+}
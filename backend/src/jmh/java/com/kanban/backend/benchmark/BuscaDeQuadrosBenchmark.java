@@ -0,0 +1,91 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.BuscaDeQuadros;
+import com.kanban.backend.service.ImportadorDeQuadros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A busca em memória ('BuscaDeQuadros' / 'IndiceInvertido') no workspace de um usuário
+ * com 50 mil fichas: 10 mil quadros ("Projeto N do time M") com 4 colunas cada.
+ * A consulta "f" (uma letra: 30 mil colunas na faixa) é o pior caso; "projeto 42" é
+ * guiada pela palavra mais rara (111 quadros).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuscaDeQuadrosBenchmark {
+
+    private static final int QUADROS = 10_000;
+
+    @Param({"faz", "projeto 42", "time 1", "revisao", "f", "proj time 36"})
+    private String consulta;
+
+    private ConfigurableApplicationContext contexto;
+    private BuscaDeQuadros buscaDeQuadros;
+    private Long usuarioId;
+
+    @Setup
+    public void preparar() throws IOException {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off")
+            .run();
+        buscaDeQuadros = contexto.getBean(BuscaDeQuadros.class);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Busca");
+        usuario.setEmail("busca-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuarioId = contexto.getBean(UsuarioRepository.class).save(usuario).getId();
+
+        // A importação indexa os quadros depois do commit de cada lote.
+        StringBuilder ndjson = new StringBuilder();
+        for (int id = 1; id <= QUADROS; id++) {
+            ndjson.append("{\"nome\":\"Projeto ").append(id).append(" do time ").append(id % 37)
+                .append("\",\"colunas\":[\"A Fazer\",\"Fazendo\",\"Feito\",\"Em revisão\"]}\n");
+        }
+        contexto.getBean(ImportadorDeQuadros.class).importarJson(usuarioId,
+            new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)), 1);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<ItemDeBuscaDTO> buscar() {
+        return buscaDeQuadros.buscar(usuarioId, consulta, 20);
+    }
+}
@@ -0,0 +1,295 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.config.LimitadorDeConexoes;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * Teste de carga HTTP: o mesmo servidor, com threads de plataforma (padrão) e com
+ * threads virtuais ('spring.threads.virtual.enabled'), medindo vazão e latência p99
+ * do GET /api/quadros/{id}. Banco H2 embutido (o de 'src/test/resources'), com uma
+ * latência artificial por comando JDBC para imitar a ida e volta até um MySQL real.
+ *
+ * Cada modo sobe a aplicação do zero, aquece e depois mede. O modo "virtual" precisa
+ * de um JDK 21+ (no Java 17 ele é pulado).
+ *
+ * Com '-Dcarga.logins=N', cada modo é medido de novo com N clientes fazendo POST /api/login
+ * sem parar (a "tempestade de logins", BCrypt pesado): a latência das leituras de quadros
+ * deve ficar parecida com a da linha sem logins (o BCrypt roda no 'ExecutorDeHash').
+ *
+ *   mvn -Pbenchmark,java21 -DskipTests test-compile exec:exec@carga
+ */
+public final class CargaHttpBenchmark {
+
+    private static final int QUADROS = 20;
+    private static final int CARTOES_POR_COLUNA = 10;
+    private static final String SENHA = "senha-da-carga";
+
+    private CargaHttpBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> modos = Arrays.asList(System.getProperty("carga.modos", "plataforma,virtual").split(","));
+        int clientes = Integer.getInteger("carga.clientes", 400);
+        int aquecimento = Integer.getInteger("carga.aquecimento", 5);
+        int segundos = Integer.getInteger("carga.segundos", 20);
+        int logins = Integer.getInteger("carga.logins", 0);
+
+        List<String> linhas = new ArrayList<>();
+        for (String modo : modos) {
+            boolean virtual = modo.trim().equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                linhas.add(String.format("%-10s  (pulado: precisa de Java 21+, rodando no %d)", modo, Runtime.version().feature()));
+                continue;
+            }
+            linhas.addAll(medir(modo.trim(), virtual, clientes, logins, aquecimento, segundos));
+        }
+
+        System.out.printf("%nGET /api/quadros/{id}: %d clientes, %d s, latencia JDBC simulada %s ms%n",
+            clientes, segundos, System.getProperty("carga.latencia-ms", "5"));
+        System.out.printf("%-10s  %7s  %10s  %9s  %9s  %9s  %7s  %-15s  %s%n",
+            "modo", "logins", "req/s", "p50 (ms)", "p99 (ms)", "max (ms)", "erros", "logins ok/503", "limitador");
+        linhas.forEach(System.out::println);
+    }
+
+    private static List<String> medir(String modo, boolean virtual, int clientes, int logins, int aquecimento, int segundos) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(BackendApplication.class, LatenciaSimulada.class)
+                .properties(
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtual,
+                    "spring.datasource.hikari.maximum-pool-size=" + System.getProperty("carga.pool", "20"),
+                    "spring.jpa.show-sql=false",
+                    // A tempestade de logins usa um email e um IP só: sem a "Catraca de Fichas",
+                    // para os logins chegarem de fato ao BCrypt ('ExecutorDeHash').
+                    "api.security.login.limite.habilitado=false",
+                    "logging.level.root=WARN",
+                    "spring.main.banner-mode=off")
+                .run()) {
+
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+            Massa massa = prepararMassa(contexto);
+            HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            rodar(http, base, massa, clientes, 0, aquecimento);
+
+            List<String> linhas = new ArrayList<>();
+            for (int tempestade : logins > 0 ? new int[] { 0, logins } : new int[] { 0 }) {
+                Resultado resultado = rodar(http, base, massa, clientes, tempestade, segundos);
+
+                String limitador = contexto.getBean(DataSource.class) instanceof LimitadorDeConexoes l
+                    ? "ligado (" + l.tamanho() + " senhas, " + l.esperasEsgotadas() + " esperas esgotadas)"
+                    : "desligado";
+                linhas.add(String.format("%-10s  %7d  %10.0f  %9.2f  %9.2f  %9.2f  %7d  %-15s  %s",
+                    modo, tempestade, resultado.vazao(segundos), resultado.percentil(50), resultado.percentil(99),
+                    resultado.percentil(100), resultado.erros,
+                    tempestade == 0 ? "-" : resultado.loginsOk.sum() + "/" + resultado.loginsRecusados.sum(), limitador));
+            }
+            return linhas;
+        }
+    }
+
+    /**
+     * Cada cliente repete GETs (com o token) em quadros sorteados, durante 'segundos'.
+     * Ao mesmo tempo, 'logins' clientes repetem POST /api/login (só contamos as respostas).
+     */
+    private static Resultado rodar(HttpClient http, String base, Massa massa, int clientes, int logins, int segundos) throws Exception {
+        long fim = System.nanoTime() + TimeUnit.SECONDS.toNanos(segundos);
+        ExecutorService executor = Executors.newFixedThreadPool(clientes + logins);
+        Resultado resultado = new Resultado();
+        try {
+            HttpRequest login = HttpRequest.newBuilder(URI.create(base + "/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"email\":\"" + massa.email + "\",\"senha\":\"" + SENHA + "\"}"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+            for (int c = 0; c < logins; c++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < fim) {
+                        try {
+                            int status = http.send(login, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            (status == 200 ? resultado.loginsOk : resultado.loginsRecusados).increment();
+                        } catch (Exception e) {
+                            resultado.loginsRecusados.increment();
+                        }
+                    }
+                });
+            }
+
+            List<Future<long[]>> futuros = new ArrayList<>();
+            for (int c = 0; c < clientes; c++) {
+                futuros.add(executor.submit(() -> {
+                    long[] latencias = new long[1024];
+                    int n = 0;
+                    long erros = 0;
+                    while (System.nanoTime() < fim) {
+                        Long quadroId = massa.quadros.get(ThreadLocalRandom.current().nextInt(massa.quadros.size()));
+                        HttpRequest pedido = HttpRequest.newBuilder(URI.create(base + "/api/quadros/" + quadroId))
+                            .header("Authorization", massa.token)
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                        long inicio = System.nanoTime();
+                        try {
+                            int status = http.send(pedido, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) erros++;
+                        } catch (Exception e) {
+                            erros++;
+                        }
+                        if (n == latencias.length) latencias = Arrays.copyOf(latencias, n * 2);
+                        latencias[n++] = System.nanoTime() - inicio;
+                    }
+                    long[] parcial = Arrays.copyOf(latencias, n + 1);
+                    parcial[n] = -erros - 1; // O último item carrega os erros (negativo).
+                    return parcial;
+                }));
+            }
+
+            for (Future<long[]> futuro : futuros) {
+                long[] parcial = futuro.get();
+                resultado.erros += -parcial[parcial.length - 1] - 1;
+                resultado.adicionar(Arrays.copyOf(parcial, parcial.length - 1));
+            }
+            executor.shutdown(); // Espera os clientes de login terminarem a última tentativa.
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            return resultado;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Massa prepararMassa(ConfigurableApplicationContext contexto) {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Carga");
+        usuario.setEmail("carga-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha(contexto.getBean(PasswordEncoder.class).encode(SENHA));
+        usuario = contexto.getBean(UsuarioRepository.class).save(usuario);
+
+        QuadroService quadroService = contexto.getBean(QuadroService.class);
+        Massa massa = new Massa();
+        massa.email = usuario.getEmail();
+        massa.token = "Bearer " + contexto.getBean(TokenService.class).gerarToken(usuario);
+        for (int q = 0; q < QUADROS; q++) {
+            Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro " + q, usuario.getId());
+            for (Coluna coluna : quadro.getColunas()) {
+                for (int c = 0; c < CARTOES_POR_COLUNA; c++) {
+                    quadroService.criarCartao(coluna.getId(), "Cartão " + c, null, usuario.getId());
+                }
+            }
+            massa.quadros.add(quadro.getId());
+        }
+        return massa;
+    }
+
+    private static final class Massa {
+        private final List<Long> quadros = new ArrayList<>();
+        private String email;
+        private String token;
+    }
+
+    private static final class Resultado {
+        private long[] latencias = new long[0];
+        private long erros;
+        private final LongAdder loginsOk = new LongAdder();
+        private final LongAdder loginsRecusados = new LongAdder();
+
+        private void adicionar(long[] parcial) {
+            int inicio = latencias.length;
+            latencias = Arrays.copyOf(latencias, inicio + parcial.length);
+            System.arraycopy(parcial, 0, latencias, inicio, parcial.length);
+        }
+
+        private double vazao(int segundos) {
+            return (double) latencias.length / segundos;
+        }
+
+        private double percentil(int p) {
+            if (latencias.length == 0) return 0;
+            long[] ordenadas = latencias.clone();
+            Arrays.sort(ordenadas);
+            int indice = (int) Math.ceil(p / 100.0 * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, indice)] / 1e6;
+        }
+    }
+
+    /**
+     * Atrasa cada comando JDBC em 'carga.latencia-ms': o H2 em memória responde em
+     * microssegundos, e o que queremos medir é o servidor com threads ESPERANDO o banco.
+     */
+    @Configuration
+    static class LatenciaSimulada {
+
+        @Bean
+        static BeanPostProcessor latenciaSimuladaPostProcessor() {
+            long latencia = Long.getLong("carga.latencia-ms", 5);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource alvo) || latencia <= 0) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(alvo) {
+                        @Override
+                        public Connection getConnection() throws java.sql.SQLException {
+                            return lenta(Connection.class, super.getConnection(), latencia);
+                        }
+                    };
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T lenta(Class<T> tipo, T alvo, long latencia) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] { tipo }, (proxy, metodo, argumentos) -> {
+                if (metodo.getName().startsWith("execute")) {
+                    Thread.sleep(latencia);
+                }
+                try {
+                    Object resultado = metodo.invoke(alvo, argumentos);
+                    if (resultado instanceof PreparedStatement comando && metodo.getName().equals("prepareStatement")) {
+                        return lenta(PreparedStatement.class, comando, latencia);
+                    }
+                    if (resultado instanceof Statement comando && metodo.getName().equals("createStatement")) {
+                        return lenta(Statement.class, comando, latencia);
+                    }
+                    return resultado;
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 'criarQuadroComColunasPadrao' (o quadro + as 3 colunas padrão numa transação), no H2
+ * embutido (o de 'src/test/resources').
+ * - lote=50: o JDBC batching da configuração (1 INSERT em lote por tabela);
+ * - lote=1: sem batching, um comando por linha (como antes dos IDs por sequência).
+ * As idas ao banco por quadro ficam com o 'CriacaoDeQuadroBenchmarkTest'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CriacaoDeQuadroBenchmark {
+
+    @Param({"1", "50"})
+    private int lote;
+
+    private ConfigurableApplicationContext contexto;
+    private QuadroService quadroService;
+    private Long usuarioId;
+    private int contador;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off")
+            // Argumento (e não 'properties', que o 'application.properties' sobrescreve).
+            .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + lote);
+        quadroService = contexto.getBean(QuadroService.class);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Criação");
+        usuario.setEmail("criacao-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuarioId = contexto.getBean(UsuarioRepository.class).save(usuario).getId();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Quadro criarQuadro() {
+        return quadroService.criarQuadroComColunasPadrao("Quadro " + contador++, usuarioId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.dto.RelatorioImportacaoDTO;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.ImportadorDeQuadros;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A importação em massa ('ImportadorDeQuadros') de 'quadros' quadros com 5 colunas cada
+ * (NDJSON), no H2 embutido (o de 'src/test/resources'), com lotes de tamanhos diferentes.
+ * 'quadros=20000' são as 100 mil colunas da vazão citada no 'ImportadorDeQuadros'.
+ * Divida o tempo por 'quadros' x 5 para o custo por coluna (colunas/s = colunas / tempo).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportacaoDeQuadrosBenchmark {
+
+    @Param({"1000", "20000"})
+    private int quadros;
+
+    @Param({"50", "500"})
+    private int lote;
+
+    private ConfigurableApplicationContext contexto;
+    private ImportadorDeQuadros importadorDeQuadros;
+    private Long usuarioId;
+    private byte[] arquivo;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off")
+            // Argumento (e não 'properties', que o 'application.properties' sobrescreve).
+            .run("--api.quadros.importacao.lote=" + lote);
+        importadorDeQuadros = contexto.getBean(ImportadorDeQuadros.class);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Importação");
+        usuario.setEmail("importacao-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuarioId = contexto.getBean(UsuarioRepository.class).save(usuario).getId();
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < quadros; i++) {
+            ndjson.append("{\"nome\":\"Quadro ").append(i)
+                .append("\",\"colunas\":[\"Backlog\",\"A Fazer\",\"Fazendo\",\"Revisão\",\"Feito\"]}\n");
+        }
+        arquivo = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public RelatorioImportacaoDTO importar() throws IOException {
+        return importadorDeQuadros.importarJson(usuarioId, new ByteArrayInputStream(arquivo), 1);
+    }
+}
@@ -0,0 +1,124 @@
+package com.kanban.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+
+import org.hibernate.Hibernate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O JSON do GET /api/quadros/{id} montado do banco (H2 embutido, o de 'src/test/resources'),
+ * do jeito antigo e do jeito novo:
+ * - 'entidade': 'findById' (@EntityGraph) + os cartões (SUBSELECT) numa transação só de
+ *   leitura, e o Jackson lendo as entidades (como o montador do 'RetratosDosQuadros' fazia);
+ * - 'dto': 'QuadroService.buscarQuadroCompleto' (duas consultas em DTO) e o Jackson lendo os records.
+ *
+ * 'cacheL2=true': as leituras repetidas vêm do cache L2 (entidades x cache de consultas);
+ * 'false': toda leitura vai ao banco. Rode com '-prof gc' para as alocações por resposta.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeituraDoQuadroBenchmark {
+
+    @Param({"10", "100"})
+    private int cartoesPorColuna;
+
+    @Param({"true", "false"})
+    private boolean cacheL2;
+
+    private ConfigurableApplicationContext contexto;
+    private QuadroService quadroService;
+    private QuadroRepository quadroRepository;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate leitura;
+    private Long quadroId;
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + cacheL2,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + cacheL2,
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off")
+            .run();
+        quadroService = contexto.getBean(QuadroService.class);
+        quadroRepository = contexto.getBean(QuadroRepository.class);
+        objectMapper = contexto.getBean(ObjectMapper.class);
+        leitura = new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class));
+        leitura.setReadOnly(true);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Leitura");
+        usuario.setEmail("leitura-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = contexto.getBean(UsuarioRepository.class).save(usuario);
+
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro do benchmark", usuario.getId());
+        for (Coluna coluna : quadro.getColunas()) {
+            for (int c = 0; c < cartoesPorColuna; c++) {
+                quadroService.criarCartao(coluna.getId(), "Cartão " + c, "Descrição do cartão " + c, usuario.getId());
+            }
+        }
+        quadroId = quadro.getId();
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] entidade() {
+        return leitura.execute(status -> {
+            Quadro quadro = quadroRepository.findById(quadroId).orElseThrow();
+            for (Coluna coluna : quadro.getColunas()) {
+                Hibernate.initialize(coluna.getCartoes());
+            }
+            return escrever(quadro);
+        });
+    }
+
+    @Benchmark
+    public byte[] dto() {
+        return escrever(quadroService.buscarQuadroCompleto(quadroId).orElseThrow());
+    }
+
+    private byte[] escrever(Object quadro) {
+        try {
+            return objectMapper.writeValueAsBytes(quadro);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
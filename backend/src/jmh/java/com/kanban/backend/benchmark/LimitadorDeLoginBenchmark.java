@@ -0,0 +1,81 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.security.LimitadorDeLogin;
+import com.kanban.backend.service.SobrecargaException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O custo da "Catraca de Fichas" por tentativa de login, com 4 threads disputando:
+ * - 'ataqueAUmEmail': força bruta num email só (quase tudo vira 429);
+ * - 'credentialStuffing': 1 milhão de emails vindos de 5 mil IPs (o mapa enche,
+ *   despeja chaves e continua limitado a 'maximo-de-chaves').
+ *
+ * CPU sob ataque = tentativas/s x tempo por tentativa. Ex: 10 mil req/s x 5 us = 5% de
+ * UM núcleo, contra 10 mil x ~100 ms = 1000 núcleos se cada tentativa chegasse ao BCrypt.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class LimitadorDeLoginBenchmark {
+
+    private static final int EMAILS = 1_000_000;
+    private static final int IPS = 5_000;
+
+    private LimitadorDeLogin limitador;
+    private String[] emails;
+    private String[] ips;
+
+    @Setup
+    public void preparar() {
+        limitador = new LimitadorDeLogin(true, 5, 20, Duration.ofMinutes(1), 100_000, new SimpleMeterRegistry());
+        emails = new String[EMAILS];
+        for (int i = 0; i < EMAILS; i++) {
+            emails[i] = "vitima" + i + "@kanban.com";
+        }
+        ips = new String[IPS];
+        for (int i = 0; i < IPS; i++) {
+            ips[i] = "10." + (i >> 16 & 255) + "." + (i >> 8 & 255) + "." + (i & 255);
+        }
+    }
+
+    @Benchmark
+    public boolean ataqueAUmEmail() {
+        return tentar("admin@kanban.com", "10.6.6.6");
+    }
+
+    @Benchmark
+    public boolean credentialStuffing() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        return tentar(emails[aleatorio.nextInt(EMAILS)], ips[aleatorio.nextInt(IPS)]);
+    }
+
+    private boolean tentar(String email, String ip) {
+        try {
+            limitador.verificar(email, ip);
+            return true;
+        } catch (SobrecargaException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.BackendApplication;
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.RankFracionario;
+import com.kanban.backend.service.RepetidorDeConflitos;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 'QuadroService.moverCartao' numa coluna com 10 mil cartões (H2 embutido, o de
+ * 'src/test/resources'): cada movimento leva um cartão qualquer para um lugar qualquer
+ * da mesma coluna, pelo 'RepetidorDeConflitos' (como o Controller faz).
+ * O custo não deve crescer com o tamanho da coluna: só a linha do cartão movido muda
+ * (o 'MoverCartaoBenchmarkTest' conta as linhas e as idas ao banco).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoverCartaoBenchmark {
+
+    private static final int CARTOES = 10_000;
+
+    private ConfigurableApplicationContext contexto;
+    private QuadroService quadroService;
+    private RepetidorDeConflitos repetidor;
+    private Long usuarioId;
+    private List<Long> ordem; // A ordem dos cartões (espelho em memória).
+    private final Random aleatorio = new Random(7);
+
+    @Setup
+    public void preparar() {
+        contexto = new SpringApplicationBuilder(BackendApplication.class)
+            .properties(
+                "server.port=0",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN",
+                "spring.main.banner-mode=off")
+            .run();
+        quadroService = contexto.getBean(QuadroService.class);
+        repetidor = contexto.getBean(RepetidorDeConflitos.class);
+        CartaoRepository cartaoRepository = contexto.getBean(CartaoRepository.class);
+        ColunaRepository colunaRepository = contexto.getBean(ColunaRepository.class);
+
+        Usuario usuario = new Usuario();
+        usuario.setNome("Mover");
+        usuario.setEmail("mover-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuarioId = contexto.getBean(UsuarioRepository.class).save(usuario).getId();
+
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro grande", usuarioId);
+        Long colunaId = quadro.getColunas().get(0).getId();
+        ordem = new ArrayList<>(new TransactionTemplate(contexto.getBean(PlatformTransactionManager.class)).execute(status -> {
+            Coluna coluna = colunaRepository.getReferenceById(colunaId);
+            List<String> posicoes = RankFracionario.distribuidas(CARTOES);
+            List<Cartao> cartoes = new ArrayList<>(CARTOES);
+            for (int i = 0; i < CARTOES; i++) {
+                cartoes.add(new Cartao(null, "Cartão " + i, null, posicoes.get(i), null, coluna));
+            }
+            return cartaoRepository.saveAll(cartoes).stream().map(Cartao::getId).toList();
+        }));
+    }
+
+    @TearDown
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Cartao moverCartao() {
+        Long cartao = ordem.remove(aleatorio.nextInt(ordem.size()));
+        int lugar = aleatorio.nextInt(ordem.size() + 1);
+        Long anterior = lugar == 0 ? null : ordem.get(lugar - 1);
+        Long proximo = lugar == ordem.size() ? null : ordem.get(lugar);
+
+        Cartao movido = repetidor.repetir("mover-cartao",
+            () -> quadroService.moverCartao(cartao, null, anterior, proximo, usuarioId));
+        ordem.add(lugar, cartao);
+        return movido;
+    }
+}
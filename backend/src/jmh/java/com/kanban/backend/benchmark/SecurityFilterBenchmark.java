@@ -0,0 +1,109 @@
+package com.kanban.backend.benchmark;
+
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.security.ModoAutenticacao;
+import com.kanban.backend.security.SecurityFilter;
+import com.kanban.backend.security.UsuarioPrincipalCache;
+import com.kanban.backend.service.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * O "Guarda-Costas" inteiro ('SecurityFilter.doFilterInternal'), por requisição:
+ * extrair o token do cabeçalho, validá-lo e montar o crachá no 'SecurityContextHolder'.
+ * O banco é um mock (modo BANCO: o "Arquivo de Mesa" responde na hora), então o que
+ * sobra é o custo de CPU do filtro. 'cacheDeTokens' liga/desliga o cache do 'TokenService'.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityFilterBenchmark {
+
+    private static final String SECRET = "NCo6UDIqeVg5JChLIyZBISE=";
+
+    @Param({"TOKEN", "BANCO"})
+    private ModoAutenticacao modo;
+
+    @Param({"true", "false"})
+    private boolean cacheDeTokens;
+
+    private SecurityFilter filtro;
+    private MockHttpServletRequest comToken;
+    private MockHttpServletRequest semToken;
+    private MockHttpServletResponse resposta;
+    private FilterChain cadeia;
+
+    @Setup
+    public void preparar() {
+        TokenService tokenService = new TokenService(SECRET, cacheDeTokens, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        Usuario usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setNome("Benchmark");
+        usuario.setEmail("bench@kanban.com");
+
+        UsuarioPrincipalCache principais = mock(UsuarioPrincipalCache.class, withSettings().stubOnly());
+        when(principais.buscarPorEmail(anyString())).thenReturn(Optional.of(usuario));
+
+        filtro = new SecurityFilter();
+        ReflectionTestUtils.setField(filtro, "tokenService", tokenService);
+        ReflectionTestUtils.setField(filtro, "usuarioPrincipalCache", principais);
+        ReflectionTestUtils.setField(filtro, "modo", modo);
+        ReflectionTestUtils.setField(filtro, "meterRegistry", new SimpleMeterRegistry());
+        filtro.registrarCronometros();
+
+        comToken = new MockHttpServletRequest("GET", "/api/quadros/1");
+        comToken.addHeader("Authorization", "Bearer " + tokenService.gerarToken(usuario));
+        semToken = new MockHttpServletRequest("GET", "/api/quadros/1");
+        resposta = new MockHttpServletResponse();
+        cadeia = (request, response) -> { };
+    }
+
+    @Benchmark
+    public Object filtrarComToken() throws Exception {
+        filtro.doFilter(comToken, resposta, cadeia);
+        return autenticacaoDaRequisicao();
+    }
+
+    @Benchmark
+    public Object filtrarSemToken() throws Exception {
+        filtro.doFilter(semToken, resposta, cadeia);
+        return autenticacaoDaRequisicao();
+    }
+
+    // O que o filtro deixou no "Cofre", limpando-o para a próxima "requisição".
+    private static Object autenticacaoDaRequisicao() {
+        Object autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return autenticacao;
+    }
+}
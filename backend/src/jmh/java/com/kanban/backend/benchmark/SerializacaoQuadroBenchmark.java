@@ -0,0 +1,101 @@
+package com.kanban.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.dto.QuadroDTO;
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.service.RankFracionario;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O JSON do GET /api/quadros/{id}: um quadro com as colunas e os cartões,
+ * em tamanhos diferentes. O ObjectMapper é montado como o do Spring Boot
+ * ('Jackson2ObjectMapperBuilder', com os módulos de data/hora).
+ *
+ * * 'entidade': o JSON escrito a partir das entidades (como era antes do 'QuadroDTO').
+ * * 'dto': o mesmo JSON, a partir dos records ('QuadroDTO' / 'ColunaDTO' / 'CartaoDTO').
+ * Para ver as alocações por resposta, rode com o profiler de GC do JMH ('-prof gc',
+ * na linha de comando do 'org.openjdk.jmh.Main'): 'gc.alloc.rate.norm' = bytes por chamada.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoQuadroBenchmark {
+
+    private static final int COLUNAS = 5;
+
+    @Param({"0", "10", "100", "1000"})
+    private int cartoesPorColuna;
+
+    private ObjectMapper objectMapper;
+    private Quadro quadro;
+    private QuadroDTO quadroDTO;
+
+    @Setup
+    public void preparar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        quadro = new Quadro();
+        quadro.setId(1L);
+        quadro.setNome("Quadro do benchmark");
+        quadro.setAtualizadoEm(Instant.now());
+        quadro.setVersao(7L);
+        Usuario dono = new Usuario();
+        dono.setId(1L);
+        quadro.setUsuario(dono);
+
+        List<String> posicoesDasColunas = RankFracionario.distribuidas(COLUNAS);
+        List<String> posicoesDosCartoes = RankFracionario.distribuidas(cartoesPorColuna);
+        List<Coluna> colunas = new ArrayList<>();
+        long id = 1;
+        for (int c = 0; c < COLUNAS; c++) {
+            Coluna coluna = new Coluna();
+            coluna.setId(id++);
+            coluna.setNome("Coluna " + c);
+            coluna.setPosicao(posicoesDasColunas.get(c));
+            coluna.setQuadro(quadro);
+
+            List<Cartao> cartoes = new ArrayList<>();
+            for (int k = 0; k < cartoesPorColuna; k++) {
+                cartoes.add(new Cartao(id++, "Cartão " + k, "Descrição do cartão " + k + " da coluna " + c,
+                    posicoesDosCartoes.get(k), null, coluna));
+            }
+            coluna.setCartoes(cartoes);
+            colunas.add(coluna);
+        }
+        quadro.setColunas(colunas);
+        quadroDTO = QuadroDTO.de(quadro);
+    }
+
+    @Benchmark
+    public byte[] entidade() throws Exception {
+        return objectMapper.writeValueAsBytes(quadro);
+    }
+
+    @Benchmark
+    public byte[] dto() throws Exception {
+        return objectMapper.writeValueAsBytes(quadroDTO);
+    }
+}
@@ -0,0 +1,84 @@
+package com.kanban.backend.benchmark;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.service.TokenService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificação de token: implementação antiga (monta 'Algorithm' e 'JWTVerifier'
+ * a cada chamada) x verificador reutilizado x cache de tokens já verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenServiceBenchmark {
+
+    private static final String SECRET = "NCo6UDIqeVg5JChLIyZBISE=";
+
+    private TokenService comCache;
+    private TokenService semCache;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void preparar() {
+        comCache = new TokenService(SECRET, true, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+        semCache = new TokenService(SECRET, false, 10_000, Duration.ofMinutes(10), new SimpleMeterRegistry());
+
+        usuario = new Usuario();
+        usuario.setId(42L);
+        usuario.setNome("Benchmark");
+        usuario.setEmail("bench@kanban.com");
+        token = comCache.gerarToken(usuario);
+    }
+
+    @Benchmark
+    public String validarLegado() {
+        // Cópia do 'validarToken' antigo: tudo reconstruído a cada chamada.
+        return JWT.require(Algorithm.HMAC256(SECRET))
+            .withIssuer("kanban-api")
+            .build()
+            .verify(token)
+            .getSubject();
+    }
+
+    @Benchmark
+    public String validarComVerificadorReutilizado() {
+        return semCache.validarToken(token);
+    }
+
+    @Benchmark
+    public String validarComCache() {
+        return comCache.validarToken(token);
+    }
+
+    @Benchmark
+    public Object extrairUsuarioComCache() {
+        return comCache.extrairUsuario(token);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return comCache.gerarToken(usuario);
+    }
+}
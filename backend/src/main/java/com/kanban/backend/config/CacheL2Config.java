@@ -0,0 +1,133 @@
+package com.kanban.backend.config;
+
+// Imports do Caffeine (o JCache "de dentro do processo")
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+// Imports do Hibernate
+import org.hibernate.cache.jcache.ConfigSettings;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Imports do Spring
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+// Imports do Java
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CacheL2Config.java
+ * ANALOGIA: O "Arquivo de Cópias" do Hibernate (cache de segundo nível)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * O Hibernate guarda aqui uma cópia dos quadros, colunas, cartões e usuários que já
+ * leu do MySQL. Na próxima leitura (em QUALQUER requisição), ele pega a cópia e nem
+ * vai ao banco. Quem escreve PELO Hibernate (ex: 'QuadroService') atualiza as cópias
+ * sozinho; as ORDENS das listas (que dependem da 'posicao') são esquecidas pelo
+ * 'CacheDosQuadros'.
+ *
+ * * As "gavetas" (regiões), uma por tipo de cópia, cada uma com o seu limite:
+ * - 'tamanho-maximo': quantas cópias cabem (as menos usadas saem primeiro);
+ * - 'ttl': por quanto tempo uma cópia vale, mesmo sem ninguém alterá-la.
+ * Configuração: 'api.cache.l2.<gaveta>.tamanho-maximo' / '.ttl', e os valores
+ * gerais 'api.cache.l2.tamanho-maximo' / '.ttl' para o que não for informado.
+ *
+ * * O "Livro de Carimbos" ('default-update-timestamps-region') anota quando cada
+ * tabela mudou pela última vez: é ele que invalida as consultas guardadas. Por isso
+ * ele NUNCA expira nem tem limite (uma linha por tabela).
+ *
+ * * Cada contexto do Spring tem o SEU 'CacheManager' (os testes sobem vários, cada
+ * um com o seu banco H2), que é fechado junto com o contexto.
+ */
+@Configuration
+public class CacheL2Config {
+
+    // As gavetas das entidades e listas (veja o @Cache de cada uma)
+    public static final String QUADROS = "quadros";
+    public static final String QUADRO_COLUNAS = "quadro-colunas";
+    public static final String COLUNAS = "colunas";
+    public static final String COLUNA_CARTOES = "coluna-cartoes";
+    public static final String CARTOES = "cartoes";
+    public static final String USUARIOS = "usuarios";
+
+    // As gavetas das consultas guardadas (veja o @QueryHints dos repositórios)
+    public static final String QUADROS_POR_USUARIO = "quadros-por-usuario";
+    public static final String QUADRO_COMPLETO = "quadro-completo";
+    public static final String USUARIO_POR_EMAIL = "usuario-por-email";
+
+    // As gavetas que o próprio Hibernate exige quando o cache de consultas está ligado
+    private static final String CONSULTAS_PADRAO = "default-query-results-region";
+    private static final String CARIMBOS = "default-update-timestamps-region";
+
+    private static final List<String> GAVETAS = List.of(
+        QUADROS, QUADRO_COLUNAS, COLUNAS, COLUNA_CARTOES, CARTOES, USUARIOS,
+        QUADROS_POR_USUARIO, QUADRO_COMPLETO, USUARIO_POR_EMAIL, CONSULTAS_PADRAO
+    );
+
+    /**
+     * O "Arquivo" (JCache do Caffeine), com todas as gavetas já criadas.
+     * (O Hibernate é configurado para FALHAR se pedir uma gaveta que não está aqui.)
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheManagerL2(Environment env) {
+        CaffeineCachingProvider provedor = (CaffeineCachingProvider) Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provedor.getCacheManager(
+            URI.create("kanban-l2-" + UUID.randomUUID()),
+            getClass().getClassLoader()
+        );
+
+        long tamanhoPadrao = env.getProperty("api.cache.l2.tamanho-maximo", Long.class, 10_000L);
+        Duration ttlPadrao = env.getProperty("api.cache.l2.ttl", Duration.class, Duration.ofMinutes(10));
+        for (String gaveta : GAVETAS) {
+            long tamanho = env.getProperty("api.cache.l2." + gaveta + ".tamanho-maximo", Long.class, tamanhoPadrao);
+            Duration ttl = env.getProperty("api.cache.l2." + gaveta + ".ttl", Duration.class, ttlPadrao);
+            cacheManager.createCache(gaveta, gaveta(OptionalLong.of(tamanho), OptionalLong.of(ttl.toNanos())));
+        }
+        cacheManager.createCache(CARIMBOS, gaveta(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    /**
+     * Entrega o "Arquivo" ao Hibernate (no lugar de ele criar um por conta própria).
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheL2HibernateCustomizer(CacheManager cacheManagerL2) {
+        return propriedades -> propriedades.put(ConfigSettings.CACHE_MANAGER, cacheManagerL2);
+    }
+
+    /**
+     * Tamanho e remoções de cada gaveta, no '/actuator/prometheus' ('cache.size',
+     * 'cache.evictions', com a tag 'cache'). Acertos e erros por gaveta já vêm das
+     * estatísticas do Hibernate ('hibernate.second.level.cache.requests',
+     * 'hibernate.cache.query.requests').
+     */
+    @Bean
+    public MeterBinder metricasDoCacheL2(CacheManager cacheManagerL2) {
+        return registry -> {
+            for (String gaveta : cacheManagerL2.getCacheNames()) {
+                Cache<?, ?> cache = cacheManagerL2.getCache(gaveta).unwrap(Cache.class);
+                CaffeineCacheMetrics.monitor(registry, cache, "l2-" + gaveta);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> gaveta(OptionalLong tamanhoMaximo, OptionalLong ttlEmNanos) {
+        return new CaffeineConfiguration<>()
+            .setMaximumSize(tamanhoMaximo)
+            .setExpireAfterWrite(ttlEmNanos)
+            .setNativeStatisticsEnabled(true);
+    }
+}
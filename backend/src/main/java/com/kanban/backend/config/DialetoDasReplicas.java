@@ -0,0 +1,59 @@
+package com.kanban.backend.config;
+
+// Imports do Hibernate
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+// Imports do JPA
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+
+// Imports do Spring
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+// Imports do Java
+import java.sql.SQLException;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: DialetoDasReplicas.java
+ * ANALOGIA: O "Carimbo de Só Consulta" nas fichas que vêm das salas de cópia
+ * -------------------------------------------------------------------------------------
+ * * Usado só com as réplicas ligadas (veja 'ReplicasConfig').
+ * Uma transação só de leitura vai para uma réplica, que pode estar atrasada. O que ela
+ * carrega não pode entrar no cache de segundo nível nem no cache de consultas: uma
+ * cópia velha ficaria valendo até o 'ttl' (o "Livro de Carimbos" só invalida as
+ * consultas anteriores à ÚLTIMA escrita no primário, e não sabe do atraso da réplica).
+ *
+ * * Então essas sessões passam ao largo do cache ('CacheMode.IGNORE'): não guardam nada
+ * nele, e também não o leem. (Só "ler sem guardar", o 'CacheMode.GET', não basta: no
+ * Hibernate 6.6, uma consulta guardável que não acha o resultado no cache o guarda
+ * mesmo assim.) As réplicas existem para tirar essas leituras do primário; o cache fica
+ * para as leituras do primário, e o GET do quadro já sai da vitrine ('RetratosDosQuadros').
+ *
+ * * O modo vai nos DOIS lugares que o Hibernate consulta: as propriedades do JPA, que o
+ * 'find' relê a cada chamada, e o 'CacheMode' da sessão, que vale para as consultas.
+ * Quem guarda: as transações normais (primário) e as leituras dentro do
+ * 'RoteadorDeLeitura.lerDoPrimario'.
+ */
+public class DialetoDasReplicas extends HibernateJpaDialect {
+
+    private static final String MODO_DE_LER = "jakarta.persistence.cache.retrieveMode";
+    private static final String MODO_DE_GUARDAR = "jakarta.persistence.cache.storeMode";
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException, TransactionException {
+        Object dados = super.beginTransaction(entityManager, definition);
+        if (definition.isReadOnly() && !RoteadorDeLeitura.lendoDoPrimario()) {
+            entityManager.setProperty(MODO_DE_LER, CacheRetrieveMode.BYPASS);   // O 'find'
+            entityManager.setProperty(MODO_DE_GUARDAR, CacheStoreMode.BYPASS);
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE); // As consultas
+        }
+        return dados;
+    }
+}
@@ -0,0 +1,162 @@
+package com.kanban.backend.config;
+
+// Imports do Spring
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+// Imports do Java
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.sql.DataSource;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: LimitadorDeConexoes.java
+ * ANALOGIA: As "Senhas do Balcão" na frente do banco de dados
+ * -------------------------------------------------------------------------------------
+ * * O problema (com threads virtuais):
+ * Com threads virtuais, o Tomcat não tem mais um limite de ~200 threads: milhares de
+ * requisições podem chegar juntas até o pool de conexões (Hikari, ~10 conexões).
+ * - Pinning: o driver JDBC pode "prender" (pin) a thread do sistema que carrega a
+ * thread virtual enquanto espera dentro de um bloco 'synchronized'. Milhares de
+ * threads virtuais esperando DENTRO do pool/driver podem travar todas as threads reais.
+ * - Fome (starvation): sem fila justa, uma requisição pode esperar para sempre
+ * enquanto outras "furam a fila".
+ *
+ * * A solução:
+ * Um semáforo JUSTO (ordem de chegada), com o MESMO tamanho do pool do Hikari.
+ * A thread pega uma "senha" ANTES de pedir a conexão e a devolve quando fecha a conexão.
+ * - No máximo N threads ficam ao mesmo tempo dentro do pool/driver (N = tamanho do pool).
+ * - As outras esperam no semáforo, onde uma thread virtual "desmonta" e libera a
+ * thread real (não há pinning).
+ * - Quem esperar mais que 'esperaMaxima' desiste com um erro (em vez de ficar pendurado).
+ *
+ * * Ligado por 'api.datasource.limitador.habilitado' (por padrão, junto com as threads virtuais).
+ */
+public class LimitadorDeConexoes extends DelegatingDataSource implements AutoCloseable {
+
+    private final Semaphore senhas;
+    private final int tamanho;
+    private final Duration esperaMaxima;
+
+    // Métricas
+    private final LongAdder esperasEsgotadas = new LongAdder();
+
+    public LimitadorDeConexoes(DataSource alvo, int tamanho, Duration esperaMaxima) {
+        super(alvo);
+        this.senhas = new Semaphore(tamanho, true);
+        this.tamanho = tamanho;
+        this.esperaMaxima = esperaMaxima;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        pegarSenha();
+        try {
+            return devolverSenhaAoFechar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            senhas.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String senha) throws SQLException {
+        pegarSenha();
+        try {
+            return devolverSenhaAoFechar(super.getConnection(usuario, senha));
+        } catch (SQLException | RuntimeException e) {
+            senhas.release();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Fecha o pool de verdade quando o Spring encerra (o Spring chama o 'close()'
+     * do bean, que agora é este embrulho, e não mais o HikariDataSource).
+     */
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable pool) {
+            pool.close();
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // MÉTRICAS
+    // ---------------------------------------------------------------------------------
+
+    /** O número total de senhas (o tamanho do pool). */
+    public int tamanho() {
+        return tamanho;
+    }
+
+    /** Quantas senhas estão livres agora. */
+    public int senhasLivres() {
+        return senhas.availablePermits();
+    }
+
+    /** Quantas threads estão na fila esperando uma senha (aproximado). */
+    public int threadsEsperando() {
+        return senhas.getQueueLength();
+    }
+
+    /** Quantas vezes alguém desistiu depois de esperar 'esperaMaxima'. */
+    public long esperasEsgotadas() {
+        return esperasEsgotadas.sum();
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    private void pegarSenha() throws SQLException {
+        try {
+            if (!senhas.tryAcquire(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS)) {
+                esperasEsgotadas.increment();
+                throw new SQLTransientConnectionException(
+                    "Nenhuma conexão livre após " + esperaMaxima.toMillis() + " ms (" + threadsEsperando() + " na fila)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrompido esperando uma conexão", e);
+        }
+    }
+
+    /**
+     * Embrulha a conexão para que o 'close()' devolva a senha (uma única vez).
+     */
+    private Connection devolverSenhaAoFechar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            (proxy, metodo, argumentos) -> {
+                if (metodo.getName().equals("close") && metodo.getParameterCount() == 0) {
+                    if (fechada.compareAndSet(false, true)) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            senhas.release();
+                        }
+                    }
+                    return null;
+                }
+                try {
+                    return metodo.invoke(conexao, argumentos);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+    }
+}
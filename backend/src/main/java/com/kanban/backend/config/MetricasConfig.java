@@ -0,0 +1,112 @@
+package com.kanban.backend.config;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.events.TransmissorDeEventos;
+import com.kanban.backend.service.RebalanceadorDePosicoes;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+// Imports do Spring
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Imports do Java
+import java.util.List;
+import javax.sql.DataSource;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: MetricasConfig.java
+ * ANALOGIA: O "Painel de Instrumentos" da aplicação
+ * -------------------------------------------------------------------------------------
+ * * O Spring Boot (Actuator + Micrometer) já mede sozinho:
+ * - cada endpoint dos Controllers ('http.server.requests');
+ * - cada método dos Repositórios ('spring.data.repository.invocations');
+ * - o pool de conexões ('hikaricp.*') e as estatísticas do Hibernate ('hibernate.*').
+ * 'SecurityFilter' e 'TokenService' registram os próprios cronômetros.
+ *
+ * * Aqui "ligamos no painel" os contadores que NÓS já mantínhamos em memória
+ * (eventos ao vivo, rebalanceamentos, senhas do 'LimitadorDeConexoes'),
+ * sem mudar nada nessas classes: o Micrometer só lê os números quando alguém
+ * consulta o '/actuator/prometheus'.
+ */
+@Configuration
+public class MetricasConfig {
+
+    /**
+     * Os eventos ao vivo (SSE) do 'TransmissorDeEventos'.
+     */
+    @Bean
+    public MeterBinder metricasDosEventos(TransmissorDeEventos transmissor) {
+        return registry -> {
+            Gauge.builder("kanban.eventos.assinantes", transmissor, TransmissorDeEventos::assinantes)
+                .description("Conexões SSE abertas")
+                .register(registry);
+            Gauge.builder("kanban.eventos.quadros", transmissor, TransmissorDeEventos::quadrosComAssinantes)
+                .description("Quadros com pelo menos uma conexão SSE")
+                .register(registry);
+            FunctionCounter.builder("kanban.eventos.publicados", transmissor, TransmissorDeEventos::eventosPublicados)
+                .register(registry);
+            FunctionCounter.builder("kanban.eventos.enviados", transmissor, TransmissorDeEventos::eventosEnviados)
+                .register(registry);
+            FunctionCounter.builder("kanban.eventos.descartados", transmissor, TransmissorDeEventos::eventosDescartados)
+                .register(registry);
+            FunctionCounter.builder("kanban.eventos.assinantes.derrubados", transmissor, TransmissorDeEventos::assinantesDerrubados)
+                .description("Assinantes lentos desconectados (fila cheia)")
+                .register(registry);
+        };
+    }
+
+    /**
+     * A fila de rebalanceamentos de posições.
+     */
+    @Bean
+    public MeterBinder metricasDoRebalanceador(RebalanceadorDePosicoes rebalanceador) {
+        return registry -> Gauge.builder("kanban.posicoes.rebalanceamentos.pendentes", rebalanceador, RebalanceadorDePosicoes::pendentes)
+            .description("Rebalanceamentos na fila ou rodando")
+            .register(registry);
+    }
+
+    /**
+     * As "senhas" do 'LimitadorDeConexoes' (só existe no modo threads virtuais).
+     * Com réplicas, o DataSource da aplicação é o 'RoteadorDeLeitura' e o limitador
+     * fica no bean do primário: por isso a procura entre TODOS os DataSources.
+     */
+    @Bean
+    public MeterBinder metricasDoLimitadorDeConexoes(List<DataSource> dataSources) {
+        return registry -> {
+            LimitadorDeConexoes limitador = dataSources.stream()
+                .filter(LimitadorDeConexoes.class::isInstance)
+                .map(LimitadorDeConexoes.class::cast)
+                .findFirst()
+                .orElse(null);
+            if (limitador == null) {
+                return;
+            }
+            Gauge.builder("kanban.conexoes.senhas.livres", limitador, LimitadorDeConexoes::senhasLivres)
+                .register(registry);
+            Gauge.builder("kanban.conexoes.senhas.esperando", limitador, LimitadorDeConexoes::threadsEsperando)
+                .description("Threads na fila esperando uma conexão")
+                .register(registry);
+            FunctionCounter.builder("kanban.conexoes.esperas.esgotadas", limitador, LimitadorDeConexoes::esperasEsgotadas)
+                .register(registry);
+        };
+    }
+
+    /**
+     * As réplicas de leitura no rodízio do 'RoteadorDeLeitura' (só com réplicas).
+     */
+    @Bean
+    public MeterBinder metricasDasReplicas(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof RoteadorDeLeitura roteador) {
+                Gauge.builder("kanban.datasource.replicas.saudaveis", roteador, RoteadorDeLeitura::replicasSaudaveis)
+                    .description("Réplicas de leitura no rodízio (fora delas, as leituras vão ao primário)")
+                    .register(registry);
+            }
+        };
+    }
+}
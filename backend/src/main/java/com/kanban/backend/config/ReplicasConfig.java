@@ -0,0 +1,110 @@
+package com.kanban.backend.config;
+
+// Imports do Hikari (o pool de conexões padrão do Spring Boot)
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+// Imports do Java
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ReplicasConfig.java
+ * ANALOGIA: As "Salas de Cópia" do arquivo (só para consulta)
+ * -------------------------------------------------------------------------------------
+ * * Ligado por 'api.datasource.replicas.habilitado=true' (desligado, o Spring Boot
+ * monta o DataSource de sempre, só com o 'spring.datasource.url').
+ *
+ * * Ligado, a aplicação passa a ter:
+ * - o pool do PRIMÁRIO, montado das mesmas chaves 'spring.datasource.*' e
+ *   'spring.datasource.hikari.*' de antes;
+ * - um pool por RÉPLICA ('api.datasource.replicas.urls', separadas por vírgula);
+ * - na frente de todos, o 'RoteadorDeLeitura' (o DataSource que o JPA usa), que manda
+ *   as transações só de leitura para as réplicas;
+ * - o 'DialetoDasReplicas', para o que vem das réplicas não encher o cache do Hibernate.
+ * Com o modo threads virtuais, cada pool tem o seu 'LimitadorDeConexoes'.
+ */
+@Configuration
+@ConditionalOnProperty(name = "api.datasource.replicas.habilitado", havingValue = "true")
+public class ReplicasConfig {
+
+    /**
+     * O pool do primário (o 'LimitadorDeConexoes', se ligado, o embrulha sozinho:
+     * é um HikariDataSource como o de antes).
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties propriedades) {
+        return propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * O DataSource da aplicação: o primário e as réplicas atrás do roteador.
+     */
+    @Bean
+    @Primary
+    public RoteadorDeLeitura dataSource(
+            @Qualifier("dataSourcePrimario") DataSource primario,
+            @Value("${api.datasource.replicas.urls}") List<String> urls,
+            @Value("${api.datasource.replicas.username:${spring.datasource.username:}}") String usuario,
+            @Value("${api.datasource.replicas.password:${spring.datasource.password:}}") String senha,
+            @Value("${api.datasource.replicas.maximum-pool-size:${spring.datasource.hikari.maximum-pool-size:10}}") int tamanhoDoPool,
+            @Value("${api.datasource.replicas.janela-apos-escrita:5s}") Duration janela,
+            @Value("${api.datasource.replicas.intervalo-de-checagem:5s}") Duration intervaloDeChecagem,
+            @Value("${api.datasource.limitador.habilitado:false}") boolean limitadorHabilitado) {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (i + 1));
+            config.setJdbcUrl(urls.get(i).trim());
+            config.setUsername(usuario);
+            config.setPassword(senha);
+            config.setMaximumPoolSize(tamanhoDoPool);
+            config.setReadOnly(true);
+            // Uma réplica fora do ar não pode impedir a aplicação de subir:
+            // o pool nasce vazio e a checagem de saúde a tira do rodízio.
+            config.setInitializationFailTimeout(-1);
+            HikariDataSource pool = new HikariDataSource(config);
+
+            replicas.put(config.getPoolName(), limitadorHabilitado
+                ? new LimitadorDeConexoes(pool, pool.getMaximumPoolSize(), Duration.ofMillis(pool.getConnectionTimeout()))
+                : pool);
+        }
+        return new RoteadorDeLeitura(primario, replicas, janela, intervaloDeChecagem);
+    }
+
+    /**
+     * Troca o "dialeto" do JPA pelo 'DialetoDasReplicas' ANTES de a fábrica de
+     * EntityManagers subir (o gerenciador de transações o pega dela).
+     * 'static': um BeanPostProcessor nasce antes dos outros beans desta classe.
+     */
+    @Bean
+    public static BeanPostProcessor dialetoDasReplicas() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String nome) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean fabrica) {
+                    fabrica.setJpaDialect(new DialetoDasReplicas());
+                }
+                return bean;
+            }
+        };
+    }
+}
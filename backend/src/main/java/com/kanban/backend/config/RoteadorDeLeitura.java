@@ -0,0 +1,296 @@
+package com.kanban.backend.config;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.security.UsuarioAutenticado;
+
+// Imports do Spring
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Imports do Java
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RoteadorDeLeitura.java
+ * ANALOGIA: O "Recepcionista" que manda quem só vai CONSULTAR para as salas de cópia
+ * -------------------------------------------------------------------------------------
+ * * O DataSource da aplicação quando há réplicas de leitura (veja 'ReplicasConfig'):
+ * - transação '@Transactional(readOnly = true)' (inclusive as consultas dos repositórios)
+ *   -> uma das RÉPLICAS (em rodízio);
+ * - todo o resto (escritas, transações normais, SQL fora de transação) -> o PRIMÁRIO.
+ *
+ * * Como ele sabe que a transação é só de leitura?
+ * Ele é um 'LazyConnectionDataSourceProxy': a conexão de verdade só é pedida ao
+ * pool no PRIMEIRO comando SQL, quando a transação já marcou a conexão como
+ * 'readOnly'. Aí o proxy pede a conexão ao pool das réplicas ('Replicas', abaixo)
+ * em vez do primário.
+ * (Por isso o 'spring.jpa.open-in-view' fica desligado: com ele, a MESMA conexão
+ * serviria a requisição inteira, leituras e escritas.)
+ *
+ * * "Leia o que você escreveu": a réplica chega um pouco atrasada. Por 'janela'
+ * depois de um commit de escrita, as leituras do MESMO usuário (o do crachá) vão
+ * para o primário, para ele não "sumir" com o que acabou de gravar.
+ *
+ * * Caches: o que é lido de uma réplica atrasada NÃO pode virar cópia guardada (ficaria
+ * valendo mesmo depois de a réplica alcançar o primário). Por isso:
+ * - quem vai ENCHER um cache (ex: o retrato do 'RetratosDosQuadros') lê pelo
+ *   'lerDoPrimario', que manda até as transações só de leitura para o primário;
+ * - as outras transações só de leitura passam ao largo do cache de segundo nível do
+ *   Hibernate: não guardam nada nele (veja 'DialetoDasReplicas').
+ *
+ * * Saúde: a cada 'intervaloDeChecagem', cada réplica é testada ('isValid'). Uma
+ * réplica fora do ar (na checagem ou ao pedir uma conexão) sai do rodízio até a
+ * próxima checagem boa. Sem nenhuma réplica saudável, tudo vai para o primário.
+ */
+public class RoteadorDeLeitura extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RoteadorDeLeitura.class);
+
+    private final DataSource primario;
+    private final List<Replica> replicas;
+    private final long janelaNanos;
+    private final AtomicInteger rodizio = new AtomicInteger();
+
+    // Usuário -> quando (System.nanoTime) termina a janela de leitura no primário.
+    private final Map<Long, Long> leituraNoPrimarioAte = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService checagem;
+
+    // Ligado durante um 'lerDoPrimario' (por thread).
+    private static final ThreadLocal<Boolean> LEITURA_NO_PRIMARIO = new ThreadLocal<>();
+
+    /** Um pool de réplica e o resultado da última checagem. */
+    static final class Replica {
+        private final String nome;
+        private final DataSource pool;
+        private volatile boolean saudavel = true;
+
+        Replica(String nome, DataSource pool) {
+            this.nome = nome;
+            this.pool = pool;
+        }
+
+        String nome() {
+            return nome;
+        }
+
+        DataSource pool() {
+            return pool;
+        }
+
+        boolean saudavel() {
+            return saudavel;
+        }
+    }
+
+    public RoteadorDeLeitura(DataSource primario, Map<String, DataSource> replicas, Duration janela, Duration intervaloDeChecagem) {
+        this.primario = primario;
+        this.replicas = replicas.entrySet().stream().map(r -> new Replica(r.getKey(), r.getValue())).toList();
+        this.janelaNanos = janela.toNanos();
+
+        setTargetDataSource(new Primario());
+        setReadOnlyDataSource(new Replicas());
+        afterPropertiesSet(); // Lê do primário o autocommit/isolamento padrão das conexões.
+
+        this.checagem = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "replicas-checagem");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalo = intervaloDeChecagem.toMillis();
+        checagem.scheduleWithFixedDelay(this::checarReplicas, intervalo, intervalo, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Testa cada réplica e limpa as janelas de leitura já vencidas.
+     */
+    void checarReplicas() {
+        for (Replica replica : replicas) {
+            boolean saudavel;
+            try (Connection conexao = replica.pool.getConnection()) {
+                saudavel = conexao.isValid(2);
+            } catch (SQLException | RuntimeException e) {
+                saudavel = false;
+            }
+            if (saudavel && !replica.saudavel) {
+                log.info("Réplica {} de volta ao rodízio de leituras", replica.nome);
+            } else if (!saudavel && replica.saudavel) {
+                log.warn("Réplica {} fora do rodízio de leituras (a checagem falhou)", replica.nome);
+            }
+            replica.saudavel = saudavel;
+        }
+        long agora = System.nanoTime();
+        leituraNoPrimarioAte.values().removeIf(ate -> ate - agora <= 0);
+    }
+
+    /**
+     * Roda a leitura com as transações só de leitura indo ao PRIMÁRIO (e guardando o que
+     * lerem no cache de segundo nível). Para quem vai guardar o resultado num cache.
+     * Sem réplicas (sem o roteador), não muda nada: tudo já vai ao primário.
+     */
+    public static <T> T lerDoPrimario(Supplier<T> leitura) {
+        if (lendoDoPrimario()) {
+            return leitura.get();
+        }
+        LEITURA_NO_PRIMARIO.set(Boolean.TRUE);
+        try {
+            return leitura.get();
+        } finally {
+            LEITURA_NO_PRIMARIO.remove();
+        }
+    }
+
+    /** Se a thread está dentro de um 'lerDoPrimario'. */
+    static boolean lendoDoPrimario() {
+        return LEITURA_NO_PRIMARIO.get() != null;
+    }
+
+    /** As réplicas (para as métricas e os testes). */
+    List<Replica> replicas() {
+        return replicas;
+    }
+
+    /** Quantas réplicas estão no rodízio agora. */
+    public int replicasSaudaveis() {
+        return (int) replicas.stream().filter(Replica::saudavel).count();
+    }
+
+    /**
+     * Fecha os pools das réplicas quando o Spring encerra (o primário é um bean:
+     * o próprio Spring o fecha).
+     */
+    @Override
+    public void close() throws Exception {
+        checagem.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.pool instanceof AutoCloseable pool) {
+                pool.close();
+            }
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // OS DOIS CAMINHOS
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O primário. Uma conexão pedida por uma transação de ESCRITA abre a janela
+     * "leia o que você escreveu" do usuário, a partir do commit.
+     */
+    private final class Primario extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            lembrarDaEscrita();
+            return primario.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String senha) throws SQLException {
+            lembrarDaEscrita();
+            return primario.getConnection(usuario, senha);
+        }
+    }
+
+    /**
+     * As réplicas, em rodízio (ou o primário: janela do usuário aberta, nenhuma
+     * réplica saudável ou a réplica escolhida falhou).
+     */
+    private final class Replicas extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Replica replica = escolher();
+            if (replica == null) {
+                return primario.getConnection();
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.saudavel = false;
+                log.warn("Réplica {} fora do rodízio de leituras (sem conexão): {}", replica.nome, e.getMessage());
+                return primario.getConnection();
+            }
+        }
+
+        @Override
+        public Connection getConnection(String usuario, String senha) throws SQLException {
+            return getConnection(); // Os pools já têm o login de cada banco.
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    private Replica escolher() {
+        if (lendoDoPrimario()) {
+            return null; // Vai encher um cache: lê do primário.
+        }
+        Long usuarioId = usuarioAtual();
+        if (usuarioId != null) {
+            Long ate = leituraNoPrimarioAte.get(usuarioId);
+            if (ate != null && ate - System.nanoTime() > 0) {
+                return null; // Escreveu há pouco: lê do primário.
+            }
+        }
+        int total = replicas.size();
+        if (total == 0) {
+            return null;
+        }
+        int inicio = Math.floorMod(rodizio.getAndIncrement(), total);
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.saudavel) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void lembrarDaEscrita() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        Long usuarioId = usuarioAtual();
+        if (usuarioId == null) {
+            return;
+        }
+        // A réplica começa a "atrasar" no commit: a janela conta a partir dele.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                leituraNoPrimarioAte.put(usuarioId, System.nanoTime() + janelaNanos);
+            }
+        });
+    }
+
+    private static Long usuarioAtual() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario) {
+            return usuario.id();
+        }
+        return null;
+    }
+}
@@ -8,9 +8,11 @@ import java.util.Arrays; // Para criar a lista de 'allowedOrigins'
 
 // Imports Padrão do Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod; // Para especificar métodos (POST, GET, etc.)
+import jakarta.servlet.DispatcherType; // Para a "segunda passagem" das respostas assíncronas
 
 // Imports do Spring Security
 import org.springframework.security.authentication.AuthenticationManager;
@@ -19,12 +21,25 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy; // Para definir a política "Stateless"
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder; // O "Criptógrafo"
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder; // O "Criptógrafo" que reconhece hashes antigos
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.intercept.AuthorizationFilter; // O "Guarda" padrão do Spring
 
 // Imports do NOSSO projeto
+import com.kanban.backend.security.CalibradorDeBCrypt; // O "Teste de Esforço" do BCrypt
+import com.kanban.backend.security.CalibradorDeBCrypt.Calibragem;
 import com.kanban.backend.security.SecurityFilter; // O NOSSO "Guarda-Costas"
+import com.kanban.backend.security.FiltroDeSobrecarga; // O "Segurança da Porta"
+
+// Imports do Micrometer (métricas) e de Log
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Map;
 
 // Import estático para o .cors(withDefaults())
 import static org.springframework.security.config.Customizer.withDefaults;
@@ -43,12 +58,19 @@ import static org.springframework.security.config.Customizer.withDefaults;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     // 1. "CONTRATANDO" NOSSO GUARDA-COSTAS (SecurityFilter)
     // Estamos pedindo ao Spring: "Ei, me dê (Injete) uma instância daquela classe
     // SecurityFilter que nós criamos no pacote 'security'. Vamos precisar dela."
     @Autowired
     private SecurityFilter securityFilter;
 
+    // 2. O "SEGURANÇA DA PORTA" (FiltroDeSobrecarga)
+    // Conta quantas requisições estão em andamento e recusa (503) o excesso.
+    @Autowired
+    private FiltroDeSobrecarga filtroDeSobrecarga;
+
     
     /**
      * -------------------------------------------------------------------------------------
@@ -116,7 +138,18 @@ public class SecurityConfig {
                 // "Qualquer um ('permitAll') pode fazer um POST para /api/login."
                 .requestMatchers(HttpMethod.POST, "/api/login").permitAll()
 
-                // REGRA 5c: "O RESTO" (Qualquer outra requisição)
+                // REGRA 5c: A "Segunda Passagem" das respostas assíncronas
+                // Respostas que ficam abertas (ex: os eventos ao vivo, GET /api/quadros/{id}/events)
+                // passam pelo filtro DE NOVO quando terminam (dispatch ASYNC). A requisição
+                // original já foi autorizada; sem esta regra, o fim da conexão viraria um 403.
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+
+                // REGRA 5d: O "Painel de Instrumentos" (Actuator)
+                // A saúde (para o balanceador) e as métricas (para o Prometheus).
+                // Nenhum outro endpoint do Actuator é exposto (veja 'management.endpoints').
+                .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+
+                // REGRA 5e: "O RESTO" (Qualquer outra requisição)
                 // "Para QUALQUER OUTRA REQUISIÇÃO ('anyRequest'), o usuário deve
                 // ter a 'autoridade' (o 'crachá') de 'ROLE_USER'."
                 // (Isso se conecta com o 'getAuthorities()' que definimos na entidade Usuario.java)
@@ -139,7 +172,15 @@ public class SecurityConfig {
             // 4. A requisição continua para o 'AuthorizationFilter' (o guarda do Spring).
             // 5. O guarda do Spring vê que o usuário JÁ ESTÁ AUTENTICADO e tem o "crachá"
             //    'ROLE_USER', então ele libera a passagem.
-            .addFilterBefore(securityFilter, AuthorizationFilter.class); 
+            .addFilterBefore(securityFilter, AuthorizationFilter.class)
+
+            // ---------------------------------------------------------------------------------
+            // REGRA 7: O "SEGURANÇA DA PORTA" (LIMITE DE REQUISIÇÕES EM ANDAMENTO)
+            //
+            // Roda ANTES do 'securityFilter': com o servidor sobrecarregado, o excesso é
+            // recusado (503 + Retry-After) antes de gastar qualquer coisa com ele
+            // (nem o token é conferido).
+            .addFilterBefore(filtroDeSobrecarga, SecurityFilter.class);
             
         // Constrói e "publica" o livro de regras
         return http.build();
@@ -155,10 +196,46 @@ public class SecurityConfig {
      * * Qualquer parte do código (como o 'AuthController' ou o 'AuthenticationManager')
      * que pedir um 'PasswordEncoder' vai receber esta *mesma* instância.
      * Isso garante que a senha seja criptografada e comparada usando o mesmo algoritmo.
+     *
+     * * O custo do BCrypt é calibrado NESTA máquina na inicialização ('CalibradorDeBCrypt'):
+     * o maior custo cujo hash cabe em 'api.security.bcrypt.orcamento'
+     * (ou um custo fixo, com 'api.security.bcrypt.custo').
+     *
+     * * DelegatingPasswordEncoder: os hashes novos levam o prefixo "{bcrypt}".
+     * Os antigos (sem prefixo, "$2a$10$...") continuam valendo no login. E, no login
+     * certo, um hash antigo ou com custo MENOR que o atual é refeito e salvo
+     * ('UserAuthService.updatePassword'): a base migra sozinha, sem mutirão.
      */
     @Bean
-    public PasswordEncoder passwordEncoder(){ 
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${api.security.bcrypt.custo:0}") int custoFixo,
+            @Value("${api.security.bcrypt.orcamento:250ms}") Duration orcamento,
+            @Value("${api.security.bcrypt.custo-minimo:10}") int custoMinimo,
+            @Value("${api.security.bcrypt.custo-maximo:16}") int custoMaximo,
+            MeterRegistry meterRegistry) {
+
+        Calibragem calibragem = custoFixo > 0
+            ? new Calibragem(custoFixo, CalibradorDeBCrypt.medir(custoFixo))
+            : CalibradorDeBCrypt.calibrar(orcamento, custoMinimo, custoMaximo);
+        log.info("BCrypt: custo {} ({} ms por hash, orçamento {} ms)",
+            calibragem.custo(), calibragem.tempo().toMillis(), orcamento.toMillis());
+
+        Gauge.builder("kanban.bcrypt.custo", calibragem, Calibragem::custo)
+            .description("Custo do BCrypt escolhido na inicialização")
+            .strongReference(true)
+            .register(meterRegistry);
+        Gauge.builder("kanban.bcrypt.tempo", calibragem, c -> c.tempo().toNanos() / 1e9)
+            .description("Tempo medido de um hash com o custo escolhido")
+            .baseUnit("seconds")
+            .strongReference(true)
+            .register(meterRegistry);
+
+        String padrao = "bcrypt";
+        var encoder = new DelegatingPasswordEncoder(padrao,
+            Map.of(padrao, new BCryptPasswordEncoder(calibragem.custo())));
+        // Hashes antigos, sem o prefixo "{bcrypt}": confere com o BCrypt (qualquer custo).
+        encoder.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+        return encoder;
     }
 
     
@@ -210,6 +287,10 @@ public class SecurityConfig {
         // Sim. Isso permite que o 'Authorization' (nosso token) seja enviado.
         configuration.setAllowCredentials(true);
 
+        // "Quais 'documentos' da resposta o 'país' pode ler?"
+        // O 'ETag' (a revisão do quadro), para o front-end poder usá-lo nas próximas perguntas.
+        configuration.setExposedHeaders(Arrays.asList("ETag"));
+
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         // "Para quais 'departamentos' (rotas) estas regras se aplicam?"
         // Para todos que começam com "/api/**"
@@ -0,0 +1,56 @@
+package com.kanban.backend.config;
+
+// Imports do Hikari (o pool de conexões padrão do Spring Boot)
+import com.zaxxer.hikari.HikariDataSource;
+
+// Imports do Spring
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ThreadsVirtuaisConfig.java
+ * ANALOGIA: O "Modo Multidão" do servidor
+ * -------------------------------------------------------------------------------------
+ * * O modo "threads virtuais" é ligado por 'spring.threads.virtual.enabled=true'
+ * e só funciona no Java 21+ (perfil Maven 'java21'). Nesse modo o Spring Boot roda
+ * sozinho, em threads virtuais:
+ * - as requisições do Tomcat (e, portanto, os métodos do 'QuadroService');
+ * - as tarefas em segundo plano do 'applicationTaskExecutor' (ex: o rebalanceamento).
+ * Enquanto uma requisição espera o banco (JDBC), a thread real fica livre para outra.
+ *
+ * * O que ESTA classe acrescenta: a proteção do pool de conexões ('LimitadorDeConexoes'),
+ * para a multidão de threads virtuais não travar nem "passar fome" no Hikari.
+ * No Java 17 (ou com o modo desligado), nada disto é criado.
+ */
+@Configuration
+public class ThreadsVirtuaisConfig {
+
+    /**
+     * Embrulha o pool do Hikari com o 'LimitadorDeConexoes' (do mesmo tamanho do pool,
+     * e esperando no máximo o mesmo 'connection-timeout' do Hikari).
+     * 'static': um BeanPostProcessor precisa existir antes dos outros beans.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "api.datasource.limitador.habilitado", havingValue = "true")
+    static BeanPostProcessor limitadorDeConexoesPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new LimitadorDeConexoes(
+                        hikari,
+                        hikari.getMaximumPoolSize(),
+                        Duration.ofMillis(hikari.getConnectionTimeout())
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+}
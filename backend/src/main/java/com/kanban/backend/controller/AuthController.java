@@ -16,10 +16,16 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 // Imports do NOSSO Projeto
 import com.kanban.backend.dto.LoginRequestDTO;    // O "formulário" de login que vem do front-end
 import com.kanban.backend.dto.LoginResponseDTO;   // O "envelope" com o token que mandamos de volta
+import com.kanban.backend.dto.UsuarioDTO;         // O "cartão de visita" (a resposta do registro)
 import com.kanban.backend.model.Usuario;          // A entidade do nosso banco
 import com.kanban.backend.repository.UsuarioRepository; // O "Arquivista" de usuários
+import com.kanban.backend.security.LimitadorDeLogin; // A "Catraca de Fichas" do login
+import com.kanban.backend.service.ExecutorDeHash;    // A "Sala do Cofre" (BCrypt fora do Tomcat)
 import com.kanban.backend.service.TokenService;      // O "Mestre dos Passaportes" (JWT)
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * -------------------------------------------------------------------------------------
@@ -54,6 +60,12 @@ public class AuthController {
     @Autowired
     private TokenService tokenService; // O "Mestre dos Passaportes" (para gerar o token)
 
+    @Autowired
+    private ExecutorDeHash executorDeHash; // A "Sala do Cofre" (onde o BCrypt roda)
+
+    @Autowired
+    private LimitadorDeLogin limitadorDeLogin; // A "Catraca de Fichas" (contra força bruta)
+
 
     /**
      * -------------------------------------------------------------------------------------
@@ -65,21 +77,24 @@ public class AuthController {
      * desta requisição deve ser transformado em um objeto 'Usuario'".
      */
     @PostMapping("/usuarios")
-    public Usuario registrarUsuario(@RequestBody Usuario novoUsuario) {
+    public CompletableFuture<UsuarioDTO> registrarUsuario(@RequestBody Usuario novoUsuario) {
 
-        // 1. CHAMA O CRIPTÓGRAFO
+        // 1. CHAMA O CRIPTÓGRAFO (na "Sala do Cofre", fora da thread do Tomcat)
         // Pega a senha em texto puro (ex: "123456") que veio do JSON...
         // ...e a substitui pela versão criptografada (ex: "$2a$10$...")
-        novoUsuario.setSenha(passwordEncoder.encode(novoUsuario.getSenha()));
-
-        // 2. CHAMA O ARQUIVISTA
-        // Manda o "Arquivista" (Repository) salvar o objeto 'novoUsuario'
-        // no banco de dados.
-        Usuario usuarioSalvo = usuarioRepository.save(novoUsuario);
-
-        // 3. Devolve o usuário salvo (com o ID e a senha criptografada) como
-        //    resposta JSON para o front-end.
-        return usuarioSalvo;
+        // (Sala lotada? 'executar' responde 503 + Retry-After na hora.)
+        return executorDeHash.executar(() -> passwordEncoder.encode(novoUsuario.getSenha()))
+            .thenCompose(senhaCriptografada -> {
+                novoUsuario.setSenha(senhaCriptografada);
+
+                // 2. CHAMA O ARQUIVISTA (uma SEGUNDA tarefa da "Sala do Cofre")
+                // A gravação é agendada de novo na sala: roda dentro da cota de
+                // conexões da autenticação, e a mesa do BCrypt fica livre enquanto
+                // a gravação espera na fila (nenhuma thread do Tomcat espera nada).
+                // 3. Devolve o "cartão de visita" do usuário salvo (ID, nome e email)
+                //    como resposta JSON para o front-end. A senha (nem o hash) não volta.
+                return executorDeHash.executar(() -> UsuarioDTO.de(usuarioRepository.save(novoUsuario)));
+            });
     }
 
 
@@ -93,7 +108,12 @@ public class AuthController {
      * Note que NÃO usamos a entidade 'Usuario' aqui, apenas o DTO.
      */
     @PostMapping("/login")
-    public LoginResponseDTO login(@RequestBody LoginRequestDTO loginRequest) {
+    public CompletableFuture<LoginResponseDTO> login(@RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
+
+        // 0. A "CATRACA DE FICHAS"
+        // Muitas tentativas para este email (ou deste IP)? 429 na hora,
+        // sem gastar nem uma consulta ao banco nem um BCrypt.
+        limitadorDeLogin.verificar(loginRequest.getEmail(), request.getRemoteAddr());
 
         // 1. MONTA O "PACOTE DE CREDENCIAIS"
         // O Spring Security não aceita o email e a senha soltos. Ele precisa
@@ -113,7 +133,17 @@ public class AuthController {
         //    c. Se tudo der certo, ele retorna um objeto 'Authentication' completo.
         //    d. Se o email não existir ou a senha estiver errada, ele "explode" (joga uma exceção)
         //       automaticamente, o que resulta no erro 401/403 que vimos no Postman.
-        Authentication auth = authenticationManager.authenticate(usernamePassword);
+        // Tudo isso roda na "Sala do Cofre" ('ExecutorDeHash'): o BCrypt não ocupa
+        // a thread do Tomcat (sala lotada = 503 + Retry-After na hora).
+        return executorDeHash.executar(() -> authenticationManager.authenticate(usernamePassword))
+            .thenApply(this::emitirToken);
+    }
+
+
+    /**
+     * Os passos 3 a 5 do login, depois que o "Chefe de Segurança" aprovou as credenciais.
+     */
+    private LoginResponseDTO emitirToken(Authentication auth) {
 
         // 3. EXTRAI O "Dossiê" DO USUÁRIO
         // Se a linha de cima NÃO explodiu, o login foi um SUCESSO.
@@ -132,4 +162,4 @@ public class AuthController {
         // O Spring vai converter isso em: { "token": "eyJhbGciOiJ..." }
         return new LoginResponseDTO(token);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,84 @@
+package com.kanban.backend.controller;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.CartaoDTO;
+import com.kanban.backend.dto.MoverRequestDTO;
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.security.UsuarioAutenticado;
+import com.kanban.backend.service.CompartimentoDeEscritas;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.RepetidorDeConflitos;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Imports do Spring Security
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Imports do Java
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CartaoController.java
+ * ANALOGIA: O "Gerente de Cartões"
+ * -------------------------------------------------------------------------------------
+ * * Rotas que agem sobre UM cartão. A checagem de dono é feita pelo 'QuadroService'.
+ * * Rodam no 'CompartimentoDeEscritas' (a thread do Tomcat volta na hora).
+ */
+@RestController
+@RequestMapping("/api/cartoes")
+public class CartaoController {
+
+    @Autowired
+    private QuadroService quadroService;
+
+    @Autowired
+    private RepetidorDeConflitos repetidor;
+
+    @Autowired
+    private CompartimentoDeEscritas compartimentoDeEscritas;
+
+    @Autowired
+    private TratadorDeErros tratadorDeErros;
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 1: Mover o Cartão
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: PUT /api/cartoes/{id}/posicao
+     * Corpo: { "colunaId": 3, "anteriorId": 7, "proximoId": 9 } (veja 'MoverRequestDTO').
+     * Só o cartão movido é alterado no banco; devolve o cartão com a posição nova.
+     * Se outra pessoa alterou o quadro ao mesmo tempo, o movimento é refeito sozinho
+     * (veja 'RepetidorDeConflitos'); se não der, 409 com o ETag da revisão atual.
+     */
+    @PutMapping("/{id}/posicao")
+    public CompletableFuture<ResponseEntity<CartaoDTO>> moverCartao(@PathVariable Long id, @RequestBody MoverRequestDTO mover) {
+        return compartimentoDeEscritas.executar(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            try {
+                Cartao cartao = repetidor.repetir("mover-cartao", () -> quadroService.moverCartao(
+                    id,
+                    mover.getColunaId(),
+                    mover.getAnteriorId(),
+                    mover.getProximoId(),
+                    usuarioLogado.id()
+                ));
+                return ResponseEntity.ok(CartaoDTO.de(cartao));
+            } catch (OptimisticLockingFailureException e) {
+                throw tratadorDeErros.comoConflito(e); // O 409 sai com o ETag (veja 'ConflitoDeEdicaoException')
+            }
+        });
+    }
+}
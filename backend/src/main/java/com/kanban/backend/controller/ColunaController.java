@@ -0,0 +1,118 @@
+package com.kanban.backend.controller;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.CartaoDTO;
+import com.kanban.backend.dto.CartaoRequestDTO;
+import com.kanban.backend.dto.ColunaResumoDTO;
+import com.kanban.backend.dto.MoverRequestDTO;
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.security.UsuarioAutenticado;
+import com.kanban.backend.service.CompartimentoDeEscritas;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.RepetidorDeConflitos;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Imports do Spring Security
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Imports do Java
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ColunaController.java
+ * ANALOGIA: O "Gerente de Colunas"
+ * -------------------------------------------------------------------------------------
+ * * Rotas que agem sobre UMA coluna: criar cartões nela e mudá-la de lugar.
+ * * A checagem de dono (o quadro da coluna é do usuário logado?) é feita pelo
+ * 'QuadroService', que responde 404/403 com um 'ResponseStatusException'.
+ * * Rodam no 'CompartimentoDeEscritas' (a thread do Tomcat volta na hora).
+ */
+@RestController
+@RequestMapping("/api/colunas")
+public class ColunaController {
+
+    @Autowired
+    private QuadroService quadroService;
+
+    @Autowired
+    private RepetidorDeConflitos repetidor;
+
+    @Autowired
+    private CompartimentoDeEscritas compartimentoDeEscritas;
+
+    @Autowired
+    private TratadorDeErros tratadorDeErros;
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 1: Criar um Cartão na Coluna
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: POST /api/colunas/{id}/cartoes
+     * Corpo: { "titulo": "...", "descricao": "..." }
+     * O cartão novo entra no FIM da coluna.
+     * Criar NÃO é repetido num conflito (o cliente pode já ter desistido): 409.
+     */
+    @PostMapping("/{id}/cartoes")
+    public CompletableFuture<ResponseEntity<CartaoDTO>> criarCartao(@PathVariable Long id, @RequestBody CartaoRequestDTO cartaoRequest) {
+        return compartimentoDeEscritas.executar(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            if (cartaoRequest.getTitulo() == null || cartaoRequest.getTitulo().isBlank()) {
+                return ResponseEntity.badRequest().build(); // 400 Bad Request
+            }
+
+            try {
+                Cartao cartao = quadroService.criarCartao(
+                    id,
+                    cartaoRequest.getTitulo(),
+                    cartaoRequest.getDescricao(),
+                    usuarioLogado.id()
+                );
+                return ResponseEntity.status(201).body(CartaoDTO.de(cartao));
+            } catch (OptimisticLockingFailureException e) {
+                throw tratadorDeErros.comoConflito(e); // O 409 sai com o ETag (veja 'ConflitoDeEdicaoException')
+            }
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 2: Mover a Coluna
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: PUT /api/colunas/{id}/posicao
+     * Corpo: { "anteriorId": 7, "proximoId": 9 } (veja 'MoverRequestDTO').
+     * Devolve a etiqueta da coluna com a posição nova (sem os cartões).
+     * Num conflito com outra alteração do quadro, refeito sozinho (como o 'moverCartao').
+     */
+    @PutMapping("/{id}/posicao")
+    public CompletableFuture<ResponseEntity<ColunaResumoDTO>> moverColuna(@PathVariable Long id, @RequestBody MoverRequestDTO mover) {
+        return compartimentoDeEscritas.executar(() -> {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            try {
+                Coluna coluna = repetidor.repetir("mover-coluna",
+                    () -> quadroService.moverColuna(id, mover.getAnteriorId(), mover.getProximoId(), usuarioLogado.id()));
+                return ResponseEntity.ok(new ColunaResumoDTO(coluna.getId(), coluna.getNome(), coluna.getPosicao(), null));
+            } catch (OptimisticLockingFailureException e) {
+                throw tratadorDeErros.comoConflito(e); // O 409 sai com o ETag (veja 'ConflitoDeEdicaoException')
+            }
+        });
+    }
+}
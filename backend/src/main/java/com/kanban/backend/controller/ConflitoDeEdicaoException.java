@@ -0,0 +1,39 @@
+package com.kanban.backend.controller;
+
+// Imports do Spring
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ConflitoDeEdicaoException.java
+ * ANALOGIA: O bilhete "Alguém mexeu antes de você: a versão atual é esta"
+ * -------------------------------------------------------------------------------------
+ * * O 409 de uma escrita que perdeu (mesmo depois do 'RepetidorDeConflitos') para
+ * outra no mesmo quadro, JÁ com o ETag da revisão atual (ou sem ele, se o quadro
+ * não é de quem pediu). O 'TratadorDeErros' copia os cabeçalhos para a resposta.
+ *
+ * * Por que montar o 409 antes de chegar ao 'TratadorDeErros'?
+ * As escritas rodam num 'Compartimento': o erro é tratado DEPOIS, no despacho
+ * assíncrono, onde o "crachá" do usuário já não existe. O ETag (que depende de
+ * quem é o dono) é lido ainda na thread do compartimento ('TratadorDeErros.comoConflito').
+ */
+public class ConflitoDeEdicaoException extends ResponseStatusException {
+
+    private final String etag;
+
+    public ConflitoDeEdicaoException(String etag, Throwable causa) {
+        super(HttpStatus.CONFLICT, "O quadro foi alterado por outra pessoa ao mesmo tempo. Recarregue e tente de novo.", causa);
+        this.etag = etag;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        if (etag != null) {
+            headers.setETag(etag);
+        }
+        return headers;
+    }
+}
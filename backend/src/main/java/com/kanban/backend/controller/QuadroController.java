@@ -1,27 +1,64 @@
 package com.kanban.backend.controller;
 
 // Imports do NOSSO Projeto
+import com.kanban.backend.dto.AlteracoesDoQuadroDTO;
+import com.kanban.backend.dto.AtividadeDTO;
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+import com.kanban.backend.dto.PaginaQuadrosDTO;
+import com.kanban.backend.dto.QuadroDTO;
 import com.kanban.backend.dto.QuadroRequestDTO;
-import com.kanban.backend.model.Quadro;
-import com.kanban.backend.model.Usuario;
+import com.kanban.backend.dto.RelatorioImportacaoDTO;
+import com.kanban.backend.dto.RevisaoListagemDTO;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.events.RegistroDeAtividades;
+import com.kanban.backend.events.TransmissorDeEventos;
 import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.security.UsuarioAutenticado;
+import com.kanban.backend.service.BuscaDeQuadros;
+import com.kanban.backend.service.CompartimentoDeQuadros;
+import com.kanban.backend.service.CompartimentoDeTransferencias;
+import com.kanban.backend.service.ExportadorDeQuadros;
+import com.kanban.backend.service.ImportadorDeQuadros;
 import com.kanban.backend.service.QuadroService; 
+import com.kanban.backend.service.RetratosDosQuadros;
+import com.kanban.backend.service.RetratosDosQuadros.Retrato;
 
 // Imports do Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable; // <-- NOVO: Para ler o ID da URL
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 // Imports do Spring Security
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -30,6 +67,21 @@ import java.util.List;
  * -------------------------------------------------------------------------------------
  * * O Controller responsável por todas as operações (CRUD) nos Quadros.
  * * É o único ponto de acesso do Front-end para a gestão de Quadros.
+ *
+ * * GETs condicionais (ETag / If-None-Match):
+ * As leituras devolvem um ETag (a "revisão" do conteúdo). Quando o navegador
+ * pergunta de novo mandando 'If-None-Match' com esse ETag e nada mudou,
+ * respondemos 304 (Not Modified), sem corpo. A checagem usa consultas
+ * "baratas" (só a revisão), sem carregar o quadro e as colunas
+ * (ou o retrato do quadro, quando ele já está pronto: aí nem isso).
+ *
+ * * Compartimento: a listagem, a leitura, a criação e a busca rodam no
+ * 'CompartimentoDeQuadros' (threads e cota de conexões só dos quadros) e devolvem um
+ * 'CompletableFuture': a thread do Tomcat volta na hora. Lotado ou com o banco fora
+ * do ar (disjuntor aberto)? 503 + 'Retry-After', sem afetar o login.
+ * (O histórico de atividades e a sincronização por mudanças também.)
+ * A importação e a exportação, que seguram uma conexão por muito mais tempo, rodam
+ * no 'CompartimentoDeTransferencias', com a sua própria cota.
  */
 @RestController
 @RequestMapping("/api/quadros")
@@ -42,27 +94,117 @@ public class QuadroController {
     // 2. INJEÇÃO DO ESPECIALISTA (QuadroService)
     @Autowired
     private QuadroService quadroService; 
+
+    // 3. A "RÁDIO DO QUADRO" (eventos ao vivo)
+    @Autowired
+    private TransmissorDeEventos transmissorDeEventos;
+
+    // 4. A "VITRINE" (o JSON de cada quadro, já pronto)
+    @Autowired
+    private RetratosDosQuadros retratosDosQuadros;
+
+    // 5. O "COPIADOR DE ARQUIVO" (a exportação em NDJSON)
+    @Autowired
+    private ExportadorDeQuadros exportadorDeQuadros;
+
+    // 6. A "TRANSPORTADORA" (a importação em massa, em JSON ou CSV)
+    @Autowired
+    private ImportadorDeQuadros importadorDeQuadros;
+
+    // 7. O "BALCÃO DE CONSULTAS" (a busca por nome, na memória)
+    @Autowired
+    private BuscaDeQuadros buscaDeQuadros;
+
+    // 8. O "SALÃO DE LEITURA" (as threads e a cota de conexões dos quadros)
+    @Autowired
+    private CompartimentoDeQuadros compartimentoDeQuadros;
+
+    // 9. A "DOCA DE CARGA" (as threads e a cota de conexões da importação e da exportação)
+    @Autowired
+    private CompartimentoDeTransferencias compartimentoDeTransferencias;
+
+    // 10. O "LIVRO DE OCORRÊNCIAS" (o histórico das alterações, no disco local)
+    @Autowired
+    private RegistroDeAtividades registroDeAtividades;
+
+    // 11. A "CHAVE DE COMPATIBILIDADE"
+    // 'true' faz o GET /api/quadros voltar ao formato antigo (a lista completa dos
+    // quadros, com todas as colunas e cartões, sem paginação).
+    @Value("${api.quadros.listagem.formato-legado:false}")
+    private boolean listagemFormatoLegado;
+
+    // O maior tamanho de página aceito (para ninguém pedir "?limite=1000000").
+    private static final int LIMITE_MAXIMO = 200;
+
+    // O máximo de resultados de uma busca.
+    private static final int LIMITE_MAXIMO_DA_BUSCA = 100;
+
+    // Quanto a exportação espera o corpo da resposta começar a ser escrito.
+    private static final long ESPERA_PELO_CORPO_SEGUNDOS = 30;
+
+    // O tipo dos arquivos CSV da importação.
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    // "Pode guardar, mas confirme comigo (If-None-Match) antes de reusar."
+    private static final CacheControl REVALIDAR_SEMPRE = CacheControl.noCache().cachePrivate();
     
     
     // ---------------------------------------------------------------------------------
     // ENDPOINT 1: Listar Todos os Quadros do Usuário
     // ---------------------------------------------------------------------------------
     /**
-     * Rota: GET /api/quadros
-     * Objetivo: Buscar e listar todos os quadros que pertencem ao usuário logado.
+     * Rota: GET /api/quadros?cursor=&limite=&incluirColunas=
+     * Objetivo: Listar os quadros do usuário logado, UMA PÁGINA por vez.
+     *
+     * * Resposta: { "itens": [ {id, nome, totalColunas, atualizadoEm} ], "proximoCursor": 57 }
+     * - 'cursor': o 'proximoCursor' da página anterior (vazio na primeira página).
+     * - 'limite': quantos quadros por página (padrão 50, máximo 200).
+     * - 'incluirColunas': se 'true', cada ficha traz também as suas colunas.
+     *
+     * * Com 'api.quadros.listagem.formato-legado=true', devolve o formato antigo
+     * (a lista completa de 'QuadroDTO', com as colunas e os cartões).
      */
     @GetMapping
-    public ResponseEntity<List<Quadro>> getQuadrosDoUsuario() {
-        
-        // PASSO 1: Identifica o usuário logado (Autenticado pelo SecurityFilter)
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        Usuario usuarioLogado = (Usuario) authentication.getPrincipal();
+    public CompletableFuture<ResponseEntity<?>> getQuadrosDoUsuario(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int limite,
+            @RequestParam(defaultValue = "false") boolean incluirColunas,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
+        revalidarSempre(response);
+        return compartimentoDeQuadros.executar(() -> {
+            // PASSO 1: Identifica o usuário logado (Autenticado pelo SecurityFilter)
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            // PASSO 2: Valida o tamanho da página
+            if (!listagemFormatoLegado && (limite < 1 || limite > LIMITE_MAXIMO)) {
+                return ResponseEntity.badRequest().build(); // 400 Bad Request
+            }
+
+            // PASSO 3: O GET condicional
+            // A "impressão digital" da lista sai de UMA agregação, sem carregar quadros.
+            // O ETag também leva os parâmetros (cada página/formato tem o seu).
+            RevisaoListagemDTO revisao = quadroRepository.buscarRevisaoListagem(usuarioLogado.id());
+            String etag = listagemFormatoLegado
+                ? etag("lista-" + revisao.comoTexto() + "-legado")
+                : etag("lista-" + revisao.comoTexto() + "-" + cursor + "." + limite + "." + incluirColunas);
+            if (correspondeAoEtag(ifNoneMatch, etag)) {
+                return naoModificado(etag); // 304 Not Modified
+            }
 
-        // PASSO 2: Chama o Arquivista otimizado (findByUsuario com @EntityGraph)
-        List<Quadro> quadros = quadroRepository.findByUsuario(usuarioLogado);
+            // PASSO 4 (Compatibilidade): O formato antigo, completo e sem paginação
+            if (listagemFormatoLegado) {
+                List<QuadroDTO> quadros = quadroService.listarQuadrosFormatoLegado(usuarioLogado.id());
+                return ResponseEntity.ok().eTag(etag).body(quadros);
+            }
 
-        // PASSO 3: Retorna 200 OK com a lista de quadros.
-        return ResponseEntity.ok(quadros);   
+            // PASSO 5: Busca a página de fichas resumidas (keyset pagination)
+            PaginaQuadrosDTO pagina = quadroService.listarQuadros(usuarioLogado.id(), cursor, limite, incluirColunas);
+
+            // PASSO 6: Retorna 200 OK com a página (e o ETag dela).
+            return ResponseEntity.ok().eTag(etag).body(pagina);
+        });
     }
 
     
@@ -74,21 +216,23 @@ public class QuadroController {
      * Objetivo: Criar um novo Quadro E as três Colunas padrão para ele.
      */
     @PostMapping
-    public ResponseEntity<Quadro> criarQuadro(@RequestBody QuadroRequestDTO quadroRequest) {
-        
-        // PASSO 1: Identifica o usuário logado
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        Usuario usuarioLogado = (Usuario) authentication.getPrincipal();
+    public CompletableFuture<ResponseEntity<QuadroDTO>> criarQuadro(@RequestBody QuadroRequestDTO quadroRequest) {
+        return compartimentoDeQuadros.executar(() -> {
+            // PASSO 1: Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
 
-        // PASSO 2: Chama o Especialista (QuadroService)
-        // O serviço encapsula a lógica de "Criar Quadro + Criar Colunas".
-        Quadro novoQuadro = quadroService.criarQuadroComColunasPadrao(
-            quadroRequest.getNome(),
-            usuarioLogado
-        );
+            // PASSO 2: Chama o Especialista (QuadroService)
+            // O serviço encapsula a lógica de "Criar Quadro + Criar Colunas".
+            // A resposta é a cópia em DTO do quadro que acabou de ser salvo (já na memória).
+            QuadroDTO novoQuadro = QuadroDTO.de(quadroService.criarQuadroComColunasPadrao(
+                quadroRequest.getNome(),
+                usuarioLogado.id()
+            ));
 
-        // PASSO 3: Retorna 201 Created (sucesso na criação)
-        return ResponseEntity.status(201).body(novoQuadro);
+            // PASSO 3: Retorna 201 Created (sucesso na criação)
+            return ResponseEntity.status(201).body(novoQuadro);
+        });
     }
 
     
@@ -99,30 +243,411 @@ public class QuadroController {
      * Rota: GET /api/quadros/{id}
      * Objetivo: Busca um Quadro específico e garante que o usuário logado é o dono.
      * @PathVariable Long id: Lê o ID que veio na URL (ex: /api/quadros/5).
+     *
+     * * A resposta sai do "retrato" do quadro ('RetratosDosQuadros'): o JSON já pronto,
+     * em bytes, escrito direto na resposta (sem carregar entidades nem passar pelo Jackson).
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Quadro> getQuadroPorId(@PathVariable Long id) {
-        
+    public CompletableFuture<ResponseEntity<byte[]>> getQuadroPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response) {
+        revalidarSempre(response);
+        return compartimentoDeQuadros.executar(() -> {
+            // 1. Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            // 2. O GET condicional (só quando o navegador manda 'If-None-Match') sem retrato pronto:
+            // consulta só o "carimbo" (revisão + dono), sem montar o quadro.
+            Retrato retrato = retratosDosQuadros.prontoNaVitrine(id);
+            if (retrato == null && ifNoneMatch != null) {
+                RevisaoQuadroDTO revisao = quadroRepository.buscarRevisao(id).orElse(null);
+                ResponseEntity<byte[]> recusa = recusarSeNaoForDono(revisao, usuarioLogado);
+                if (recusa != null) {
+                    return recusa; // 404 ou 403
+                }
+                String etag = etagDoQuadro(id, revisao.getVersao());
+                if (correspondeAoEtag(ifNoneMatch, etag)) {
+                    return naoModificado(etag); // 304 Not Modified
+                }
+            }
+
+            // 3. O retrato do quadro (montado agora, com o 'QuadroDTO', se não estava pronto)
+            if (retrato == null) {
+                retrato = retratosDosQuadros.buscar(id).orElse(null);
+            }
+
+            // 4. CHECAGENS DE SEGURANÇA: o quadro existe? O usuário é o dono? (Regra de Negócio)
+            // Se o ID do dono do quadro for diferente do ID do usuário logado, nega o acesso.
+            ResponseEntity<byte[]> recusa = recusarSeNaoForDono(retrato == null ? null : retrato.revisao(), usuarioLogado);
+            if (recusa != null) {
+                return recusa; // 404 Not Found ou 403 Forbidden
+            }
+
+            // 5. O ETag da revisão do retrato (o navegador já tem esta revisão? 304)
+            String etag = etagDoQuadro(id, retrato.versao());
+            if (correspondeAoEtag(ifNoneMatch, etag)) {
+                return naoModificado(etag);
+            }
+
+            // 6. Sucesso! Retorna 200 OK com o Quadro (e suas colunas) e o ETag da revisão.
+            return ResponseEntity.ok()
+                .eTag(etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(retrato.json());
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 4: Eventos ao Vivo do Quadro (Server-Sent Events)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: GET /api/quadros/{id}/events
+     * Objetivo: Manter uma conexão aberta e avisar, ao vivo, quando o quadro mudar
+     * (em vez de o front-end ficar perguntando de tempos em tempos).
+     *
+     * * Eventos enviados:
+     * - "conectado": logo ao abrir, com a revisão atual do quadro.
+     * - "quadro": as alterações dos últimos instantes, agrupadas (veja 'EventoDoQuadroDTO').
+     * Mesma checagem de dono do GET /api/quadros/{id} (404 / 403).
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> eventosDoQuadro(@PathVariable Long id) {
+
         // 1. Identifica o usuário logado
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        Usuario usuarioLogado = (Usuario) authentication.getPrincipal();
+        UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+        // 2. A checagem de dono (só o "carimbo", sem carregar o quadro)
+        RevisaoQuadroDTO revisao = quadroRepository.buscarRevisao(id).orElse(null);
+        ResponseEntity<SseEmitter> recusa = recusarSeNaoForDono(revisao, usuarioLogado);
+        if (recusa != null) {
+            return recusa; // 404 ou 403
+        }
+
+        // 3. Abre a conexão. 'X-Accel-Buffering: no' pede aos proxies (ex: nginx)
+        // que não segurem os eventos num buffer.
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .header("X-Accel-Buffering", "no")
+            .body(transmissorDeEventos.assinar(id, revisao.getVersao()));
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 5: Exportar Todos os Quadros do Usuário (NDJSON)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: GET /api/quadros/exportar
+     * Objetivo: Baixar TODOS os quadros do usuário (com colunas e cartões) num arquivo
+     * NDJSON ("application/x-ndjson"): um quadro completo por linha.
+     *
+     * * A resposta é escrita AOS POUCOS ('StreamingResponseBody', numa thread do
+     * executor assíncrono), enquanto os quadros saem do banco (veja 'ExportadorDeQuadros').
+     * A memória usada não depende de quantos quadros o usuário tem.
+     * * Com 'Accept-Encoding: gzip', a resposta sai compactada ('Content-Encoding: gzip').
+     * * A vaga no 'CompartimentoDeTransferencias' é pedida AQUI (lotado = 503 antes de
+     * qualquer cabeçalho do download); a thread do compartimento escreve o corpo assim
+     * que o Spring o abre.
+     */
+    @GetMapping(value = "/exportar", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportarQuadros(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        // 1. Identifica o usuário logado (AGORA: a escrita roda em outra thread, sem o SecurityContext)
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Long usuarioId = ((UsuarioAutenticado) authentication.getPrincipal()).id();
+
+        // 2. O corpo, escrito na thread do compartimento (com ou sem gzip).
+        // 'syncFlush': cada lote enviado pelo exportador sai compactado na hora, sem esperar o fim.
+        boolean gzip = aceitaGzip(acceptEncoding);
+        CompletableFuture<OutputStream> saidaAberta = new CompletableFuture<OutputStream>()
+            .orTimeout(ESPERA_PELO_CORPO_SEGUNDOS, TimeUnit.SECONDS);
+        CompletableFuture<Long> exportacao = compartimentoDeTransferencias.executar(() -> {
+            OutputStream saida = saidaAberta.join();
+            try {
+                if (gzip) {
+                    try (GZIPOutputStream compactada = new GZIPOutputStream(saida, 8192, true)) {
+                        return exportadorDeQuadros.exportar(usuarioId, compactada);
+                    }
+                }
+                return exportadorDeQuadros.exportar(usuarioId, saida);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        StreamingResponseBody corpo = saida -> {
+            saidaAberta.complete(saida);
+            try {
+                exportacao.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException erroDeEscrita) {
+                    throw erroDeEscrita.getCause();
+                }
+                throw e.getCause() instanceof RuntimeException causa ? causa : e;
+            }
+        };
+
+        // 3. Um download ("attachment"), que não deve ficar em cache nenhum.
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+            .cacheControl(CacheControl.noStore())
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"quadros.ndjson\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
+    }
+
+    /**
+     * O cliente aceita gzip? ("gzip", "gzip;q=0.8" ou "*"; "gzip;q=0" é uma recusa.)
+     */
+    private static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+            .map(valor -> valor.trim().toLowerCase().split(";"))
+            .filter(partes -> partes[0].trim().equals("gzip") || partes[0].trim().equals("*"))
+            .anyMatch(partes -> Arrays.stream(partes).skip(1)
+                .map(String::trim)
+                .noneMatch(parametro -> parametro.matches("q=0(\\.0*)?")));
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 6: Importar Quadros em Massa (JSON ou CSV)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: POST /api/quadros/importar?aPartirDaLinha=
+     * Objetivo: Criar MUITOS quadros (e as colunas deles) de uma vez, vindos de outra ferramenta.
+     *
+     * * Corpo (lido aos poucos, veja 'ImportadorDeQuadros'):
+     * - application/json ou application/x-ndjson: [{"nome": "...", "colunas": ["...", "..."]}, ...]
+     * - text/csv: uma linha por quadro, 'nome,coluna1,coluna2,...'
+     *   ('text/csv; header=present': a 1ª linha é o cabeçalho e não vira quadro)
+     * * Resposta: 200 OK com o relatório (quantos entraram, as linhas recusadas e,
+     * se a importação parou no meio, de qual linha retomar: 'retomarDaLinha').
+     */
+    @PostMapping(value = "/importar", consumes = {
+        MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"
+    })
+    public CompletableFuture<ResponseEntity<RelatorioImportacaoDTO>> importarQuadros(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String tipo,
+            @RequestParam(defaultValue = "1") long aPartirDaLinha,
+            InputStream corpo) {
+
+        if (aPartirDaLinha < 1) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().build()); // 400 Bad Request
+        }
+
+        // Lê e grava no 'CompartimentoDeTransferencias' (a thread do Tomcat volta na hora).
+        return compartimentoDeTransferencias.executar(() -> {
+            // 1. Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            // 2. Lê e grava, lote por lote (o CSV no charset informado, UTF-8 se nenhum).
+            MediaType tipoDoCorpo = MediaType.parseMediaType(tipo);
+            try {
+                RelatorioImportacaoDTO relatorio = TEXT_CSV.includes(tipoDoCorpo)
+                    ? importadorDeQuadros.importarCsv(
+                        usuarioLogado.id(),
+                        new InputStreamReader(corpo, tipoDoCorpo.getCharset() != null ? tipoDoCorpo.getCharset() : StandardCharsets.UTF_8),
+                        "present".equalsIgnoreCase(tipoDoCorpo.getParameter("header")),
+                        aPartirDaLinha)
+                    : importadorDeQuadros.importarJson(usuarioLogado.id(), corpo, aPartirDaLinha);
+                return ResponseEntity.ok(relatorio);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 7: Buscar Quadros e Colunas por Nome
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: GET /api/quadros/busca?q=&limite=
+     * Objetivo: A caixa de busca: os quadros e colunas do usuário cujo nome tem as palavras de 'q'.
+     *
+     * * Cada palavra vale pelo começo ("faz" acha "Fazendo") e acentos/maiúsculas não
+     * importam ("feito" acha "Feito", "lanc" acha "Lançado").
+     * * 'limite': quantos resultados (padrão 20, máximo 100).
+     * * Respondida da memória (veja 'BuscaDeQuadros'), sem consulta ao banco.
+     */
+    @GetMapping("/busca")
+    public CompletableFuture<ResponseEntity<List<ItemDeBuscaDTO>>> buscarPorNome(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limite) {
+        return compartimentoDeQuadros.executar(() -> {
+            // 1. Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            if (limite < 1 || limite > LIMITE_MAXIMO_DA_BUSCA) {
+                return ResponseEntity.badRequest().build(); // 400 Bad Request
+            }
+
+            // 2. Só no índice do próprio usuário.
+            return ResponseEntity.ok(buscaDeQuadros.buscar(usuarioLogado.id(), q, limite));
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 8: Histórico de Atividades do Quadro
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: GET /api/quadros/{id}/atividades?limite=
+     * Objetivo: O que aconteceu no quadro, a alteração mais recente primeiro
+     * (quem, o quê, quando), lido do 'RegistroDeAtividades'.
+     *
+     * * 'limite': quantas atividades (padrão 50, máximo 200).
+     * * Só alterações já confirmadas e gravadas (o registro vai ao disco em lotes, a cada
+     * poucos milissegundos): a mais recente pode demorar um instante para aparecer.
+     * * Mesma checagem de dono do GET /api/quadros/{id} (404 / 403).
+     */
+    @GetMapping("/{id}/atividades")
+    public CompletableFuture<ResponseEntity<List<AtividadeDTO>>> historicoDoQuadro(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int limite) {
+        return compartimentoDeQuadros.executar(() -> {
+            // 1. Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            if (limite < 1 || limite > LIMITE_MAXIMO) {
+                return ResponseEntity.badRequest().build(); // 400 Bad Request
+            }
+
+            // 2. Checagem de dono pelo "carimbo" do quadro
+            RevisaoQuadroDTO revisao = quadroRepository.buscarRevisao(id).orElse(null);
+            ResponseEntity<List<AtividadeDTO>> recusa = recusarSeNaoForDono(revisao, usuarioLogado);
+            if (recusa != null) {
+                return recusa; // 404 ou 403
+            }
+
+            // 3. O histórico, direto dos arquivos (sem consulta ao banco)
+            return ResponseEntity.ok(registroDeAtividades.historico(id, limite));
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENDPOINT 9: Sincronizar o Quadro (só o que mudou desde uma revisão)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Rota: GET /api/quadros/{id}/changes?since=N
+     * Objetivo: O front-end tem o quadro na revisão N (o 'versao' do JSON); em vez de
+     * buscar o quadro inteiro para ver uma coluna que mudou, pede só as mudanças
+     * (veja 'AlteracoesDoQuadroDTO'). Atrasado demais? Vem o quadro inteiro ('completo').
+     *
+     * * O ETag da resposta é o da revisão atual (o mesmo do GET /api/quadros/{id}).
+     * * Mesma checagem de dono do GET /api/quadros/{id} (404 / 403).
+     */
+    @GetMapping("/{id}/changes")
+    public CompletableFuture<ResponseEntity<AlteracoesDoQuadroDTO>> alteracoesDoQuadro(
+            @PathVariable Long id,
+            @RequestParam("since") long desde) {
+        return compartimentoDeQuadros.executar(() -> {
+            // 1. Identifica o usuário logado
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UsuarioAutenticado usuarioLogado = (UsuarioAutenticado) authentication.getPrincipal();
+
+            if (desde < 0) {
+                return ResponseEntity.badRequest().build(); // 400 Bad Request
+            }
 
-        // 2. Busca o Quadro otimizado (findById com @EntityGraph)
-        Quadro quadro = quadroRepository.findById(id)
-            .orElse(null); 
+            // 2. Checagem de dono pelo "carimbo" do quadro
+            RevisaoQuadroDTO revisao = quadroRepository.buscarRevisao(id).orElse(null);
+            ResponseEntity<AlteracoesDoQuadroDTO> recusa = recusarSeNaoForDono(revisao, usuarioLogado);
+            if (recusa != null) {
+                return recusa; // 404 ou 403
+            }
 
-        // 3. CHECAGEM DE SEGURANÇA 1: O quadro existe?
-        if (quadro == null) {
+            // 3. As mudanças (ou o quadro inteiro)
+            return quadroService.buscarAlteracoes(id, desde)
+                .map(alteracoes -> ResponseEntity.ok()
+                    .eTag(etagDoQuadro(id, alteracoes.revisao()))
+                    .body(alteracoes))
+                .orElseGet(() -> ResponseEntity.notFound().build()); // Apagado no meio do caminho
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES DA CHECAGEM DE DONO
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * A checagem de dono feita só com o "carimbo" (revisão + dono) do quadro.
+     * @return 404 (não existe) ou 403 (é de outro usuário); 'null' se está tudo certo.
+     */
+    private static <T> ResponseEntity<T> recusarSeNaoForDono(RevisaoQuadroDTO revisao, UsuarioAutenticado usuarioLogado) {
+        if (revisao == null) {
             return ResponseEntity.notFound().build(); // 404 Not Found
         }
+        if (!revisao.getUsuarioId().equals(usuarioLogado.id())) {
+            return ResponseEntity.status(403).build(); // 403 Forbidden
+        }
+        return null;
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES DO GET CONDICIONAL (ETag)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O ETag de um quadro: muda sempre que a revisão (@Version) muda.
+     * (Também usado pelo 'TratadorDeErros' no 409 de um conflito de edição.)
+     */
+    static String etagDoQuadro(Long id, Long versao) {
+        return etag("q" + id + "-v" + versao);
+    }
+
+    /**
+     * Um ETag "forte" (entre aspas, como manda o HTTP).
+     */
+    private static String etag(String valor) {
+        return "\"" + valor + "\"";
+    }
 
-        // 4. CHECAGEM DE SEGURANÇA 2: O usuário é o dono? (Regra de Negócio)
-        // Se o ID do dono do quadro for diferente do ID do usuário logado, nega o acesso.
-        if (!quadro.getUsuario().getId().equals(usuarioLogado.getId())) {
-            return ResponseEntity.status(403).build(); // 403 Forbidden (Acesso negado)
+    /**
+     * O 'If-None-Match' que o navegador mandou contém o nosso ETag atual?
+     * (O cabeçalho pode trazer uma lista: "a", "b" — ou "*", que corresponde a qualquer um.)
+     */
+    private static boolean correspondeAoEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
         }
-        
-        // 5. Sucesso! Retorna 200 OK com o Quadro (e suas colunas).
-        return ResponseEntity.ok(quadro);
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(valor -> valor.startsWith("W/") ? valor.substring(2) : valor)
+            .anyMatch(valor -> valor.equals("*") || valor.equals(etag));
+    }
+
+    /**
+     * "Pode guardar, mas confirme comigo (If-None-Match) antes de reusar."
+     * Vai na resposta ANTES de o trabalho ir para o compartimento: quando a thread do
+     * Tomcat volta, o Spring Security escreve o seu Cache-Control padrão ('no-store')
+     * se a resposta ainda não tiver um, e o ETag deixaria de servir para alguma coisa.
+     */
+    private static void revalidarSempre(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, REVALIDAR_SEMPRE.getHeaderValue());
+    }
+
+    /**
+     * A resposta 304: "nada mudou, use a cópia que você já tem".
+     */
+    private static <T> ResponseEntity<T> naoModificado(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+            .eTag(etag)
+            .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,90 @@
+package com.kanban.backend.controller;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.ErroDTO;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.security.UsuarioAutenticado;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
+
+// Imports do Spring Security
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: TratadorDeErros.java
+ * ANALOGIA: O "Balcão de Reclamações"
+ * -------------------------------------------------------------------------------------
+ * * @RestControllerAdvice: vale para TODOS os Controllers.
+ * Transforma as exceções dos Serviços na resposta HTTP certa.
+ *
+ * * Por que não deixar o Spring responder sozinho?
+ * Por padrão, o erro é "reencaminhado" internamente para '/error'. Nesse segundo
+ * passo o 'SecurityFilter' não roda de novo (a API não guarda sessão), e o usuário
+ * receberia um 403 no lugar do 404/400 verdadeiro. Aqui a resposta sai direto.
+ */
+@RestControllerAdvice
+public class TratadorDeErros {
+
+    @Autowired
+    private QuadroRepository quadroRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 404, 403, 400... lançados pelos Serviços com 'ResponseStatusException'.
+     * Os cabeçalhos da exceção vão junto (ex: 'Retry-After' do 503 da 'SobrecargaException').
+     */
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErroDTO> tratarStatus(ResponseStatusException e) {
+        return ResponseEntity.status(e.getStatusCode())
+            .headers(e.getHeaders())
+            .body(new ErroDTO(e.getReason()));
+    }
+
+    /**
+     * 409: a escrita perdeu para uma alteração concorrente do mesmo quadro (@Version),
+     * mesmo depois das tentativas do 'RepetidorDeConflitos'.
+     * O ETag da revisão ATUAL vai junto: o front-end recarrega o quadro (ou refaz a
+     * alteração sobre ele) sabendo exatamente qual versão está valendo.
+     * (Só para o dono do quadro: a revisão de um quadro alheio não é da conta de ninguém.)
+     * A revisão é lida numa transação NORMAL (não 'readOnly'): vai ao primário, e não a
+     * uma réplica que talvez ainda nem tenha a revisão que acabou de ganhar a disputa.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErroDTO> tratarConflito(OptimisticLockingFailureException e) {
+        return tratarStatus(comoConflito(e));
+    }
+
+    /**
+     * O 409 do conflito, com o ETag já lido (precisa do "crachá" do usuário: chame na
+     * thread que ainda o tem, ex: a do compartimento das escritas).
+     */
+    public ConflitoDeEdicaoException comoConflito(OptimisticLockingFailureException e) {
+        String etag = null;
+        if (e instanceof ObjectOptimisticLockingFailureException conflito
+                && Quadro.class.equals(conflito.getPersistentClass())
+                && conflito.getIdentifier() instanceof Long quadroId) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            Long usuarioId = authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario
+                ? usuario.id() : null;
+            etag = new TransactionTemplate(transactionManager).execute(status -> quadroRepository.buscarRevisao(quadroId))
+                .filter(revisao -> revisao.getUsuarioId().equals(usuarioId))
+                .map(revisao -> QuadroController.etagDoQuadro(quadroId, revisao.getVersao()))
+                .orElse(null);
+        }
+        return new ConflitoDeEdicaoException(etag, e);
+    }
+}
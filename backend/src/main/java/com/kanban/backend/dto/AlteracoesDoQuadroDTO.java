@@ -0,0 +1,58 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: AlteracoesDoQuadroDTO.java
+ * ANALOGIA: A "Errata" do Quadro (só as páginas que mudaram desde a sua cópia)
+ * -------------------------------------------------------------------------------------
+ * * A resposta do GET /api/quadros/{id}/changes?since=N: o que mudou no quadro da
+ * revisão 'desde' (a que o front-end tem) até a 'revisao' (a atual).
+ *
+ * * Dois formatos:
+ * - 'completo' = false: só as colunas e os cartões inseridos ou alterados (o estado
+ *   ATUAL de cada um) e os IDs dos que sumiram. O front-end aplica por ID.
+ * - 'completo' = true: o front-end está atrasado demais (ou a revisão dele não existe):
+ *   vai o quadro inteiro em 'quadro', como no GET /api/quadros/{id}.
+ * Com @JsonInclude(NON_NULL), os campos do outro formato nem aparecem no JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record AlteracoesDoQuadroDTO(
+    Long quadroId,
+    Long desde,
+    Long revisao,
+    boolean completo,
+    QuadroDTO quadro,
+    List<ColunaResumoDTO> colunas,
+    List<CartaoAlterado> cartoes,
+    List<Long> colunasRemovidas,
+    List<Long> cartoesRemovidos
+) {
+    /**
+     * Um cartão inserido ou alterado, COM a coluna em que ele está agora
+     * (no 'CartaoDTO' ela fica de fora do JSON: lá o cartão já vem dentro da coluna).
+     */
+    public record CartaoAlterado(Long id, String titulo, String descricao, String posicao, Long colunaId) {
+
+        public static CartaoAlterado de(CartaoDTO cartao) {
+            return new CartaoAlterado(cartao.id(), cartao.titulo(), cartao.descricao(), cartao.posicao(), cartao.colunaId());
+        }
+    }
+
+    /** Só as mudanças. */
+    public static AlteracoesDoQuadroDTO mudancas(Long quadroId, Long desde, Long revisao,
+            List<ColunaResumoDTO> colunas, List<CartaoAlterado> cartoes,
+            List<Long> colunasRemovidas, List<Long> cartoesRemovidos) {
+        return new AlteracoesDoQuadroDTO(quadroId, desde, revisao, false, null,
+            colunas, cartoes, colunasRemovidas, cartoesRemovidos);
+    }
+
+    /** O quadro inteiro, no lugar das mudanças. */
+    public static AlteracoesDoQuadroDTO completo(QuadroDTO quadro, Long desde) {
+        return new AlteracoesDoQuadroDTO(quadro.id(), desde, quadro.versao(), true, quadro,
+            null, null, null, null);
+    }
+}
@@ -0,0 +1,20 @@
+package com.kanban.backend.dto;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.events.QuadroAlteradoEvent.Tipo;
+
+// Imports do Java
+import java.time.Instant;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: AtividadeDTO.java
+ * ANALOGIA: Uma "Linha do Livro de Ocorrências"
+ * -------------------------------------------------------------------------------------
+ * * Uma alteração registrada pelo 'RegistroDeAtividades' (GET /api/quadros/{id}/atividades).
+ *
+ * @param alvoId O item alterado (o quadro, a coluna ou o cartão, conforme o 'tipo').
+ * @param usuarioId Quem fez; 'null' quando foi o próprio sistema (ex: um rebalanceamento).
+ */
+public record AtividadeDTO(Long quadroId, Tipo tipo, Long alvoId, Long usuarioId, Instant instante) {
+}
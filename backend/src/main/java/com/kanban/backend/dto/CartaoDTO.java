@@ -0,0 +1,31 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.backend.model.Cartao;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CartaoDTO.java
+ * ANALOGIA: A "Fotocópia" de um Post-it (o original fica no arquivo)
+ * -------------------------------------------------------------------------------------
+ * * O cartão como ele sai na API: { "id", "titulo", "descricao", "posicao" }.
+ * * Nas leituras, preenchido direto pelo JPQL ("SELECT new ..."), sem carregar a
+ * entidade 'Cartao'. Na criação e no "mover", copiado da entidade que acabou de ser salva.
+ * * 'colunaId' serve só para agrupar os cartões por coluna (@JsonIgnore).
+ */
+public record CartaoDTO(
+    Long id,
+    String titulo,
+    String descricao,
+    String posicao,
+    @JsonIgnore Long colunaId
+) {
+
+    /**
+     * A cópia de um cartão já carregado ('getColuna().getId()' não consulta nada).
+     */
+    public static CartaoDTO de(Cartao cartao) {
+        return new CartaoDTO(cartao.getId(), cartao.getTitulo(), cartao.getDescricao(), cartao.getPosicao(),
+            cartao.getColuna().getId());
+    }
+}
@@ -0,0 +1,29 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CartaoExportadoDTO.java
+ * ANALOGIA: Um Cartão dentro da "Folha" de exportação
+ * -------------------------------------------------------------------------------------
+ * * Preenchido direto pelo JPQL (sem carregar a entidade 'Cartao').
+ * * 'colunaId' serve só para agrupar os cartões por coluna (@JsonIgnore).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartaoExportadoDTO {
+
+    private Long id;
+    private String titulo;
+    private String descricao;
+    private String posicao;
+
+    @JsonIgnore
+    private Long colunaId;
+}
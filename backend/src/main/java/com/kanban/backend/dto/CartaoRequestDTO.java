@@ -0,0 +1,18 @@
+package com.kanban.backend.dto;
+
+import lombok.Data;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CartaoRequestDTO.java
+ * ANALOGIA: O "Formulário de Pedido de Criação de Cartão"
+ * -------------------------------------------------------------------------------------
+ * * O que o 'POST /api/colunas/{id}/cartoes' espera. A coluna vem da URL e a posição
+ * é calculada pelo servidor (o cartão novo entra no fim da coluna).
+ */
+@Data
+public class CartaoRequestDTO {
+
+    private String titulo;
+    private String descricao;
+}
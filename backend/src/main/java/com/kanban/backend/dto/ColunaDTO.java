@@ -0,0 +1,30 @@
+package com.kanban.backend.dto;
+
+import com.kanban.backend.model.Coluna;
+
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ColunaDTO.java
+ * ANALOGIA: A "Fotocópia" de uma Coluna, com os seus Post-its
+ * -------------------------------------------------------------------------------------
+ * * A coluna como ela sai na API: { "id", "nome", "posicao", "cartoes": [...] }.
+ * * Montada pelo 'QuadroService' com as linhas do JPQL (veja 'LinhaDoQuadroDTO')
+ * e os cartões da coluna, já na ordem de exibição.
+ */
+public record ColunaDTO(
+    Long id,
+    String nome,
+    String posicao,
+    List<CartaoDTO> cartoes
+) {
+
+    /**
+     * A cópia de uma coluna que acabou de ser criada (os cartões já estão na memória).
+     */
+    public static ColunaDTO de(Coluna coluna) {
+        return new ColunaDTO(coluna.getId(), coluna.getNome(), coluna.getPosicao(),
+            coluna.getCartoes().stream().map(CartaoDTO::de).toList());
+    }
+}
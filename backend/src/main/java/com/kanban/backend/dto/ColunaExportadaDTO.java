@@ -0,0 +1,40 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ColunaExportadaDTO.java
+ * ANALOGIA: Uma Coluna dentro da "Folha" de exportação
+ * -------------------------------------------------------------------------------------
+ * * Preenchida direto pelo JPQL (sem carregar a entidade 'Coluna').
+ * * 'quadroId' serve só para agrupar as colunas por quadro (@JsonIgnore, como no 'ColunaResumoDTO').
+ */
+@Data
+@NoArgsConstructor
+public class ColunaExportadaDTO {
+
+    private Long id;
+    private String nome;
+    private String posicao;
+    private List<CartaoExportadoDTO> cartoes = new ArrayList<>();
+
+    @JsonIgnore
+    private Long quadroId;
+
+    /**
+     * Construtor usado pelo JPQL ("SELECT new ...") no 'ColunaRepository'.
+     */
+    public ColunaExportadaDTO(Long id, String nome, String posicao, Long quadroId) {
+        this.id = id;
+        this.nome = nome;
+        this.posicao = posicao;
+        this.quadroId = quadroId;
+    }
+}
@@ -0,0 +1,31 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ColunaResumoDTO.java
+ * ANALOGIA: A "Etiqueta" de uma Coluna
+ * -------------------------------------------------------------------------------------
+ * * Usada quando a listagem do Dashboard pede as colunas junto (?incluirColunas=true).
+ * * Preenchida direto pelo JPQL, sem carregar a entidade 'Coluna' (nem o 'Quadro' dela).
+ *
+ * * 'quadroId' serve só para o 'QuadroService' agrupar as colunas por quadro;
+ * o @JsonIgnore o esconde do JSON (o front-end já sabe de qual quadro é a coluna).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ColunaResumoDTO {
+
+    private Long id;
+    private String nome;
+    private String posicao; // Para o front-end calcular os vizinhos ao reordenar.
+
+    @JsonIgnore
+    private Long quadroId;
+}
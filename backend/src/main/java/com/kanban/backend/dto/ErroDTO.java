@@ -0,0 +1,18 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ErroDTO.java
+ * ANALOGIA: O "Bilhete de Recusa"
+ * -------------------------------------------------------------------------------------
+ * * O corpo das respostas de erro da API: { "mensagem": "Cartão não encontrado." }
+ */
+@Data
+@AllArgsConstructor
+public class ErroDTO {
+
+    private String mensagem;
+}
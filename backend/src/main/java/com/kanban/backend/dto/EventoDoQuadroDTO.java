@@ -0,0 +1,33 @@
+package com.kanban.backend.dto;
+
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: EventoDoQuadroDTO.java
+ * ANALOGIA: O "Boletim" enviado ao vivo para quem está com o quadro aberto
+ * -------------------------------------------------------------------------------------
+ * * O 'data' de cada evento do GET /api/quadros/{id}/events. Um boletim junta
+ * TODAS as alterações de um intervalo curto (ex: 250 ms) num único evento.
+ *
+ * - 'revisao': a revisão atual do quadro (a mesma do ETag). Se o front-end já
+ * tem essa revisão, não precisa buscar nada.
+ * - 'alteracoes': o que mudou no intervalo, sem repetições.
+ * - 'recarregar': mudou coisa demais para listar; busque o quadro inteiro.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoDoQuadroDTO {
+
+    private Long quadroId;
+    private Long revisao;
+    private List<Alteracao> alteracoes;
+    private boolean recarregar;
+}
@@ -0,0 +1,36 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ItemDeBuscaDTO.java
+ * ANALOGIA: Uma "Ficha do Índice Remissivo"
+ * -------------------------------------------------------------------------------------
+ * * Um quadro ou uma coluna no índice da busca (veja 'BuscaDeQuadros') e, também,
+ * um resultado do GET /api/quadros/busca:
+ * { "tipo": "coluna", "id": 12, "quadroId": 4, "nome": "Fazendo" }
+ *
+ * * Preenchido direto pelo JPQL na carga do índice ('tipo' vem como literal na consulta).
+ * * 'usuarioId' diz em qual índice (o do dono) a ficha entra; @JsonIgnore o esconde.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemDeBuscaDTO {
+
+    public static final String QUADRO = "quadro";
+    public static final String COLUNA = "coluna";
+
+    private String tipo; // "quadro" ou "coluna"
+    private Long id;
+    private Long quadroId; // Para um quadro, o próprio ID.
+    private String nome;
+
+    @JsonIgnore
+    private Long usuarioId;
+}
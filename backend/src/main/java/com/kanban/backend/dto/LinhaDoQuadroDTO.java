@@ -0,0 +1,36 @@
+package com.kanban.backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: LinhaDoQuadroDTO.java
+ * ANALOGIA: Uma "Linha da Planilha" (o quadro repetido ao lado de cada coluna)
+ * -------------------------------------------------------------------------------------
+ * * Uma linha do "quadro LEFT JOIN colunas", preenchida direto pelo JPQL
+ * ("SELECT new ..."): os campos do quadro e os de UMA coluna dele.
+ * Um quadro sem colunas vem numa linha só, com os campos da coluna em 'null'.
+ * * Não vai para o JSON: o 'QuadroService' junta as linhas em 'QuadroDTO's.
+ */
+public record LinhaDoQuadroDTO(
+    Long quadroId,
+    String quadroNome,
+    Instant atualizadoEm,
+    Long versao,
+    Long usuarioId,
+    Long colunaId,
+    String colunaNome,
+    String colunaPosicao
+) {
+
+    /** O quadro desta linha, com as colunas informadas. */
+    public QuadroDTO quadro(List<ColunaDTO> colunas) {
+        return new QuadroDTO(quadroId, quadroNome, atualizadoEm, versao, colunas, usuarioId);
+    }
+
+    /** A coluna desta linha, com os cartões informados. */
+    public ColunaDTO coluna(List<CartaoDTO> cartoes) {
+        return new ColunaDTO(colunaId, colunaNome, colunaPosicao, cartoes);
+    }
+}
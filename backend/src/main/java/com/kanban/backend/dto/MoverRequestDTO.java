@@ -0,0 +1,25 @@
+package com.kanban.backend.dto;
+
+import lombok.Data;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: MoverRequestDTO.java
+ * ANALOGIA: O "Bilhete de Mudança" ("coloque entre o vizinho X e o vizinho Y")
+ * -------------------------------------------------------------------------------------
+ * * O front-end NÃO manda a posição nova: manda QUEM vão ser os vizinhos do item
+ * no lugar de destino, e o servidor calcula uma posição entre os dois.
+ *
+ * - 'colunaId': a coluna de destino (só para cartões; vazio = a coluna atual).
+ * - 'anteriorId': o item que vai ficar logo ANTES.
+ * - 'proximoId': o item que vai ficar logo DEPOIS.
+ * Se só um dos dois vier, o outro é o vizinho atual dele no destino
+ * (só 'proximoId' do primeiro item = ir para o topo). Sem nenhum dos dois = ir para o fim.
+ */
+@Data
+public class MoverRequestDTO {
+
+    private Long colunaId;
+    private Long anteriorId;
+    private Long proximoId;
+}
@@ -0,0 +1,25 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: PaginaQuadrosDTO.java
+ * ANALOGIA: Uma "Página do Fichário" de Quadros
+ * -------------------------------------------------------------------------------------
+ * * A resposta paginada do GET /api/quadros:
+ * { "itens": [ ...fichas resumidas... ], "proximoCursor": 57 }
+ *
+ * * 'proximoCursor': o ID a ser enviado em '?cursor=' para buscar a próxima página.
+ * Vem 'null' quando esta é a última página.
+ */
+@Data
+@AllArgsConstructor
+public class PaginaQuadrosDTO {
+
+    private List<QuadroResumoDTO> itens;
+    private Long proximoCursor;
+}
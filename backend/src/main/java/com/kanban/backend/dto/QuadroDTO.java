@@ -0,0 +1,42 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kanban.backend.model.Quadro;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: QuadroDTO.java
+ * ANALOGIA: A "Fotocópia" do Quadro inteiro (o que o Front-end recebe)
+ * -------------------------------------------------------------------------------------
+ * * O quadro como ele sai na API (GET /api/quadros/{id}, POST /api/quadros e a
+ * listagem no formato legado): { "id", "nome", "atualizadoEm", "versao", "colunas": [...] }.
+ *
+ * * Por que não devolver a entidade 'Quadro'?
+ * O Jackson lendo a entidade pode disparar consultas (as listas LAZY) no meio da
+ * resposta e guarda o Hibernate na memória junto com o JSON. Esta cópia é montada
+ * com DUAS consultas em DTO (veja 'QuadroService.buscarQuadroCompleto'), sem
+ * carregar nenhuma entidade, e não tem nada para carregar depois.
+ *
+ * * 'usuarioId' (o dono) serve só para a checagem de dono (@JsonIgnore).
+ */
+public record QuadroDTO(
+    Long id,
+    String nome,
+    Instant atualizadoEm,
+    Long versao,
+    List<ColunaDTO> colunas,
+    @JsonIgnore Long usuarioId
+) {
+
+    /**
+     * A cópia de um quadro que acabou de ser criado (as colunas já estão na memória).
+     */
+    public static QuadroDTO de(Quadro quadro) {
+        return new QuadroDTO(quadro.getId(), quadro.getNome(), quadro.getAtualizadoEm(), quadro.getVersao(),
+            quadro.getColunas().stream().map(ColunaDTO::de).toList(),
+            quadro.getUsuario().getId());
+    }
+}
@@ -0,0 +1,34 @@
+package com.kanban.backend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: QuadroExportadoDTO.java
+ * ANALOGIA: Uma "Folha" do arquivo de exportação
+ * -------------------------------------------------------------------------------------
+ * * Uma linha do GET /api/quadros/exportar (NDJSON: um quadro completo por linha).
+ * * Mesmo formato do GET /api/quadros/{id}: o quadro, as colunas e os cartões.
+ */
+@Data
+@NoArgsConstructor
+public class QuadroExportadoDTO {
+
+    private Long id;
+    private String nome;
+    private Instant atualizadoEm;
+    private Long versao;
+    private List<ColunaExportadaDTO> colunas;
+
+    public QuadroExportadoDTO(Long id, String nome, Instant atualizadoEm, Long versao, List<ColunaExportadaDTO> colunas) {
+        this.id = id;
+        this.nome = nome;
+        this.atualizadoEm = atualizadoEm;
+        this.versao = versao;
+        this.colunas = colunas;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: QuadroImportadoDTO.java
+ * ANALOGIA: Uma "Ficha de Mudança" (um quadro vindo de outra ferramenta)
+ * -------------------------------------------------------------------------------------
+ * * Um item do POST /api/quadros/importar em JSON:
+ * { "nome": "Sprint 12", "colunas": ["Backlog", "Fazendo", "Pronto"] }
+ * * Sem 'colunas' (ou com a lista vazia), o quadro nasce com as colunas padrão.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuadroImportadoDTO {
+
+    private String nome;
+    private List<String> colunas;
+}
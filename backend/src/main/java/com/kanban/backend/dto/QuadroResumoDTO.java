@@ -0,0 +1,50 @@
+package com.kanban.backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: QuadroResumoDTO.java
+ * ANALOGIA: A "Ficha Resumida" do Quadro (a "capa" da pasta, sem abrir a pasta)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * Um item da listagem do Dashboard (GET /api/quadros). Leva só o que a lista
+ * precisa mostrar: ID, nome, QUANTAS colunas o quadro tem e quando mudou pela última vez.
+ *
+ * * Por que não devolver a entidade 'Quadro'?
+ * Porque a entidade arrasta TODAS as colunas de TODOS os quadros (um JOIN que
+ * multiplica as linhas). Esta ficha é preenchida direto pelo JPQL
+ * ("SELECT new ...QuadroResumoDTO(...)"), sem carregar nenhuma entidade.
+ *
+ * * 'colunas' só vem preenchido quando o front-end pede (?incluirColunas=true).
+ * Com @JsonInclude(NON_NULL), quando está vazio ele nem aparece no JSON.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QuadroResumoDTO {
+
+    private Long id;
+    private String nome;
+    private Integer totalColunas;
+    private Instant atualizadoEm;
+
+    // Opcional: só é preenchido quando o front-end pede as colunas.
+    private List<ColunaResumoDTO> colunas;
+
+    /**
+     * Construtor usado pelo JPQL ("SELECT new ...") no 'QuadroRepository'.
+     */
+    public QuadroResumoDTO(Long id, String nome, Integer totalColunas, Instant atualizadoEm) {
+        this.id = id;
+        this.nome = nome;
+        this.totalColunas = totalColunas;
+        this.atualizadoEm = atualizadoEm;
+    }
+}
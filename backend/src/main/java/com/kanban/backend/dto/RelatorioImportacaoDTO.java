@@ -0,0 +1,46 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RelatorioImportacaoDTO.java
+ * ANALOGIA: O "Recibo da Mudança"
+ * -------------------------------------------------------------------------------------
+ * * A resposta do POST /api/quadros/importar: quanto entrou e o que ficou de fora.
+ *
+ * * 'erros': as linhas recusadas, cada uma com o motivo (no máximo 'maximo-de-erros';
+ * 'totalDeErros' conta todas).
+ * * 'retomarDaLinha': vem preenchido quando a importação PAROU no meio (um lote que
+ * não pôde ser gravado, ou um arquivo malformado). Tudo ANTES desta linha já foi
+ * gravado (ou recusado): basta reenviar o arquivo com '?aPartirDaLinha=' este número.
+ * Vem 'null' quando o arquivo foi lido até o fim.
+ */
+@Data
+@NoArgsConstructor
+public class RelatorioImportacaoDTO {
+
+    private long linhasLidas;
+    private long quadrosImportados;
+    private long colunasImportadas;
+    private long lotesGravados;
+    private long totalDeErros;
+    private List<ErroDeLinha> erros = new ArrayList<>();
+    private Long retomarDaLinha;
+
+    /**
+     * Uma linha recusada: o número dela no arquivo (1 = o primeiro quadro) e o motivo.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ErroDeLinha {
+        private long linha;
+        private String mensagem;
+    }
+}
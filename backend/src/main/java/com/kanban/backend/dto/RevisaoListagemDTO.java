@@ -0,0 +1,32 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RevisaoListagemDTO.java
+ * ANALOGIA: A "Impressão Digital" da lista de quadros de um usuário
+ * -------------------------------------------------------------------------------------
+ * * A revisão da listagem do Dashboard, calculada por UMA consulta de agregação
+ * (sem carregar nenhum quadro):
+ * - 'total':       quantos quadros o usuário tem (muda quando um quadro é apagado);
+ * - 'somaVersoes': a soma das revisões (@Version) dos quadros (muda a cada alteração);
+ * - 'maiorId':     o maior ID (muda quando um quadro é criado, pois os IDs só crescem).
+ * * Qualquer criação, alteração ou remoção muda pelo menos um dos três números.
+ */
+@Data
+@AllArgsConstructor
+public class RevisaoListagemDTO {
+
+    private Long total;
+    private Long somaVersoes;
+    private Long maiorId;
+
+    /**
+     * A "impressão digital" em formato de texto (usada dentro do ETag).
+     */
+    public String comoTexto() {
+        return total + "." + somaVersoes + "." + maiorId;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kanban.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RevisaoQuadroDTO.java
+ * ANALOGIA: O "Carimbo de Revisão" do Quadro
+ * -------------------------------------------------------------------------------------
+ * * Só o necessário para responder um GET condicional (If-None-Match) sem carregar
+ * o quadro inteiro: a revisão atual e o dono (para a checagem de segurança).
+ * * Preenchido direto pelo JPQL ("SELECT new ...").
+ */
+@Data
+@AllArgsConstructor
+public class RevisaoQuadroDTO {
+
+    private Long versao;
+    private Long usuarioId;
+}
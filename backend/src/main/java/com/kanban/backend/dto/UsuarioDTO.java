@@ -0,0 +1,19 @@
+package com.kanban.backend.dto;
+
+import com.kanban.backend.model.Usuario;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: UsuarioDTO.java
+ * ANALOGIA: O "Cartão de Visita" do Agente (o Dossiê fica no arquivo)
+ * -------------------------------------------------------------------------------------
+ * * O usuário como ele sai na API (a resposta do POST /api/usuarios): { "id", "nome", "email" }.
+ * * A entidade 'Usuario' levaria junto o hash da senha e os métodos do 'UserDetails'
+ * ("password", "authorities", "enabled"...). Aqui só vai o que o Front-end mostra.
+ */
+public record UsuarioDTO(Long id, String nome, String email) {
+
+    public static UsuarioDTO de(Usuario usuario) {
+        return new UsuarioDTO(usuario.getId(), usuario.getNome(), usuario.getEmail());
+    }
+}
@@ -0,0 +1,47 @@
+package com.kanban.backend.events;
+
+// Imports do Java
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: QuadroAlteradoEvent.java
+ * ANALOGIA: O "Aviso no Mural" ("o quadro 7 mudou: o cartão 42 foi movido")
+ * -------------------------------------------------------------------------------------
+ * * Publicado pelo 'QuadroService' (e pelo 'RebalanceadorDePosicoes') a cada
+ * alteração de um quadro, das suas colunas ou dos seus cartões.
+ *
+ * * Quem se interessa (ex: o 'TransmissorDeEventos') escuta com
+ * '@TransactionalEventListener': o aviso só é entregue DEPOIS do commit,
+ * nunca para uma alteração que acabou desfeita (rollback).
+ *
+ * @param quadroId O quadro alterado.
+ * @param alteracoes O que mudou (pelo menos uma alteração).
+ */
+public record QuadroAlteradoEvent(Long quadroId, List<Alteracao> alteracoes) {
+
+    /**
+     * Os tipos de alteração que um quadro pode sofrer.
+     * Só acrescente no FIM: o 'RegistroDeAtividades' grava o número (ordinal) no disco.
+     */
+    public enum Tipo {
+        QUADRO_CRIADO,
+        COLUNA_MOVIDA,
+        CARTAO_CRIADO,
+        CARTAO_MOVIDO,
+        POSICOES_REESCRITAS // O rebalanceamento reescreveu as posições de uma coluna (id) ou do quadro.
+    }
+
+    /**
+     * Uma alteração: o que aconteceu, e com qual item (o ID do quadro, da coluna ou do cartão).
+     */
+    public record Alteracao(Tipo tipo, Long id) {
+    }
+
+    /**
+     * Atalho para o caso comum: uma única alteração.
+     */
+    public static QuadroAlteradoEvent de(Long quadroId, Tipo tipo, Long id) {
+        return new QuadroAlteradoEvent(quadroId, List.of(new Alteracao(tipo, id)));
+    }
+}
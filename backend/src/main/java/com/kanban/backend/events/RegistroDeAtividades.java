@@ -0,0 +1,423 @@
+package com.kanban.backend.events;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.AtividadeDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+import com.kanban.backend.security.UsuarioAutenticado;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+// Imports do Spring Security
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+// Imports de Log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports do Java
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RegistroDeAtividades.java
+ * ANALOGIA: O "Livro de Ocorrências" da portaria (só se escreve no fim, nunca se apaga uma linha)
+ * -------------------------------------------------------------------------------------
+ * * O histórico de TODA alteração de quadro, coluna e cartão (quem, o quê, quando),
+ * sem gravar uma linha de auditoria no MySQL a cada transação (o que dobraria as
+ * escritas no banco). Fica em arquivos no disco local ('diretorio').
+ *
+ * * Como funciona:
+ * 1. ENTRADA SEM TRAVA: depois do commit, cada 'QuadroAlteradoEvent' vira registros
+ * numa fila sem trava ('ConcurrentLinkedQueue'). A thread da requisição só enfileira;
+ * nunca espera disco. Fila cheia ('filaMaxima', disco travado)? O registro é
+ * descartado e contado, a requisição não sofre.
+ * 2. UMA THREAD GRAVADORA: a cada 'intervalo', esvazia a fila, grava tudo no segmento
+ * atual (mmap, veja 'SegmentoDeAtividades') e faz UM fsync para o lote inteiro
+ * ("group commit"). Numa queda, perde-se no máximo o último 'intervalo'.
+ * 3. SEGMENTOS: arquivos de 'tamanhoDoSegmento'; quando um enche, começa o próximo.
+ * 4. RETENÇÃO: segmentos cujo registro mais novo passou de 'retencao' são apagados
+ * (na troca de segmento e a cada minuto).
+ * 5. ÍNDICE POR QUADRO (na memória): quadro -> as posições (segmento + offset) dos seus
+ * registros, em ordem. O histórico de um quadro lê só os registros dele.
+ * Refeito na inicialização, lendo os segmentos (que é também a recuperação de uma
+ * queda no meio de um segmento).
+ *
+ * * Só registra o que foi CONFIRMADO (commit). Quem fez: o usuário da requisição;
+ * sem usuário (ex: o 'RebalanceadorDePosicoes'), 'usuarioId' fica vazio.
+ *
+ * * Um diretório, um processo: o arquivo '.trava' impede dois servidores de
+ * gravarem no mesmo lugar.
+ *
+ * * Métricas: 'kanban.atividade.fila', 'kanban.atividade.gravadas',
+ * 'kanban.atividade.descartadas', 'kanban.atividade.segmentos' e
+ * 'kanban.atividade.fsync' (o tempo de cada fsync de lote).
+ */
+@Component
+public class RegistroDeAtividades {
+
+    private static final Logger log = LoggerFactory.getLogger(RegistroDeAtividades.class);
+
+    private static final long RETENCAO_A_CADA = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Um registro esperando a thread gravadora.
+     */
+    private record Pendente(QuadroAlteradoEvent.Tipo tipo, long quadroId, long alvoId, long usuarioId, long instante) {
+    }
+
+    /**
+     * As posições dos registros de um quadro: (número do segmento << 32 | offset), em ordem.
+     * Imutável para quem lê: a thread gravadora publica uma nova a cada registro
+     * (o array é compartilhado, mas só cresce depois do 'tamanho' publicado).
+     */
+    private record Posicoes(long[] itens, int tamanho) {
+    }
+
+    private final boolean habilitado;
+    private final Path diretorio;
+    private final int tamanhoDoSegmento;
+    private final long intervaloEmNanos;
+    private final Duration retencao;
+    private final int filaMaxima;
+
+    // Entrada (qualquer thread)
+    private final Queue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger naFila = new AtomicInteger();
+
+    // Disco e índice (escritos só pela thread gravadora; lidos por qualquer uma)
+    private final NavigableMap<Integer, SegmentoDeAtividades> segmentos = new ConcurrentSkipListMap<>();
+    private final Map<Long, Posicoes> indice = new ConcurrentHashMap<>();
+    private SegmentoDeAtividades atual;
+    private final byte[] rascunho = new byte[SegmentoDeAtividades.MAXIMO_DO_CORPO];
+    private long proximaRetencao;
+
+    private FileChannel canalDaTrava;
+    private FileLock trava;
+    private final Thread gravadora;
+    private volatile boolean encerrando;
+
+    // Métricas
+    private final Counter gravadas;
+    private final Counter descartadas;
+    private final Timer fsync;
+
+    public RegistroDeAtividades(
+            @Value("${api.atividade.habilitado:true}") boolean habilitado,
+            @Value("${api.atividade.diretorio:dados/atividade}") String diretorio,
+            @Value("${api.atividade.tamanho-do-segmento:16MB}") DataSize tamanhoDoSegmento,
+            @Value("${api.atividade.intervalo:50ms}") Duration intervalo,
+            @Value("${api.atividade.retencao:30d}") Duration retencao,
+            @Value("${api.atividade.fila-maxima:100000}") int filaMaxima,
+            MeterRegistry meterRegistry) {
+        if (tamanhoDoSegmento.toBytes() < 4096 || tamanhoDoSegmento.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("api.atividade.tamanho-do-segmento deve ficar entre 4KB e 2GB");
+        }
+        this.habilitado = habilitado;
+        this.diretorio = Path.of(diretorio);
+        this.tamanhoDoSegmento = (int) tamanhoDoSegmento.toBytes();
+        this.intervaloEmNanos = intervalo.toNanos();
+        this.retencao = retencao;
+        this.filaMaxima = filaMaxima;
+
+        Gauge.builder("kanban.atividade.fila", naFila, AtomicInteger::get)
+            .description("Registros de atividade esperando a gravação")
+            .register(meterRegistry);
+        Gauge.builder("kanban.atividade.segmentos", segmentos, Map::size)
+            .description("Segmentos do registro de atividades no disco")
+            .register(meterRegistry);
+        this.gravadas = Counter.builder("kanban.atividade.gravadas")
+            .description("Registros de atividade gravados")
+            .register(meterRegistry);
+        this.descartadas = Counter.builder("kanban.atividade.descartadas")
+            .description("Registros de atividade descartados (fila cheia)")
+            .register(meterRegistry);
+        this.fsync = Timer.builder("kanban.atividade.fsync")
+            .description("Tempo do fsync de cada lote de registros")
+            .register(meterRegistry);
+
+        this.gravadora = new Thread(this::gravarEmLoop, "registro-de-atividades");
+        this.gravadora.setDaemon(true);
+        if (habilitado) {
+            abrir();
+            gravadora.start();
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENTRADA: Um quadro mudou (depois do commit)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Só enfileira (sem trava, sem disco). A gravação é da thread gravadora.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarQuadro(QuadroAlteradoEvent evento) {
+        if (!habilitado) {
+            return;
+        }
+        long usuarioId = usuarioLogado();
+        long instante = System.currentTimeMillis();
+        for (Alteracao alteracao : evento.alteracoes()) {
+            if (naFila.incrementAndGet() > filaMaxima) {
+                naFila.decrementAndGet();
+                descartadas.increment();
+                continue;
+            }
+            fila.offer(new Pendente(alteracao.tipo(), evento.quadroId(), alteracao.id(), usuarioId, instante));
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // SAÍDA: O histórico de um quadro
+    // ---------------------------------------------------------------------------------
+    /**
+     * As atividades mais recentes do quadro (a mais nova primeiro), direto dos segmentos.
+     * A checagem de dono é feita ANTES, no Controller.
+     */
+    public List<AtividadeDTO> historico(Long quadroId, int limite) {
+        Posicoes posicoes = indice.get(quadroId);
+        if (posicoes == null) {
+            return List.of();
+        }
+        List<AtividadeDTO> atividades = new ArrayList<>(Math.min(limite, posicoes.tamanho()));
+        for (int i = posicoes.tamanho() - 1; i >= 0 && atividades.size() < limite; i--) {
+            long posicao = posicoes.itens()[i];
+            SegmentoDeAtividades segmento = segmentos.get((int) (posicao >>> 32));
+            if (segmento == null) {
+                break; // Apagado pela retenção (e os anteriores também).
+            }
+            atividades.add(segmento.ler((int) posicao));
+        }
+        return atividades;
+    }
+
+    /**
+     * O diretório dos segmentos ('api.atividade.diretorio').
+     */
+    public Path diretorio() {
+        return diretorio;
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        if (!habilitado || encerrando) {
+            return;
+        }
+        encerrando = true;
+        LockSupport.unpark(gravadora);
+        try {
+            gravadora.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            for (SegmentoDeAtividades segmento : segmentos.values()) {
+                segmento.fechar();
+            }
+            trava.release();
+            canalDaTrava.close();
+        } catch (IOException e) {
+            log.warn("Falha ao fechar o registro de atividades em {}", diretorio, e);
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // A THREAD GRAVADORA
+    // ---------------------------------------------------------------------------------
+
+    private void gravarEmLoop() {
+        while (true) {
+            boolean ultimaVolta = encerrando;
+            try {
+                int lote = gravarPendentes();
+                if (lote > 0) {
+                    long inicio = System.nanoTime();
+                    atual.forcar(); // Um fsync para o lote inteiro.
+                    fsync.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+                    gravadas.increment(lote);
+                }
+                if (System.currentTimeMillis() >= proximaRetencao) {
+                    aplicarRetencao();
+                }
+            } catch (IOException | RuntimeException e) {
+                log.error("Falha ao gravar o registro de atividades em {}", diretorio, e);
+            }
+            if (ultimaVolta) {
+                return;
+            }
+            LockSupport.parkNanos(intervaloEmNanos);
+        }
+    }
+
+    /**
+     * Esvazia a fila no segmento atual (trocando de segmento quando ele enche).
+     *
+     * @return quantos registros foram gravados.
+     */
+    private int gravarPendentes() throws IOException {
+        int lote = 0;
+        Pendente pendente;
+        while ((pendente = fila.poll()) != null) {
+            naFila.decrementAndGet();
+            int offset = gravar(pendente);
+            if (offset < 0) {
+                atual.forcar();
+                atual = novoSegmento(atual.numero() + 1);
+                aplicarRetencao();
+                offset = gravar(pendente);
+            }
+            indexar(pendente.quadroId(), atual.numero(), offset);
+            lote++;
+        }
+        return lote;
+    }
+
+    private int gravar(Pendente pendente) {
+        return atual.gravar(pendente.tipo(), pendente.quadroId(), pendente.alvoId(), pendente.usuarioId(),
+            pendente.instante(), rascunho);
+    }
+
+    private void indexar(long quadroId, int segmento, int offset) {
+        Posicoes posicoes = indice.get(quadroId);
+        long[] itens = posicoes == null ? new long[4] : posicoes.itens();
+        int tamanho = posicoes == null ? 0 : posicoes.tamanho();
+        if (tamanho == itens.length) {
+            itens = Arrays.copyOf(itens, tamanho * 2);
+        }
+        itens[tamanho] = (long) segmento << 32 | offset;
+        indice.put(quadroId, new Posicoes(itens, tamanho + 1));
+    }
+
+    /**
+     * Apaga os segmentos antigos demais (nunca o atual) e tira as posições deles do índice.
+     */
+    private void aplicarRetencao() throws IOException {
+        proximaRetencao = System.currentTimeMillis() + RETENCAO_A_CADA;
+        long limite = System.currentTimeMillis() - retencao.toMillis();
+        boolean apagou = false;
+        Iterator<SegmentoDeAtividades> antigos = segmentos.values().iterator();
+        while (antigos.hasNext()) {
+            SegmentoDeAtividades segmento = antigos.next();
+            if (segmento == atual || segmento.ultimoInstante() >= limite) {
+                break; // Os seguintes são mais novos.
+            }
+            antigos.remove();
+            segmento.apagar();
+            apagou = true;
+        }
+        if (!apagou) {
+            return;
+        }
+
+        long primeiraPosicao = (long) segmentos.firstKey() << 32;
+        for (Map.Entry<Long, Posicoes> entrada : indice.entrySet()) {
+            Posicoes posicoes = entrada.getValue();
+            int primeira = 0;
+            while (primeira < posicoes.tamanho() && posicoes.itens()[primeira] < primeiraPosicao) {
+                primeira++;
+            }
+            if (primeira == posicoes.tamanho()) {
+                indice.remove(entrada.getKey());
+            } else if (primeira > 0) {
+                long[] restantes = Arrays.copyOfRange(posicoes.itens(), primeira, posicoes.tamanho());
+                indice.put(entrada.getKey(), new Posicoes(restantes, restantes.length));
+            }
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ABERTURA E RECUPERAÇÃO
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Trava o diretório, relê os segmentos (refazendo o índice e recuperando o último,
+     * se o servidor caiu no meio de uma gravação) e escolhe onde continuar.
+     */
+    private void abrir() {
+        try {
+            Files.createDirectories(diretorio);
+            canalDaTrava = FileChannel.open(diretorio.resolve(".trava"), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                trava = canalDaTrava.tryLock();
+            } catch (OverlappingFileLockException e) {
+                trava = null; // Travado por este mesmo processo (outro contexto do Spring).
+            }
+            if (trava == null) {
+                canalDaTrava.close();
+                throw new IllegalStateException("Outro processo já está gravando o registro de atividades em " + diretorio.toAbsolutePath());
+            }
+
+            List<Path> arquivos;
+            try (Stream<Path> lista = Files.list(diretorio)) {
+                arquivos = lista.filter(arquivo -> SegmentoDeAtividades.numeroDoArquivo(arquivo) >= 0).sorted().toList();
+            }
+            for (Path arquivo : arquivos) {
+                int numero = SegmentoDeAtividades.numeroDoArquivo(arquivo);
+                SegmentoDeAtividades segmento = SegmentoDeAtividades.abrir(arquivo, numero);
+                boolean lixo = segmento.recuperar((offset, atividade) -> indexar(atividade.quadroId(), numero, offset));
+                if (lixo) {
+                    log.warn("Registro de atividades: {} terminava num registro incompleto; o resto do segmento foi descartado", arquivo);
+                }
+                segmentos.put(numero, segmento);
+            }
+
+            atual = segmentos.isEmpty() ? novoSegmento(1) : segmentos.lastEntry().getValue();
+            aplicarRetencao();
+            log.info("Registro de atividades em {}: {} segmento(s), {} quadro(s) no índice",
+                diretorio.toAbsolutePath(), segmentos.size(), indice.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível abrir o registro de atividades em " + diretorio.toAbsolutePath(), e);
+        }
+    }
+
+    private SegmentoDeAtividades novoSegmento(int numero) throws IOException {
+        SegmentoDeAtividades segmento = SegmentoDeAtividades.criar(diretorio, numero, tamanhoDoSegmento);
+        segmento.recuperar((offset, atividade) -> { });
+        segmentos.put(numero, segmento);
+        return segmento;
+    }
+
+    private static long usuarioLogado() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof UsuarioAutenticado usuario
+            ? usuario.id() : 0;
+    }
+}
@@ -0,0 +1,282 @@
+package com.kanban.backend.events;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.AtividadeDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent.Tipo;
+
+// Imports do Java
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.zip.CRC32C;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: SegmentoDeAtividades.java
+ * ANALOGIA: Um "Caderno" do livro de ocorrências (quando enche, começa-se outro)
+ * -------------------------------------------------------------------------------------
+ * * Um arquivo de tamanho fixo ('capacidade'), mapeado na memória (mmap): gravar um
+ * registro é copiar bytes para a memória; o sistema operacional leva para o disco,
+ * e o 'forcar' (fsync) garante que chegou.
+ *
+ * * O formato de cada registro (compacto, ~20 bytes):
+ *
+ *   [int tamanho do corpo][int CRC32C do corpo][corpo]
+ *   corpo = [byte tipo][varlong quadroId][varlong alvoId][varlong usuarioId][varlong instante]
+ *
+ * 'varlong': 7 bits por byte (um ID pequeno ocupa 1 ou 2 bytes, não 8).
+ * 'tipo': o número (ordinal) do 'QuadroAlteradoEvent.Tipo'.
+ * O arquivo nasce zerado: um 'tamanho' 0 marca o fim dos registros.
+ *
+ * * Queda no meio de uma gravação: na abertura ('recuperar'), os registros são lidos
+ * do início até o primeiro inválido (tamanho impossível ou CRC errado). Dali até o
+ * fim o arquivo é zerado, e as próximas gravações continuam desse ponto.
+ *
+ * * Só a thread gravadora do 'RegistroDeAtividades' grava; qualquer thread lê
+ * ('ler' usa só leituras absolutas, que não mexem no estado do buffer).
+ */
+final class SegmentoDeAtividades {
+
+    static final String EXTENSAO = ".atividades";
+    static final int CABECALHO = 8; // tamanho + CRC
+    static final int MAXIMO_DO_CORPO = 1 + 4 * 10; // tipo + 4 varlongs de até 10 bytes
+
+    /**
+     * Quem quer saber de cada registro válido encontrado na recuperação (ex: o índice).
+     */
+    interface Leitor {
+        void registro(int offset, AtividadeDTO atividade);
+    }
+
+    private final int numero;
+    private final Path arquivo;
+    private final FileChannel canal;
+    private final MappedByteBuffer mapa;
+    private final int capacidade;
+
+    // Só a thread gravadora mexe nestes dois.
+    private int posicao;
+    private int forcadoAte;
+
+    // O instante do registro mais recente (para a retenção).
+    private volatile long ultimoInstante;
+
+    private SegmentoDeAtividades(int numero, Path arquivo, FileChannel canal, int capacidade) throws IOException {
+        this.numero = numero;
+        this.arquivo = arquivo;
+        this.canal = canal;
+        this.capacidade = capacidade;
+        this.mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, capacidade);
+    }
+
+    /**
+     * Um caderno novo, vazio (o arquivo é criado com 'capacidade' bytes zerados).
+     */
+    static SegmentoDeAtividades criar(Path diretorio, int numero, int capacidade) throws IOException {
+        Path arquivo = diretorio.resolve(nomeDoArquivo(numero));
+        try (RandomAccessFile novo = new RandomAccessFile(arquivo.toFile(), "rw")) {
+            novo.setLength(capacidade);
+        }
+        return abrir(arquivo, numero);
+    }
+
+    /**
+     * Um caderno que já existe. Chame 'recuperar' antes de gravar nele.
+     */
+    static SegmentoDeAtividades abrir(Path arquivo, int numero) throws IOException {
+        FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long tamanho = canal.size();
+        if (tamanho > Integer.MAX_VALUE || tamanho < CABECALHO) {
+            canal.close();
+            throw new IOException("Tamanho inválido para um segmento de atividades: " + arquivo + " (" + tamanho + " bytes)");
+        }
+        return new SegmentoDeAtividades(numero, arquivo, canal, (int) tamanho);
+    }
+
+    static String nomeDoArquivo(int numero) {
+        return String.format("%010d%s", numero, EXTENSAO);
+    }
+
+    /**
+     * O número do segmento pelo nome do arquivo (-1 se não for um segmento).
+     */
+    static int numeroDoArquivo(Path arquivo) {
+        String nome = arquivo.getFileName().toString();
+        if (!nome.endsWith(EXTENSAO)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(nome.substring(0, nome.length() - EXTENSAO.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // RECUPERAÇÃO (na abertura)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Lê os registros válidos, do início, entregando cada um a 'leitor'.
+     * Se encontrar um registro pela metade (queda durante a gravação), zera o resto.
+     *
+     * @return true se havia lixo depois do último registro válido.
+     */
+    boolean recuperar(Leitor leitor) {
+        int atual = 0;
+        boolean lixo = false;
+        while (atual + CABECALHO <= capacidade) {
+            int tamanho = mapa.getInt(atual);
+            if (tamanho == 0) {
+                break; // O fim limpo.
+            }
+            if (tamanho < 0 || tamanho > MAXIMO_DO_CORPO || atual + CABECALHO + tamanho > capacidade
+                    || mapa.getInt(atual + 4) != crc(atual + CABECALHO, tamanho)) {
+                lixo = true;
+                break;
+            }
+            AtividadeDTO atividade = ler(atual);
+            ultimoInstante = Math.max(ultimoInstante, atividade.instante().toEpochMilli());
+            leitor.registro(atual, atividade);
+            atual += CABECALHO + tamanho;
+        }
+
+        if (lixo) {
+            for (int i = atual; i < capacidade; i++) {
+                mapa.put(i, (byte) 0);
+            }
+            mapa.force();
+        }
+        posicao = atual;
+        forcadoAte = atual;
+        return lixo;
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // GRAVAÇÃO (só a thread gravadora)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Grava o registro no fim do caderno.
+     *
+     * @param corpo Um buffer de rascunho com pelo menos 'MAXIMO_DO_CORPO' bytes.
+     * @return O offset do registro, ou -1 se ele não cabe mais (hora de um caderno novo).
+     */
+    int gravar(Tipo tipo, long quadroId, long alvoId, long usuarioId, long instante, byte[] corpo) {
+        int tamanho = 0;
+        corpo[tamanho++] = (byte) tipo.ordinal();
+        tamanho = varlong(corpo, tamanho, quadroId);
+        tamanho = varlong(corpo, tamanho, alvoId);
+        tamanho = varlong(corpo, tamanho, usuarioId);
+        tamanho = varlong(corpo, tamanho, instante);
+
+        int offset = posicao;
+        if (offset + CABECALHO + tamanho > capacidade) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(corpo, 0, tamanho);
+        mapa.put(offset + CABECALHO, corpo, 0, tamanho);
+        mapa.putInt(offset + 4, (int) crc.getValue());
+        mapa.putInt(offset, tamanho); // Por último: até aqui, o registro "não existe".
+
+        posicao = offset + CABECALHO + tamanho;
+        ultimoInstante = Math.max(ultimoInstante, instante);
+        return offset;
+    }
+
+    /**
+     * fsync do que foi gravado desde o último 'forcar' (uma vez por lote, não por registro).
+     *
+     * @return quantos bytes foram levados ao disco.
+     */
+    int forcar() {
+        int desde = forcadoAte;
+        int ate = posicao;
+        if (ate > desde) {
+            mapa.force(desde, ate - desde);
+            forcadoAte = ate;
+        }
+        return ate - desde;
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // LEITURA (qualquer thread)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O registro que começa em 'offset' (um offset que veio do índice ou da recuperação).
+     */
+    AtividadeDTO ler(int offset) {
+        int[] cursor = {offset + CABECALHO};
+        Tipo tipo = Tipo.values()[mapa.get(cursor[0]++)];
+        long quadroId = lerVarlong(cursor);
+        long alvoId = lerVarlong(cursor);
+        long usuarioId = lerVarlong(cursor);
+        long instante = lerVarlong(cursor);
+        return new AtividadeDTO(quadroId, tipo, alvoId, usuarioId == 0 ? null : usuarioId, Instant.ofEpochMilli(instante));
+    }
+
+    int numero() {
+        return numero;
+    }
+
+    long ultimoInstante() {
+        return ultimoInstante;
+    }
+
+    void fechar() throws IOException {
+        forcar();
+        canal.close();
+    }
+
+    /**
+     * Fecha e apaga o arquivo. Quem ainda está lendo continua lendo: o mapeamento
+     * só some quando o buffer for coletado.
+     */
+    void apagar() throws IOException {
+        canal.close();
+        Files.deleteIfExists(arquivo);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    private int crc(int inicio, int tamanho) {
+        CRC32C crc = new CRC32C();
+        for (int i = inicio; i < inicio + tamanho; i++) {
+            crc.update(mapa.get(i));
+        }
+        return (int) crc.getValue();
+    }
+
+    private static int varlong(byte[] destino, int posicao, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino[posicao++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        destino[posicao++] = (byte) valor;
+        return posicao;
+    }
+
+    private long lerVarlong(int[] cursor) {
+        long valor = 0;
+        for (int deslocamento = 0; ; deslocamento += 7) {
+            byte b = mapa.get(cursor[0]++);
+            valor |= (long) (b & 0x7F) << deslocamento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+}
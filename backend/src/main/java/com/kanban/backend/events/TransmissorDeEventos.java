@@ -0,0 +1,385 @@
+package com.kanban.backend.events;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.EventoDoQuadroDTO;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+import com.kanban.backend.repository.QuadroRepository;
+
+// Imports do Jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Imports de Log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports do Java
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: TransmissorDeEventos.java
+ * ANALOGIA: A "Rádio do Quadro" (cada quadro tem a sua frequência)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * Mantém as conexões abertas do GET /api/quadros/{id}/events (Server-Sent Events)
+ * e avisa, ao vivo, quem está com um quadro aberto que ele mudou. Assim o
+ * front-end não precisa ficar perguntando (polling) ao 'getQuadroPorId'.
+ *
+ * * Como funciona:
+ * 1. OUVINTES POR QUADRO: um conjunto de assinantes para cada quadro. Uma alteração
+ * no quadro 7 só é enviada a quem está ouvindo o quadro 7.
+ * 2. AGRUPAMENTO: as alterações (vindas do 'QuadroAlteradoEvent', depois do commit)
+ * ficam acumuladas por quadro e, a cada 'intervalo', viram UM único evento.
+ * Uma rajada de 50 movimentos vira um boletim, não 50.
+ * 3. FILA LIMITADA POR ASSINANTE: cada conexão tem a sua fila (tamanho fixo), esvaziada
+ * por uma thread de envio. Quem publica nunca espera pela rede de ninguém.
+ * 4. OUVINTE LENTO É DESCONECTADO: se a fila de um assinante enche (a rede dele não
+ * dá conta), ele é derrubado em vez de segurar os outros. O front-end
+ * (PaginaQuadro.js) reconecta e busca o quadro de novo.
+ *
+ * * Métricas: 'assinantes()', 'eventosEnviados()', 'eventosDescartados()', ...
+ */
+@Component
+public class TransmissorDeEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(TransmissorDeEventos.class);
+
+    private final QuadroRepository quadroRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final int capacidadeDaFila;
+    private final int maximoDeAlteracoes;
+
+    // Quadro -> quem está ouvindo.
+    private final Map<Long, Set<Assinante>> assinantesPorQuadro = new ConcurrentHashMap<>();
+
+    // Quadro -> alterações ainda não enviadas (esvaziado a cada 'intervalo').
+    private final Map<Long, Acumulado> pendentesPorQuadro = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService agendador;
+    private final ExecutorService envio;
+
+    // Métricas
+    private final LongAdder eventosPublicados = new LongAdder();
+    private final LongAdder eventosEnviados = new LongAdder();
+    private final LongAdder eventosDescartados = new LongAdder();
+    private final LongAdder assinantesDerrubados = new LongAdder();
+
+    public TransmissorDeEventos(
+            QuadroRepository quadroRepository,
+            ObjectMapper objectMapper,
+            @Value("${api.quadros.eventos.intervalo:250ms}") Duration intervalo,
+            @Value("${api.quadros.eventos.heartbeat:15s}") Duration heartbeat,
+            @Value("${api.quadros.eventos.timeout:30m}") Duration timeout,
+            @Value("${api.quadros.eventos.fila-por-assinante:16}") int capacidadeDaFila,
+            @Value("${api.quadros.eventos.maximo-de-alteracoes:100}") int maximoDeAlteracoes,
+            @Value("${api.quadros.eventos.threads-de-envio:2}") int threadsDeEnvio) {
+        this.quadroRepository = quadroRepository;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.capacidadeDaFila = capacidadeDaFila;
+        this.maximoDeAlteracoes = maximoDeAlteracoes;
+
+        this.agendador = Executors.newSingleThreadScheduledExecutor(threads("sse-agrupador-"));
+        this.envio = Executors.newFixedThreadPool(threadsDeEnvio, threads("sse-envio-"));
+
+        agendador.scheduleWithFixedDelay(this::publicarPendentes, intervalo.toMillis(), intervalo.toMillis(), TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::enviarHeartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENTRADA 1: Alguém abriu o quadro (GET /api/quadros/{id}/events)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Abre uma conexão SSE para o quadro. A checagem de dono é feita ANTES, no Controller.
+     * O primeiro evento ("conectado") traz a revisão atual do quadro.
+     */
+    public SseEmitter assinar(Long quadroId, Long revisaoAtual) {
+        SseEmitter emitter = criarEmitter(timeout.toMillis());
+        Assinante assinante = new Assinante(quadroId, emitter, new ArrayBlockingQueue<>(capacidadeDaFila));
+
+        assinantesPorQuadro.compute(quadroId, (id, assinantes) -> {
+            Set<Assinante> conjunto = assinantes != null ? assinantes : ConcurrentHashMap.newKeySet();
+            conjunto.add(assinante);
+            return conjunto;
+        });
+        emitter.onCompletion(() -> remover(assinante));
+        emitter.onTimeout(() -> remover(assinante));
+        emitter.onError(erro -> remover(assinante));
+
+        entregar(assinante, evento("conectado", revisaoAtual, new EventoDoQuadroDTO(quadroId, revisaoAtual, List.of(), false)));
+        return emitter;
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENTRADA 2: Um quadro mudou (depois do commit)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Só acumula (rápido e sem rede). O envio acontece no próximo 'intervalo'.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarQuadro(QuadroAlteradoEvent evento) {
+        if (!assinantesPorQuadro.containsKey(evento.quadroId())) {
+            return; // Ninguém está com este quadro aberto.
+        }
+        pendentesPorQuadro.compute(evento.quadroId(), (id, acumulado) -> {
+            Acumulado atual = acumulado != null ? acumulado : new Acumulado();
+            atual.adicionar(evento.alteracoes(), maximoDeAlteracoes);
+            return atual;
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // MÉTRICAS
+    // ---------------------------------------------------------------------------------
+
+    /** Quantas conexões estão abertas agora (em todos os quadros). */
+    public int assinantes() {
+        return assinantesPorQuadro.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /** Quantas conexões estão abertas agora num quadro. */
+    public int assinantesDoQuadro(Long quadroId) {
+        Set<Assinante> assinantes = assinantesPorQuadro.get(quadroId);
+        return assinantes == null ? 0 : assinantes.size();
+    }
+
+    /** Quantos quadros têm pelo menos uma conexão aberta. */
+    public int quadrosComAssinantes() {
+        return assinantesPorQuadro.size();
+    }
+
+    /** Quantos boletins (já agrupados) foram publicados, um por quadro por intervalo. */
+    public long eventosPublicados() {
+        return eventosPublicados.sum();
+    }
+
+    /** Quantos eventos chegaram a ser escritos nas conexões. */
+    public long eventosEnviados() {
+        return eventosEnviados.sum();
+    }
+
+    /** Quantos eventos foram jogados fora porque a fila do assinante estava cheia. */
+    public long eventosDescartados() {
+        return eventosDescartados.sum();
+    }
+
+    /** Quantos assinantes lentos foram desconectados. */
+    public long assinantesDerrubados() {
+        return assinantesDerrubados.sum();
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // O TRABALHO EM SEGUNDO PLANO
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * A cada 'intervalo': UM evento por quadro alterado, para todos os assinantes dele.
+     */
+    private void publicarPendentes() {
+        for (Long quadroId : new ArrayList<>(pendentesPorQuadro.keySet())) {
+            Acumulado acumulado = pendentesPorQuadro.remove(quadroId);
+            Set<Assinante> assinantes = assinantesPorQuadro.get(quadroId);
+            if (acumulado == null || assinantes == null || assinantes.isEmpty()) {
+                continue;
+            }
+            try {
+                // A revisão atual: uma consulta pela chave primária, por quadro e por intervalo
+                // (não por assinante, nem por alteração).
+                Long revisao = quadroRepository.buscarRevisao(quadroId).map(RevisaoQuadroDTO::getVersao).orElse(null);
+                EventoDoQuadroDTO boletim = acumulado.recarregar
+                    ? new EventoDoQuadroDTO(quadroId, revisao, List.of(), true)
+                    : new EventoDoQuadroDTO(quadroId, revisao, List.copyOf(acumulado.alteracoes), false);
+
+                // Serializado UMA vez e compartilhado por todas as conexões do quadro.
+                Set<DataWithMediaType> evento = evento("quadro", revisao, boletim);
+                eventosPublicados.increment();
+                assinantes.forEach(assinante -> entregar(assinante, evento));
+            } catch (RuntimeException e) {
+                log.warn("Falha ao publicar os eventos do quadro {}", quadroId, e);
+            }
+        }
+    }
+
+    /**
+     * De tempos em tempos, um comentário vazio em cada conexão: mantém proxies
+     * sem derrubar a conexão por inatividade e revela conexões que já morreram.
+     */
+    private void enviarHeartbeat() {
+        Set<DataWithMediaType> ping = SseEmitter.event().comment("ping").build();
+        assinantesPorQuadro.values().forEach(assinantes -> assinantes.forEach(assinante -> entregar(assinante, ping)));
+    }
+
+    /**
+     * Põe o evento na fila do assinante. Fila cheia = assinante lento = desconectado.
+     */
+    private void entregar(Assinante assinante, Set<DataWithMediaType> evento) {
+        if (!assinante.fila.offer(evento)) {
+            eventosDescartados.increment();
+            derrubar(assinante);
+            return;
+        }
+        drenar(assinante);
+    }
+
+    /**
+     * Esvazia a fila do assinante numa thread de envio (uma drenagem por vez por assinante).
+     */
+    private void drenar(Assinante assinante) {
+        if (!assinante.drenando.compareAndSet(false, true)) {
+            return; // Já tem alguém esvaziando esta fila.
+        }
+        envio.execute(() -> {
+            try {
+                Set<DataWithMediaType> evento;
+                while ((evento = assinante.fila.poll()) != null) {
+                    assinante.emitter.send(evento);
+                    eventosEnviados.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // A conexão caiu (ou já foi encerrada).
+                remover(assinante);
+            } finally {
+                assinante.drenando.set(false);
+            }
+            if (!assinante.fila.isEmpty() && assinante.ativo.get()) {
+                drenar(assinante); // Chegou algo enquanto terminávamos.
+            }
+        });
+    }
+
+    private void derrubar(Assinante assinante) {
+        if (remover(assinante)) {
+            assinantesDerrubados.increment();
+            log.debug("Assinante lento desconectado do quadro {}", assinante.quadroId);
+            assinante.emitter.complete();
+        }
+    }
+
+    /**
+     * Tira o assinante do quadro (e o quadro do mapa, se ficou sem ninguém).
+     * @return 'true' se ele ainda estava lá.
+     */
+    private boolean remover(Assinante assinante) {
+        if (!assinante.ativo.compareAndSet(true, false)) {
+            return false;
+        }
+        assinante.fila.clear();
+        assinantesPorQuadro.computeIfPresent(assinante.quadroId, (id, assinantes) -> {
+            assinantes.remove(assinante);
+            return assinantes.isEmpty() ? null : assinantes;
+        });
+        return true;
+    }
+
+    private Set<DataWithMediaType> evento(String nome, Long revisao, EventoDoQuadroDTO dados) {
+        try {
+            SseEmitter.SseEventBuilder evento = SseEmitter.event()
+                .name(nome)
+                .data(objectMapper.writeValueAsString(dados));
+            if (revisao != null) {
+                evento.id(String.valueOf(revisao));
+            }
+            return evento.build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o evento do quadro " + dados.getQuadroId(), e);
+        }
+    }
+
+    // Separado para os testes poderem simular uma conexão lenta.
+    SseEmitter criarEmitter(long timeoutEmMillis) {
+        return new SseEmitter(timeoutEmMillis);
+    }
+
+    private static ThreadFactory threads(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        envio.shutdownNow();
+        assinantesPorQuadro.values().forEach(assinantes -> assinantes.forEach(assinante -> assinante.emitter.complete()));
+        assinantesPorQuadro.clear();
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ESTRUTURAS INTERNAS
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Uma conexão aberta: o 'SseEmitter' e a fila (limitada) de eventos a enviar.
+     */
+    private static final class Assinante {
+        private final Long quadroId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> fila;
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private final AtomicBoolean ativo = new AtomicBoolean(true);
+
+        private Assinante(Long quadroId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> fila) {
+            this.quadroId = quadroId;
+            this.emitter = emitter;
+            this.fila = fila;
+        }
+    }
+
+    /**
+     * As alterações de um quadro acumuladas desde o último envio, sem repetições.
+     * Passou de 'maximo'? Em vez da lista, o boletim manda "recarregar".
+     * (Só é alterado dentro do 'compute' do mapa, que já é exclusivo por quadro.)
+     */
+    private static final class Acumulado {
+        private final Set<Alteracao> alteracoes = new LinkedHashSet<>();
+        private boolean recarregar;
+
+        private void adicionar(List<Alteracao> novas, int maximo) {
+            if (recarregar) {
+                return;
+            }
+            alteracoes.addAll(novas);
+            if (alteracoes.size() > maximo) {
+                recarregar = true;
+                alteracoes.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.kanban.backend.model;
+
+// Imports do Jakarta Persistence (JPA)
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.events.QuadroAlteradoEvent.Tipo;
+
+// Imports do Lombok
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: AlteracaoDoQuadro.java
+ * ANALOGIA: Uma linha do "Caderno de Mudanças" do quadro
+ * -------------------------------------------------------------------------------------
+ * * O que mudou na revisão 'revisao' do quadro (a mesma @Version do 'Quadro'):
+ * o tipo da alteração e o item (coluna ou cartão). Gravada na MESMA transação da
+ * alteração (veja 'DiarioDeAlteracoes'): se a alteração foi confirmada, a linha existe.
+ *
+ * * Compacta de propósito: só IDs, um número para o tipo e nenhuma chave estrangeira
+ * (a linha sobrevive ao item, para o cliente saber que ele sumiu). O conteúdo atual
+ * do item é lido na hora da sincronização.
+ * * @Index (quadro_id, revisao): "as mudanças do quadro X depois da revisão N".
+ * * Sem cache L2: cada linha é lida poucas vezes (e as recentes vêm da memória).
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "alteracoes_quadro",
+    indexes = @Index(name = "idx_alteracoes_quadro_revisao", columnList = "quadro_id, revisao")
+)
+public class AlteracaoDoQuadro {
+
+    // IDs reservados em blocos de 50 (veja o comentário em Quadro.java).
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "alteracoes_quadro_seq")
+    @SequenceGenerator(name = "alteracoes_quadro_seq", sequenceName = "alteracoes_quadro_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "quadro_id", nullable = false)
+    private Long quadroId;
+
+    @Column(nullable = false)
+    private Long revisao;
+
+    // O número (ordinal) do tipo: só se acrescentam tipos no FIM do enum.
+    @Column(nullable = false)
+    private Tipo tipo;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+}
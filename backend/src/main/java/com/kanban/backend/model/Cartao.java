@@ -0,0 +1,121 @@
+package com.kanban.backend.model;
+
+// Imports do Jakarta Persistence (JPA)
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+// Imports do Hibernate
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.config.CacheL2Config;
+
+// Imports do Jackson (para controle de JSON)
+import com.fasterxml.jackson.annotation.JsonIgnore; // VITAL para evitar loops na API
+
+// Imports do Lombok
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: Cartao.java
+ * ANALOGIA: O "Post-it" colado numa Coluna
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * A tarefa em si. MUITOS Cartões pertencem a UMA Coluna.
+ *
+ * * @Index (coluna_id, posicao):
+ * Sustenta as duas perguntas mais comuns sobre cartões:
+ * "os cartões da coluna X em ordem" e "o vizinho do cartão Y na coluna X".
+ * * @Cacheable/@Cache: cópia no cache de segundo nível (gaveta "cartoes", veja 'CacheL2Config').
+ */
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.CARTOES)
+@Table(
+    name = "cartoes",
+    indexes = @Index(name = "idx_cartoes_coluna_posicao", columnList = "coluna_id, posicao")
+)
+public class Cartao {
+
+    // ---------------------------------------------------------------------------------
+    // CAMPOS BÁSICOS
+    // ---------------------------------------------------------------------------------
+    // IDs reservados em blocos de 50 (veja o comentário em Quadro.java).
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cartoes_seq")
+    @SequenceGenerator(name = "cartoes_seq", sequenceName = "cartoes_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private String titulo;
+
+    @Column(length = 2000)
+    private String descricao;
+
+    /**
+     * A posição do cartão dentro da coluna (veja 'RankFracionario').
+     * Os cartões são exibidos em ordem alfabética deste campo.
+     */
+    @Column(nullable = false, length = 64)
+    private String posicao;
+
+    // A revisão do cartão (o mesmo @Version do Quadro): duas gravações do MESMO cartão
+    // ao mesmo tempo não se sobrescrevem, a segunda falha (veja 'RepetidorDeConflitos').
+    // O DEFAULT 0 é para as linhas que já existiam quando a coluna foi criada.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long versao;
+
+
+    // ---------------------------------------------------------------------------------
+    // RELACIONAMENTO COM A COLUNA (O Dono)
+    // ---------------------------------------------------------------------------------
+    /**
+     * LAZY: mover um cartão só precisa do ID da coluna, não da coluna inteira.
+     * @JsonIgnore: o mesmo motivo da Coluna -> Quadro (evitar o loop de JSON).
+     * @ToString.Exclude: o mesmo loop, agora no toString do Lombok.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "coluna_id", nullable = false)
+    @JsonIgnore
+    @ToString.Exclude
+    private Coluna coluna;
+
+    // Identidade pelo ID, segura com o "proxy" LAZY (veja o comentário em Quadro.java).
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof Cartao that && id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Cartao.class.hashCode();
+    }
+}
@@ -1,22 +1,45 @@
 package com.kanban.backend.model;
 
 // Imports do Jakarta Persistence (JPA)
+import jakarta.persistence.Cacheable;
+import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+
+// Imports do Hibernate
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.config.CacheL2Config;
 
 // Imports do Jackson (para controle de JSON)
 import com.fasterxml.jackson.annotation.JsonIgnore; // VITAL para evitar loops na API
 
 // Imports do Lombok
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Imports do Java
+import java.util.List;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -25,25 +48,50 @@ import lombok.NoArgsConstructor;
  * -------------------------------------------------------------------------------------
  * * O que é?
  * Define a estrutura de uma coluna dentro de um quadro.
- * * Este arquivo faz a conexão de que MUITAS Colunas pertencem a UM Quadro.
+ * * Este arquivo faz a conexão de que MUITAS Colunas pertencem a UM Quadro
+ * (e de que UMA Coluna tem MUITOS Cartões).
+ * * @Index (quadro_id, posicao): "as colunas do quadro X em ordem".
+ * * @Cacheable/@Cache: cópia no cache de segundo nível (gaveta "colunas", veja 'CacheL2Config').
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "colunas")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.COLUNAS)
+@Table(
+    name = "colunas",
+    indexes = @Index(name = "idx_colunas_quadro_posicao", columnList = "quadro_id, posicao")
+)
 public class Coluna {
     
     // ---------------------------------------------------------------------------------
     // CAMPOS BÁSICOS
     // ---------------------------------------------------------------------------------
+    // IDs reservados em blocos de 50 (veja o comentário em Quadro.java):
+    // permite salvar as colunas de um quadro num único lote de INSERTs.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "colunas_seq")
+    @SequenceGenerator(name = "colunas_seq", sequenceName = "colunas_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String nome; // Ex: "A Fazer", "Fazendo", "Feito"
 
+    // A posição da coluna dentro do quadro (veja 'RankFracionario').
+    // Aceita 'null' só por causa das colunas criadas antes deste campo existir:
+    // o 'QuadroService' dá posição a elas na primeira vez que o quadro é reordenado.
+    @Column(length = 64)
+    private String posicao;
+
+    // A revisão da coluna: a mesma ideia da revisão do Cartão.
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long versao;
+
     
     /**
      * ---------------------------------------------------------------------------------
@@ -64,9 +112,46 @@ public class Coluna {
      * 4.  O @JsonIgnore instrui o serializador (Jackson) a IGNORAR este campo
      * durante a serialização do objeto Coluna.
      * Isso quebra o loop e permite que os dados sejam enviados de forma limpa.
+     *
+     * LAZY: quem precisa do quadro já o carregou (ou só precisa do ID dele).
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "quadro_id", nullable = false)
     @JsonIgnore // <-- VITAL para quebrar o loop de serialização
+    @ToString.Exclude
     private Quadro quadro;
-}
\ No newline at end of file
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * RELACIONAMENTO COM OS CARTÕES
+     * ---------------------------------------------------------------------------------
+     * @OrderBy: os cartões já vêm do banco na ordem de exibição ('posicao', e o ID
+     * desempata duas posições iguais, para a ordem não variar de uma leitura para outra).
+     *
+     * @Fetch(SUBSELECT): ao abrir um quadro, os cartões de TODAS as colunas dele são
+     * buscados numa única consulta extra (em vez de uma consulta por coluna, o N+1).
+     *
+     * @Cache: a lista (só os IDs, na ordem) fica na gaveta "coluna-cartoes".
+     */
+    @OneToMany(mappedBy = "coluna", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("posicao ASC, id ASC")
+    @Fetch(FetchMode.SUBSELECT)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.COLUNA_CARTOES)
+    @ToString.Exclude
+    private List<Cartao> cartoes;
+
+    // Identidade pelo ID, segura com o "proxy" LAZY (veja o comentário em Quadro.java).
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof Coluna that && id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Coluna.class.hashCode();
+    }
+}
@@ -2,6 +2,7 @@ package com.kanban.backend.model;
 
 // --- Imports do Jakarta Persistence (JPA) ---
 // Estas são as "Ferramentas de Construção" da tabela e relacionamentos.
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -9,18 +10,31 @@ import jakarta.persistence.FetchType; // Para definir a estratégia de carregame
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn; 
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 // --- Imports do Jackson (para controle de JSON) ---
 import com.fasterxml.jackson.annotation.JsonIgnore; // VITAL para evitar loops na API
 
+import com.kanban.backend.config.CacheL2Config;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
 // --- Imports do Lombok e Java ---
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import java.time.Instant; // Para a data da última alteração
 import java.util.List; // Para a lista de colunas
 
 
@@ -31,24 +45,63 @@ import java.util.List; // Para a lista de colunas
  * -------------------------------------------------------------------------------------
  * * @Entity: Diz ao Spring (JPA/Hibernate) que esta classe é uma tabela no banco.
  * * @Table(name = "quadros"): Define o nome da tabela.
+ * * @Index (usuario_id, id): Sustenta a listagem paginada por cursor ("keyset") do
+ * Dashboard: "os quadros do usuário X com ID maior que o cursor, em ordem de ID".
+ * * @Cacheable/@Cache: cópia no cache de segundo nível (gaveta "quadros", veja 'CacheL2Config').
+ * READ_WRITE: quem lê durante uma alteração ainda não confirmada vai ao banco.
+ * * @Getter/@Setter (e não @Data): a identidade é o ID (veja 'equals') e o toString
+ * não toca nas relações LAZY. A API não devolve a entidade, e sim o 'QuadroDTO'.
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "quadros")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.QUADROS)
+@Table(
+    name = "quadros",
+    indexes = @Index(name = "idx_quadros_usuario_id", columnList = "usuario_id, id")
+)
 public class Quadro {
     
     // ---------------------------------------------------------------------------------
     // PARTE 1: CAMPOS BÁSICOS
     // ---------------------------------------------------------------------------------
+    /**
+     * @GeneratedValue(SEQUENCE) + @SequenceGenerator(allocationSize = 50):
+     * O Hibernate "reserva" 50 IDs de uma vez na sequência 'quadros_seq' e os distribui
+     * em memória. Diferente do IDENTITY (auto-incremento), ele sabe o ID ANTES do INSERT,
+     * e por isso consegue mandar vários INSERTs juntos num único lote (JDBC batch).
+     * (No MySQL, que não tem sequências, o Hibernate usa uma tabela 'quadros_seq'.)
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "quadros_seq")
+    @SequenceGenerator(name = "quadros_seq", sequenceName = "quadros_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String nome;
 
+    // Quando o quadro (ou uma de suas colunas) foi alterado pela última vez.
+    // Preenchido pelo 'QuadroService' e exibido na listagem resumida do Dashboard.
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
+    /**
+     * @Version: A "Revisão" do quadro.
+     * O Hibernate soma +1 a cada UPDATE deste quadro. Qualquer alteração no quadro
+     * OU nas suas colunas deve "tocar" o quadro (atualizar 'atualizadoEm'), para que a
+     * revisão mude. É ela que vira o ETag do GET /api/quadros/{id}: se o front-end
+     * já tem a revisão atual, respondemos 304 (Not Modified) sem reenviar nada.
+     * O DEFAULT 0 é para os quadros que já existiam quando a coluna foi criada.
+     */
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long versao;
+
     
     // ---------------------------------------------------------------------------------
     // PARTE 2: RELACIONAMENTO COM USUÁRIO (DONO)
@@ -60,12 +113,14 @@ public class Quadro {
      * (Quadro -> Usuario -> Lista<Quadros> -> Quadro...)
      * - Diz ao serializador de JSON para IGNORAR este campo ao serializar o Quadro.
      * - O Front-End (PaginaQuadro.js) não precisa mais do objeto Usuário inteiro.
-     * - O carregamento é LAZY por padrão (Lazy Loading), o que é bom, pois
-     * o campo só será buscado quando for acessado.
+     * - O carregamento é LAZY (Lazy Loading): o campo só é buscado quando for acessado.
+     * (Para @ManyToOne o padrão do JPA é EAGER, por isso o 'fetch' explícito.)
+     * Na checagem de dono, 'getUsuario().getId()' não dispara nenhuma consulta.
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "usuario_id", nullable = false)
     @JsonIgnore 
+    @ToString.Exclude
     private Usuario usuario;
     
     
@@ -81,6 +136,11 @@ public class Quadro {
      * no 'GET /api/quadros' (50 quadros = 51 consultas).
      *
      * A otimização agora é feita com @EntityGraph no Repositório, o que é muito mais eficiente.
+     *
+     * @OrderBy: as colunas vêm na ordem de exibição (a 'posicao' de cada uma).
+     *
+     * @Cache: a lista (só os IDs, na ordem) fica na gaveta "quadro-colunas".
+     * Mudou uma 'posicao'? A ordem guardada é esquecida pelo 'CacheDosQuadros'.
      */
     @OneToMany(
         mappedBy = "quadro", 
@@ -88,6 +148,33 @@ public class Quadro {
         orphanRemoval = true,
         fetch = FetchType.LAZY // É LAZY por padrão, mas para clareza, o Lazy é o melhor para relações OneToMany.
     )
+    @OrderBy("posicao ASC, id ASC")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.QUADRO_COLUNAS)
     // Não tem @JsonIgnore aqui, pois as Colunas SÃO a informação que o Front-end quer ver.
+    @ToString.Exclude
     private List<Coluna> colunas;
+
+    // ---------------------------------------------------------------------------------
+    // IDENTIDADE (pelo ID)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Dois objetos são o MESMO quadro se têm o mesmo ID (um quadro ainda sem ID só é
+     * igual a ele mesmo). 'instanceof' e 'getId()' funcionam também com o "proxy" LAZY
+     * do Hibernate, sem carregá-lo. (O @Data comparava TODOS os campos, listas LAZY inclusive.)
+     * O hashCode é o mesmo para todos: não muda quando o ID chega no INSERT (o objeto
+     * não "some" de um HashSet depois de salvo).
+     * Coluna, Cartao e Usuario seguem a mesma regra.
+     */
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof Quadro that && id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Quadro.class.hashCode();
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore; // IMPORTANTE para evitar lo
 
 // --- Imports do Jakarta Persistence (JPA) ---
 // Estas são as "Ferramentas de Construção" da tabela
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -24,10 +25,18 @@ import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 
+// --- Imports do Hibernate (cache de segundo nível) ---
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import com.kanban.backend.config.CacheL2Config;
+
 // --- Imports do Lombok (O "Assistente de Automação") ---
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 
 /**
@@ -39,16 +48,23 @@ import lombok.NoArgsConstructor;
  * 1. @Entity (JPA):    É a "Planta Baixa" da tabela 'usuarios' no banco de dados.
  * 2. UserDetails (Seg): É o "Crachá de Identidade" que o Spring Security usa.
  *
- * * @Data (Lombok): Cria Getters, Setters, .toString(), etc.
+ * * @Getter/@Setter/@ToString (Lombok): Cria Getters, Setters e o .toString() (sem a
+ * senha nem os quadros). A identidade é o ID (veja 'equals', como no Quadro.java).
+ * A API não devolve esta entidade: a resposta do registro é o 'UsuarioDTO'.
  * * @NoArgsConstructor (Lombok): Cria um construtor vazio (exigido pelo JPA).
  * * @AllArgsConstructor (Lombok): Cria um construtor com todos os campos.
  * * @Entity (JPA): "Spring, esta classe É uma tabela."
  * * @Table(name = "usuarios") (JPA): "O nome da tabela no banco deve ser 'usuarios'".
+ * * @Cacheable/@Cache: cópia no cache de segundo nível (gaveta "usuarios", veja 'CacheL2Config').
  */
-@Data
+@Getter
+@Setter
+@ToString
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheL2Config.USUARIOS)
 @Table(name = "usuarios")
 public class Usuario implements UserDetails { // <-- A MÁGICA DA SEGURANÇA!
     
@@ -84,6 +100,7 @@ public class Usuario implements UserDetails { // <-- A MÁGICA DA SEGURANÇA!
      * Esta coluna vai armazenar a senha JÁ CRIPTOGRAFADA (pelo BCrypt).
      */
     @Column(nullable = false)
+    @ToString.Exclude
     private String senha;
 
     /**
@@ -117,6 +134,7 @@ public class Usuario implements UserDetails { // <-- A MÁGICA DA SEGURANÇA!
         orphanRemoval = true
     )
     @JsonIgnore
+    @ToString.Exclude
     private List<Quadro> quadros;
 
     
@@ -184,4 +202,19 @@ public class Usuario implements UserDetails { // <-- A MÁGICA DA SEGURANÇA!
     public boolean isEnabled() {
         return true; // A conta está habilitada
     }
-}
\ No newline at end of file
+
+
+    // Identidade pelo ID, segura com o "proxy" LAZY (veja o comentário em Quadro.java).
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        return outro instanceof Usuario that && id != null && id.equals(that.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Usuario.class.hashCode();
+    }
+}
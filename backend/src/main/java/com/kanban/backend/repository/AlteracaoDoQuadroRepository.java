@@ -0,0 +1,47 @@
+package com.kanban.backend.repository;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.model.AlteracaoDoQuadro;
+
+// Imports do Spring Data JPA
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// Imports do Java
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: AlteracaoDoQuadroRepository.java
+ * ANALOGIA: O "Arquivista do Caderno de Mudanças"
+ * -------------------------------------------------------------------------------------
+ * * As duas consultas andam pelo índice (quadro_id, revisao): o custo depende de
+ * quantas mudanças são lidas (ou apagadas), não do tamanho do quadro.
+ */
+@Repository
+@Transactional(readOnly = true)
+public interface AlteracaoDoQuadroRepository extends JpaRepository<AlteracaoDoQuadro, Long> {
+
+    /**
+     * As mudanças do quadro nas revisões ('desde', 'ate'], em ordem de revisão.
+     */
+    @Query("""
+        SELECT a
+        FROM AlteracaoDoQuadro a
+        WHERE a.quadroId = :quadroId AND a.revisao > :desde AND a.revisao <= :ate
+        ORDER BY a.revisao, a.id
+        """)
+    List<AlteracaoDoQuadro> listarEntre(@Param("quadroId") Long quadroId, @Param("desde") Long desde, @Param("ate") Long ate);
+
+    /**
+     * Esquece as mudanças do quadro até a revisão 'ate' (inclusive), num único DELETE.
+     */
+    @Modifying
+    @Transactional // Uma escrita: nada do 'readOnly' da interface.
+    @Query("DELETE FROM AlteracaoDoQuadro a WHERE a.quadroId = :quadroId AND a.revisao <= :ate")
+    int apagarAte(@Param("quadroId") Long quadroId, @Param("ate") Long ate);
+}
@@ -0,0 +1,148 @@
+package com.kanban.backend.repository;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.config.CacheL2Config;
+import com.kanban.backend.dto.CartaoDTO;
+import com.kanban.backend.dto.CartaoExportadoDTO;
+import com.kanban.backend.model.Cartao;
+
+// Imports do Spring Data JPA
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// Imports do Java
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CartaoRepository.java
+ * ANALOGIA: O "Arquivista dos Cartões"
+ * -------------------------------------------------------------------------------------
+ * * Todas as consultas por coluna seguem a ordem da 'posicao' e são respondidas
+ * pelo índice (coluna_id, posicao) da tabela 'cartoes': achar um vizinho é
+ * um "pulo" direto no índice, não uma varredura da coluna.
+ * * As listagens desempatam pelo ID ('ORDER BY c.posicao, c.id'): dois cartões com
+ * a mesma posição saem sempre na mesma ordem, como as colunas.
+ */
+@Repository
+@Transactional(readOnly = true)
+public interface CartaoRepository extends JpaRepository<Cartao, Long> {
+
+    /**
+     * Os cartões de uma coluna, na ordem de exibição (usado pelo rebalanceamento).
+     */
+    List<Cartao> findByColunaIdOrderByPosicaoAscIdAsc(Long colunaId);
+
+    /**
+     * O cartão, a coluna e o quadro dele numa única consulta (JOIN FETCH).
+     * Basta para a checagem de dono ('quadro.getUsuario().getId()' não consulta nada)
+     * e para "tocar" o quadro depois da alteração.
+     */
+    @Query("""
+        SELECT c
+        FROM Cartao c JOIN FETCH c.coluna co JOIN FETCH co.quadro
+        WHERE c.id = :id
+        """)
+    Optional<Cartao> buscarComQuadro(@Param("id") Long id);
+
+    /**
+     * A posição de um cartão, só se ele estiver na coluna informada.
+     */
+    @Query("SELECT c.posicao FROM Cartao c WHERE c.id = :id AND c.coluna.id = :colunaId")
+    Optional<String> buscarPosicao(@Param("id") Long id, @Param("colunaId") Long colunaId);
+
+    /**
+     * A última posição da coluna ('null' se a coluna estiver vazia).
+     */
+    @Query("SELECT max(c.posicao) FROM Cartao c WHERE c.coluna.id = :colunaId")
+    String buscarUltimaPosicao(@Param("colunaId") Long colunaId);
+
+    /**
+     * A posição logo DEPOIS de 'posicao' na coluna ('null' se 'posicao' é a última).
+     */
+    @Query("SELECT min(c.posicao) FROM Cartao c WHERE c.coluna.id = :colunaId AND c.posicao > :posicao")
+    String buscarPosicaoSeguinte(@Param("colunaId") Long colunaId, @Param("posicao") String posicao);
+
+    /**
+     * A posição logo ANTES de 'posicao' na coluna ('null' se 'posicao' é a primeira).
+     */
+    @Query("SELECT max(c.posicao) FROM Cartao c WHERE c.coluna.id = :colunaId AND c.posicao < :posicao")
+    String buscarPosicaoAnterior(@Param("colunaId") Long colunaId, @Param("posicao") String posicao);
+
+    /**
+     * Os cartões de TODAS as colunas de vários quadros, para a exportação
+     * (uma consulta por lote de quadros, sem carregar entidades), na ordem de exibição.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.CartaoExportadoDTO(c.id, c.titulo, c.descricao, c.posicao, c.coluna.id)
+        FROM Cartao c
+        WHERE c.coluna.quadro.id IN :quadroIds
+        ORDER BY c.posicao, c.id
+        """)
+    List<CartaoExportadoDTO> listarParaExportacao(@Param("quadroIds") Collection<Long> quadroIds);
+
+    /**
+     * Os cartões de TODAS as colunas de um quadro, para o 'QuadroDTO' (sem carregar
+     * entidades), na ordem de exibição. Guardados junto com as linhas do quadro
+     * (gaveta "quadro-completo"): qualquer alteração na tabela 'cartoes' os invalida.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.CartaoDTO(c.id, c.titulo, c.descricao, c.posicao, c.coluna.id)
+        FROM Cartao c
+        WHERE c.coluna.quadro.id = :quadroId
+        ORDER BY c.posicao, c.id
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheL2Config.QUADRO_COMPLETO)
+    })
+    List<CartaoDTO> listarDoQuadro(@Param("quadroId") Long quadroId);
+
+    /**
+     * Os cartões de TODOS os quadros de um usuário (a listagem no formato legado),
+     * na ordem de exibição. Gaveta "quadros-por-usuario", como as linhas dos quadros.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.CartaoDTO(c.id, c.titulo, c.descricao, c.posicao, c.coluna.id)
+        FROM Cartao c
+        WHERE c.coluna.quadro.usuario.id = :usuarioId
+        ORDER BY c.posicao, c.id
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheL2Config.QUADROS_POR_USUARIO)
+    })
+    List<CartaoDTO> listarDoUsuario(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * Os cartões informados, só os que ainda estão no quadro (a sincronização por
+     * mudanças: quem não voltar foi removido). Em ordem de exibição.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.CartaoDTO(c.id, c.titulo, c.descricao, c.posicao, c.coluna.id)
+        FROM Cartao c
+        WHERE c.id IN :ids AND c.coluna.quadro.id = :quadroId
+        ORDER BY c.posicao, c.id
+        """)
+    List<CartaoDTO> listarPorIds(@Param("quadroId") Long quadroId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Todos os cartões das colunas informadas (as posições de uma coluna inteira
+     * foram reescritas), em ordem de exibição. Pelo índice (coluna_id, posicao).
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.CartaoDTO(c.id, c.titulo, c.descricao, c.posicao, c.coluna.id)
+        FROM Cartao c
+        WHERE c.coluna.id IN :colunaIds AND c.coluna.quadro.id = :quadroId
+        ORDER BY c.posicao, c.id
+        """)
+    List<CartaoDTO> listarDasColunas(@Param("quadroId") Long quadroId, @Param("colunaIds") Collection<Long> colunaIds);
+}
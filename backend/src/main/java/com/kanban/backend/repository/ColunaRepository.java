@@ -1,11 +1,23 @@
 package com.kanban.backend.repository;
 
 // Imports do NOSSO Projeto
+import com.kanban.backend.dto.ColunaExportadaDTO;
+import com.kanban.backend.dto.ColunaResumoDTO;
+import com.kanban.backend.dto.ItemDeBuscaDTO;
 import com.kanban.backend.model.Coluna; // A entidade que este repositório gerencia
 
 // Imports do Spring Data JPA
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// Imports do Java
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -17,12 +29,14 @@ import org.springframework.stereotype.Repository;
  * Herda todos os métodos CRUD básicos para a entidade 'Coluna', cuja chave primária
  * é do tipo 'Long'.
  *
- * * Por que este Repositório é simples?
- * Ele não precisa de métodos personalizados porque a lógica de busca e criação de colunas
- * é gerenciada pelo 'QuadroService', que usa métodos básicos como '.saveAll()' (para
- * salvar as 3 colunas de uma vez).
+ * * A criação de colunas é gerenciada pelo 'QuadroService' (as colunas são salvas
+ * em "cascata" junto com o Quadro, num único lote de INSERTs).
+ *
+ * * As consultas de posição ("Mover Coluna") seguem a ordem da 'posicao' e são
+ * respondidas pelo índice (quadro_id, posicao) da tabela 'colunas'.
  */
 @Repository
+@Transactional(readOnly = true)
 public interface ColunaRepository extends JpaRepository<Coluna, Long> {
     
     // Métodos herdados:
@@ -30,7 +44,97 @@ public interface ColunaRepository extends JpaRepository<Coluna, Long> {
     // .findById(id)
     // .findAll()
     // .delete(coluna)
-    
-    // (Futuramente, se implementarmos o recurso "Mover Coluna de Quadro", 
-    //  adicionaríamos aqui um método personalizado, mas por enquanto, está ótimo assim.)
-}
\ No newline at end of file
+
+    /**
+     * Busca as "etiquetas" das colunas de VÁRIOS quadros de uma vez (uma página do Dashboard).
+     * Uma única consulta para a página inteira, e sem carregar entidades.
+     * (Em ordem de exibição; as colunas antigas, sem posição, vêm antes, por ID.)
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.ColunaResumoDTO(c.id, c.nome, c.posicao, c.quadro.id)
+        FROM Coluna c
+        WHERE c.quadro.id IN :quadroIds
+        ORDER BY c.posicao, c.id
+        """)
+    List<ColunaResumoDTO> listarResumosPorQuadros(@Param("quadroIds") Collection<Long> quadroIds);
+
+    /**
+     * As "etiquetas" das colunas informadas, só as que ainda estão no quadro
+     * (a sincronização por mudanças), em ordem de exibição.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.ColunaResumoDTO(c.id, c.nome, c.posicao, c.quadro.id)
+        FROM Coluna c
+        WHERE c.id IN :ids AND c.quadro.id = :quadroId
+        ORDER BY c.posicao, c.id
+        """)
+    List<ColunaResumoDTO> listarResumosPorIds(@Param("quadroId") Long quadroId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * As colunas de VÁRIOS quadros, para a exportação (um lote de quadros por vez).
+     * Mesma ordem de exibição do 'listarResumosPorQuadros'.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.ColunaExportadaDTO(c.id, c.nome, c.posicao, c.quadro.id)
+        FROM Coluna c
+        WHERE c.quadro.id IN :quadroIds
+        ORDER BY c.posicao, c.id
+        """)
+    List<ColunaExportadaDTO> listarParaExportacao(@Param("quadroIds") Collection<Long> quadroIds);
+
+    /**
+     * As colunas de um quadro, na ordem de exibição (usado pelo rebalanceamento).
+     */
+    List<Coluna> findByQuadroIdOrderByPosicaoAscIdAsc(Long quadroId);
+
+    /**
+     * A coluna e o quadro dela numa única consulta (JOIN FETCH), para a checagem de dono.
+     */
+    @Query("SELECT c FROM Coluna c JOIN FETCH c.quadro WHERE c.id = :id")
+    Optional<Coluna> buscarComQuadro(@Param("id") Long id);
+
+    /**
+     * O quadro tem colunas antigas, criadas antes de existir a 'posicao'?
+     */
+    boolean existsByQuadroIdAndPosicaoIsNull(Long quadroId);
+
+    /**
+     * A posição de uma coluna, só se ela estiver no quadro informado.
+     */
+    @Query("SELECT c.posicao FROM Coluna c WHERE c.id = :id AND c.quadro.id = :quadroId")
+    Optional<String> buscarPosicao(@Param("id") Long id, @Param("quadroId") Long quadroId);
+
+    /**
+     * A última posição do quadro ('null' se o quadro não tiver colunas).
+     */
+    @Query("SELECT max(c.posicao) FROM Coluna c WHERE c.quadro.id = :quadroId")
+    String buscarUltimaPosicao(@Param("quadroId") Long quadroId);
+
+    /**
+     * A posição logo DEPOIS de 'posicao' no quadro ('null' se 'posicao' é a última).
+     */
+    @Query("SELECT min(c.posicao) FROM Coluna c WHERE c.quadro.id = :quadroId AND c.posicao > :posicao")
+    String buscarPosicaoSeguinte(@Param("quadroId") Long quadroId, @Param("posicao") String posicao);
+
+    /**
+     * A posição logo ANTES de 'posicao' no quadro ('null' se 'posicao' é a primeira).
+     */
+    @Query("SELECT max(c.posicao) FROM Coluna c WHERE c.quadro.id = :quadroId AND c.posicao < :posicao")
+    String buscarPosicaoAnterior(@Param("quadroId") Long quadroId, @Param("posicao") String posicao);
+
+    /**
+     * Uma "página" de fichas das colunas com ID em (depoisDe, ate], para a carga do
+     * índice de busca (o dono vem do quadro, pelo JOIN).
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.ItemDeBuscaDTO('coluna', c.id, q.id, c.nome, q.usuario.id)
+        FROM Coluna c JOIN c.quadro q
+        WHERE c.id > :depoisDe AND c.id <= :ate
+        ORDER BY c.id
+        """)
+    List<ItemDeBuscaDTO> listarParaBusca(@Param("depoisDe") Long depoisDe, @Param("ate") Long ate, Limit limite);
+
+    /** O maior ID de coluna (0 se não há nenhuma). */
+    @Query("SELECT coalesce(max(c.id), 0) FROM Coluna c")
+    Long buscarMaiorId();
+}
@@ -1,13 +1,26 @@
 package com.kanban.backend.repository;
 
-// --- Imports de Entidades ---
+// --- Imports de Entidades e DTOs ---
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+import com.kanban.backend.dto.LinhaDoQuadroDTO;
+import com.kanban.backend.dto.QuadroResumoDTO;
+import com.kanban.backend.dto.RevisaoListagemDTO;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.config.CacheL2Config;
 import com.kanban.backend.model.Quadro;
-import com.kanban.backend.model.Usuario; 
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 // --- Imports do Spring Data JPA ---
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph; // VITAL: Para resolver o Problema N+1
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 // --- Imports do Java ---
 import java.util.List; // Para retornar a lista de quadros
@@ -25,30 +38,149 @@ import java.util.Optional; // Para o método findById
  * * Este Repositório foi customizado para resolver o Problema N+1 (Lazy Loading).
  */
 @Repository
+@Transactional(readOnly = true)
 public interface QuadroRepository extends JpaRepository<Quadro, Long> {
 
     /**
      * ---------------------------------------------------------------------------------
-     * MÉTODO 1: findByUsuario (Para a Lista do Dashboard)
+     * MÉTODO 1: listarLinhasDoUsuario (Para a Lista Completa, no formato legado)
      * ---------------------------------------------------------------------------------
-     * Busca todos os quadros que pertencem a um determinado usuário.
-     * * @EntityGraph(attributePaths = {"colunas", "usuario"}):
-     * A otimização principal. Isso diz ao JPA/Hibernate para:
-     * 1. Ignorar o comportamento Lazy (preguiçoso) padrão.
-     * 2. CARREGAR os relacionamentos "colunas" e "usuario" EM UMA ÚNICA CONSULTA SQL
-     * (geralmente via JOIN), eliminando o lento Problema N+1 no Dashboard.
+     * Os quadros do usuário e as colunas deles, numa única consulta (LEFT JOIN), como
+     * linhas "achatadas" (veja 'LinhaDoQuadroDTO'), na ordem de exibição.
+     * * "SELECT new ...": sem carregar entidades (nem o dono: basta o 'usuario_id').
+     * Os cartões vêm numa segunda consulta ('CartaoRepository.listarDoUsuario').
+     * * @QueryHints (cacheable): as linhas ficam guardadas na gaveta "quadros-por-usuario"
+     * do cache L2. Qualquer alteração nas tabelas 'quadros' ou 'colunas' invalida o resultado.
      */
-    @EntityGraph(attributePaths = {"colunas", "usuario"})
-    List<Quadro> findByUsuario(Usuario usuario);
+    @Query("""
+        SELECT new com.kanban.backend.dto.LinhaDoQuadroDTO(q.id, q.nome, q.atualizadoEm, q.versao, q.usuario.id, c.id, c.nome, c.posicao)
+        FROM Quadro q LEFT JOIN q.colunas c
+        WHERE q.usuario.id = :usuarioId
+        ORDER BY q.id, c.posicao, c.id
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheL2Config.QUADROS_POR_USUARIO)
+    })
+    List<LinhaDoQuadroDTO> listarLinhasDoUsuario(@Param("usuarioId") Long usuarioId);
 
     /**
      * ---------------------------------------------------------------------------------
-     * MÉTODO 2: findById (Para a Página de Detalhe do Quadro)
+     * MÉTODO 1B: listarLinhasDoQuadro (Para a Página de Detalhe do Quadro)
      * ---------------------------------------------------------------------------------
-     * Sobrescreve o método findById padrão para aplicar a mesma otimização.
-     * Garante que, ao buscar um único Quadro por ID (para a PaginaQuadro.js), 
-     * as colunas sejam carregadas imediatamente e de forma otimizada.
+     * O mesmo "quadro LEFT JOIN colunas" do método 1, para UM quadro (pela chave primária).
+     * Vazio se o quadro não existe. Guardado na gaveta "quadro-completo" do cache L2.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.LinhaDoQuadroDTO(q.id, q.nome, q.atualizadoEm, q.versao, q.usuario.id, c.id, c.nome, c.posicao)
+        FROM Quadro q LEFT JOIN q.colunas c
+        WHERE q.id = :id
+        ORDER BY c.posicao, c.id
+        """)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheL2Config.QUADRO_COMPLETO)
+    })
+    List<LinhaDoQuadroDTO> listarLinhasDoQuadro(@Param("id") Long id);
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 2: findById (Para quem vai ALTERAR o Quadro)
+     * ---------------------------------------------------------------------------------
+     * Sobrescreve o método findById padrão: o quadro vem com as colunas e o dono
+     * (@EntityGraph, uma consulta só). Usado por quem mexe nas entidades (ex: o
+     * rebalanceamento); as LEITURAS para a API usam o método 1B (em DTO).
+     * * Com o cache L2, quadro, colunas e cartões já vistos vêm da memória (zero SQL).
      */
     @EntityGraph(attributePaths = {"colunas", "usuario"})
     Optional<Quadro> findById(Long id); 
-}
\ No newline at end of file
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 3: listarResumos (A Listagem Paginada do Dashboard)
+     * ---------------------------------------------------------------------------------
+     * Busca UMA PÁGINA de "fichas resumidas" dos quadros do usuário.
+     *
+     * * Paginação por cursor ("keyset"): em vez de "pule 500 linhas" (OFFSET, que fica
+     * mais lento a cada página), pedimos "os próximos quadros com ID MAIOR que o cursor".
+     * O índice (usuario_id, id) da tabela 'quadros' responde isso direto.
+     *
+     * * "SELECT new ...": o Hibernate monta o DTO direto do resultado, SEM carregar
+     * entidades e SEM o JOIN com as colunas ('size(q.colunas)' vira um COUNT).
+     *
+     * @param limite Quantos quadros trazer (o tamanho da página).
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.QuadroResumoDTO(q.id, q.nome, size(q.colunas), q.atualizadoEm)
+        FROM Quadro q
+        WHERE q.usuario.id = :usuarioId AND q.id > :cursor
+        ORDER BY q.id
+        """)
+    List<QuadroResumoDTO> listarResumos(
+        @Param("usuarioId") Long usuarioId,
+        @Param("cursor") Long cursor,
+        Limit limite
+    );
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 4: buscarRevisao (O "Carimbo" para o GET condicional)
+     * ---------------------------------------------------------------------------------
+     * Só a revisão e o dono do quadro, pela chave primária.
+     * Não carrega o quadro, nem as colunas, nem o usuário.
+     */
+    @Query("SELECT new com.kanban.backend.dto.RevisaoQuadroDTO(q.versao, q.usuario.id) FROM Quadro q WHERE q.id = :id")
+    Optional<RevisaoQuadroDTO> buscarRevisao(@Param("id") Long id);
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 5: buscarRevisaoListagem (A "Impressão Digital" da lista do Dashboard)
+     * ---------------------------------------------------------------------------------
+     * Uma única agregação sobre o índice (usuario_id, id). Veja 'RevisaoListagemDTO'.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.RevisaoListagemDTO(count(q), coalesce(sum(q.versao), 0), coalesce(max(q.id), 0))
+        FROM Quadro q
+        WHERE q.usuario.id = :usuarioId
+        """)
+    RevisaoListagemDTO buscarRevisaoListagem(@Param("usuarioId") Long usuarioId);
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 6: exportarDoUsuario (A "Esteira" da exportação)
+     * ---------------------------------------------------------------------------------
+     * Uma "página" dos quadros do usuário com ID depois de 'depoisDe', em ordem de ID
+     * (pela chave primária, sem OFFSET). A exportação percorre página por página.
+     * * Páginas em vez de um cursor aberto: no MySQL, um cursor só existe com
+     * 'useCursorFetch=true' na URL (que vale para TODAS as consultas) ou com um
+     * ResultSet em fluxo (que trava a conexão até o fim, e a exportação faz outras
+     * consultas entre um lote e outro).
+     * * READ_ONLY: o Hibernate não guarda a "foto" de cada quadro para o dirty checking.
+     * * CACHE_MODE IGNORE: a exportação não "inunda" o cache L2 com todos os quadros.
+     */
+    @Query("SELECT q FROM Quadro q WHERE q.usuario.id = :usuarioId AND q.id > :depoisDe ORDER BY q.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    List<Quadro> exportarDoUsuario(@Param("usuarioId") Long usuarioId, @Param("depoisDe") Long depoisDe, Limit limite);
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO 7: listarParaBusca (A carga do índice de busca)
+     * ---------------------------------------------------------------------------------
+     * Uma "página" de fichas dos quadros com ID em (depoisDe, ate], pela chave primária.
+     * Cada carregador do 'BuscaDeQuadros' percorre a sua faixa de IDs página por página.
+     */
+    @Query("""
+        SELECT new com.kanban.backend.dto.ItemDeBuscaDTO('quadro', q.id, q.id, q.nome, q.usuario.id)
+        FROM Quadro q
+        WHERE q.id > :depoisDe AND q.id <= :ate
+        ORDER BY q.id
+        """)
+    List<ItemDeBuscaDTO> listarParaBusca(@Param("depoisDe") Long depoisDe, @Param("ate") Long ate, Limit limite);
+
+    /** O maior ID de quadro (0 se não há nenhum). */
+    @Query("SELECT coalesce(max(q.id), 0) FROM Quadro q")
+    Long buscarMaiorId();
+}
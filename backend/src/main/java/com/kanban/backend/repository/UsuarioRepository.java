@@ -1,11 +1,21 @@
 package com.kanban.backend.repository;
 
 // Imports do NOSSO Projeto
+import com.kanban.backend.config.CacheL2Config;
 import com.kanban.backend.model.Usuario; // A entidade que este repositório gerencia
 
+// Imports do JPA / Hibernate (cache de consultas)
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+
 // Imports do Spring
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 // Imports do Java
 import java.util.Optional; // Para o retorno "seguro" (pode ou não encontrar)
@@ -31,6 +41,7 @@ import java.util.Optional; // Para o retorno "seguro" (pode ou não encontrar)
  * - ...e muitos outros!
  */
 @Repository
+@Transactional(readOnly = true) // As consultas são leituras: com réplicas, vão para uma delas (veja o RoteadorDeLeitura).
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     /**
@@ -58,7 +69,24 @@ public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
      *
      * @param email A string de email (o "nome de código") que queremos procurar.
      * @return Um 'Optional' contendo o 'Usuario' (se encontrado) ou vazio (se não).
+     *
+     * * @QueryHints (cacheable): "email -> ID" fica guardado na gaveta "usuario-por-email"
+     * do cache L2 (e o usuário, na gaveta "usuarios"). Qualquer alteração na tabela
+     * 'usuarios' (ex: 'atualizarSenha') invalida o que foi guardado.
      */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheL2Config.USUARIO_POR_EMAIL)
+    })
     Optional<Usuario> findByEmail(String email);
 
+    /**
+     * Troca só a senha (o hash) do usuário, num único UPDATE.
+     * Usado para refazer hashes antigos no login ('UserAuthService.updatePassword').
+     */
+    @Modifying
+    @Transactional // Uma escrita: nada do 'readOnly' da interface.
+    @Query("UPDATE Usuario u SET u.senha = :senha WHERE u.id = :id")
+    int atualizarSenha(@Param("id") Long id, @Param("senha") String senha);
+
 }
\ No newline at end of file
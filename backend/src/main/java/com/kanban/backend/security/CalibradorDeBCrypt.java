@@ -0,0 +1,60 @@
+package com.kanban.backend.security;
+
+// Imports do Spring Security
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CalibradorDeBCrypt.java
+ * ANALOGIA: O "Teste de Esforço" do Criptógrafo
+ * -------------------------------------------------------------------------------------
+ * * O custo do BCrypt é um número (4 a 31): cada +1 DOBRA o tempo de cada hash.
+ * Um custo fixo é lento demais numa máquina pequena e fraco demais numa grande.
+ *
+ * * Na inicialização, medimos o hash NESTA máquina, subindo o custo a partir de
+ * 'minimo', e ficamos com o MAIOR custo cujo hash cabe no 'orcamento' de tempo.
+ * Para não gastar tempo à toa: se o dobro do tempo medido já estoura o orçamento,
+ * paramos sem medir o próximo custo. O 'minimo' vale mesmo se estourar o orçamento
+ * (segurança primeiro).
+ */
+public final class CalibradorDeBCrypt {
+
+    private static final String SENHA_DE_TESTE = "calibragem-do-bcrypt";
+
+    private CalibradorDeBCrypt() {
+    }
+
+    /**
+     * O resultado da calibragem: o custo escolhido e o tempo medido de um hash com ele.
+     */
+    public record Calibragem(int custo, Duration tempo) {}
+
+    public static Calibragem calibrar(Duration orcamento, int minimo, int maximo) {
+        medir(4); // Aquecimento (carrega as classes, JIT), fora da conta.
+
+        int custo = minimo;
+        Duration tempo = medir(custo);
+        while (custo < maximo && tempo.multipliedBy(2).compareTo(orcamento) <= 0) {
+            Duration proximo = medir(custo + 1);
+            if (proximo.compareTo(orcamento) > 0) {
+                break;
+            }
+            custo++;
+            tempo = proximo;
+        }
+        return new Calibragem(custo, tempo);
+    }
+
+    /**
+     * O tempo de UM hash com o custo dado.
+     */
+    public static Duration medir(int custo) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(custo);
+        long inicio = System.nanoTime();
+        encoder.encode(SENHA_DE_TESTE);
+        return Duration.ofNanos(System.nanoTime() - inicio);
+    }
+}
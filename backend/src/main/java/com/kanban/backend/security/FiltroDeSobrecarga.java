@@ -0,0 +1,229 @@
+package com.kanban.backend.security;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.ErroDTO;
+import com.kanban.backend.service.SobrecargaException;
+
+// Imports do Jackson
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Jakarta Servlet
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// Imports do Java
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: FiltroDeSobrecarga.java
+ * ANALOGIA: O "Segurança da Porta" que conta quem está lá dentro
+ * -------------------------------------------------------------------------------------
+ * * O problema: quando o MySQL fica lento, as threads do Tomcat se acumulam esperando
+ * conexões do Hikari, as filas crescem e a API inteira cai (todo mundo espera, ninguém
+ * é atendido a tempo).
+ *
+ * * A solução: um limite de requisições EM ANDAMENTO, na porta (antes até do
+ * 'SecurityFilter'). Passou do limite? 503 + 'Retry-After' NA HORA, sem fila.
+ * O limite se ajusta sozinho pela latência ('LimiteAdaptativo'): encolhe quando as
+ * respostas ficam lentas, cresce de volta quando normalizam.
+ *
+ * * Partições (cada uma com o SEU limite, uma não derruba a outra):
+ * - LOGIN: POST /api/login e POST /api/usuarios (o BCrypt);
+ * - LEITURA: GET/HEAD em /api/**;
+ * - ESCRITA: o resto de /api/**.
+ * Fora de /api (ex: /actuator/health) não há limite.
+ *
+ * * Respostas assíncronas:
+ * - as "curtas" (o login, os endpoints do 'CompartimentoDeQuadros') ocupam o lugar até
+ *   a resposta sair, e a duração conta na latência;
+ * - os fluxos longos (eventos ao vivo, exportação), que já começaram a responder quando
+ *   a thread do Tomcat é devolvida, liberam o lugar nessa hora, sem entrar na latência.
+ *
+ * * Métricas, por partição ('particao'): 'kanban.sobrecarga.limite',
+ * 'kanban.sobrecarga.em.andamento', 'kanban.sobrecarga.recusadas' e
+ * 'kanban.sobrecarga.fila' (o tempo "na fila" lá dentro além do normal, estimado
+ * pela latência: o que o limite tenta manter perto de zero).
+ */
+@Component
+public class FiltroDeSobrecarga extends OncePerRequestFilter {
+
+    /** As partições, cada uma com o seu limite. */
+    enum Particao {
+        LOGIN, LEITURA, ESCRITA
+    }
+
+    private final Map<Particao, LimiteAdaptativo> limites = new EnumMap<>(Particao.class);
+    private final boolean habilitado;
+    private final Duration tenteDeNovoEm;
+    private final ObjectMapper objectMapper;
+
+    public FiltroDeSobrecarga(
+            @Value("${api.sobrecarga.habilitado:true}") boolean habilitado,
+            @Value("${api.sobrecarga.limite-inicial:20}") int inicial,
+            @Value("${api.sobrecarga.limite-minimo:4}") int minimo,
+            @Value("${api.sobrecarga.limite-maximo:200}") int maximo,
+            @Value("${api.sobrecarga.amostras-por-janela:20}") int amostrasPorJanela,
+            @Value("${api.sobrecarga.retry-after:1s}") Duration tenteDeNovoEm,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.habilitado = habilitado;
+        this.tenteDeNovoEm = tenteDeNovoEm;
+        this.objectMapper = objectMapper;
+
+        for (Particao particao : Particao.values()) {
+            // A latência "de sempre" é a média das últimas ~30 janelas.
+            LimiteAdaptativo limite = new LimiteAdaptativo(inicial, minimo, maximo, amostrasPorJanela, amostrasPorJanela * 30);
+            limites.put(particao, limite);
+
+            String nome = particao.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("kanban.sobrecarga.limite", limite, LimiteAdaptativo::limite)
+                .description("Requisições em andamento permitidas agora")
+                .tag("particao", nome)
+                .register(meterRegistry);
+            Gauge.builder("kanban.sobrecarga.em.andamento", limite, LimiteAdaptativo::emAndamento)
+                .tag("particao", nome)
+                .register(meterRegistry);
+            Gauge.builder("kanban.sobrecarga.fila", limite, l -> l.filaEstimadaNanos() / 1e9)
+                .description("Tempo de espera lá dentro além do normal (estimado pela latência)")
+                .baseUnit("seconds")
+                .tag("particao", nome)
+                .register(meterRegistry);
+            FunctionCounter.builder("kanban.sobrecarga.recusadas", limite, LimiteAdaptativo::recusadas)
+                .description("Requisições recusadas com 503 (limite atingido)")
+                .tag("particao", nome)
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Particao particao = habilitado ? particaoDe(request) : null;
+        if (particao == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        LimiteAdaptativo limite = limites.get(particao);
+        if (!limite.entrar()) {
+            recusar(response);
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean terminou = false;
+        try {
+            filterChain.doFilter(request, response);
+            terminou = true;
+        } finally {
+            if (!terminou) {
+                limite.sair(-1);
+            } else if (!request.isAsyncStarted()) {
+                limite.sair(System.nanoTime() - inicio);
+            } else if (response.getContentType() != null) {
+                limite.sair(-1); // Um fluxo longo já começou (eventos ao vivo, exportação).
+            } else {
+                request.getAsyncContext().addListener(new LiberarNoFim(limite, inicio));
+            }
+        }
+    }
+
+    /**
+     * Resposta assíncrona "curta" (ex: as do 'CompartimentoDeQuadros' e do login):
+     * o lugar fica ocupado até a resposta sair de verdade, e a duração conta na latência.
+     */
+    private static final class LiberarNoFim implements AsyncListener {
+
+        private final LimiteAdaptativo limite;
+        private final long inicio;
+        private final AtomicBoolean liberado = new AtomicBoolean();
+
+        LiberarNoFim(LimiteAdaptativo limite, long inicio) {
+            this.limite = limite;
+            this.inicio = inicio;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent evento) {
+            liberar(System.nanoTime() - inicio);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent evento) {
+            liberar(System.nanoTime() - inicio);
+        }
+
+        @Override
+        public void onError(AsyncEvent evento) {
+            liberar(-1);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent evento) {
+        }
+
+        private void liberar(long latenciaNanos) {
+            if (liberado.compareAndSet(false, true)) {
+                limite.sair(latenciaNanos);
+            }
+        }
+    }
+
+    /**
+     * A partição da requisição ('null' = sem limite).
+     */
+    static Particao particaoDe(HttpServletRequest request) {
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        if (!caminho.startsWith("/api/")) {
+            return null;
+        }
+        String metodo = request.getMethod();
+        if ("POST".equals(metodo) && (caminho.equals("/api/login") || caminho.equals("/api/usuarios"))) {
+            return Particao.LOGIN;
+        }
+        if ("GET".equals(metodo) || "HEAD".equals(metodo)) {
+            return Particao.LEITURA;
+        }
+        return Particao.ESCRITA;
+    }
+
+    /** O limite de uma partição (para os testes). */
+    LimiteAdaptativo limite(Particao particao) {
+        return limites.get(particao);
+    }
+
+    /**
+     * O 503 sai daqui mesmo (um filtro não passa pelo 'TratadorDeErros'), com o
+     * mesmo corpo e o mesmo 'Retry-After' de uma 'SobrecargaException'.
+     */
+    private void recusar(HttpServletResponse response) throws IOException {
+        SobrecargaException recusa = new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE,
+            "Servidor sobrecarregado, tente de novo em instantes", tenteDeNovoEm);
+        response.setStatus(recusa.getStatusCode().value());
+        recusa.getHeaders().forEach((nome, valores) -> valores.forEach(valor -> response.addHeader(nome, valor)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), new ErroDTO(recusa.getReason()));
+    }
+}
@@ -0,0 +1,152 @@
+package com.kanban.backend.security;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.service.SobrecargaException;
+
+// Imports do Caffeine (mapa concorrente, limitado e com expiração)
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: LimitadorDeLogin.java
+ * ANALOGIA: A "Catraca de Fichas" na frente da Porta de Login
+ * -------------------------------------------------------------------------------------
+ * * O problema: cada POST /api/login custa um BCrypt inteiro (~100 ms de CPU),
+ * mesmo quando é um robô testando senhas num único email.
+ *
+ * * A solução: um "balde de fichas" (token bucket) por EMAIL e outro por IP.
+ * Cada tentativa gasta uma ficha de cada balde; os baldes se reenchem sozinhos
+ * ('capacidade' fichas a cada 'periodo'). Balde vazio = 429 + 'Retry-After',
+ * ANTES de qualquer consulta ao banco ou hash.
+ *
+ * * Detalhes de desempenho:
+ * - Cada balde é um único 'AtomicLong' (algoritmo GCRA: guarda o "horário em que o
+ *   balde estará cheio de novo"). Tentar = uma leitura e um compareAndSet, sem lock.
+ * - Os baldes ficam num cache Caffeine (mapa concorrente, sem lock global) com
+ *   'maximoDeChaves' entradas no máximo: a memória é limitada mesmo sob ataque.
+ * - Um balde parado por 'periodo' já estaria cheio de novo, então é descartado
+ *   (expireAfterAccess): nada se perde ao esquecê-lo.
+ */
+@Component
+public class LimitadorDeLogin {
+
+    private final boolean habilitado;
+    private final Limite porEmail;
+    private final Limite porIp;
+
+    @Autowired
+    public LimitadorDeLogin(
+            @Value("${api.security.login.limite.habilitado:true}") boolean habilitado,
+            @Value("${api.security.login.limite.por-email:5}") int capacidadePorEmail,
+            @Value("${api.security.login.limite.por-ip:20}") int capacidadePorIp,
+            @Value("${api.security.login.limite.periodo:1m}") Duration periodo,
+            @Value("${api.security.login.limite.maximo-de-chaves:100000}") long maximoDeChaves,
+            MeterRegistry meterRegistry) {
+        this(habilitado, capacidadePorEmail, capacidadePorIp, periodo, maximoDeChaves, meterRegistry, Ticker.systemTicker());
+    }
+
+    /**
+     * Com um relógio à escolha (os testes controlam o tempo).
+     */
+    LimitadorDeLogin(boolean habilitado, int capacidadePorEmail, int capacidadePorIp, Duration periodo,
+                     long maximoDeChaves, MeterRegistry meterRegistry, Ticker relogio) {
+        this.habilitado = habilitado;
+        this.porEmail = new Limite("email", capacidadePorEmail, periodo, maximoDeChaves, meterRegistry, relogio);
+        this.porIp = new Limite("ip", capacidadePorIp, periodo, maximoDeChaves, meterRegistry, relogio);
+    }
+
+    /**
+     * Gasta uma ficha do IP e uma do email.
+     *
+     * @throws SobrecargaException (429) se um dos baldes estiver vazio.
+     */
+    public void verificar(String email, String ip) {
+        if (!habilitado) {
+            return;
+        }
+        porIp.gastarFicha(ip);
+        if (email != null) {
+            porEmail.gastarFicha(email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    /** Quantos baldes estão na memória agora (email + IP, aproximado). */
+    public long baldes() {
+        return porEmail.baldes.estimatedSize() + porIp.baldes.estimatedSize();
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // OS BALDES
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Um tipo de limite (por email ou por IP): os baldes e as regras de reposição.
+     */
+    private static final class Limite {
+
+        private final long intervalo;   // Nanos para repor UMA ficha
+        private final long tolerancia;  // Nanos de "crédito" de um balde cheio (capacidade x intervalo)
+        private final Ticker relogio;
+        private final Cache<String, AtomicLong> baldes;
+        private final Counter recusados;
+
+        Limite(String chave, int capacidade, Duration periodo, long maximoDeChaves, MeterRegistry meterRegistry, Ticker relogio) {
+            this.intervalo = periodo.toNanos() / capacidade;
+            this.tolerancia = intervalo * capacidade;
+            this.relogio = relogio;
+            this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoDeChaves)
+                .expireAfterAccess(periodo)
+                .ticker(relogio)
+                // A limpeza (despejos) roda na própria thread que tentou o login, e não
+                // em segundo plano: sob ataque, o limite de memória não fica "atrasado".
+                .executor(Runnable::run)
+                .build();
+            this.recusados = Counter.builder("kanban.login.recusados")
+                .description("Tentativas de login recusadas com 429 antes do BCrypt")
+                .tag("chave", chave)
+                .register(meterRegistry);
+        }
+
+        /**
+         * GCRA: 'cheioEm' é o instante em que o balde estará cheio de novo.
+         * Cada ficha empurra 'cheioEm' um 'intervalo' para frente; se ele passaria
+         * de 'agora + tolerancia', o balde está vazio.
+         */
+        void gastarFicha(String chave) {
+            long agora = relogio.read();
+            AtomicLong cheioEm = baldes.get(chave, k -> new AtomicLong(agora));
+            while (true) {
+                long atual = cheioEm.get();
+                long novo = Math.max(atual, agora) + intervalo;
+                long excesso = novo - agora - tolerancia;
+                if (excesso > 0) {
+                    recusados.increment();
+                    throw new SobrecargaException(HttpStatus.TOO_MANY_REQUESTS,
+                        "Muitas tentativas de login, aguarde um pouco", Duration.ofNanos(excesso));
+                }
+                if (cheioEm.compareAndSet(atual, novo)) {
+                    return;
+                }
+            }
+        }
+    }
+}
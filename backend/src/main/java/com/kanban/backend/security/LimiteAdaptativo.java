@@ -0,0 +1,138 @@
+package com.kanban.backend.security;
+
+// Imports do Java
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: LimiteAdaptativo.java
+ * ANALOGIA: A "Lotação da Sala" que o segurança ajusta olhando o relógio
+ * -------------------------------------------------------------------------------------
+ * * Quantas requisições podem estar EM ANDAMENTO ao mesmo tempo (de UMA partição do
+ * 'FiltroDeSobrecarga'). O limite não é fixo: ele segue o "gradiente" da latência.
+ *
+ * * A ideia (gradiente de latência):
+ * - 'rttLongo': a latência "de sempre" (média móvel LENTA, ~'amostrasLongas' amostras).
+ * - 'rttCurto': a latência de AGORA (média da última janela de 'amostrasPorJanela').
+ * - gradiente = tolerancia x rttLongo / rttCurto, entre 0,5 e 1.
+ *   Latência normal (curto ~ longo): gradiente 1, o limite cresce um pouco (+ raiz do limite).
+ *   Latência subindo (o banco ficou lento, as requisições estão fazendo fila lá dentro):
+ *   gradiente < 1, o limite encolhe, e o excesso é recusado na porta (503) em vez de
+ *   ocupar threads do Tomcat esperando conexões do Hikari.
+ * - O novo limite é suavizado ('suavizacao') e fica entre 'minimo' e 'maximo'.
+ * - Com pouca gente em andamento (menos da metade do limite), a latência não diz nada
+ *   sobre a capacidade: o limite não cresce.
+ * - Se a latência "de sempre" ficou muito acima da de agora (o banco voltou ao normal),
+ *   ela desce mais rápido, para o limite não ficar alto demais por muito tempo.
+ *
+ * * 'filaEstimadaNanos': rttCurto - rttLongo, o tempo que as requisições passam
+ * "na fila" (esperando algo lá dentro) além do normal. Vai para as métricas.
+ */
+class LimiteAdaptativo {
+
+    private static final double TOLERANCIA = 1.5;
+    private static final double SUAVIZACAO = 0.2;
+
+    private final int minimo;
+    private final int maximo;
+    private final int amostrasPorJanela;
+    private final double pesoLongo;
+
+    private final AtomicInteger emAndamento = new AtomicInteger();
+    private final LongAdder recusadas = new LongAdder();
+
+    // Guardados pelo 'this' (uma atualização por janela; as leituras são 'volatile').
+    private volatile double limite;
+    private volatile double rttLongo;
+    private volatile double rttCurto;
+    private long somaDaJanela;
+    private int amostrasNaJanela;
+    private int maiorEmAndamentoNaJanela;
+
+    LimiteAdaptativo(int inicial, int minimo, int maximo, int amostrasPorJanela, int amostrasLongas) {
+        this.limite = inicial;
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.amostrasPorJanela = amostrasPorJanela;
+        this.pesoLongo = 2.0 / (amostrasLongas + 1);
+    }
+
+    /**
+     * Tenta ocupar um lugar. 'false' = lotado (a requisição deve ser recusada).
+     */
+    boolean entrar() {
+        while (true) {
+            int atual = emAndamento.get();
+            if (atual >= (int) limite) {
+                recusadas.increment();
+                return false;
+            }
+            if (emAndamento.compareAndSet(atual, atual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera o lugar. 'latenciaNanos' < 0: sem amostra (a requisição não diz nada
+     * sobre a latência, ex: uma resposta assíncrona que segue aberta).
+     */
+    void sair(long latenciaNanos) {
+        int andamento = emAndamento.getAndDecrement();
+        if (latenciaNanos >= 0) {
+            registrar(latenciaNanos, andamento);
+        }
+    }
+
+    private synchronized void registrar(long latenciaNanos, int andamento) {
+        somaDaJanela += latenciaNanos;
+        amostrasNaJanela++;
+        maiorEmAndamentoNaJanela = Math.max(maiorEmAndamentoNaJanela, andamento);
+        if (amostrasNaJanela < amostrasPorJanela) {
+            return;
+        }
+
+        double curto = (double) somaDaJanela / amostrasNaJanela;
+        int maiorEmAndamento = maiorEmAndamentoNaJanela;
+        somaDaJanela = 0;
+        amostrasNaJanela = 0;
+        maiorEmAndamentoNaJanela = 0;
+
+        rttCurto = curto;
+        double longo = rttLongo == 0 ? curto : rttLongo * (1 - pesoLongo) + curto * pesoLongo;
+        if (longo / curto > 2) {
+            longo *= 0.95; // A lentidão passou: a referência desce mais rápido.
+        }
+        rttLongo = longo;
+
+        if (maiorEmAndamento < limite / 2) {
+            return; // Pouca gente: a latência não mede a capacidade.
+        }
+        double gradiente = Math.max(0.5, Math.min(1.0, TOLERANCIA * longo / curto));
+        double novo = limite * gradiente + Math.sqrt(limite);
+        novo = limite * (1 - SUAVIZACAO) + novo * SUAVIZACAO;
+        limite = Math.max(minimo, Math.min(maximo, novo));
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // MÉTRICAS
+    // ---------------------------------------------------------------------------------
+
+    int limite() {
+        return (int) limite;
+    }
+
+    int emAndamento() {
+        return emAndamento.get();
+    }
+
+    long recusadas() {
+        return recusadas.sum();
+    }
+
+    double filaEstimadaNanos() {
+        return Math.max(0, rttCurto - rttLongo);
+    }
+}
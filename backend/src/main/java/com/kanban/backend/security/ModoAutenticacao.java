@@ -0,0 +1,24 @@
+package com.kanban.backend.security;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ModoAutenticacao.java
+ * ANALOGIA: O "Protocolo da Portaria"
+ * -------------------------------------------------------------------------------------
+ * * Define COMO o 'SecurityFilter' descobre quem é o dono do Token JWT.
+ * * Configurado em 'application.properties' pela chave 'api.security.autenticacao.modo'.
+ */
+public enum ModoAutenticacao {
+
+    /**
+     * O crachá é montado a partir das "claims" do próprio token (id, nome, autoridades).
+     * Nenhuma consulta ao banco por requisição. (Padrão)
+     */
+    TOKEN,
+
+    /**
+     * O modo antigo: o filtro busca o 'Usuario' no banco (findByEmail) em TODA requisição.
+     * Útil para comparação e para garantir que usuários removidos percam o acesso na hora.
+     */
+    BANCO
+}
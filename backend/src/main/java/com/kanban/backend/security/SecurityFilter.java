@@ -1,26 +1,36 @@
 package com.kanban.backend.security;
 
 // Imports do NOSSO Projeto
-import com.kanban.backend.repository.UsuarioRepository; // O "Arquivista"
 import com.kanban.backend.service.TokenService;      // O "Mestre dos Passaportes"
+import com.kanban.backend.service.TokenService.TokenVerificado;
 
 // Imports do Jakarta (para rodar no servidor)
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 // Imports do Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 // Imports do Spring Security
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder; // O "Cofre de Segurança"
-import org.springframework.security.core.userdetails.UserDetails;
 
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -34,6 +44,10 @@ import java.io.IOException;
  * Define que esta classe é um "Filtro". Ela vai "interceptar" TODAS as requisições
  * HTTP que chegarem no servidor.
  * 'OncePerRequestFilter' garante que ele rode apenas UMA VEZ por requisição.
+ *
+ * * Métrica 'kanban.seguranca.filtro': quanto tempo a "revista" leva (sem contar
+ * o resto da requisição), por modo e resultado ("autenticado", "anonimo", "recusado").
+ * Os cronômetros (um por modo e resultado) são criados UMA vez, na subida.
  */
 @Component
 public class SecurityFilter extends OncePerRequestFilter {
@@ -44,7 +58,41 @@ public class SecurityFilter extends OncePerRequestFilter {
     private TokenService tokenService; // O "Mestre dos Passaportes" (para validar o token)
 
     @Autowired
-    private UsuarioRepository usuarioRepository; // O "Arquivista" (para buscar o "Dossiê" do usuário)
+    private UsuarioPrincipalCache usuarioPrincipalCache; // O "Arquivo de Mesa" (busca o "Dossiê" no modo BANCO)
+
+    // 2. O "PROTOCOLO DA PORTARIA"
+    // TOKEN (padrão): monta o crachá com as claims do JWT, sem ir ao banco.
+    // BANCO: o modo antigo, busca o 'Usuario' no banco em toda requisição.
+    @Value("${api.security.autenticacao.modo:TOKEN}")
+    private ModoAutenticacao modo;
+
+    @Autowired
+    private MeterRegistry meterRegistry; // O "Cronômetro" (métricas)
+
+    private static final List<String> RESULTADOS = List.of("autenticado", "anonimo", "recusado");
+
+    // Modo -> resultado -> cronômetro (todos os modos: o modo pode ser trocado com o servidor no ar).
+    private final Map<ModoAutenticacao, Map<String, Timer>> cronometros = new EnumMap<>(ModoAutenticacao.class);
+
+    /**
+     * Registra os cronômetros de todas as combinações de modo e resultado
+     * (em vez de procurá-los no registro a cada requisição).
+     */
+    @PostConstruct
+    public void registrarCronometros() {
+        for (ModoAutenticacao cadaModo : ModoAutenticacao.values()) {
+            Map<String, Timer> doModo = new HashMap<>();
+            for (String resultado : RESULTADOS) {
+                doModo.put(resultado, Timer.builder("kanban.seguranca.filtro")
+                    .description("Tempo da autenticação no SecurityFilter (sem o resto da requisição)")
+                    .tag("modo", cadaModo.name())
+                    .tag("resultado", resultado)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            }
+            cronometros.put(cadaModo, doModo);
+        }
+    }
 
     
     /**
@@ -57,6 +105,9 @@ public class SecurityFilter extends OncePerRequestFilter {
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         
+        long inicio = System.nanoTime();
+        String resultado = "anonimo";
+
         // PASSO 1: "Revistar" o usuário
         // Chama nosso método privado para pegar o "Passaporte" (Token)
         // do cabeçalho (Header) da requisição.
@@ -66,27 +117,18 @@ public class SecurityFilter extends OncePerRequestFilter {
         if(token != null) {
             // Se um token foi enviado...
 
-            // PASSO 3: Validar o "Passaporte"
-            // Entrega o token ao "Mestre dos Passaportes" (TokenService) para validação.
-            // Graças à nossa correção no 'TokenService', se o token for inválido
-            // (expirado, assinatura falsa), este método retornará "" (vazio).
-            var email = tokenService.validarToken(token);
-            
-            // PASSO 4: Buscar o "Dossiê" (se o "Passaporte" for válido)
-            if (email != null && !email.isEmpty()) {
-                // Se o 'validarToken' retornou um email (ou seja, o token é válido)...
-                
-                // Vamos ao "Arquivo Central" (Repositório) e pegamos o "Dossiê"
-                // completo do usuário (o objeto 'Usuario', que é um 'UserDetails').
-                UserDetails usuario = usuarioRepository.findByEmail(email)
-                                          .orElseThrow(() -> new RuntimeException("Usuário não encontrado no filtro (token válido, mas usuário não existe no DB)"));
-                                          // Se o token for válido, mas o usuário foi deletado
-                                          // do banco, lançamos um erro.
+            // PASSO 3 e 4: Validar o "Passaporte" e montar o "Crachá"
+            // (Se o token for inválido, o crachá volta 'null' e o usuário segue anônimo.)
+            UsuarioAutenticado usuario = switch (modo) {
+                case TOKEN -> autenticarPeloToken(token);
+                case BANCO -> autenticarPeloBanco(token);
+            };
 
+            if (usuario != null) {
                 // PASSO 5: "Autenticar" o usuário para esta requisição
                 
                 // Criamos o "pacote de autenticação" oficial do Spring Security,
-                // contendo o "Dossiê" ('usuario') e os "Crachás" ('getAuthorities()').
+                // contendo o "Crachá" ('usuario') e as "Autoridades" ('getAuthorities()').
                 // (O 'null' é para as credenciais (senha), que não são necessárias
                 //  aqui, pois o token já provou quem ele é).
                 var authentication = new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities());
@@ -99,9 +141,15 @@ public class SecurityFilter extends OncePerRequestFilter {
                 // A partir deste momento, para esta requisição específica, o Spring
                 // Security considera este usuário como 100% AUTENTICADO.
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                resultado = "autenticado";
+            } else {
+                resultado = "recusado";
             }
         }
 
+        // A "revista" acabou: anota quanto tempo ela levou.
+        cronometros.get(modo).get(resultado).record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
         // PASSO 7: "Liberar a Catraca"
         //
         // filterChain.doFilter(request, response):
@@ -117,6 +165,55 @@ public class SecurityFilter extends OncePerRequestFilter {
     }
 
     
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: autenticarPeloToken (Modo TOKEN - "Leitura do Crachá")
+     * -------------------------------------------------------------------------------------
+     * Monta o crachá direto das claims do token. ZERO consultas ao banco.
+     * Tokens antigos (válidos, mas emitidos antes das claims existirem) buscam o
+     * usuário no banco, pelo email. Um token INVÁLIDO é recusado aqui mesmo: conferir
+     * de novo pelo modo BANCO só dobraria o custo de cada token falso.
+     */
+    private UsuarioAutenticado autenticarPeloToken(String token) {
+        TokenVerificado verificado = tokenService.verificarToken(token).orElse(null);
+        if (verificado == null) {
+            return null;
+        }
+        return verificado.antigo() ? buscarNoBanco(verificado.email()) : verificado.usuario();
+    }
+
+
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: autenticarPeloBanco (Modo BANCO - "Consulta ao Arquivo Central")
+     * -------------------------------------------------------------------------------------
+     * O procedimento antigo: valida o token, pega o email e busca o "Dossiê"
+     * no banco (ou no "Arquivo de Mesa", se o cache estiver ligado).
+     */
+    private UsuarioAutenticado autenticarPeloBanco(String token) {
+        // Graças à nossa correção no 'TokenService', se o token for inválido
+        // (expirado, assinatura falsa), este método retornará "" (vazio).
+        var email = tokenService.validarToken(token);
+        if (email == null || email.isEmpty()) {
+            return null;
+        }
+        return buscarNoBanco(email);
+    }
+
+
+    /**
+     * O crachá a partir do "Dossiê" do banco (ou do "Arquivo de Mesa").
+     */
+    private UsuarioAutenticado buscarNoBanco(String email) {
+        var usuario = usuarioPrincipalCache.buscarPorEmail(email)
+            .orElseThrow(() -> new RuntimeException("Usuário não encontrado no filtro (token válido, mas usuário não existe no DB)"));
+            // Se o token for válido, mas o usuário foi deletado
+            // do banco, lançamos um erro.
+
+        return UsuarioAutenticado.de(usuario);
+    }
+
+
     /**
      * -------------------------------------------------------------------------------------
      * MÉTODO: recuperarToken (O "Extrator de Passaporte")
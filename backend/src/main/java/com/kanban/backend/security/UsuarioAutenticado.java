@@ -0,0 +1,66 @@
+package com.kanban.backend.security;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.model.Usuario;
+
+// Imports do Spring Security
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+// Imports do Java
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: UsuarioAutenticado.java
+ * ANALOGIA: O "Crachá de Visitante" (leve) em vez do "Dossiê Completo"
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * É o "principal" que o 'SecurityFilter' coloca no 'SecurityContextHolder'.
+ * Ele carrega APENAS o que as rotas protegidas precisam saber sobre quem está
+ * logado: o ID, o email, o nome e os "crachás" (autoridades).
+ *
+ * * Por que não usar a entidade 'Usuario' direto?
+ * Porque para ter um 'Usuario' precisamos ir ao banco em TODA requisição.
+ * Este crachá é montado a partir das "claims" do próprio Token JWT (que é
+ * assinado, então não pode ser falsificado), sem tocar no MySQL.
+ *
+ * * record: Classe imutável do Java (Getters, equals, hashCode e toString de graça).
+ */
+public record UsuarioAutenticado(
+    Long id,
+    String email,
+    String nome,
+    List<String> permissoes
+) implements AuthenticatedPrincipal {
+
+    /**
+     * Monta o crachá a partir do "Dossiê" completo (usado no login e no modo BANCO).
+     */
+    public static UsuarioAutenticado de(Usuario usuario) {
+        List<String> permissoes = usuario.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .toList();
+        return new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getNome(), permissoes);
+    }
+
+    /**
+     * Converte as permissões (Strings) nos "crachás" que o Spring Security entende.
+     * É isso que o '.hasAuthority("ROLE_USER")' do 'SecurityConfig' verifica.
+     */
+    public Collection<GrantedAuthority> getAuthorities() {
+        return permissoes.stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+    }
+
+    /**
+     * O "Nome de Código" do principal para o Spring Security (o email).
+     */
+    @Override
+    public String getName() {
+        return email;
+    }
+}
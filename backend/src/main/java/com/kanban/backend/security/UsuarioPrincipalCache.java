@@ -0,0 +1,76 @@
+package com.kanban.backend.security;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+
+// Imports do Caffeine (o "Cache de Alta Performance")
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: UsuarioPrincipalCache.java
+ * ANALOGIA: O "Arquivo de Mesa" da Portaria
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * Um cache em memória (limitado e com prazo de validade) dos "Dossiês" ('Usuario')
+ * buscados pelo email. Ele cobre as rotas que REALMENTE precisam da entidade
+ * completa, e o modo 'BANCO' do 'SecurityFilter', sem ir ao MySQL toda vez.
+ *
+ * * Limites:
+ * - 'tamanho-maximo': quantos dossiês cabem na mesa (os menos usados saem primeiro).
+ * - 'ttl': por quanto tempo um dossiê vale antes de ser buscado de novo no banco.
+ *
+ * * CUIDADO: os objetos guardados aqui estão "desanexados" (detached) do Hibernate.
+ * Não acesse relacionamentos LAZY (ex: 'getQuadros()') a partir deles.
+ */
+@Component
+public class UsuarioPrincipalCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final boolean habilitado;
+    private final Cache<String, Usuario> porEmail;
+
+    public UsuarioPrincipalCache(
+            UsuarioRepository usuarioRepository,
+            @Value("${api.security.principal-cache.habilitado:false}") boolean habilitado,
+            @Value("${api.security.principal-cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${api.security.principal-cache.ttl:5m}") Duration ttl) {
+        this.usuarioRepository = usuarioRepository;
+        this.habilitado = habilitado;
+        this.porEmail = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Busca o "Dossiê" pelo email. Se o cache estiver desligado, vai direto ao banco.
+     */
+    public Optional<Usuario> buscarPorEmail(String email) {
+        if (!habilitado) {
+            return usuarioRepository.findByEmail(email);
+        }
+        // 'get' só chama o banco se o email ainda não estiver na "mesa".
+        // (Se o banco não encontrar, nada é guardado: o 'null' não entra no cache.)
+        return Optional.ofNullable(
+            porEmail.get(email, chave -> usuarioRepository.findByEmail(chave).orElse(null))
+        );
+    }
+
+    /**
+     * Tira um "Dossiê" da mesa (ex: quando o usuário muda de senha).
+     */
+    public void invalidar(String email) {
+        porEmail.invalidate(email);
+    }
+}
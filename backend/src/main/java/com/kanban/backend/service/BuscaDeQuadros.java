@@ -0,0 +1,245 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.QuadroRepository;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Imports do Java
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: BuscaDeQuadros.java
+ * ANALOGIA: O "Balcão de Consultas" da biblioteca (um índice remissivo por leitor)
+ * -------------------------------------------------------------------------------------
+ * * A busca por nome de quadros e colunas (GET /api/quadros/busca), respondida da
+ * MEMÓRIA, sem ir ao banco: um 'IndiceInvertido' POR USUÁRIO (cada um só busca no que é seu,
+ * e uma escrita de um usuário não trava a busca dos outros).
+ *
+ * * Como o índice fica em dia:
+ * 1. Na inicialização: a CARGA lê do banco todos os quadros e colunas, em paralelo
+ * ('threads' carregadores, cada um numa faixa de IDs, página por página).
+ * 2. Depois: quem cria quadros ('QuadroService' e 'ImportadorDeQuadros') chama
+ * 'indexar', que coloca os nomes no índice DEPOIS do commit (um rollback não deixa
+ * no índice um quadro que não existe). Nomes de quadro/coluna não mudam depois de
+ * criados, e nada é apagado: basta ir acrescentando.
+ * Enquanto a carga não termina, a busca responde com o que já foi carregado.
+ *
+ * * Métrica: 'kanban.busca.itens' (quantos quadros + colunas estão no índice).
+ */
+@Component
+public class BuscaDeQuadros {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaDeQuadros.class);
+
+    private final Map<Long, IndiceInvertido> indices = new ConcurrentHashMap<>();
+
+    private final QuadroRepository quadroRepository;
+    private final ColunaRepository colunaRepository;
+    private final TransactionTemplate leitura;
+    private final boolean carregarNaInicializacao;
+    private final int threads;
+    private final int pagina;
+
+    public BuscaDeQuadros(
+            QuadroRepository quadroRepository,
+            ColunaRepository colunaRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${api.busca.carga-na-inicializacao:true}") boolean carregarNaInicializacao,
+            @Value("${api.busca.carga.threads:0}") int threads,
+            @Value("${api.busca.carga.pagina:5000}") int pagina) {
+        this.quadroRepository = quadroRepository;
+        this.colunaRepository = colunaRepository;
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.carregarNaInicializacao = carregarNaInicializacao;
+        // 0 = "automático": um carregador por núcleo.
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.pagina = pagina;
+
+        Gauge.builder("kanban.busca.itens", this, BuscaDeQuadros::tamanho)
+            .description("Quadros e colunas no índice de busca")
+            .register(meterRegistry);
+    }
+
+    /**
+     * As 'limite' fichas do usuário que melhor respondem à consulta.
+     */
+    public List<ItemDeBuscaDTO> buscar(Long usuarioId, String consulta, int limite) {
+        IndiceInvertido indice = indices.get(usuarioId);
+        return indice == null ? List.of() : indice.buscar(consulta, limite);
+    }
+
+    /**
+     * O quadro (e suas colunas) acabou de ser salvo: entra no índice depois do commit.
+     */
+    public void indexar(Quadro quadro) {
+        indexar(List.of(quadro));
+    }
+
+    public void indexar(List<Quadro> quadros) {
+        // As fichas são montadas AGORA (na transação, com as entidades ainda "vivas").
+        List<ItemDeBuscaDTO> itens = new ArrayList<>();
+        for (Quadro quadro : quadros) {
+            Long usuarioId = quadro.getUsuario().getId();
+            itens.add(new ItemDeBuscaDTO(ItemDeBuscaDTO.QUADRO, quadro.getId(), quadro.getId(), quadro.getNome(), usuarioId));
+            for (Coluna coluna : quadro.getColunas()) {
+                itens.add(new ItemDeBuscaDTO(ItemDeBuscaDTO.COLUNA, coluna.getId(), quadro.getId(), coluna.getNome(), usuarioId));
+            }
+        }
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adicionar(itens);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                adicionar(itens);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void aoIniciar() {
+        if (carregarNaInicializacao) {
+            carregar();
+        }
+    }
+
+    /**
+     * Lê do banco TODOS os quadros e colunas para os índices, em segundo plano.
+     * As faixas de IDs de cada tabela são divididas entre 'threads' carregadores.
+     * Quem já está no índice não é duplicado (então pode rodar junto com o 'indexar').
+     *
+     * @return Completa quando a carga termina.
+     */
+    public CompletableFuture<Void> carregar() {
+        long inicio = System.nanoTime();
+        ExecutorService carregadores = Executors.newFixedThreadPool(threads, nomeadas("busca-carga-"));
+        try {
+            List<CompletableFuture<Integer>> partes = new ArrayList<>();
+            partes.addAll(faixas(quadroRepository::buscarMaiorId, quadroRepository::listarParaBusca, carregadores));
+            partes.addAll(faixas(colunaRepository::buscarMaiorId, colunaRepository::listarParaBusca, carregadores));
+
+            return CompletableFuture.allOf(partes.toArray(CompletableFuture[]::new))
+                .whenComplete((nada, erro) -> {
+                    carregadores.shutdown();
+                    if (erro != null) {
+                        log.error("A carga do índice de busca falhou", erro);
+                    } else {
+                        int total = partes.stream().mapToInt(CompletableFuture::join).sum();
+                        log.info("Índice de busca carregado: {} quadros e colunas em {} ms",
+                            total, (System.nanoTime() - inicio) / 1_000_000);
+                    }
+                });
+        } catch (RuntimeException e) {
+            carregadores.shutdown();
+            throw e;
+        }
+    }
+
+    /**
+     * Divide (0, maior ID] em uma faixa por carregador e agenda a leitura de cada uma.
+     */
+    private List<CompletableFuture<Integer>> faixas(
+            Supplier<Long> maiorId,
+            PaginaDeBusca paginaDeBusca,
+            ExecutorService carregadores) {
+        long maior = maiorId.get();
+        long tamanho = Math.max(1, (maior + threads - 1) / threads);
+        List<CompletableFuture<Integer>> partes = new ArrayList<>();
+        for (long depoisDe = 0; depoisDe < maior; depoisDe += tamanho) {
+            long de = depoisDe;
+            long ate = Math.min(maior, depoisDe + tamanho);
+            partes.add(CompletableFuture.supplyAsync(() -> carregarFaixa(paginaDeBusca, de, ate), carregadores));
+        }
+        return partes;
+    }
+
+    /**
+     * Uma faixa de IDs (de, ate], página por página (cada página, uma consulta
+     * curta numa transação só de leitura).
+     */
+    private int carregarFaixa(PaginaDeBusca paginaDeBusca, long de, long ate) {
+        int total = 0;
+        long depoisDe = de;
+        while (true) {
+            long cursor = depoisDe;
+            List<ItemDeBuscaDTO> itens = leitura.execute(status -> paginaDeBusca.apply(cursor, ate, Limit.of(pagina)));
+            if (itens == null || itens.isEmpty()) {
+                return total;
+            }
+            adicionar(itens);
+            total += itens.size();
+            if (itens.size() < pagina) {
+                return total;
+            }
+            depoisDe = itens.get(itens.size() - 1).getId();
+        }
+    }
+
+    // Cada ficha no índice do seu dono.
+    private void adicionar(List<ItemDeBuscaDTO> itens) {
+        Map<Long, List<ItemDeBuscaDTO>> porUsuario = itens.stream()
+            .collect(Collectors.groupingBy(ItemDeBuscaDTO::getUsuarioId));
+        porUsuario.forEach((usuarioId, doUsuario) ->
+            indices.computeIfAbsent(usuarioId, id -> new IndiceInvertido()).adicionar(doUsuario));
+    }
+
+    private int tamanho() {
+        return indices.values().stream().mapToInt(IndiceInvertido::tamanho).sum();
+    }
+
+    /** 'listarParaBusca' de um dos repositórios. */
+    @FunctionalInterface
+    private interface PaginaDeBusca {
+        List<ItemDeBuscaDTO> apply(Long depoisDe, Long ate, Limit limite);
+    }
+
+    private static ThreadFactory nomeadas(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,77 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+
+// Imports do JPA / Hibernate
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+// Imports do Spring
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CacheDosQuadros.java
+ * ANALOGIA: A "Borracha" do Arquivo de Cópias
+ * -------------------------------------------------------------------------------------
+ * * O cache L2 (veja 'CacheL2Config') guarda as listas 'Quadro.colunas' e
+ * 'Coluna.cartoes' como "os IDs, NA ORDEM". O Hibernate atualiza sozinho a cópia de
+ * cada coluna e cartão alterado, mas NÃO sabe que a ordem (ou o conteúdo) da lista
+ * guardada mudou quando só a 'posicao' ou a coluna de um cartão muda.
+ * Por isso, quem muda posições ou cria/move cartões "apaga" a lista afetada aqui.
+ *
+ * * Quando apagar? DEPOIS do commit: se apagássemos antes, outra requisição poderia
+ * ler a ordem antiga do banco (ainda sem o nosso commit) e guardá-la de novo.
+ * E ANTES dos ouvintes do 'QuadroAlteradoEvent' (ex: 'RetratosDosQuadros', que relê
+ * o quadro logo depois do commit): por isso a ordem 'HIGHEST_PRECEDENCE'.
+ */
+@Component
+public class CacheDosQuadros {
+
+    private static final String COLUNAS_DO_QUADRO = Quadro.class.getName() + ".colunas";
+    private static final String CARTOES_DA_COLUNA = Coluna.class.getName() + ".cartoes";
+
+    private final Cache cache;
+
+    public CacheDosQuadros(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * A ordem (ou a lista) das colunas do quadro mudou.
+     */
+    public void esquecerColunas(Long quadroId) {
+        esquecer(COLUNAS_DO_QUADRO, quadroId);
+    }
+
+    /**
+     * A ordem (ou a lista) dos cartões da coluna mudou.
+     */
+    public void esquecerCartoes(Long colunaId) {
+        esquecer(CARTOES_DA_COLUNA, colunaId);
+    }
+
+    private void esquecer(String lista, Long donoId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evictCollectionData(lista, donoId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                cache.evictCollectionData(lista, donoId);
+            }
+        });
+    }
+}
@@ -0,0 +1,266 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Imports do Spring
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionException;
+
+// Imports do Java
+import jakarta.annotation.PreDestroy;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: Compartimento.java
+ * ANALOGIA: Os "Compartimentos Estanques" de um navio
+ * -------------------------------------------------------------------------------------
+ * * Um rombo num compartimento não afunda o navio: a água fica presa ali.
+ * Aqui, cada GRUPO de endpoints (a autenticação, as leituras dos quadros, as escritas,
+ * as importações/exportações) tem o seu compartimento, e uma rajada num grupo (ex: logins
+ * com BCrypt) não ocupa as threads nem as conexões do outro (ex: as leituras de quadros).
+ *
+ * * O que cada compartimento tem, só dele:
+ * - 'threads' threads e uma fila curta ('fila'; 0 = o dobro das threads, -1 = sem fila).
+ *   A thread do Tomcat não espera: o Controller devolve um 'CompletableFuture'
+ *   (resposta assíncrona) e a thread volta para o Tomcat na hora.
+ * - A sua COTA de conexões do pool ('conexoes'): no máximo essa quantidade de tarefas
+ *   do grupo usando o banco ao mesmo tempo (espera até 'esperaPorConexao').
+ * - A sua política de recusa: lotado (threads e fila cheias) = 503 + 'Retry-After' NA
+ *   HORA, com a mensagem do grupo; passou do 'tempoLimite' (fila + execução) = 503.
+ * - O seu 'Disjuntor': chamadas que falham no banco ou passam do 'tempoLimite' abrem
+ *   o disjuntor, e o grupo recusa tudo (503) durante a pausa, sem esperar o banco.
+ * O "crachá" (SecurityContext) da requisição vai junto para a thread do compartimento.
+ *
+ * * Métricas (com a tag 'compartimento'): 'kanban.compartimento.fila',
+ * 'kanban.compartimento.ativos', 'kanban.compartimento.saturacao' (ocupação de threads
+ * + fila, de 0 a 1), 'kanban.compartimento.conexoes.livres', 'kanban.compartimento.espera'
+ * (tempo na fila), 'kanban.compartimento.disjuntor.aberto' e
+ * 'kanban.compartimento.recusados' (por 'motivo': lotado, disjuntor, prazo).
+ */
+public class Compartimento {
+
+    private final ThreadPoolExecutor executor;
+    private final Semaphore conexoes;
+    private final Disjuntor disjuntor;
+    private final Duration esperaPorConexao;
+    private final Duration tempoLimite;
+    private final Duration tenteDeNovoEm;
+    private final String mensagemDeLotado;
+
+    // Métricas
+    private final Timer espera;
+    private final Counter recusadosLotado;
+    private final Counter recusadosDisjuntor;
+    private final Counter recusadosPrazo;
+
+    public Compartimento(String nome, int threads, int fila, int conexoes, Duration esperaPorConexao,
+                         Duration tempoLimite, int falhasParaAbrir, Duration pausa, Duration tenteDeNovoEm,
+                         String mensagemDeLotado, MeterRegistry meterRegistry) {
+        int lugaresNaFila = fila > 0 ? fila : threads * 2;
+        BlockingQueue<Runnable> filaDeEspera = fila < 0
+            ? new SynchronousQueue<>() // -1: sem fila (só as threads)
+            : new ArrayBlockingQueue<>(lugaresNaFila);
+        int capacidade = threads + (fila < 0 ? 0 : lugaresNaFila);
+
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            filaDeEspera, nomeadas(nome + "-"), new ThreadPoolExecutor.AbortPolicy());
+        this.conexoes = new Semaphore(conexoes, true);
+        this.disjuntor = new Disjuntor(falhasParaAbrir, pausa, System::nanoTime);
+        this.esperaPorConexao = esperaPorConexao;
+        this.tempoLimite = tempoLimite;
+        this.tenteDeNovoEm = tenteDeNovoEm;
+        this.mensagemDeLotado = mensagemDeLotado;
+
+        Gauge.builder("kanban.compartimento.fila", executor, e -> e.getQueue().size())
+            .description("Tarefas esperando uma thread do compartimento")
+            .tag("compartimento", nome)
+            .register(meterRegistry);
+        Gauge.builder("kanban.compartimento.ativos", executor, ThreadPoolExecutor::getActiveCount)
+            .description("Tarefas rodando agora no compartimento")
+            .tag("compartimento", nome)
+            .register(meterRegistry);
+        Gauge.builder("kanban.compartimento.saturacao", executor,
+                e -> (double) (e.getActiveCount() + e.getQueue().size()) / capacidade)
+            .description("Ocupação das threads e da fila (1 = lotado, o resto é recusado)")
+            .tag("compartimento", nome)
+            .register(meterRegistry);
+        Gauge.builder("kanban.compartimento.conexoes.livres", this.conexoes, Semaphore::availablePermits)
+            .description("Conexões livres na cota do compartimento")
+            .tag("compartimento", nome)
+            .register(meterRegistry);
+        Gauge.builder("kanban.compartimento.disjuntor.aberto", disjuntor, d -> d.aberto() ? 1 : 0)
+            .description("1 enquanto o disjuntor do compartimento está aberto")
+            .tag("compartimento", nome)
+            .register(meterRegistry);
+        this.espera = Timer.builder("kanban.compartimento.espera")
+            .description("Tempo na fila antes de a tarefa começar")
+            .tag("compartimento", nome)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.recusadosLotado = recusados(meterRegistry, nome, "lotado");
+        this.recusadosDisjuntor = recusados(meterRegistry, nome, "disjuntor");
+        this.recusadosPrazo = recusados(meterRegistry, nome, "prazo");
+    }
+
+    /**
+     * Agenda 'trabalho' numa thread livre do compartimento (ou na fila).
+     *
+     * @throws SobrecargaException (503) se o compartimento estiver lotado ou o disjuntor aberto.
+     *         O futuro termina com 503 se o 'tempoLimite' passar antes da resposta.
+     */
+    public <T> CompletableFuture<T> executar(Supplier<T> trabalho) {
+        if (!disjuntor.permitir()) {
+            recusadosDisjuntor.increment();
+            Duration falta = disjuntor.faltaParaTestar();
+            throw new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE,
+                "O banco de dados está com problemas, tente de novo em instantes",
+                falta.compareTo(tenteDeNovoEm) > 0 ? falta : tenteDeNovoEm);
+        }
+
+        SecurityContext contexto = SecurityContextHolder.getContext();
+        long chegada = System.nanoTime();
+        AtomicBoolean comecou = new AtomicBoolean();
+        CompletableFuture<T> futuro;
+        try {
+            futuro = CompletableFuture.supplyAsync(() -> rodar(trabalho, contexto, chegada, comecou), executor);
+        } catch (RejectedExecutionException e) {
+            disjuntor.desistir();
+            recusadosLotado.increment();
+            throw new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE, mensagemDeLotado, tenteDeNovoEm);
+        }
+
+        // Prazo vencido: a resposta sai com 503 e, se a tarefa ainda estava na fila,
+        // ela nem roda ('comecou' fica com quem chegar primeiro: a tarefa ou o prazo).
+        // Se era a chamada de teste do disjuntor, ela não vai registrar nada: desiste.
+        return futuro.orTimeout(tempoLimite.toMillis(), TimeUnit.MILLISECONDS)
+            .handle((valor, erro) -> {
+                if (erro == null) {
+                    return valor;
+                }
+                Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+                if (causa instanceof TimeoutException) {
+                    if (comecou.compareAndSet(false, true)) {
+                        disjuntor.desistir();
+                    }
+                    recusadosPrazo.increment();
+                    throw new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "A requisição demorou demais, tente de novo em instantes", tenteDeNovoEm);
+                }
+                throw erro instanceof CompletionException conclusao ? conclusao : new CompletionException(causa);
+            });
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Roda a tarefa na thread do compartimento: com o crachá da requisição, dentro da
+     * cota de conexões, contando para o disjuntor.
+     * Não roda se o prazo venceu antes (a resposta, 503, já foi).
+     */
+    private <T> T rodar(Supplier<T> trabalho, SecurityContext contexto, long chegada, AtomicBoolean comecou) {
+        if (!comecou.compareAndSet(false, true)) {
+            return null;
+        }
+        espera.record(System.nanoTime() - chegada, TimeUnit.NANOSECONDS);
+        SecurityContextHolder.setContext(contexto);
+        try {
+            pegarConexao();
+            long inicio = System.nanoTime();
+            boolean falhou = false;
+            try {
+                return trabalho.get();
+            } catch (RuntimeException e) {
+                falhou = erroDoBanco(e);
+                throw e;
+            } finally {
+                conexoes.release();
+                if (falhou || System.nanoTime() - inicio > tempoLimite.toNanos()) {
+                    disjuntor.registrarFalha();
+                } else {
+                    disjuntor.registrarSucesso();
+                }
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private void pegarConexao() {
+        boolean pegou;
+        try {
+            pegou = conexoes.tryAcquire(esperaPorConexao.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pegou = false;
+        }
+        if (!pegou) {
+            disjuntor.registrarFalha();
+            throw new SobrecargaException(HttpStatus.SERVICE_UNAVAILABLE, mensagemDeLotado, tenteDeNovoEm);
+        }
+    }
+
+    /**
+     * O erro veio do banco (e não da regra de negócio, ex: um 404)?
+     * Um conflito de revisão (409) não conta: o banco respondeu, e bem.
+     */
+    private static boolean erroDoBanco(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof OptimisticLockingFailureException) {
+                return false;
+            }
+            if (causa instanceof DataAccessException || causa instanceof TransactionException || causa instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Counter recusados(MeterRegistry meterRegistry, String nome, String motivo) {
+        return Counter.builder("kanban.compartimento.recusados")
+            .description("Tarefas recusadas com 503")
+            .tag("compartimento", nome)
+            .tag("motivo", motivo)
+            .register(meterRegistry);
+    }
+
+    private static ThreadFactory nomeadas(String prefixo) {
+        AtomicInteger contador = new AtomicInteger();
+        return tarefa -> {
+            Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
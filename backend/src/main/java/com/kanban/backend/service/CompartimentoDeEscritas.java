@@ -0,0 +1,42 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CompartimentoDeEscritas.java
+ * ANALOGIA: A "Bancada de Reorganização" (ao lado do "Salão de Leitura")
+ * -------------------------------------------------------------------------------------
+ * * O 'Compartimento' das escritas DENTRO de um quadro ('CartaoController' e
+ * 'ColunaController'): criar cartões e mover cartões e colunas.
+ * * Os movimentos repetem sozinhos num conflito ('RepetidorDeConflitos'), dormindo
+ * entre uma tentativa e outra: essas esperas ficam nas threads DAQUI, não nas do
+ * Tomcat, e uma rajada de movimentos não toma a cota de conexões das leituras.
+ *
+ * * Métricas: as do 'Compartimento', com 'compartimento=escritas'.
+ */
+@Component
+public class CompartimentoDeEscritas extends Compartimento {
+
+    public CompartimentoDeEscritas(
+            @Value("${api.quadros.escritas.threads:8}") int threads,
+            @Value("${api.quadros.escritas.fila:0}") int fila,
+            @Value("${api.quadros.escritas.conexoes:2}") int conexoes,
+            @Value("${api.quadros.escritas.espera-por-conexao:2s}") Duration esperaPorConexao,
+            @Value("${api.quadros.escritas.tempo-limite:5s}") Duration tempoLimite,
+            @Value("${api.quadros.escritas.disjuntor.falhas:5}") int falhasParaAbrir,
+            @Value("${api.quadros.escritas.disjuntor.pausa:10s}") Duration pausa,
+            @Value("${api.quadros.escritas.retry-after:1s}") Duration tenteDeNovoEm,
+            MeterRegistry meterRegistry) {
+        super("escritas", threads, fila, conexoes, esperaPorConexao, tempoLimite, falhasParaAbrir, pausa, tenteDeNovoEm,
+            "Muitas alterações nos quadros ao mesmo tempo, tente de novo em instantes", meterRegistry);
+    }
+}
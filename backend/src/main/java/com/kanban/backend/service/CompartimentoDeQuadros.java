@@ -0,0 +1,46 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CompartimentoDeQuadros.java
+ * ANALOGIA: O "Salão de Leitura" (separado da "Sala do Cofre")
+ * -------------------------------------------------------------------------------------
+ * * O 'Compartimento' dos endpoints de quadros ('QuadroController'): listagem, leitura,
+ * criação e busca rodam nas threads DAQUI, com a cota de conexões DAQUI.
+ * Uma rajada de logins ('ExecutorDeHash') não rouba estas threads nem estas conexões;
+ * e um banco lento para os quadros não derruba o login.
+ *
+ * * As tarefas dos quadros esperam o banco (não a CPU): por padrão, mais threads que
+ * conexões, para o trabalho fora do banco (montar o JSON, o ETag) não deixar conexão
+ * parada. A soma das cotas de todos os compartimentos não deve
+ * passar do tamanho do pool ('spring.datasource.hikari.maximum-pool-size').
+ *
+ * * Métricas: as do 'Compartimento', com 'compartimento=quadros'.
+ */
+@Component
+public class CompartimentoDeQuadros extends Compartimento {
+
+    public CompartimentoDeQuadros(
+            @Value("${api.quadros.compartimento.threads:16}") int threads,
+            @Value("${api.quadros.compartimento.fila:0}") int fila,
+            @Value("${api.quadros.compartimento.conexoes:8}") int conexoes,
+            @Value("${api.quadros.compartimento.espera-por-conexao:2s}") Duration esperaPorConexao,
+            @Value("${api.quadros.compartimento.tempo-limite:5s}") Duration tempoLimite,
+            @Value("${api.quadros.compartimento.disjuntor.falhas:5}") int falhasParaAbrir,
+            @Value("${api.quadros.compartimento.disjuntor.pausa:10s}") Duration pausa,
+            @Value("${api.quadros.compartimento.retry-after:1s}") Duration tenteDeNovoEm,
+            MeterRegistry meterRegistry) {
+        super("quadros", threads, fila, conexoes, esperaPorConexao, tempoLimite, falhasParaAbrir, pausa, tenteDeNovoEm,
+            "Muitas requisições aos quadros ao mesmo tempo, tente de novo em instantes", meterRegistry);
+    }
+}
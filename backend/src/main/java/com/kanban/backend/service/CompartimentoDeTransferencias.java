@@ -0,0 +1,44 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: CompartimentoDeTransferencias.java
+ * ANALOGIA: A "Doca de Carga" (caminhões grandes não entram pelo salão)
+ * -------------------------------------------------------------------------------------
+ * * O 'Compartimento' da importação e da exportação em massa ('QuadroController').
+ * Cada uma segura uma conexão por MINUTOS: aqui elas têm a sua própria cota, e uma
+ * fila de exportações não esvazia o pool das leituras e escritas do dia a dia.
+ *
+ * * Por padrão: uma transferência por vez, sem fila (a próxima recebe 503 +
+ * 'Retry-After' na hora) e com o prazo das respostas assíncronas ('tempo-limite').
+ * Threads e conexões andam juntas: uma thread a mais que conexões só esperaria
+ * a conexão e desistiria com 503.
+ *
+ * * Métricas: as do 'Compartimento', com 'compartimento=transferencias'.
+ */
+@Component
+public class CompartimentoDeTransferencias extends Compartimento {
+
+    public CompartimentoDeTransferencias(
+            @Value("${api.quadros.transferencias.conexoes:1}") int conexoes,
+            @Value("${api.quadros.transferencias.fila:-1}") int fila,
+            @Value("${api.quadros.transferencias.espera-por-conexao:2s}") Duration esperaPorConexao,
+            @Value("${api.quadros.transferencias.tempo-limite:10m}") Duration tempoLimite,
+            @Value("${api.quadros.transferencias.disjuntor.falhas:5}") int falhasParaAbrir,
+            @Value("${api.quadros.transferencias.disjuntor.pausa:10s}") Duration pausa,
+            @Value("${api.quadros.transferencias.retry-after:10s}") Duration tenteDeNovoEm,
+            MeterRegistry meterRegistry) {
+        super("transferencias", conexoes, fila, conexoes, esperaPorConexao, tempoLimite, falhasParaAbrir, pausa,
+            tenteDeNovoEm, "Outra importação ou exportação em andamento, tente de novo em instantes", meterRegistry);
+    }
+}
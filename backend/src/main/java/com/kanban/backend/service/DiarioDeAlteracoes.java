@@ -0,0 +1,248 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.events.QuadroAlteradoEvent;
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+import com.kanban.backend.model.AlteracaoDoQuadro;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.repository.AlteracaoDoQuadroRepository;
+import com.kanban.backend.repository.QuadroRepository;
+
+// Imports do Caffeine (o "Cache de Alta Performance")
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Imports do Java
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: DiarioDeAlteracoes.java
+ * ANALOGIA: O "Caderno de Mudanças" de cada quadro (com as últimas páginas na mesa)
+ * -------------------------------------------------------------------------------------
+ * * Para o GET /api/quadros/{id}/changes?since=N: o que mudou no quadro desde a
+ * revisão N (a @Version do 'Quadro', que sobe +1 a cada alteração), sem reenviar
+ * o quadro inteiro.
+ *
+ * * Como funciona:
+ * 1. NO BANCO: cada 'QuadroAlteradoEvent' vira linhas na tabela 'alteracoes_quadro'
+ * (revisão, tipo, ID do item), gravadas ANTES do commit, na MESMA transação da
+ * alteração. Sem linha perdida, sem linha de alteração desfeita.
+ * A cada 'PODA_A_CADA' revisões, as mais velhas que 'retidas' são apagadas.
+ * 2. NA MEMÓRIA: depois do commit, as mesmas mudanças entram num "anel" do quadro
+ * (as últimas 'tamanhoDoAnel' revisões). Quem está quase em dia é respondido daqui,
+ * sem consulta nenhuma à tabela.
+ * 3. ATRASADO DEMAIS? Mais de 'maximo' revisões atrás (ou antes da poda): vazio, e
+ * quem chama devolve o quadro inteiro (mandar as mudanças sairia mais caro).
+ *
+ * * O anel só guarda revisões SEGUIDAS: um buraco (ex: dois commits terminando fora
+ * de ordem) recomeça o anel; as revisões que ficaram de fora vêm da tabela.
+ * * A criação do quadro (revisão 0) não é uma mudança: não há nada antes dela.
+ *
+ * * Métrica: 'kanban.sincronizacao', por 'origem' ('memoria', 'banco' ou 'completo').
+ */
+@Component
+public class DiarioDeAlteracoes {
+
+    // A poda da tabela roda numa revisão a cada tantas (não em toda alteração).
+    static final int PODA_A_CADA = 64;
+
+    private final AlteracaoDoQuadroRepository alteracaoRepository;
+    private final QuadroRepository quadroRepository;
+    private final int tamanhoDoAnel;
+    private final int maximo;
+    private final int retidas;
+    private final Cache<Long, Anel> aneis;
+    private final Counter sincronizacoesDaMemoria;
+    private final Counter sincronizacoesDoBanco;
+    private final Counter sincronizacoesCompletas;
+
+    public DiarioDeAlteracoes(
+            AlteracaoDoQuadroRepository alteracaoRepository,
+            QuadroRepository quadroRepository,
+            @Value("${api.quadros.alteracoes.anel:128}") int tamanhoDoAnel,
+            @Value("${api.quadros.alteracoes.quadros-na-memoria:10000}") long quadrosNaMemoria,
+            @Value("${api.quadros.alteracoes.maximo:200}") int maximo,
+            @Value("${api.quadros.alteracoes.retidas:1000}") int retidas,
+            MeterRegistry meterRegistry) {
+        if (retidas < maximo) {
+            throw new IllegalArgumentException("api.quadros.alteracoes.retidas deve ser pelo menos api.quadros.alteracoes.maximo");
+        }
+        this.alteracaoRepository = alteracaoRepository;
+        this.quadroRepository = quadroRepository;
+        this.tamanhoDoAnel = Math.max(1, tamanhoDoAnel);
+        this.maximo = maximo;
+        this.retidas = retidas;
+        this.aneis = Caffeine.newBuilder()
+            .maximumSize(quadrosNaMemoria)
+            .build();
+        // Registrados uma vez só: a sincronização só faz o 'increment'.
+        this.sincronizacoesDaMemoria = sincronizacoes("memoria", meterRegistry);
+        this.sincronizacoesDoBanco = sincronizacoes("banco", meterRegistry);
+        this.sincronizacoesCompletas = sincronizacoes("completo", meterRegistry);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENTRADA: Uma alteração (antes do commit, na transação dela)
+    // ---------------------------------------------------------------------------------
+    /**
+     * Grava as mudanças com a revisão NOVA do quadro.
+     * O 'flush' faz o UPDATE da revisão sair agora (no 'QuadroService' ele já saiu,
+     * no 'tocar'; no 'RebalanceadorDePosicoes', ainda não), e um conflito de revisão
+     * desfaz a transação inteira, como antes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void aoAlterarQuadro(QuadroAlteradoEvent evento) {
+        List<Alteracao> mudancas = evento.alteracoes().stream()
+            .filter(alteracao -> alteracao.tipo() != QuadroAlteradoEvent.Tipo.QUADRO_CRIADO)
+            .toList();
+        if (mudancas.isEmpty()) {
+            return;
+        }
+        Long quadroId = evento.quadroId();
+        quadroRepository.flush();
+        // O quadro alterado já está na transação: a referência é ele mesmo (sem SELECT).
+        Quadro quadro = quadroRepository.getReferenceById(quadroId);
+        long revisao = quadro.getVersao();
+
+        List<AlteracaoDoQuadro> linhas = new ArrayList<>(mudancas.size());
+        for (Alteracao alteracao : mudancas) {
+            linhas.add(new AlteracaoDoQuadro(null, quadroId, revisao, alteracao.tipo(), alteracao.id()));
+        }
+        alteracaoRepository.saveAll(linhas);
+        if (revisao % PODA_A_CADA == 0 && revisao > retidas) {
+            alteracaoRepository.apagarAte(quadroId, revisao - retidas);
+        }
+
+        // Confirmada a transação, as mudanças entram no anel do quadro.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                aneis.get(quadroId, id -> new Anel(tamanhoDoAnel)).adicionar(revisao, mudancas);
+            }
+        });
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // SAÍDA: O que mudou entre duas revisões
+    // ---------------------------------------------------------------------------------
+    /**
+     * As mudanças do quadro nas revisões ('desde', 'ate'], em ordem (um item pode
+     * aparecer mais de uma vez). Da memória, se o anel cobre o intervalo; senão, da tabela.
+     *
+     * @return Vazio se o intervalo é grande demais ou não está mais guardado
+     * (hora de mandar o quadro inteiro).
+     */
+    public Optional<List<Alteracao>> alteracoesEntre(Long quadroId, long desde, long ate) {
+        if (desde == ate) {
+            return Optional.of(List.of());
+        }
+        if (desde > ate || ate - desde > maximo) {
+            return completo();
+        }
+
+        Anel anel = aneis.getIfPresent(quadroId);
+        List<Alteracao> daMemoria = anel == null ? null : anel.entre(desde, ate);
+        if (daMemoria != null) {
+            sincronizacoesDaMemoria.increment();
+            return Optional.of(daMemoria);
+        }
+
+        // Da tabela: só vale se TODAS as revisões do intervalo estão lá (nada podado).
+        List<AlteracaoDoQuadro> linhas = alteracaoRepository.listarEntre(quadroId, desde, ate);
+        List<Alteracao> doBanco = new ArrayList<>(linhas.size());
+        long esperada = desde + 1;
+        for (AlteracaoDoQuadro linha : linhas) {
+            if (linha.getRevisao() == esperada) {
+                esperada++;
+            } else if (linha.getRevisao() != esperada - 1) {
+                return completo(); // Um buraco.
+            }
+            doBanco.add(new Alteracao(linha.getTipo(), linha.getItemId()));
+        }
+        if (esperada != ate + 1) {
+            return completo();
+        }
+        sincronizacoesDoBanco.increment();
+        return Optional.of(doBanco);
+    }
+
+    private Optional<List<Alteracao>> completo() {
+        sincronizacoesCompletas.increment();
+        return Optional.empty();
+    }
+
+    private static Counter sincronizacoes(String origem, MeterRegistry meterRegistry) {
+        return Counter.builder("kanban.sincronizacao")
+            .description("Sincronizações do GET /api/quadros/{id}/changes, pela origem das mudanças")
+            .tag("origem", origem)
+            .register(meterRegistry);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // O ANEL DE UM QUADRO
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * As últimas revisões de um quadro, SEGUIDAS (sem buracos), com as mudanças de cada uma.
+     * Cheio, a revisão mais velha sai.
+     */
+    static final class Anel {
+
+        private record Revisao(long numero, List<Alteracao> mudancas) {
+        }
+
+        private final int capacidade;
+        private final Deque<Revisao> revisoes;
+
+        Anel(int capacidade) {
+            this.capacidade = capacidade;
+            this.revisoes = new ArrayDeque<>(capacidade);
+        }
+
+        synchronized void adicionar(long numero, List<Alteracao> mudancas) {
+            if (!revisoes.isEmpty() && numero != revisoes.peekLast().numero() + 1) {
+                revisoes.clear(); // Fora de ordem: recomeça daqui.
+            }
+            revisoes.addLast(new Revisao(numero, mudancas));
+            if (revisoes.size() > capacidade) {
+                revisoes.pollFirst();
+            }
+        }
+
+        /**
+         * As mudanças das revisões ('desde', 'ate'], ou 'null' se o anel não tem todas.
+         */
+        synchronized List<Alteracao> entre(long desde, long ate) {
+            if (revisoes.isEmpty() || revisoes.peekFirst().numero() > desde + 1 || revisoes.peekLast().numero() < ate) {
+                return null;
+            }
+            List<Alteracao> mudancas = new ArrayList<>();
+            for (Revisao revisao : revisoes) {
+                if (revisao.numero() > desde && revisao.numero() <= ate) {
+                    mudancas.addAll(revisao.mudancas());
+                }
+            }
+            return mudancas;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kanban.backend.service;
+
+// Imports do Java
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: Disjuntor.java
+ * ANALOGIA: O "Disjuntor" do quadro de luz de um compartimento
+ * -------------------------------------------------------------------------------------
+ * * Conta as chamadas ao banco que DERAM ERRADO num 'Compartimento': as que falharam
+ * (erro de banco, sem conexão) e as que passaram do 'tempoLimite' (um banco lento
+ * é um banco "fora do ar" para quem está esperando).
+ *
+ * * Os três estados:
+ * - FECHADO: tudo passa. 'falhasParaAbrir' falhas SEGUIDAS abrem o disjuntor.
+ * - ABERTO: nada passa durante a 'pausa' (503 na hora, sem ocupar thread nem conexão),
+ *   e o banco tem um respiro para se recuperar.
+ * - MEIO ABERTO: passada a pausa, UMA chamada de teste passa. Deu certo? Fecha.
+ *   Falhou? Abre de novo por mais uma pausa.
+ */
+class Disjuntor {
+
+    private enum Estado {
+        FECHADO, ABERTO, MEIO_ABERTO
+    }
+
+    private final int falhasParaAbrir;
+    private final long pausaNanos;
+    private final LongSupplier relogio;
+
+    // Guardados pelo 'this'.
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoAte;
+
+    Disjuntor(int falhasParaAbrir, Duration pausa, LongSupplier relogio) {
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.pausaNanos = pausa.toNanos();
+        this.relogio = relogio;
+    }
+
+    /**
+     * A chamada pode passar? (Depois da pausa, só UMA passa: a chamada de teste.)
+     */
+    synchronized boolean permitir() {
+        switch (estado) {
+            case FECHADO:
+                return true;
+            case ABERTO:
+                if (abertoAte - relogio.getAsLong() > 0) {
+                    return false;
+                }
+                estado = Estado.MEIO_ABERTO;
+                return true;
+            default:
+                return false; // A chamada de teste ainda não voltou.
+        }
+    }
+
+    synchronized void registrarSucesso() {
+        falhasSeguidas = 0;
+        estado = Estado.FECHADO;
+    }
+
+    synchronized void registrarFalha() {
+        falhasSeguidas++;
+        if (estado == Estado.MEIO_ABERTO || falhasSeguidas >= falhasParaAbrir) {
+            estado = Estado.ABERTO;
+            abertoAte = relogio.getAsLong() + pausaNanos;
+        }
+    }
+
+    /**
+     * A chamada que passou nem chegou a rodar (ex: o compartimento estava lotado).
+     * Se era a chamada de teste, a próxima chamada testa no lugar dela.
+     */
+    synchronized void desistir() {
+        if (estado == Estado.MEIO_ABERTO) {
+            estado = Estado.ABERTO;
+            abertoAte = relogio.getAsLong();
+        }
+    }
+
+    /** Fora do estado FECHADO (para as métricas). */
+    synchronized boolean aberto() {
+        return estado != Estado.FECHADO;
+    }
+
+    /** Quanto falta da pausa (zero se não está aberto). */
+    synchronized Duration faltaParaTestar() {
+        if (estado != Estado.ABERTO) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, abertoAte - relogio.getAsLong()));
+    }
+}
@@ -0,0 +1,55 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ExecutorDeHash.java
+ * ANALOGIA: A "Sala do Cofre" (poucas mesas, fila curta na porta)
+ * -------------------------------------------------------------------------------------
+ * * O BCrypt é LENTO de propósito (~100 ms de CPU por senha). Login e cadastro
+ * rodavam o BCrypt nas threads do Tomcat: uma rajada de logins ocupava as threads
+ * e a CPU, e as leituras de quadros ficavam esperando.
+ *
+ * * Agora todo trabalho de hash (login e cadastro) roda AQUI, o 'Compartimento' da
+ * autenticação:
+ * - 'threads' mesas (por padrão, METADE dos núcleos da máquina, no mínimo 1): no máximo
+ *   essa quantidade de hashes ao mesmo tempo, o resto da CPU fica para os quadros;
+ * - uma fila curta ('fila') para quem chega enquanto as mesas estão ocupadas;
+ * - fila cheia? Recusa NA HORA com 503 + 'Retry-After' (nada de fila infinita);
+ * - a sua cota de conexões ('conexoes'): a busca do usuário no login não toma as
+ *   conexões dos quadros (nem o contrário, veja 'CompartimentoDeQuadros').
+ * A thread do Tomcat não espera pelo hash: o Controller devolve um 'CompletableFuture'.
+ * No cadastro, o hash e a gravação do usuário são DUAS tarefas daqui: a gravação
+ * entra na fila depois do hash e roda dentro da cota de conexões da sala.
+ *
+ * * Métricas: as do 'Compartimento', com 'compartimento=autenticacao'.
+ */
+@Component
+public class ExecutorDeHash extends Compartimento {
+
+    public ExecutorDeHash(
+            @Value("${api.security.hash.threads:0}") int threads,
+            @Value("${api.security.hash.fila:0}") int fila,
+            @Value("${api.security.hash.conexoes:2}") int conexoes,
+            @Value("${api.security.hash.espera-por-conexao:2s}") Duration esperaPorConexao,
+            @Value("${api.security.hash.tempo-limite:5s}") Duration tempoLimite,
+            @Value("${api.security.hash.disjuntor.falhas:5}") int falhasParaAbrir,
+            @Value("${api.security.hash.disjuntor.pausa:10s}") Duration pausa,
+            @Value("${api.security.hash.retry-after:1s}") Duration tenteDeNovoEm,
+            MeterRegistry meterRegistry) {
+        // 0 = "automático": metade dos núcleos (e a fila, o dobro disso).
+        super("autenticacao",
+            threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            fila, conexoes, esperaPorConexao, tempoLimite, falhasParaAbrir, pausa, tenteDeNovoEm,
+            "Muitos logins ao mesmo tempo, tente de novo em instantes", meterRegistry);
+    }
+}
@@ -0,0 +1,127 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.CartaoExportadoDTO;
+import com.kanban.backend.dto.ColunaExportadaDTO;
+import com.kanban.backend.dto.QuadroExportadoDTO;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.QuadroRepository;
+
+// Imports do Jackson
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Imports do JPA
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// Imports do Java
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ExportadorDeQuadros.java
+ * ANALOGIA: O "Copiador de Arquivo" (tira cópia de pasta em pasta, nunca do arquivo inteiro)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * Escreve TODOS os quadros de um usuário (com colunas e cartões) num OutputStream,
+ * em NDJSON: um quadro completo (JSON) por linha. Usado pelo GET /api/quadros/exportar.
+ *
+ * * Memória constante, seja qual for o tamanho do workspace:
+ * 1. Os quadros vêm do banco em páginas de LOTE quadros ('exportarDoUsuario', pela chave).
+ * 2. A cada página: UMA consulta para as colunas e UMA para os cartões
+ * (projeções em DTO, sem N+1), as linhas são escritas e enviadas (flush)...
+ * 3. ...e o contexto de persistência é limpo ('clear'), para os quadros já escritos
+ * não se acumularem na sessão do Hibernate.
+ */
+@Service
+public class ExportadorDeQuadros {
+
+    @Autowired
+    private QuadroRepository quadroRepository;
+
+    @Autowired
+    private ColunaRepository colunaRepository;
+
+    @Autowired
+    private CartaoRepository cartaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Quantos quadros por lote (cada lote: 2 consultas e um flush na resposta).
+    @Value("${api.quadros.exportacao.lote:100}")
+    private int lote;
+
+    /**
+     * Escreve os quadros do usuário em 'saida', um por linha (não fecha a 'saida').
+     * @return Quantos quadros foram exportados.
+     */
+    @Transactional(readOnly = true)
+    public long exportar(Long usuarioId, OutputStream saida) throws IOException {
+        long total = 0;
+        long depoisDe = 0;
+        while (true) {
+            List<Quadro> quadros = quadroRepository.exportarDoUsuario(usuarioId, depoisDe, Limit.of(lote));
+            if (quadros.isEmpty()) {
+                break;
+            }
+            total += escreverLote(quadros, saida);
+            depoisDe = quadros.get(quadros.size() - 1).getId();
+            entityManager.clear(); // A sessão não cresce com o workspace.
+            if (quadros.size() < lote) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Um lote: as colunas e os cartões de todos os quadros do lote (2 consultas),
+     * montados em memória e escritos, uma linha por quadro.
+     */
+    private int escreverLote(List<Quadro> quadros, OutputStream saida) throws IOException {
+        List<Long> quadroIds = quadros.stream().map(Quadro::getId).toList();
+
+        // Os cartões de cada coluna (a consulta já vem na ordem de exibição).
+        Map<Long, List<CartaoExportadoDTO>> cartoesPorColuna = cartaoRepository.listarParaExportacao(quadroIds).stream()
+            .collect(Collectors.groupingBy(CartaoExportadoDTO::getColunaId));
+
+        // As colunas de cada quadro (também já na ordem de exibição).
+        List<ColunaExportadaDTO> colunas = colunaRepository.listarParaExportacao(quadroIds);
+        for (ColunaExportadaDTO coluna : colunas) {
+            coluna.setCartoes(cartoesPorColuna.getOrDefault(coluna.getId(), List.of()));
+        }
+        Map<Long, List<ColunaExportadaDTO>> colunasPorQuadro = colunas.stream()
+            .collect(Collectors.groupingBy(ColunaExportadaDTO::getQuadroId));
+
+        for (Quadro quadro : quadros) {
+            QuadroExportadoDTO linha = new QuadroExportadoDTO(
+                quadro.getId(),
+                quadro.getNome(),
+                quadro.getAtualizadoEm(),
+                quadro.getVersao(),
+                colunasPorQuadro.getOrDefault(quadro.getId(), List.of())
+            );
+            saida.write(objectMapper.writeValueAsBytes(linha));
+            saida.write('\n');
+        }
+        saida.flush(); // O lote segue para o cliente (e sai do buffer).
+        return quadros.size();
+    }
+}
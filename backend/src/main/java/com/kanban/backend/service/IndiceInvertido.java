@@ -0,0 +1,287 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+
+// Imports do Java
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: IndiceInvertido.java
+ * ANALOGIA: O "Índice Remissivo" no fim do livro (de UM usuário)
+ * -------------------------------------------------------------------------------------
+ * * Para cada PALAVRA (termo), as fichas (quadros e colunas) que a têm no nome.
+ * Os termos ficam em ORDEM ALFABÉTICA (TreeMap): buscar "faz" é pegar a faixa que vai
+ * de "faz" até o último termo que começa com "faz", sem olhar uma ficha por vez.
+ *
+ * * Termos normalizados: sem acento e em minúsculas ("Lançado" vira "lancado"), então
+ * "lancado", "LANÇ" e "lanc" encontram a mesma coluna.
+ *
+ * * Uma consulta com várias palavras devolve as fichas que têm TODAS elas (cada uma
+ * como prefixo de algum termo do nome). A ordem dos resultados:
+ * 1. quem tem mais palavras da consulta POR INTEIRO ("feito" antes de "feitos");
+ * 2. quadros antes de colunas;
+ * 3. nomes mais curtos antes (mais parecidos com o que foi digitado);
+ * 4. o ID, para a ordem não variar.
+ *
+ * * Várias leituras ao mesmo tempo, uma escrita por vez (ReadWriteLock).
+ * * Usado pelo 'BuscaDeQuadros', que guarda um destes por usuário.
+ */
+class IndiceInvertido {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Resultado> MELHOR_PRIMEIRO = IndiceInvertido::comparar;
+
+    // Termo -> fichas com esse termo no nome.
+    private final NavigableMap<String, Set<Ficha>> termos = new TreeMap<>();
+
+    // "quadro:12" -> a ficha (para não indexar duas vezes e para trocar o nome).
+    private final Map<String, Ficha> fichas = new HashMap<>();
+
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Uma ficha e os termos do seu nome (já normalizados, sem repetição, em ordem).
+     * Igualdade por IDENTIDADE (não é um record): os conjuntos do índice não
+     * recalculam o hash do nome a cada operação.
+     */
+    private static final class Ficha {
+        private final ItemDeBuscaDTO item;
+        private final String[] termos;
+        private final boolean quadro;
+
+        Ficha(ItemDeBuscaDTO item, String[] termos) {
+            this.item = item;
+            this.termos = termos;
+            this.quadro = ItemDeBuscaDTO.QUADRO.equals(item.getTipo());
+        }
+
+        /** O primeiro termo do nome que começa com 'prefixo' (ou 'null'). */
+        String primeiroComPrefixo(String prefixo) {
+            for (String termo : termos) {
+                if (termo.startsWith(prefixo)) {
+                    return termo;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record Resultado(Ficha ficha, int exatas) {}
+
+    // A palavra da consulta com MENOS fichas, a faixa de termos dela e quantas fichas há ali.
+    private record Guia(String palavra, NavigableMap<String, Set<Ficha>> faixa, int fichas) {}
+
+    /**
+     * Coloca (ou atualiza) as fichas no índice.
+     * Indexar de novo a mesma ficha, com o mesmo nome, não muda nada.
+     */
+    void adicionar(Collection<ItemDeBuscaDTO> itens) {
+        trava.writeLock().lock();
+        try {
+            for (ItemDeBuscaDTO item : itens) {
+                String chave = item.getTipo() + ":" + item.getId();
+                Ficha antiga = fichas.get(chave);
+                if (antiga != null) {
+                    if (antiga.item.getNome().equals(item.getNome())) {
+                        continue;
+                    }
+                    retirar(antiga);
+                }
+                Ficha ficha = new Ficha(item, new TreeSet<>(termosDe(item.getNome())).toArray(String[]::new));
+                fichas.put(chave, ficha);
+                for (String termo : ficha.termos) {
+                    termos.computeIfAbsent(termo, t -> new HashSet<>()).add(ficha);
+                }
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * As 'limite' melhores fichas para a consulta (cada palavra vale como prefixo).
+     * Consulta sem nenhuma palavra: lista vazia.
+     */
+    List<ItemDeBuscaDTO> buscar(String consulta, int limite) {
+        List<String> palavras = termosDe(consulta).stream().distinct().toList();
+        if (palavras.isEmpty()) {
+            return List.of();
+        }
+
+        trava.readLock().lock();
+        try {
+            Guia guia = guia(palavras);
+            if (guia == null) {
+                return List.of();
+            }
+
+            // As 'limite' melhores, sem ordenar todas (a fila guarda a PIOR no topo).
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, MELHOR_PRIMEIRO.reversed());
+            for (Map.Entry<String, Set<Ficha>> termo : guia.faixa().entrySet()) {
+                for (Ficha ficha : termo.getValue()) {
+                    // Uma ficha com dois termos na faixa ("fazer fazendo") só conta uma vez:
+                    // pelo primeiro deles.
+                    if (!termo.getKey().equals(ficha.primeiroComPrefixo(guia.palavra()))) {
+                        continue;
+                    }
+                    int exatas = exatas(ficha, palavras);
+                    if (exatas < 0) {
+                        continue; // Falta alguma palavra.
+                    }
+                    melhores.add(new Resultado(ficha, exatas));
+                    if (melhores.size() > limite) {
+                        melhores.poll();
+                    }
+                }
+            }
+
+            List<Resultado> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(MELHOR_PRIMEIRO);
+            return ordenados.stream().map(resultado -> copia(resultado.ficha().item)).toList();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Quantas fichas uma busca olha (só as da palavra guia; 0 se alguma palavra não
+     * aparece no índice). Para conferir que a busca não percorre o índice inteiro.
+     */
+    int candidatos(String consulta) {
+        List<String> palavras = termosDe(consulta).stream().distinct().toList();
+        if (palavras.isEmpty()) {
+            return 0;
+        }
+        trava.readLock().lock();
+        try {
+            Guia guia = guia(palavras);
+            return guia == null ? 0 : guia.fichas();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /** Quantas fichas (quadros + colunas) há no índice. */
+    int tamanho() {
+        trava.readLock().lock();
+        try {
+            return fichas.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * "Fazendo (Sprint-3)" -> ["fazendo", "sprint", "3"]
+     */
+    static List<String> termosDe(String texto) {
+        if (texto == null) {
+            return List.of();
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        List<String> termos = new ArrayList<>();
+        for (String termo : SEPARADORES.split(semAcento.toLowerCase(Locale.ROOT))) {
+            if (!termo.isEmpty()) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * A palavra com MENOS fichas "guia" a busca: só as fichas dela são olhadas.
+     * 'null' se alguma palavra não tem nada (nenhuma ficha tem TODAS).
+     */
+    private Guia guia(List<String> palavras) {
+        Guia guia = null;
+        for (String palavra : palavras) {
+            NavigableMap<String, Set<Ficha>> faixa = faixa(palavra);
+            int fichasNaFaixa = 0;
+            for (Set<Ficha> comOTermo : faixa.values()) {
+                fichasNaFaixa += comOTermo.size();
+            }
+            if (fichasNaFaixa == 0) {
+                return null;
+            }
+            if (guia == null || fichasNaFaixa < guia.fichas()) {
+                guia = new Guia(palavra, faixa, fichasNaFaixa);
+            }
+        }
+        return guia;
+    }
+
+    // Os termos do índice que começam com 'prefixo'.
+    private NavigableMap<String, Set<Ficha>> faixa(String prefixo) {
+        return termos.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Quantas palavras a ficha tem POR INTEIRO, ou -1 se alguma nem como prefixo aparece.
+     */
+    private static int exatas(Ficha ficha, List<String> palavras) {
+        int exatas = 0;
+        for (String palavra : palavras) {
+            boolean achou = false;
+            for (String termo : ficha.termos) {
+                if (termo.startsWith(palavra)) {
+                    achou = true;
+                    if (termo.length() == palavra.length()) {
+                        exatas++;
+                        break;
+                    }
+                }
+            }
+            if (!achou) {
+                return -1;
+            }
+        }
+        return exatas;
+    }
+
+    // A ordem descrita no cabeçalho (a MENOR é a melhor).
+    private static int comparar(Resultado a, Resultado b) {
+        if (a.exatas() != b.exatas()) {
+            return Integer.compare(b.exatas(), a.exatas());
+        }
+        if (a.ficha().quadro != b.ficha().quadro) {
+            return a.ficha().quadro ? -1 : 1;
+        }
+        int tamanho = Integer.compare(a.ficha().item.getNome().length(), b.ficha().item.getNome().length());
+        return tamanho != 0 ? tamanho : Long.compare(a.ficha().item.getId(), b.ficha().item.getId());
+    }
+
+    private void retirar(Ficha ficha) {
+        for (String termo : ficha.termos) {
+            Set<Ficha> comOTermo = termos.get(termo);
+            comOTermo.remove(ficha);
+            if (comOTermo.isEmpty()) {
+                termos.remove(termo);
+            }
+        }
+    }
+
+    // Quem recebe o resultado não mexe na ficha guardada no índice.
+    private static ItemDeBuscaDTO copia(ItemDeBuscaDTO item) {
+        return new ItemDeBuscaDTO(item.getTipo(), item.getId(), item.getQuadroId(), item.getNome(), item.getUsuarioId());
+    }
+}
@@ -0,0 +1,97 @@
+package com.kanban.backend.service;
+
+// Imports do Java
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: LeitorDeCsv.java
+ * ANALOGIA: O "Leitor de Planilhas" (uma linha da planilha por vez)
+ * -------------------------------------------------------------------------------------
+ * * Lê um CSV (RFC 4180) AOS POUCOS: cada 'proximo()' devolve só o próximo registro,
+ * sem carregar o arquivo inteiro.
+ * - Campos separados por vírgula; registros por quebra de linha (\n ou \r\n).
+ * - Campos entre aspas podem ter vírgulas, quebras de linha e aspas dobradas ("").
+ * - O BOM do início (arquivos salvos pelo Excel) é ignorado.
+ * * Usado pela importação de quadros ('ImportadorDeQuadros').
+ */
+class LeitorDeCsv {
+
+    private static final int FIM = -1;
+
+    private final BufferedReader entrada;
+    private boolean inicio = true;
+
+    LeitorDeCsv(Reader entrada) {
+        this.entrada = new BufferedReader(entrada);
+    }
+
+    /**
+     * O próximo registro (os campos, na ordem), ou 'null' no fim do arquivo.
+     * Linhas em branco são puladas.
+     * @throws IllegalArgumentException Se o arquivo termina dentro de um campo entre aspas.
+     */
+    List<String> proximo() throws IOException {
+        int c = ler();
+        if (inicio) {
+            inicio = false;
+            if (c == '\uFEFF') {
+                c = ler();
+            }
+        }
+        while (c == '\r' || c == '\n') {
+            c = ler();
+        }
+        if (c == FIM) {
+            return null;
+        }
+
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        while (true) {
+            if (entreAspas) {
+                if (c == FIM) {
+                    throw new IllegalArgumentException("Aspas sem fechamento no CSV.");
+                }
+                if (c == '"') {
+                    entrada.mark(1);
+                    int seguinte = entrada.read();
+                    if (seguinte == '"') {
+                        campo.append('"'); // "" dentro das aspas = uma aspa
+                    } else {
+                        entreAspas = false;
+                        entrada.reset();
+                    }
+                } else {
+                    campo.append((char) c);
+                }
+            } else if (c == '"' && campo.isEmpty()) {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else if (c == '\n' || c == '\r' || c == FIM) {
+                if (c == '\r') {
+                    entrada.mark(1);
+                    if (entrada.read() != '\n') {
+                        entrada.reset();
+                    }
+                }
+                campos.add(campo.toString());
+                return campos;
+            } else {
+                campo.append((char) c);
+            }
+            c = ler();
+        }
+    }
+
+    private int ler() throws IOException {
+        return entrada.read();
+    }
+}
@@ -1,18 +1,53 @@
 package com.kanban.backend.service;
 
-// Imports de Entidades e Repositórios
+// Imports de Entidades, DTOs e Repositórios
+import com.kanban.backend.dto.AlteracoesDoQuadroDTO;
+import com.kanban.backend.dto.AlteracoesDoQuadroDTO.CartaoAlterado;
+import com.kanban.backend.dto.CartaoDTO;
+import com.kanban.backend.dto.ColunaDTO;
+import com.kanban.backend.dto.ColunaResumoDTO;
+import com.kanban.backend.dto.LinhaDoQuadroDTO;
+import com.kanban.backend.dto.PaginaQuadrosDTO;
+import com.kanban.backend.dto.QuadroDTO;
+import com.kanban.backend.dto.QuadroResumoDTO;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent;
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+import com.kanban.backend.model.Cartao;
 import com.kanban.backend.model.Coluna;
 import com.kanban.backend.model.Quadro;
 import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.CartaoRepository;
 import com.kanban.backend.repository.ColunaRepository;
 import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
 
 // Imports do Spring
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
 // Imports do Java
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -23,6 +58,16 @@ import java.util.List;
  * para que o Spring possa injetá-la em outros componentes (ex: QuadroController).
  * * Este Serviço lida com a regra de negócio central da Fase 3:
  * "Ao criar um quadro, crie automaticamente as colunas padrão."
+ * * E com a ordem das colunas e dos cartões ("Mover"), veja 'RankFracionario'.
+ *
+ * * Regra para TODA alteração de coluna ou cartão: "tocar" o quadro
+ * (atualizar 'atualizadoEm'), para que a revisão (@Version) dele mude,
+ * e publicar um 'QuadroAlteradoEvent' dizendo o que mudou.
+ * Se a ordem de uma lista mudou, ela também é apagada do cache L2 ('CacheDosQuadros').
+ * * Duas alterações do mesmo quadro ao mesmo tempo: a revisão acusa o conflito e a
+ * segunda é desfeita inteira (sem travar nada ao ler; só o UPDATE da revisão trava a
+ * linha do quadro, do 'tocar' ao commit). Quem chama decide se repete
+ * (veja 'RepetidorDeConflitos') ou devolve 409.
  */
 @Service
 public class QuadroService {
@@ -34,6 +79,35 @@ public class QuadroService {
     
     @Autowired
     private ColunaRepository colunaRepository;
+
+    @Autowired
+    private CartaoRepository cartaoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    // 2. O "ARRUMADOR" DAS POSIÇÕES (rebalanceamento em segundo plano)
+    @Autowired
+    private RebalanceadorDePosicoes rebalanceador;
+
+    // 3. O "MURAL DE AVISOS" (quem estiver com o quadro aberto é avisado depois do commit)
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    // 4. A "BORRACHA" do cache L2 (as listas guardadas na ordem antiga)
+    @Autowired
+    private CacheDosQuadros cacheDosQuadros;
+
+    // 5. O "BALCÃO DE CONSULTAS" (o índice da busca por nome, atualizado depois do commit)
+    @Autowired
+    private BuscaDeQuadros buscaDeQuadros;
+
+    // 6. O "CADERNO DE MUDANÇAS" (o que mudou em cada revisão, para a sincronização)
+    @Autowired
+    private DiarioDeAlteracoes diarioDeAlteracoes;
+
+    // As colunas com que todo quadro novo nasce.
+    public static final List<String> COLUNAS_PADRAO = List.of("A Fazer", "Fazendo", "Feito");
     
     
     /**
@@ -43,37 +117,436 @@ public class QuadroService {
      * Este método encapsula a regra de criação do Quadro, garantindo que as regras
      * sejam seguidas.
      *
+     * * Desempenho: o Quadro e as Colunas são salvos JUNTOS (cascata) numa única
+     * transação. Como os IDs vêm de sequências com reserva em blocos, o Hibernate
+     * envia tudo em lotes: 1 INSERT para o quadro + 1 lote com os 3 INSERTs das colunas.
+     *
      * @param nomeQuadro O nome que o usuário deu ao Quadro.
-     * @param usuario O objeto 'Usuario' (o dono) que o sistema de segurança identificou.
+     * @param usuarioId O ID do dono, que o sistema de segurança leu do crachá (token).
      * @return O Quadro recém-criado.
      */
-    public Quadro criarQuadroComColunasPadrao(String nomeQuadro, Usuario usuario) {
-        
-        // PASSO 1: Criar e Salvar o Quadro Principal
-        Quadro novoQuadro = new Quadro();
-        novoQuadro.setNome(nomeQuadro);
-        novoQuadro.setUsuario(usuario); // Associa o dono
+    @Transactional
+    public Quadro criarQuadroComColunasPadrao(String nomeQuadro, Long usuarioId) {
+
+        // PASSO 0: Uma "referência" ao dono
+        // 'getReferenceById' NÃO faz SELECT: só precisamos do ID para a chave estrangeira.
+        Usuario usuario = usuarioRepository.getReferenceById(usuarioId);
         
-        // Salva o quadro no banco para que ele receba seu ID único.
-        Quadro quadroSalvo = quadroRepository.save(novoQuadro);
+        // PASSO 1: Criar o Quadro com as Colunas Padrão (Regra de Negócio)
+        Quadro novoQuadro = novoQuadro(nomeQuadro, usuario, COLUNAS_PADRAO);
+
+        // PASSO 2: Salvar Tudo de uma Vez
+        // O 'cascade = CascadeType.ALL' do Quadro salva as colunas junto.
+        // Os INSERTs só são enviados no fim da transação, agrupados em lotes.
+        Quadro salvo = quadroRepository.save(novoQuadro);
+        eventos.publishEvent(QuadroAlteradoEvent.de(salvo.getId(), QuadroAlteradoEvent.Tipo.QUADRO_CRIADO, salvo.getId()));
+        buscaDeQuadros.indexar(salvo);
+        return salvo;
+    }
 
-        // PASSO 2: Definir as Colunas Padrão (Regra de Negócio)
-        List<String> nomesColunas = List.of("A Fazer", "Fazendo", "Feito");
+    
+    /**
+     * Monta (sem salvar) um Quadro novo com as colunas informadas, na ordem dada,
+     * com os DOIS lados da relação preenchidos (também usado pela importação).
+     * Cada coluna já nasce com a sua posição (curtas e bem espaçadas).
+     */
+    static Quadro novoQuadro(String nome, Usuario dono, List<String> nomesColunas) {
+        Quadro quadro = new Quadro();
+        quadro.setNome(nome);
+        quadro.setUsuario(dono); // Associa o dono
+        quadro.setAtualizadoEm(Instant.now());
+        quadro.setColunas(new ArrayList<>());
 
-        // PASSO 3: Mapear Nomes para Entidades 'Coluna'
-        // Usamos Streams para iterar sobre a lista de nomes e criar um objeto Coluna para cada um.
-        List<Coluna> colunasPadrao = nomesColunas.stream().map(nomeColuna -> {
+        List<String> posicoes = RankFracionario.distribuidas(nomesColunas.size());
+        for (int i = 0; i < nomesColunas.size(); i++) {
             Coluna coluna = new Coluna();
-            coluna.setNome(nomeColuna);
-            coluna.setQuadro(quadroSalvo); // Associa a Coluna ao Quadro recém-salvo (ID)
-            return coluna;
-        }).toList();
-
-        // PASSO 4: Salvar Todas as Colunas de uma Vez
-        // Usamos 'saveAll' para otimizar o acesso ao banco.
-        colunaRepository.saveAll(colunasPadrao);
-        
-        // Retorna o quadro que foi salvo e agora possui um ID.
-        return quadroSalvo;
+            coluna.setNome(nomesColunas.get(i));
+            coluna.setPosicao(posicoes.get(i));
+            coluna.setQuadro(quadro);
+            coluna.setCartoes(new ArrayList<>());
+            quadro.getColunas().add(coluna);
+        }
+        return quadro;
+    }
+
+    
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: buscarQuadroCompleto (O Quadro Inteiro, para o GET /api/quadros/{id})
+     * ---------------------------------------------------------------------------------
+     * O quadro com as colunas e os cartões, montado com DUAS consultas em DTO
+     * ("quadro LEFT JOIN colunas" + os cartões do quadro), sem carregar entidades:
+     * nada fica LAZY para o Jackson tropeçar depois, e nenhuma entidade vai para o
+     * contexto de persistência só para ser lida. Com o cache de consultas, uma leitura
+     * repetida (sem alterações no meio) não vai ao banco.
+     *
+     * @return Vazio se o quadro não existe. (A checagem de dono fica com quem chama: 'usuarioId'.)
+     */
+    @Transactional(readOnly = true)
+    public Optional<QuadroDTO> buscarQuadroCompleto(Long quadroId) {
+        List<LinhaDoQuadroDTO> linhas = quadroRepository.listarLinhasDoQuadro(quadroId);
+        if (linhas.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(montar(linhas, cartaoRepository.listarDoQuadro(quadroId)).get(0));
+    }
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: buscarAlteracoes (Só o que Mudou, para o GET /api/quadros/{id}/changes)
+     * ---------------------------------------------------------------------------------
+     * O que mudou no quadro desde a revisão 'desde' (veja 'DiarioDeAlteracoes'):
+     * o estado ATUAL de cada coluna e cartão citado nas mudanças, e os que sumiram.
+     * * Custo: a revisão atual + no máximo 3 consultas pelos IDs citados (colunas,
+     * cartões e as colunas com posições reescritas), que crescem com a quantidade de
+     * mudanças, não com o tamanho do quadro. Atrasado demais? O quadro inteiro
+     * ('buscarQuadroCompleto'), com 'completo' = true.
+     * * Um item alterado de novo depois da revisão atual pode vir já com o estado mais
+     * novo: a próxima sincronização o manda outra vez (o front-end aplica por ID).
+     *
+     * @return Vazio se o quadro não existe. (A checagem de dono fica com quem chama.)
+     */
+    @Transactional(readOnly = true)
+    public Optional<AlteracoesDoQuadroDTO> buscarAlteracoes(Long quadroId, long desde) {
+        RevisaoQuadroDTO revisao = quadroRepository.buscarRevisao(quadroId).orElse(null);
+        if (revisao == null) {
+            return Optional.empty();
+        }
+        Long atual = revisao.getVersao();
+        Optional<List<Alteracao>> mudancas = diarioDeAlteracoes.alteracoesEntre(quadroId, desde, atual);
+        if (mudancas.isEmpty()) {
+            return buscarQuadroCompleto(quadroId).map(quadro -> AlteracoesDoQuadroDTO.completo(quadro, desde));
+        }
+
+        // PASSO 1: Os IDs citados (cada um uma vez, por mais que tenha mudado)
+        Set<Long> cartaoIds = new LinkedHashSet<>();
+        Set<Long> colunaIds = new LinkedHashSet<>();
+        Set<Long> colunasReescritas = new LinkedHashSet<>();
+        boolean todasAsColunas = false;
+        for (Alteracao alteracao : mudancas.get()) {
+            switch (alteracao.tipo()) {
+                case CARTAO_CRIADO, CARTAO_MOVIDO -> cartaoIds.add(alteracao.id());
+                case COLUNA_MOVIDA -> colunaIds.add(alteracao.id());
+                case POSICOES_REESCRITAS -> {
+                    if (alteracao.id().equals(quadroId)) {
+                        todasAsColunas = true; // As posições de TODAS as colunas.
+                    } else {
+                        colunasReescritas.add(alteracao.id()); // As dos cartões desta coluna.
+                    }
+                }
+                case QUADRO_CRIADO -> { }
+            }
+        }
+
+        // PASSO 2: O estado atual de cada um (quem não voltou, sumiu do quadro)
+        List<ColunaResumoDTO> colunas = todasAsColunas
+            ? colunaRepository.listarResumosPorQuadros(List.of(quadroId))
+            : colunaIds.isEmpty() ? List.of() : colunaRepository.listarResumosPorIds(quadroId, colunaIds);
+        Map<Long, CartaoDTO> cartoes = new LinkedHashMap<>();
+        if (!colunasReescritas.isEmpty()) {
+            cartaoRepository.listarDasColunas(quadroId, colunasReescritas).forEach(cartao -> cartoes.put(cartao.id(), cartao));
+        }
+        cartaoIds.removeAll(cartoes.keySet());
+        if (!cartaoIds.isEmpty()) {
+            cartaoRepository.listarPorIds(quadroId, cartaoIds).forEach(cartao -> cartoes.put(cartao.id(), cartao));
+        }
+
+        List<Long> colunasRemovidas = new ArrayList<>(colunaIds);
+        colunas.forEach(coluna -> colunasRemovidas.remove(coluna.getId()));
+        List<Long> cartoesRemovidos = cartaoIds.stream().filter(id -> !cartoes.containsKey(id)).toList();
+
+        return Optional.of(AlteracoesDoQuadroDTO.mudancas(quadroId, desde, atual, colunas,
+            cartoes.values().stream()
+                .sorted(Comparator.comparing(CartaoDTO::posicao).thenComparing(CartaoDTO::id))
+                .map(CartaoAlterado::de)
+                .toList(),
+            colunasRemovidas, cartoesRemovidos));
+    }
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: listarQuadrosFormatoLegado (A Listagem Antiga, Completa)
+     * ---------------------------------------------------------------------------------
+     * Todos os quadros do usuário, com colunas E cartões, em DTO: as mesmas duas
+     * consultas do 'buscarQuadroCompleto', agora para TODOS os quadros do usuário
+     * (não duas por quadro).
+     */
+    @Transactional(readOnly = true)
+    public List<QuadroDTO> listarQuadrosFormatoLegado(Long usuarioId) {
+        List<LinhaDoQuadroDTO> linhas = quadroRepository.listarLinhasDoUsuario(usuarioId);
+        if (linhas.isEmpty()) {
+            return List.of();
+        }
+        return montar(linhas, cartaoRepository.listarDoUsuario(usuarioId));
+    }
+
+    /**
+     * Junta as linhas "achatadas" (um quadro por coluna, em ordem de quadro) e os
+     * cartões (em ordem de exibição) em 'QuadroDTO's, na ordem em que as linhas vieram.
+     */
+    private static List<QuadroDTO> montar(List<LinhaDoQuadroDTO> linhas, List<CartaoDTO> cartoes) {
+        Map<Long, List<CartaoDTO>> cartoesPorColuna = cartoes.stream()
+            .collect(Collectors.groupingBy(CartaoDTO::colunaId));
+
+        List<QuadroDTO> quadros = new ArrayList<>();
+        Long quadroAtual = null;
+        List<ColunaDTO> colunas = null;
+        for (LinhaDoQuadroDTO linha : linhas) {
+            if (!linha.quadroId().equals(quadroAtual)) {
+                // Um quadro novo: a lista de colunas dele só é lida depois de pronta.
+                quadroAtual = linha.quadroId();
+                colunas = new ArrayList<>();
+                quadros.add(linha.quadro(Collections.unmodifiableList(colunas)));
+            }
+            if (linha.colunaId() != null) { // 'null' = quadro sem colunas (o LEFT JOIN)
+                colunas.add(linha.coluna(cartoesPorColuna.getOrDefault(linha.colunaId(), List.of())));
+            }
+        }
+        return quadros;
+    }
+
+    
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: listarQuadros (A Listagem Paginada do Dashboard)
+     * ---------------------------------------------------------------------------------
+     * Devolve UMA página de fichas resumidas dos quadros do usuário.
+     *
+     * @param usuarioId O dono (lido do crachá).
+     * @param cursor O ID do último quadro da página anterior ('null' na primeira página).
+     * @param limite O tamanho da página.
+     * @param incluirColunas Se 'true', preenche as colunas de cada quadro da página
+     * (com UMA consulta extra para a página inteira, não uma por quadro).
+     */
+    @Transactional(readOnly = true)
+    public PaginaQuadrosDTO listarQuadros(Long usuarioId, Long cursor, int limite, boolean incluirColunas) {
+
+        // PASSO 1: A página de fichas (uma consulta, sem JOIN com as colunas)
+        List<QuadroResumoDTO> itens = quadroRepository.listarResumos(
+            usuarioId,
+            cursor == null ? 0L : cursor,
+            Limit.of(limite)
+        );
+
+        // PASSO 2 (Opcional): As colunas da página inteira, agrupadas por quadro
+        if (incluirColunas && !itens.isEmpty()) {
+            List<Long> ids = itens.stream().map(QuadroResumoDTO::getId).toList();
+            Map<Long, List<ColunaResumoDTO>> colunasPorQuadro = colunaRepository.listarResumosPorQuadros(ids)
+                .stream()
+                .collect(Collectors.groupingBy(ColunaResumoDTO::getQuadroId));
+            itens.forEach(item -> item.setColunas(colunasPorQuadro.getOrDefault(item.getId(), List.of())));
+        }
+
+        // PASSO 3: O cursor da próxima página
+        // Se a página veio "cheia", pode haver mais quadros depois do último ID.
+        Long proximoCursor = itens.size() == limite ? itens.get(itens.size() - 1).getId() : null;
+
+        return new PaginaQuadrosDTO(itens, proximoCursor);
+    }
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: criarCartao
+     * ---------------------------------------------------------------------------------
+     * Cria um cartão no FIM da coluna.
+     * * Custo: 1 SELECT (coluna + quadro), 1 SELECT (a última posição, pelo índice),
+     * 1 INSERT (o cartão) e 1 UPDATE (a revisão do quadro).
+     */
+    @Transactional
+    public Cartao criarCartao(Long colunaId, String titulo, String descricao, Long usuarioId) {
+        Coluna coluna = colunaRepository.buscarComQuadro(colunaId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coluna não encontrada."));
+        Quadro quadro = coluna.getQuadro();
+        verificarDono(quadro, usuarioId);
+
+        Cartao cartao = new Cartao();
+        cartao.setTitulo(titulo);
+        cartao.setDescricao(descricao);
+        cartao.setColuna(coluna);
+        cartao.setPosicao(RankFracionario.entre(cartaoRepository.buscarUltimaPosicao(colunaId), null));
+        cartaoRepository.save(cartao);
+        cacheDosQuadros.esquecerCartoes(colunaId);
+
+        tocar(quadro);
+        eventos.publishEvent(QuadroAlteradoEvent.de(quadro.getId(), QuadroAlteradoEvent.Tipo.CARTAO_CRIADO, cartao.getId()));
+        rebalanceador.verificarCartoes(cartao.getPosicao(), quadro.getId(), colunaId);
+        return cartao;
+    }
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: moverCartao
+     * ---------------------------------------------------------------------------------
+     * Move um cartão para outra posição (na mesma coluna ou em outra coluna do quadro).
+     *
+     * * Só o cartão movido é alterado: ele ganha uma posição nova ENTRE os vizinhos
+     * de destino. Os outros cartões da coluna (mesmo que sejam 10 mil) não são tocados.
+     * Custo: 1 UPDATE no cartão + 1 UPDATE na revisão do quadro, mais 1 a 3 SELECTs
+     * pela chave primária e pelo índice (coluna_id, posicao).
+     *
+     * @param colunaDestinoId A coluna de destino ('null' = a coluna atual).
+     * @param anteriorId O cartão que vai ficar logo antes (veja 'MoverRequestDTO').
+     * @param proximoId O cartão que vai ficar logo depois.
+     */
+    @Transactional
+    public Cartao moverCartao(Long cartaoId, Long colunaDestinoId, Long anteriorId, Long proximoId, Long usuarioId) {
+        Cartao cartao = cartaoRepository.buscarComQuadro(cartaoId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Cartão não encontrado."));
+        Quadro quadro = cartao.getColuna().getQuadro();
+        verificarDono(quadro, usuarioId);
+
+        // PASSO 1: A coluna de destino (tem que ser do MESMO quadro)
+        Coluna destino = cartao.getColuna();
+        if (colunaDestinoId != null && !colunaDestinoId.equals(destino.getId())) {
+            destino = colunaRepository.findById(colunaDestinoId)
+                .filter(coluna -> coluna.getQuadro().getId().equals(quadro.getId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Coluna de destino inválida."));
+        }
+        if (cartaoId.equals(anteriorId) || cartaoId.equals(proximoId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Um cartão não pode ser vizinho de si mesmo.");
+        }
+
+        // PASSO 2: A posição nova, entre os vizinhos
+        Long colunaId = destino.getId();
+        String posicao = posicaoEntreVizinhos(
+            anteriorId,
+            proximoId,
+            id -> cartaoRepository.buscarPosicao(id, colunaId),
+            () -> cartaoRepository.buscarUltimaPosicao(colunaId),
+            atual -> cartaoRepository.buscarPosicaoSeguinte(colunaId, atual),
+            atual -> cartaoRepository.buscarPosicaoAnterior(colunaId, atual)
+        );
+
+        // PASSO 3: Só o cartão muda (o UPDATE sai no flush do 'tocar', pelo "dirty checking")
+        cacheDosQuadros.esquecerCartoes(cartao.getColuna().getId());
+        cacheDosQuadros.esquecerCartoes(colunaId);
+        cartao.setColuna(destino);
+        cartao.setPosicao(posicao);
+
+        tocar(quadro);
+        eventos.publishEvent(QuadroAlteradoEvent.de(quadro.getId(), QuadroAlteradoEvent.Tipo.CARTAO_MOVIDO, cartaoId));
+        rebalanceador.verificarCartoes(posicao, quadro.getId(), colunaId);
+        return cartao;
+    }
+
+
+    /**
+     * ---------------------------------------------------------------------------------
+     * MÉTODO: moverColuna
+     * ---------------------------------------------------------------------------------
+     * Reordena uma coluna dentro do quadro. Mesma ideia do 'moverCartao':
+     * só a coluna movida ganha uma posição nova.
+     */
+    @Transactional
+    public Coluna moverColuna(Long colunaId, Long anteriorId, Long proximoId, Long usuarioId) {
+        Coluna coluna = colunaRepository.buscarComQuadro(colunaId)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Coluna não encontrada."));
+        Quadro quadro = coluna.getQuadro();
+        verificarDono(quadro, usuarioId);
+        if (colunaId.equals(anteriorId) || colunaId.equals(proximoId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Uma coluna não pode ser vizinha de si mesma.");
+        }
+
+        // Quadros antigos: as colunas ainda sem posição ganham uma agora (uma única vez).
+        Long quadroId = quadro.getId();
+        if (colunaRepository.existsByQuadroIdAndPosicaoIsNull(quadroId)) {
+            List<Coluna> colunas = colunaRepository.findByQuadroIdOrderByPosicaoAscIdAsc(quadroId);
+            List<String> posicoes = RankFracionario.distribuidas(colunas.size());
+            for (int i = 0; i < colunas.size(); i++) {
+                colunas.get(i).setPosicao(posicoes.get(i));
+            }
+        }
+
+        String posicao = posicaoEntreVizinhos(
+            anteriorId,
+            proximoId,
+            id -> colunaRepository.buscarPosicao(id, quadroId),
+            () -> colunaRepository.buscarUltimaPosicao(quadroId),
+            atual -> colunaRepository.buscarPosicaoSeguinte(quadroId, atual),
+            atual -> colunaRepository.buscarPosicaoAnterior(quadroId, atual)
+        );
+        coluna.setPosicao(posicao);
+        cacheDosQuadros.esquecerColunas(quadroId);
+
+        tocar(quadro);
+        eventos.publishEvent(QuadroAlteradoEvent.de(quadroId, QuadroAlteradoEvent.Tipo.COLUNA_MOVIDA, colunaId));
+        rebalanceador.verificarColunas(posicao, quadroId);
+        return coluna;
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O usuário logado é o dono do quadro? ('getUsuario()' é LAZY: só o ID, sem SELECT.)
+     */
+    private static void verificarDono(Quadro quadro, Long usuarioId) {
+        if (!quadro.getUsuario().getId().equals(usuarioId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Acesso negado.");
+        }
+    }
+
+    /**
+     * "Toca" o quadro: o UPDATE de 'atualizadoEm' faz a revisão (@Version) subir.
+     *
+     * * E grava JÁ (flush), em vez de esperar o commit: se alguém alterou o quadro
+     * (ou o mesmo cartão/coluna) desde a nossa leitura, o conflito aparece AQUI, sempre
+     * como um conflito NO QUADRO, com o ID dele ('TratadorDeErros' responde 409 com a
+     * revisão atual). Chamado por último: as linhas alteradas ficam travadas só entre
+     * este flush e o commit, logo em seguida.
+     */
+    private void tocar(Quadro quadro) {
+        quadro.setAtualizadoEm(Instant.now());
+        try {
+            quadroRepository.flush();
+        } catch (OptimisticLockingFailureException e) {
+            throw new ObjectOptimisticLockingFailureException(Quadro.class, quadro.getId(), e);
+        }
+    }
+
+    /**
+     * A posição nova para um item que vai ficar entre 'anteriorId' e 'proximoId'.
+     * Quando só um dos vizinhos é informado, o outro é o vizinho atual dele;
+     * quando nenhum é informado, o item vai para o fim.
+     *
+     * @param posicaoDe A posição de um vizinho (vazio se ele não está no destino).
+     * @param ultima A última posição do destino.
+     * @param seguinte A posição logo depois de outra.
+     * @param anterior A posição logo antes de outra.
+     */
+    private static String posicaoEntreVizinhos(
+            Long anteriorId,
+            Long proximoId,
+            Function<Long, Optional<String>> posicaoDe,
+            Supplier<String> ultima,
+            UnaryOperator<String> seguinte,
+            UnaryOperator<String> anterior) {
+
+        String antes = anteriorId == null ? null : posicaoDoVizinho(anteriorId, posicaoDe);
+        String depois = proximoId == null ? null : posicaoDoVizinho(proximoId, posicaoDe);
+
+        if (anteriorId == null && proximoId == null) {
+            antes = ultima.get();
+        } else if (proximoId == null) {
+            depois = seguinte.apply(antes);
+        } else if (anteriorId == null) {
+            antes = anterior.apply(depois);
+        }
+
+        if (antes != null && depois != null && antes.compareTo(depois) >= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Os vizinhos informados estão fora de ordem.");
+        }
+        return RankFracionario.entre(antes, depois);
+    }
+
+    private static String posicaoDoVizinho(Long id, Function<Long, Optional<String>> posicaoDe) {
+        return posicaoDe.apply(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Vizinho " + id + " não está no destino."));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.kanban.backend.service;
+
+// Imports do Java
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RankFracionario.java
+ * ANALOGIA: A "Numeração de Páginas com Meias-Páginas" (1, 1½, 1¾, 2...)
+ * -------------------------------------------------------------------------------------
+ * * O problema:
+ * Se a posição de um cartão fosse um número inteiro (1, 2, 3...), mover um cartão
+ * para o topo obrigaria a "renumerar" TODOS os irmãos abaixo dele (milhares de UPDATEs).
+ *
+ * * A solução (ordenação fracionária / lexicográfica):
+ * A posição é um TEXTO, comparado em ordem alfabética ("a" < "ab" < "b").
+ * Entre quaisquer dois textos sempre existe um terceiro ("a" < "ai" < "b"), então
+ * mover um item significa só calcular um texto novo "entre os vizinhos" e atualizar
+ * UMA linha. Os irmãos não são tocados.
+ *
+ * * Alfabeto: base 36, apenas "0-9" e "a-z" (minúsculas). Assim a ordem é a mesma no Java
+ * e nas collations "case-insensitive" do MySQL (onde "a" e "A" seriam iguais).
+ *
+ * * Regra de ouro: nenhuma posição termina em '0'. (Entre "a" e "a0" não cabe nada.)
+ *
+ * * O custo: inserções repetidas no mesmo lugar fazem o texto crescer ~1 caractere a
+ * cada ~5 inserções. Quando passa de um limite, o 'RebalanceadorDePosicoes'
+ * redistribui as posições de uma coluna inteira em segundo plano.
+ */
+public final class RankFracionario {
+
+    private static final String DIGITOS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final int BASE = DIGITOS.length();
+
+    private RankFracionario() {
+        // Classe utilitária: só métodos estáticos.
+    }
+
+    /**
+     * Uma posição estritamente entre 'antes' e 'depois'.
+     *
+     * @param antes A posição do vizinho anterior ('null' = não há vizinho antes: vai para o topo).
+     * @param depois A posição do vizinho seguinte ('null' = não há vizinho depois: vai para o fim).
+     */
+    public static String entre(String antes, String depois) {
+        String inferior = antes == null ? "" : antes;
+        if (depois != null && inferior.compareTo(depois) >= 0) {
+            throw new IllegalArgumentException("Posições fora de ordem: '" + antes + "' >= '" + depois + "'");
+        }
+
+        StringBuilder resultado = new StringBuilder();
+        String superior = depois;
+        for (int i = 0; ; i++) {
+            int digitoInferior = i < inferior.length() ? valor(inferior.charAt(i)) : 0;
+            int digitoSuperior = superior == null ? BASE
+                : i < superior.length() ? valor(superior.charAt(i)) : 0;
+
+            if (digitoInferior == digitoSuperior) {
+                // Mesmo dígito nos dois limites: copia e continua na próxima "casa decimal".
+                resultado.append(DIGITOS.charAt(digitoInferior));
+                continue;
+            }
+
+            int meio = (digitoInferior + digitoSuperior) / 2;
+            if (meio > digitoInferior) {
+                // Cabe um dígito no meio: terminamos (e ele nunca é '0').
+                return resultado.append(DIGITOS.charAt(meio)).toString();
+            }
+
+            // Os dígitos são "vizinhos" (ex: 4 e 5): fica com o de baixo e, a partir
+            // daqui, qualquer coisa maior que o resto de 'antes' já é menor que 'depois'.
+            resultado.append(DIGITOS.charAt(digitoInferior));
+            superior = null;
+        }
+    }
+
+    /**
+     * 'quantidade' posições crescentes, igualmente espaçadas e o mais curtas possível.
+     * Usado para as colunas padrão de um quadro novo e pelo rebalanceamento.
+     */
+    public static List<String> distribuidas(int quantidade) {
+        List<String> posicoes = new ArrayList<>(quantidade);
+        if (quantidade == 0) {
+            return posicoes;
+        }
+
+        // Quantas "casas" são necessárias para caber 'quantidade' valores com folga.
+        int largura = 1;
+        long capacidade = BASE;
+        while (capacidade <= quantidade * 2L) {
+            largura++;
+            capacidade *= BASE;
+        }
+
+        long passo = capacidade / (quantidade + 1);
+        for (int i = 1; i <= quantidade; i++) {
+            posicoes.add(formatar(passo * i, largura));
+        }
+        return posicoes;
+    }
+
+    /**
+     * Escreve 'numero' em base 36 com 'largura' casas e remove os '0' do final
+     * (a ordem alfabética continua a mesma, e respeitamos a regra de ouro).
+     */
+    private static String formatar(long numero, int largura) {
+        char[] casas = new char[largura];
+        for (int i = largura - 1; i >= 0; i--) {
+            casas[i] = DIGITOS.charAt((int) (numero % BASE));
+            numero /= BASE;
+        }
+        int fim = largura;
+        while (fim > 1 && casas[fim - 1] == '0') {
+            fim--;
+        }
+        return new String(casas, 0, fim);
+    }
+
+    private static int valor(char digito) {
+        int valor = DIGITOS.indexOf(digito);
+        if (valor < 0) {
+            throw new IllegalArgumentException("Caractere inválido em posição: '" + digito + "'");
+        }
+        return valor;
+    }
+}
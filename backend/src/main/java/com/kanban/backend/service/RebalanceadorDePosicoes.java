@@ -0,0 +1,191 @@
+package com.kanban.backend.service;
+
+// Imports de Entidades, Eventos e Repositórios
+import com.kanban.backend.events.QuadroAlteradoEvent;
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.QuadroRepository;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Imports de Log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports do Java
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RebalanceadorDePosicoes.java
+ * ANALOGIA: O "Arrumador" que reescreve as etiquetas de posição quando elas ficam compridas
+ * -------------------------------------------------------------------------------------
+ * * Cada "inserir entre dois vizinhos" pode deixar a posição um pouco mais comprida
+ * (veja 'RankFracionario'). Quando uma posição passa de 'tamanhoMaximo' caracteres,
+ * o 'QuadroService' pede aqui um rebalanceamento: TODAS as posições da coluna
+ * (ou do quadro) são reescritas, curtas e igualmente espaçadas, mantendo a ordem.
+ *
+ * * Em segundo plano: o pedido só é executado DEPOIS do commit da transação que o
+ * fez, numa thread do executor de tarefas do Spring. O usuário que moveu o cartão
+ * não espera pelo rebalanceamento.
+ *
+ * * Concorrência: o rebalanceamento "toca" o quadro, como qualquer alteração.
+ * Se alguém alterar o quadro ao mesmo tempo, a revisão (@Version) do quadro
+ * acusa o conflito, um dos dois é desfeito, e o rebalanceamento tenta de novo
+ * (com as esperas crescentes do 'RepetidorDeConflitos').
+ */
+@Component
+public class RebalanceadorDePosicoes {
+
+    private static final Logger log = LoggerFactory.getLogger(RebalanceadorDePosicoes.class);
+
+    private final QuadroRepository quadroRepository;
+    private final ColunaRepository colunaRepository;
+    private final CartaoRepository cartaoRepository;
+    private final TransactionTemplate transacao;
+    private final TaskExecutor executor;
+    private final ApplicationEventPublisher eventos;
+    private final RepetidorDeConflitos repetidor;
+    private final int tamanhoMaximo;
+
+    // O que já está na fila (evita rebalancear a mesma coluna duas vezes seguidas).
+    private final Set<String> pendentes = ConcurrentHashMap.newKeySet();
+
+    public RebalanceadorDePosicoes(
+            QuadroRepository quadroRepository,
+            ColunaRepository colunaRepository,
+            CartaoRepository cartaoRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+            ApplicationEventPublisher eventos,
+            RepetidorDeConflitos repetidor,
+            @Value("${api.quadros.posicao.tamanho-maximo:24}") int tamanhoMaximo) {
+        this.quadroRepository = quadroRepository;
+        this.colunaRepository = colunaRepository;
+        this.cartaoRepository = cartaoRepository;
+        this.transacao = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.eventos = eventos;
+        this.repetidor = repetidor;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * A posição ficou comprida demais? Então agenda o rebalanceamento dos cartões da coluna.
+     */
+    public void verificarCartoes(String posicao, Long quadroId, Long colunaId) {
+        if (posicao.length() > tamanhoMaximo) {
+            agendar("coluna:" + colunaId, () -> rebalancearCartoes(quadroId, colunaId));
+        }
+    }
+
+    /**
+     * A posição ficou comprida demais? Então agenda o rebalanceamento das colunas do quadro.
+     */
+    public void verificarColunas(String posicao, Long quadroId) {
+        if (posicao.length() > tamanhoMaximo) {
+            agendar("quadro:" + quadroId, () -> rebalancearColunas(quadroId));
+        }
+    }
+
+    /**
+     * Quantos rebalanceamentos estão na fila ou rodando agora.
+     */
+    public int pendentes() {
+        return pendentes.size();
+    }
+
+    // ---------------------------------------------------------------------------------
+    // O TRABALHO EM SI
+    // ---------------------------------------------------------------------------------
+
+    private void rebalancearCartoes(Long quadroId, Long colunaId) {
+        reescrever(quadroId, colunaId, () -> {
+            List<Cartao> cartoes = cartaoRepository.findByColunaIdOrderByPosicaoAscIdAsc(colunaId);
+            List<String> posicoes = RankFracionario.distribuidas(cartoes.size());
+            for (int i = 0; i < cartoes.size(); i++) {
+                cartoes.get(i).setPosicao(posicoes.get(i));
+            }
+        });
+    }
+
+    private void rebalancearColunas(Long quadroId) {
+        reescrever(quadroId, quadroId, () -> {
+            List<Coluna> colunas = colunaRepository.findByQuadroIdOrderByPosicaoAscIdAsc(quadroId);
+            List<String> posicoes = RankFracionario.distribuidas(colunas.size());
+            for (int i = 0; i < colunas.size(); i++) {
+                colunas.get(i).setPosicao(posicoes.get(i));
+            }
+        });
+    }
+
+    /**
+     * Reescreve as posições numa transação própria, "tocando" o quadro.
+     * Os UPDATEs vão em lotes ('hibernate.jdbc.batch_size'), não um a um.
+     *
+     * @param reescritoId A coluna (ou o quadro) cujas posições foram reescritas.
+     */
+    private void reescrever(Long quadroId, Long reescritoId, Runnable reescrita) {
+        try {
+            repetidor.repetir("rebalancear", () -> transacao.execute(status -> {
+                quadroRepository.findById(quadroId).ifPresent(quadro -> {
+                    reescrita.run();
+                    quadro.setAtualizadoEm(Instant.now());
+                    eventos.publishEvent(QuadroAlteradoEvent.de(quadroId, QuadroAlteradoEvent.Tipo.POSICOES_REESCRITAS, reescritoId));
+                });
+                return null;
+            }));
+        } catch (OptimisticLockingFailureException e) {
+            log.warn("Rebalanceamento do quadro {} desistiu: o quadro não parou de mudar", quadroId);
+        }
+    }
+
+    /**
+     * Executa 'tarefa' em segundo plano, depois do commit da transação atual
+     * (ou já, se não houver transação).
+     */
+    private void agendar(String chave, Runnable tarefa) {
+        if (!pendentes.add(chave)) {
+            return; // Já está na fila.
+        }
+        Runnable execucao = () -> executor.execute(() -> {
+            try {
+                tarefa.run();
+            } catch (RuntimeException e) {
+                log.error("Falha ao rebalancear posições ({})", chave, e);
+            } finally {
+                pendentes.remove(chave);
+            }
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        execucao.run();
+                    } else {
+                        pendentes.remove(chave);
+                    }
+                }
+            });
+        } else {
+            execucao.run();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.kanban.backend.service;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+// Imports do Java
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RepetidorDeConflitos.java
+ * ANALOGIA: O "Tente de Novo, com Calma"
+ * -------------------------------------------------------------------------------------
+ * * Duas pessoas mexendo no MESMO quadro ao mesmo tempo: as duas leem a revisão 5,
+ * as duas gravam. A primeira leva a revisão 6; a segunda encontra a revisão errada
+ * e o Hibernate desfaz tudo ('OptimisticLockingFailureException'). Ninguém trava o
+ * quadro ao LER (nada de SELECT ... FOR UPDATE): quem perde simplesmente não grava.
+ * (O UPDATE da revisão ainda trava a linha do quadro do 'flush' ao commit, como todo
+ * UPDATE: uma escrita concorrente espera esse instante e então acusa o conflito.)
+ *
+ * * Para as escritas que dão o MESMO resultado se feitas de novo (mover um cartão
+ * ou uma coluna para "entre A e B"), o perdedor não precisa incomodar o usuário:
+ * esperamos um pouco e refazemos tudo numa transação NOVA, que relê o quadro já com
+ * a alteração do vencedor.
+ * - No máximo 'tentativas' vezes (a primeira incluída);
+ * - a espera dobra a cada conflito, de 'esperaInicial' até 'esperaMaxima', e é
+ *   sorteada entre zero e esse teto: quem colidiu junto não volta junto.
+ * Esgotadas as tentativas, o último conflito sobe: o 'TratadorDeErros' responde
+ * 409 com o ETag da revisão ATUAL do quadro.
+ *
+ * * Importante: 'escrita' tem que ABRIR a sua própria transação (ex: um método
+ * @Transactional do 'QuadroService'). Repetir dentro de uma transação que já falhou
+ * não adianta nada.
+ *
+ * * Métrica: 'kanban.escrita.conflitos', por 'operacao' e 'resultado'
+ * ('repetido': houve conflito e vamos tentar de novo; 'desistiu': virou 409).
+ * Os contadores das operações conhecidas ('OPERACOES') são registrados uma vez só, no
+ * construtor; o conflito só faz o 'increment'.
+ */
+@Component
+public class RepetidorDeConflitos {
+
+    // As operações repetidas hoje (os Controllers e o 'RebalanceadorDePosicoes').
+    static final List<String> OPERACOES = List.of("mover-cartao", "mover-coluna", "rebalancear");
+
+    private final int tentativas;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Contadores> contadores = new ConcurrentHashMap<>();
+
+    public RepetidorDeConflitos(
+            @Value("${api.quadros.conflitos.tentativas:5}") int tentativas,
+            @Value("${api.quadros.conflitos.espera-inicial:20ms}") Duration esperaInicial,
+            @Value("${api.quadros.conflitos.espera-maxima:500ms}") Duration esperaMaxima,
+            MeterRegistry meterRegistry) {
+        this.tentativas = Math.max(1, tentativas);
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.meterRegistry = meterRegistry;
+        OPERACOES.forEach(this::contadores);
+    }
+
+    /**
+     * Executa 'escrita', repetindo-a enquanto ela perder para uma gravação concorrente.
+     *
+     * @param operacao O nome da operação nas métricas (ex: "mover-cartao").
+     * @throws OptimisticLockingFailureException se todas as tentativas perderem.
+     */
+    public <T> T repetir(String operacao, Supplier<T> escrita) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return escrita.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (tentativa >= tentativas) {
+                    contadores(operacao).desistiu().increment();
+                    throw e;
+                }
+                contadores(operacao).repetido().increment();
+                if (!esperar(tentativa)) {
+                    throw e; // Interrompida: não vale a pena insistir.
+                }
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------------------------
+    // AJUDANTES
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * Dorme um tempo sorteado entre zero e min(esperaMaxima, esperaInicial * 2^(tentativa - 1)).
+     *
+     * @return false se a thread foi interrompida.
+     */
+    private boolean esperar(int tentativa) {
+        long teto = Math.min(esperaMaxima.toMillis(), esperaInicial.toMillis() << Math.min(tentativa - 1, 20));
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(teto + 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Os contadores de 'operacao' (registrados na primeira vez: só uma operação fora de
+     * 'OPERACOES' chega aqui sem eles).
+     */
+    private Contadores contadores(String operacao) {
+        return contadores.computeIfAbsent(operacao, nome ->
+            new Contadores(conflitos(nome, "repetido"), conflitos(nome, "desistiu")));
+    }
+
+    private Counter conflitos(String operacao, String resultado) {
+        return Counter.builder("kanban.escrita.conflitos")
+            .description("Escritas que perderam para uma gravação concorrente no mesmo quadro")
+            .tag("operacao", operacao)
+            .tag("resultado", resultado)
+            .register(meterRegistry);
+    }
+
+    private record Contadores(Counter repetido, Counter desistiu) {}
+}
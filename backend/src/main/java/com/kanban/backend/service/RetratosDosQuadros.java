@@ -0,0 +1,224 @@
+package com.kanban.backend.service;
+
+// Imports do NOSSO Projeto
+import com.kanban.backend.config.RoteadorDeLeitura;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent;
+
+// Imports do Caffeine
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Imports do Jackson
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Imports do Spring
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+// Imports de Log
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Imports do Java
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: RetratosDosQuadros.java
+ * ANALOGIA: A "Vitrine" dos quadros (o quadro já embalado, pronto para entregar)
+ * -------------------------------------------------------------------------------------
+ * * O que é?
+ * Um "modelo de leitura" do GET /api/quadros/{id}: para cada quadro, o JSON completo
+ * (quadro + colunas + cartões) JÁ SERIALIZADO, em bytes, junto com o dono e a revisão.
+ * O Controller faz a checagem de dono e o ETag com o "retrato" e escreve os bytes direto
+ * na resposta: sem carregar entidades e sem passar pelo Jackson.
+ *
+ * * Quando o retrato é (re)feito?
+ * - Na primeira leitura (ou depois de sair da vitrine): "preguiçoso", por quem pediu.
+ * Leituras simultâneas do mesmo quadro esperam o MESMO retrato (um único trabalho).
+ * - Quando o quadro muda ('QuadroAlteradoEvent', DEPOIS do commit): o retrato antigo
+ * sai na hora e, se o quadro estava na vitrine (está sendo lido), SÓ ELE é refeito
+ * em segundo plano. Uma rajada de alterações vira uma única reconstrução na fila.
+ * Um retrato que estava sendo montado quando o quadro mudou é descartado (não entra).
+ * - Com réplicas de leitura, o retrato é montado SEMPRE do primário: montado de uma
+ * réplica atrasada, ele guardaria o JSON e a revisão velhos (veja 'RoteadorDeLeitura').
+ *
+ * * Memória: limitada por 'memoria-maxima' (a soma dos bytes). Quando enche, saem
+ * os retratos menos usados.
+ */
+@Component
+public class RetratosDosQuadros {
+
+    private static final Logger log = LoggerFactory.getLogger(RetratosDosQuadros.class);
+
+    /**
+     * O "retrato" de um quadro: o JSON pronto e o "carimbo" (revisão + dono).
+     */
+    public record Retrato(Long quadroId, Long donoId, Long versao, byte[] json) {
+
+        public RevisaoQuadroDTO revisao() {
+            return new RevisaoQuadroDTO(versao, donoId);
+        }
+    }
+
+    private final Function<Long, Retrato> montador; // 'null' = o quadro não existe
+    private final Executor executor;
+    private final boolean habilitado;
+    private final AsyncCache<Long, Retrato> retratos;
+
+    // Quadros com uma reconstrução na fila (ainda não começou).
+    private final Set<Long> reconstrucoesPendentes = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RetratosDosQuadros(
+            QuadroService quadroService,
+            ObjectMapper objectMapper,
+            @Qualifier("applicationTaskExecutor") TaskExecutor executor,
+            @Value("${api.quadros.retratos.habilitado:true}") boolean habilitado,
+            @Value("${api.quadros.retratos.memoria-maxima:64MB}") DataSize memoriaMaxima,
+            MeterRegistry meterRegistry) {
+        this(montador(quadroService, objectMapper), executor, habilitado, memoriaMaxima.toBytes(), meterRegistry);
+    }
+
+    // Para os testes: um montador qualquer no lugar do banco.
+    RetratosDosQuadros(Function<Long, Retrato> montador, Executor executor, boolean habilitado, long bytesMaximos, MeterRegistry meterRegistry) {
+        this.montador = montador;
+        this.executor = executor;
+        this.habilitado = habilitado;
+        this.retratos = Caffeine.newBuilder()
+            .maximumWeight(bytesMaximos)
+            .weigher((Long id, Retrato retrato) -> retrato.json().length)
+            .executor(Runnable::run) // Remoções na própria thread: o limite vale na hora.
+            .recordStats()
+            .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, retratos, "retratos-dos-quadros");
+        Gauge.builder("kanban.quadros.retratos.bytes", this, RetratosDosQuadros::bytesEmUso)
+            .description("Soma dos JSONs guardados na vitrine")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // LEITURA
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O retrato do quadro (montado agora, se não estava na vitrine).
+     * Vazio se o quadro não existe.
+     */
+    public Optional<Retrato> buscar(Long quadroId) {
+        if (!habilitado) {
+            return Optional.ofNullable(montador.apply(quadroId));
+        }
+        CompletableFuture<Retrato> novo = new CompletableFuture<>();
+        CompletableFuture<Retrato> futuro = retratos.get(quadroId, (id, ignorado) -> novo);
+        if (futuro == novo) {
+            // Fomos os primeiros: montamos aqui mesmo (quem chegar depois espera este).
+            // Retrato 'null' ou com erro não fica guardado.
+            try {
+                novo.complete(montador.apply(quadroId));
+            } catch (RuntimeException e) {
+                novo.completeExceptionally(e);
+            }
+        }
+        try {
+            return Optional.ofNullable(futuro.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * O retrato, SÓ se ele já está pronto na vitrine ('null' se não está).
+     * Para o GET condicional: sem retrato pronto, a checagem barata da revisão é melhor.
+     */
+    public Retrato prontoNaVitrine(Long quadroId) {
+        CompletableFuture<Retrato> futuro = retratos.getIfPresent(quadroId);
+        if (futuro == null || !futuro.isDone() || futuro.isCompletedExceptionally()) {
+            return null;
+        }
+        return futuro.getNow(null);
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // ALTERAÇÕES (depois do commit)
+    // ---------------------------------------------------------------------------------
+
+    /**
+     * O quadro mudou: o retrato sai da vitrine e, se estava lá, é refeito em segundo plano.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoAlterarQuadro(QuadroAlteradoEvent evento) {
+        Long quadroId = evento.quadroId();
+        boolean estavaNaVitrine = retratos.asMap().remove(quadroId) != null;
+        if (estavaNaVitrine && reconstrucoesPendentes.add(quadroId)) {
+            executor.execute(() -> {
+                // Sai da fila ANTES de montar: uma alteração durante a montagem agenda outra.
+                reconstrucoesPendentes.remove(quadroId);
+                try {
+                    buscar(quadroId);
+                } catch (RuntimeException e) {
+                    log.warn("Falha ao refazer o retrato do quadro {}", quadroId, e);
+                }
+            });
+        }
+    }
+
+
+    // ---------------------------------------------------------------------------------
+    // MÉTRICAS
+    // ---------------------------------------------------------------------------------
+
+    /** Quantos bytes de JSON estão guardados agora. */
+    public long bytesEmUso() {
+        return retratos.synchronous().policy().eviction()
+            .flatMap(eviction -> eviction.weightedSize().stream().boxed().findFirst())
+            .orElse(0L);
+    }
+
+    /** Quantos retratos estão na vitrine agora. */
+    public long tamanho() {
+        return retratos.synchronous().estimatedSize();
+    }
+
+
+    /**
+     * O montador de verdade: o 'QuadroDTO' (duas consultas em DTO, numa transação só
+     * de leitura) serializado com o MESMO ObjectMapper das respostas.
+     * O DTO já vem completo: o JSON é escrito DEPOIS da transação, sem nada LAZY.
+     * A leitura vai ao primário (o retrato é um cache: nada de réplica atrasada).
+     */
+    private static Function<Long, Retrato> montador(QuadroService quadroService, ObjectMapper objectMapper) {
+        return quadroId -> RoteadorDeLeitura.lerDoPrimario(() -> quadroService.buscarQuadroCompleto(quadroId))
+            .map(quadro -> {
+                try {
+                    return new Retrato(quadro.id(), quadro.usuarioId(), quadro.versao(), objectMapper.writeValueAsBytes(quadro));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Falha ao serializar o quadro " + quadroId, e);
+                }
+            })
+            .orElse(null);
+    }
+}
@@ -0,0 +1,50 @@
+package com.kanban.backend.service;
+
+// Imports do Spring
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+// Imports do Java
+import java.time.Duration;
+
+/**
+ * -------------------------------------------------------------------------------------
+ * ARQUIVO: SobrecargaException.java
+ * ANALOGIA: A placa "Lotado, volte em N segundos"
+ * -------------------------------------------------------------------------------------
+ * * Uma 'ResponseStatusException' (503, 429...) que leva junto o cabeçalho
+ * 'Retry-After': o cliente sabe QUANDO vale a pena tentar de novo.
+ * O 'TratadorDeErros' copia os cabeçalhos da exceção para a resposta.
+ *
+ * * Sem "stack trace": sob ataque ou sobrecarga ela é lançada milhares de vezes por
+ * segundo, e montar a pilha seria o trabalho mais caro da recusa (e inútil: o
+ * motivo está na mensagem).
+ */
+public class SobrecargaException extends ResponseStatusException {
+
+    private final Duration tenteDeNovoEm;
+
+    public SobrecargaException(HttpStatus status, String motivo, Duration tenteDeNovoEm) {
+        super(status, motivo);
+        this.tenteDeNovoEm = tenteDeNovoEm;
+    }
+
+    public Duration getTenteDeNovoEm() {
+        return tenteDeNovoEm;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        // 'Retry-After' é em segundos inteiros: arredonda para cima (no mínimo 1).
+        long segundos = Math.max(1, (tenteDeNovoEm.toMillis() + 999) / 1000);
+        headers.set(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        return headers;
+    }
+}
@@ -2,21 +2,43 @@ package com.kanban.backend.service;
 
 // Imports da biblioteca de JWT (da Auth0)
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;                         // O "Verificador" (reutilizável e thread-safe)
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTCreationException;    // Exceção para ERRO AO CRIAR
 import com.auth0.jwt.exceptions.JWTVerificationException; // Exceção para ERRO AO VERIFICAR
+import com.auth0.jwt.interfaces.DecodedJWT;
+
+// Imports do Caffeine (o "Cache de Alta Performance")
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 // Imports do NOSSO projeto
 import com.kanban.backend.model.Usuario;
+import com.kanban.backend.security.UsuarioAutenticado;
+
+// Imports do Micrometer (métricas)
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 
 // Imports do Spring
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-// Imports do Java (para data/hora)
+// Imports do Java (para data/hora, hash e coleções)
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * -------------------------------------------------------------------------------------
@@ -25,21 +47,81 @@ import java.time.ZoneOffset;
  * -------------------------------------------------------------------------------------
  * * @Service: Diz ao Spring que esta é uma classe de "Serviço" (um "Especialista")
  * e a "contrata" como um Bean, para que outros possam "injetá-la" (usá-la).
+ *
+ * * Otimização (o "Livro de Passaportes Já Conferidos"):
+ * O "Selo" ('Algorithm') e a "Lupa" ('JWTVerifier') são criados UMA ÚNICA VEZ,
+ * na inicialização. E os passaportes que acabaram de ser conferidos ficam anotados
+ * num cache (pelo "resumo" SHA-256 do token). Quando o mesmo token volta na próxima
+ * requisição, não refazemos o HMAC, o Base64 nem a leitura do JSON das claims.
+ * Cada anotação expira, NO MÁXIMO, junto com o próprio token ('exp').
+ *
+ * * Métricas: 'kanban.token.verificacao' (tempo de cada verificação, por resultado:
+ * "cache", "valido" ou "invalido") e 'cache.*' do "Livro" (name=tokens-verificados).
  */
 @Service
 public class TokenService {
 
+    // Nomes das "claims" extras que carimbamos no passaporte.
+    // Com elas, o 'SecurityFilter' monta o crachá do usuário SEM ir ao banco.
+    static final String CLAIM_ID = "id";
+    static final String CLAIM_NOME = "nome";
+    static final String CLAIM_PERMISSOES = "permissoes";
+
+    private static final String EMISSOR = "kanban-api";
+
+    // O "Selo Real" e a "Lupa", montados uma vez só (ambos são thread-safe).
+    private final Algorithm algoritmo;
+    private final JWTVerifier verificador;
+
+    // O "Livro de Passaportes Já Conferidos" (resumo do token -> resultado da verificação).
+    private final boolean cacheHabilitado;
+    private final Cache<String, TokenVerificado> tokensVerificados;
+
+    // Os "Cronômetros" da verificação, um por resultado.
+    private final Timer verificadosNoCache;
+    private final Timer verificadosValidos;
+    private final Timer verificadosInvalidos;
+
+
     /**
-     * @Value: Esta é uma forma poderosa do Spring "injetar" valores
-     * do seu arquivo 'application.properties'.
+     * Construtor: recebe as configurações do 'application.properties'.
      *
      * ANALOGIA: Estamos entregando o "Selo Real Secreto" (a chave) para o
      * "Mestre dos Passaportes". Ele é o único que o terá.
      */
-    @Value("${api.security.token.secret}")
-    private String secret;
+    public TokenService(
+            @Value("${api.security.token.secret}") String secret,
+            @Value("${api.security.token.cache.habilitado:true}") boolean cacheHabilitado,
+            @Value("${api.security.token.cache.tamanho-maximo:10000}") long tamanhoMaximo,
+            @Value("${api.security.token.cache.ttl-maximo:10m}") Duration ttlMaximo,
+            MeterRegistry meterRegistry) {
+        this.algoritmo = Algorithm.HMAC256(secret);
+        this.verificador = JWT.require(algoritmo)
+            .withIssuer(EMISSOR)
+            .build();
+
+        this.cacheHabilitado = cacheHabilitado;
+        this.tokensVerificados = Caffeine.newBuilder()
+            .maximumSize(tamanhoMaximo)
+            .expireAfter(new ExpiraJuntoComOToken(ttlMaximo))
+            .recordStats() // Contadores de acertos, erros e despejos
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "tokens-verificados");
+        this.verificadosNoCache = cronometro(meterRegistry, "cache");
+        this.verificadosValidos = cronometro(meterRegistry, "valido");
+        this.verificadosInvalidos = cronometro(meterRegistry, "invalido");
+    }
+
+    private static Timer cronometro(MeterRegistry meterRegistry, String resultado) {
+        return Timer.builder("kanban.token.verificacao")
+            .description("Verificação de tokens JWT (assinatura, emissor, expiração e claims)")
+            .tag("resultado", resultado)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
 
-    
     /**
      * -------------------------------------------------------------------------------------
      * MÉTODO: gerarToken (A "Oficina de Criação de Passaportes")
@@ -49,32 +131,33 @@ public class TokenService {
      */
     public String gerarToken(Usuario usuario) {
         try {
-            // 1. PREPARAR O SELO
-            // Pega o nosso 'secret' (o "Selo Real") e define o algoritmo
-            // que será usado para "assar" a assinatura (HMAC256).
-            Algorithm algoritmo = Algorithm.HMAC256(secret);
-
-            // 2. PREENCHER O PASSAPORTE
+            // 1. PREENCHER O PASSAPORTE
             String token = JWT.create()
                 // "Emitido por:" (Quem carimbou o passaporte?)
-                .withIssuer("kanban-api") 
-                
+                .withIssuer(EMISSOR)
+
                 // "Portador:" (Quem é o dono deste passaporte?)
                 // O 'subject' é a "identidade" principal do token. Usamos o email.
-                .withSubject(usuario.getEmail()) 
-                
+                .withSubject(usuario.getEmail())
+
+                // "Dados do Portador:" (ID, nome e crachás)
+                // Assim, quem verificar o passaporte não precisa consultar o "Arquivo Central".
+                .withClaim(CLAIM_ID, usuario.getId())
+                .withClaim(CLAIM_NOME, usuario.getNome())
+                .withClaim(CLAIM_PERMISSOES, UsuarioAutenticado.de(usuario).permissoes())
+
                 // "Válido até:" (Quando o passaporte expira?)
                 // Chamamos nosso método privado para calcular "agora + 2 horas".
-                .withExpiresAt(gerarDataExpiracao()) 
-                
-                // 3. ASSINAR
-                // Pega o Header + Payload e "assa" eles com o nosso 'algoritmo' (o Selo)
-                // para criar a Assinatura (Signature).
-                .sign(algoritmo); 
+                .withExpiresAt(gerarDataExpiracao())
+
+                // 2. ASSINAR
+                // Pega o Header + Payload e "assa" eles com o nosso 'algoritmo' (o Selo,
+                // criado uma única vez no construtor) para criar a Assinatura (Signature).
+                .sign(algoritmo);
 
             return token;
 
-        } catch (JWTCreationException exception){ 
+        } catch (JWTCreationException exception){
             // ---------------------------------------------------------------------
             // (CORREÇÃO DE BUG: Estava 'JWTVerificationException' aqui)
             // ---------------------------------------------------------------------
@@ -84,7 +167,7 @@ public class TokenService {
         }
     }
 
-    
+
     /**
      * -------------------------------------------------------------------------------------
      * MÉTODO: validarToken (O "Posto de Verificação de Passaportes")
@@ -94,32 +177,137 @@ public class TokenService {
      * Devolve "" (vazio) se o passaporte for inválido.
      */
     public String validarToken(String token){
+        TokenVerificado verificado = verificar(token);
+
+        // ANALOGIA: O "Alarme de Roubo" tocou!
+        // Se a verificação falhou (porque o token expirou, a assinatura é falsa,
+        // ou o 'issuer' está errado), NÃO quebre o app. Apenas retorne uma string vazia.
+        // O "Guarda-Costas" ('SecurityFilter') que chamou este método
+        // vai ver a string vazia e saberá que deve barrar o usuário.
+        return verificado == null ? "" : verificado.email();
+    }
+
+
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: extrairUsuario (O "Leitor de Crachá")
+     * -------------------------------------------------------------------------------------
+     * Verifica o token (mesmas regras do 'validarToken') e devolve o crachá leve
+     * ('UsuarioAutenticado') montado a partir das claims, sem nenhuma consulta ao banco.
+     *
+     * Devolve 'Optional.empty()' se o token for inválido OU se for um token antigo,
+     * emitido antes de carimbarmos as claims (nesse caso o filtro cai no modo BANCO).
+     */
+    public Optional<UsuarioAutenticado> extrairUsuario(String token) {
+        return verificarToken(token).map(TokenVerificado::usuario);
+    }
+
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: verificarToken (O "Carimbo de Conferido", com o motivo)
+     * -------------------------------------------------------------------------------------
+     * Verifica o token UMA vez e separa os dois casos que o 'extrairUsuario' junta:
+     * - vazio: token INVÁLIDO (assinatura falsa, vencido, lixo). Não adianta conferir
+     *   de novo por outro caminho: a resposta seria a mesma;
+     * - 'antigo()': token VÁLIDO, mas emitido antes das claims (só o email). Esse, e só
+     *   esse, precisa do banco para montar o crachá.
+     */
+    public Optional<TokenVerificado> verificarToken(String token) {
+        return Optional.ofNullable(verificar(token));
+    }
+
+
+    /**
+     * Os contadores do "Livro de Passaportes Já Conferidos":
+     * acertos (hits), erros (misses) e despejos (evictions).
+     */
+    public CacheStats estatisticasCache() {
+        return tokensVerificados.stats();
+    }
+
+
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: verificar (O "Livro" primeiro, a "Lupa" depois)
+     * -------------------------------------------------------------------------------------
+     * Procura o token no cache; se não estiver lá, verifica com a "Lupa" e anota.
+     * Devolve 'null' se o token for inválido (tokens inválidos NUNCA são anotados,
+     * para que lixo enviado por atacantes não ocupe o cache).
+     */
+    private TokenVerificado verificar(String token) {
+        long inicio = System.nanoTime();
+        if (!cacheHabilitado) {
+            return cronometrar(verificarComALupa(token), false, inicio);
+        }
+
+        String chave = resumo(token);
+        TokenVerificado verificado = tokensVerificados.getIfPresent(chave);
+        if (verificado != null) {
+            return cronometrar(verificado, true, inicio);
+        }
+        verificado = verificarComALupa(token);
+        if (verificado != null) {
+            tokensVerificados.put(chave, verificado);
+        }
+        return cronometrar(verificado, false, inicio);
+    }
+
+
+    /**
+     * Anota o tempo da verificação no "Cronômetro" do resultado.
+     */
+    private TokenVerificado cronometrar(TokenVerificado verificado, boolean doCache, long inicio) {
+        Timer cronometro = doCache ? verificadosNoCache : verificado != null ? verificadosValidos : verificadosInvalidos;
+        cronometro.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return verificado;
+    }
+
+
+    /**
+     * A verificação "de verdade": assinatura HMAC, emissor, expiração e leitura das claims.
+     */
+    private TokenVerificado verificarComALupa(String token) {
         try {
-            // 1. PREPARAR A "LUPA" DE VERIFICAÇÃO
-            // Pega o *nosso* "Selo Real" (secret) para *comparar* com o selo
-            // do passaporte que o usuário deu.
-            Algorithm algoritmo = Algorithm.HMAC256(secret);
-
-            // 2. EXECUTAR A VERIFICAÇÃO
-            return JWT.require(algoritmo) // "Eu exijo que o token use este 'algoritmo'..."
-                .withIssuer("kanban-api")  // "...tenha sido 'emitido por' 'kanban-api'..."
-                .build()                   // "Pronto. Agora crie o 'Verificador'."
-                .verify(token)             // "VERIFIQUE este 'token'!" (Esta é a linha que "explode")
-                .getSubject();             // "Se passou, me devolva o 'Portador' (o email)."
-
-        } catch (JWTVerificationException exception){ 
-            // ---------------------------------------------------------------------
-            // (CORREÇÃO DE BUG: Estava 'JWTCreationException' aqui)
-            // ---------------------------------------------------------------------
-            // ANALOGIA: O "Alarme de Roubo" tocou!
-            // Se a verificação ".verify(token)" "explodiu" (porque o token
-            // expirou, a assinatura é falsa, ou o 'issuer' está errado),
-            // caímos aqui.
-            // 
-            // NÃO quebre o app. Apenas retorne uma string vazia.
-            // O "Guarda-Costas" ('SecurityFilter') que chamou este método
-            // vai ver a string vazia e saberá que deve barrar o usuário.
-            return ""; 
+            // "VERIFIQUE este 'token'!" (Esta é a linha que "explode")
+            DecodedJWT jwt = verificador.verify(token);
+            return new TokenVerificado(jwt.getSubject(), lerUsuario(jwt), jwt.getExpiresAtAsInstant());
+
+        } catch (JWTVerificationException exception) {
+            return null;
+        }
+    }
+
+
+    /**
+     * Monta o crachá a partir das claims. Devolve 'null' para tokens antigos (sem as claims).
+     */
+    private UsuarioAutenticado lerUsuario(DecodedJWT jwt) {
+        Long id = jwt.getClaim(CLAIM_ID).asLong();
+        List<String> permissoes = jwt.getClaim(CLAIM_PERMISSOES).asList(String.class);
+        if (id == null || permissoes == null) {
+            return null;
+        }
+
+        return new UsuarioAutenticado(
+            id,
+            jwt.getSubject(),
+            jwt.getClaim(CLAIM_NOME).asString(),
+            List.copyOf(permissoes)
+        );
+    }
+
+
+    /**
+     * O "resumo" (SHA-256) do token, usado como chave do cache.
+     * Assim não guardamos o passaporte inteiro na memória, só a sua "impressão digital".
+     */
+    private static String resumo(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 não disponível na JVM", e);
         }
     }
 
@@ -132,4 +320,44 @@ public class TokenService {
                 .plusHours(2) // "Agora" + 2 horas
                 .toInstant(ZoneOffset.of("-03:00")); // Convertido para o fuso de Brasília (GMT-3)
     }
-}
\ No newline at end of file
+
+
+    /**
+     * O resultado de uma verificação bem-sucedida (o que fica anotado no "Livro").
+     * 'usuario' é 'null' para tokens antigos, sem as claims.
+     */
+    public record TokenVerificado(String email, UsuarioAutenticado usuario, Instant expiraEm) {
+
+        /** Token válido, mas sem as claims do crachá (emitido antes delas). */
+        public boolean antigo() {
+            return usuario == null;
+        }
+    }
+
+
+    /**
+     * A regra de validade das anotações: cada uma expira junto com o próprio token
+     * ('exp'), ou antes disso, se o 'ttl-maximo' configurado for menor.
+     */
+    private record ExpiraJuntoComOToken(Duration ttlMaximo) implements Expiry<String, TokenVerificado> {
+
+        @Override
+        public long expireAfterCreate(String chave, TokenVerificado verificado, long agora) {
+            if (verificado.expiraEm() == null) {
+                return ttlMaximo.toNanos();
+            }
+            long ateExpirar = Duration.between(Instant.now(), verificado.expiraEm()).toNanos();
+            return Math.max(0, Math.min(ateExpirar, ttlMaximo.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String chave, TokenVerificado verificado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+
+        @Override
+        public long expireAfterRead(String chave, TokenVerificado verificado, long agora, long duracaoAtual) {
+            return duracaoAtual;
+        }
+    }
+}
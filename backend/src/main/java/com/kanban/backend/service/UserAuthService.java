@@ -3,13 +3,16 @@ package com.kanban.backend.service;
 // Imports do NOSSO Projeto
 import com.kanban.backend.model.Usuario;
 import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.security.UsuarioPrincipalCache;
 
 // Imports do Spring
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 // Imports do Spring Security
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService; // A "Troca do Lacre" (rehash no login)
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException; // A exceção que *devemos* lançar
 
@@ -29,9 +32,12 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
  * O "Chefe de Segurança" ('AuthenticationManager') não sabe como falar
  * com seu banco de dados. Esta classe é o "tradutor" ou "assistente"
  * que ele usa para encontrar o usuário.
+ *
+ * * 'UserDetailsPasswordService': também é ele quem "troca o lacre" (refaz o hash
+ * da senha) quando o login certo chega com um hash antigo.
  */
 @Service
-public class UserAuthService implements UserDetailsService {
+public class UserAuthService implements UserDetailsService, UserDetailsPasswordService {
 
     // 1. "CONTRATANDO" O ARQUIVISTA
     // Pede ao Spring que "injete" (nos dê uma instância) do nosso
@@ -39,6 +45,9 @@ public class UserAuthService implements UserDetailsService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
+    @Autowired
+    private UsuarioPrincipalCache usuarioPrincipalCache; // O "Arquivo de Mesa" (guarda o hash antigo)
+
     /**
      * -------------------------------------------------------------------------------------
      * MÉTODO: loadUserByUsername (A "Busca de Dossiê")
@@ -77,4 +86,24 @@ public class UserAuthService implements UserDetailsService {
         // 'Usuario' "implementar" a interface 'UserDetails', então o Spring
         // já a entende como um "Dossiê" válido).
     }
-}
\ No newline at end of file
+
+
+    /**
+     * -------------------------------------------------------------------------------------
+     * MÉTODO: updatePassword (A "Troca do Lacre")
+     * -------------------------------------------------------------------------------------
+     * Exigido pela interface 'UserDetailsPasswordService'. O 'AuthenticationManager'
+     * chama este método sozinho, DEPOIS de um login certo, quando o hash guardado
+     * está "velho" (sem o prefixo "{bcrypt}" ou com custo menor que o atual).
+     * 'novaSenha' já vem criptografada com o custo atual.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String novaSenha) {
+        Usuario usuario = (Usuario) user;
+        usuarioRepository.atualizarSenha(usuario.getId(), novaSenha);
+        usuarioPrincipalCache.invalidar(usuario.getEmail());
+        usuario.setSenha(novaSenha);
+        return usuario;
+    }
+}
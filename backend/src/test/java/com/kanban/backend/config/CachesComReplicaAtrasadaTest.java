@@ -0,0 +1,131 @@
+package com.kanban.backend.config;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.RetratosDosQuadros;
+import com.kanban.backend.service.RetratosDosQuadros.Retrato;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A "réplica" é uma cópia do primário tirada num instante (SCRIPT/RUNSCRIPT do H2) e
+ * depois deixada para trás: uma réplica atrasada. Nada do que vem dela pode ficar
+ * guardado nos caches.
+ */
+@SpringBootTest(properties = {
+    "api.datasource.replicas.habilitado=true",
+    "api.datasource.replicas.urls=jdbc:h2:mem:replica_${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_LOWER=TRUE",
+    "api.datasource.replicas.intervalo-de-checagem=1h",
+    "api.busca.carga-na-inicializacao=false"
+})
+class CachesComReplicaAtrasadaTest {
+
+    @Autowired private RoteadorDeLeitura roteador;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private QuadroService quadroService;
+    @Autowired private QuadroRepository quadroRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private RetratosDosQuadros retratos;
+
+    private Usuario usuario;
+    private Quadro quadro;
+
+    @BeforeEach
+    void criarQuadroECopiarParaAReplica() throws Exception {
+        usuario = criarUsuario();
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro replicado", usuario.getId());
+        copiarPrimarioParaAReplica();
+    }
+
+    @Test
+    void retratoRefeitoDepoisDaAlteracaoVemDoPrimario() throws Exception {
+        Retrato antigo = retratos.buscar(quadro.getId()).orElseThrow(); // Na vitrine: será refeito.
+
+        // A alteração vai ao primário; a réplica continua sem ela.
+        quadroService.criarCartao(quadro.getColunas().get(0).getId(), "Só no primário", null, usuario.getId());
+        long versaoAtual = new TransactionTemplate(transactionManager)
+            .execute(status -> quadroRepository.buscarRevisao(quadro.getId()).orElseThrow().getVersao());
+        assertThat(versaoAtual).isGreaterThan(antigo.versao());
+
+        // A reconstrução (em segundo plano, sem crachá) tem de chegar à revisão ATUAL.
+        Retrato refeito = null;
+        long prazo = System.nanoTime() + 10_000_000_000L;
+        while (System.nanoTime() < prazo) {
+            refeito = retratos.prontoNaVitrine(quadro.getId());
+            if (refeito != null && refeito.versao() == versaoAtual) {
+                break;
+            }
+            Thread.sleep(20);
+        }
+        assertThat(refeito).isNotNull();
+        assertThat(refeito.versao()).isEqualTo(versaoAtual);
+        assertThat(new String(refeito.json(), StandardCharsets.UTF_8)).contains("Só no primário");
+    }
+
+    @Test
+    void leituraDaReplicaNaoEncheOCacheDeSegundoNivel() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+
+        entityManagerFactory.getCache().evictAll();
+        leitura.execute(status -> quadroRepository.findById(quadro.getId()).orElseThrow());
+        assertThat(entityManagerFactory.getCache().contains(Quadro.class, quadro.getId())).isFalse();
+
+        RoteadorDeLeitura.lerDoPrimario(() -> leitura.execute(status -> quadroRepository.findById(quadro.getId()).orElseThrow()));
+        assertThat(entityManagerFactory.getCache().contains(Quadro.class, quadro.getId())).isTrue();
+    }
+
+    @Test
+    void leituraDaReplicaNaoEncheOCacheDeConsultas() {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Statistics estatisticas = sessionFactory.getStatistics();
+        sessionFactory.getCache().evictQueryRegions();
+
+        long antes = estatisticas.getQueryCachePutCount();
+        quadroService.buscarQuadroCompleto(quadro.getId()).orElseThrow(); // Só de leitura: réplica.
+        assertThat(estatisticas.getQueryCachePutCount()).isEqualTo(antes);
+
+        RoteadorDeLeitura.lerDoPrimario(() -> quadroService.buscarQuadroCompleto(quadro.getId()).orElseThrow());
+        assertThat(estatisticas.getQueryCachePutCount()).isGreaterThan(antes);
+    }
+
+    private void copiarPrimarioParaAReplica() throws Exception {
+        Path copia = Files.createTempFile("kanban-replica", ".sql");
+        try {
+            new JdbcTemplate(roteador).execute("SCRIPT TO '" + copia + "'"); // Fora de transação: primário.
+            JdbcTemplate replica = new JdbcTemplate(roteador.replicas().get(0).pool());
+            replica.execute("DROP ALL OBJECTS");
+            replica.execute("RUNSCRIPT FROM '" + copia + "'");
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+    }
+
+    private Usuario criarUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Réplica");
+        usuario.setEmail("replica-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        return usuarioRepository.save(usuario);
+    }
+}
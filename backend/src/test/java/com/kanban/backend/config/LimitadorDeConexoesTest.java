@@ -0,0 +1,48 @@
+package com.kanban.backend.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LimitadorDeConexoesTest {
+
+    @Test
+    void fecharAConexaoDevolveASenhaUmaSoVez() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection conexaoReal = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(conexaoReal);
+        LimitadorDeConexoes limitador = new LimitadorDeConexoes(pool, 2, Duration.ofMillis(50));
+
+        Connection conexao = limitador.getConnection();
+        assertThat(limitador.senhasLivres()).isEqualTo(1);
+
+        conexao.close();
+        conexao.close();
+        assertThat(limitador.senhasLivres()).isEqualTo(2);
+        verify(conexaoReal, times(1)).close();
+    }
+
+    @Test
+    void semSenhaLivreDesisteDepoisDaEsperaMaxima() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        LimitadorDeConexoes limitador = new LimitadorDeConexoes(pool, 1, Duration.ofMillis(50));
+
+        try (Connection ocupada = limitador.getConnection()) {
+            assertThatThrownBy(limitador::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+            assertThat(limitador.esperasEsgotadas()).isEqualTo(1);
+        }
+        verify(pool, times(1)).getConnection();
+        assertThat(limitador.senhasLivres()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,101 @@
+package com.kanban.backend.config;
+
+import com.kanban.backend.security.UsuarioAutenticado;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois bancos H2 em memória: o primário (o de todos os testes, com as tabelas) e
+ * uma "réplica" vazia. O nome do banco que responde diz para onde a conexão foi.
+ */
+@SpringBootTest(properties = {
+    "api.datasource.replicas.habilitado=true",
+    "api.datasource.replicas.urls=jdbc:h2:mem:replica_${random.uuid};DB_CLOSE_DELAY=-1",
+    "api.datasource.replicas.janela-apos-escrita=300ms",
+    "api.datasource.replicas.intervalo-de-checagem=1h",
+    "api.busca.carga-na-inicializacao=false"
+})
+class RoteadorDeLeituraTest {
+
+    @Autowired private DataSource dataSource;
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void sairDoLogin() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void leituraVaiParaAReplicaEORestoParaOPrimario() {
+        assertThat(dataSource).isInstanceOf(RoteadorDeLeitura.class);
+
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("replica_");
+        assertThat(bancoNaEscrita()).startsWithIgnoringCase("db_kanban_");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class))
+            .startsWithIgnoringCase("db_kanban_"); // Fora de transação: primário.
+    }
+
+    @Test
+    void quemAcabouDeEscreverLeDoPrimarioDuranteAJanela() throws Exception {
+        entrarComo(1L);
+        bancoNaEscrita();
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("db_kanban_");
+
+        // Os outros usuários continuam lendo da réplica.
+        entrarComo(2L);
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("replica_");
+
+        // Passada a janela, o usuário 1 também volta para a réplica.
+        Thread.sleep(400);
+        entrarComo(1L);
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("replica_");
+    }
+
+    @Test
+    @DirtiesContext
+    void replicaForaDoArSaiDoRodizioEAsLeiturasVaoAoPrimario() {
+        RoteadorDeLeitura roteador = (RoteadorDeLeitura) dataSource;
+        assertThat(roteador.replicasSaudaveis()).isEqualTo(1);
+
+        ((HikariDataSource) roteador.replicas().get(0).pool()).close();
+
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("db_kanban_");
+        assertThat(roteador.replicasSaudaveis()).isZero();
+
+        roteador.checarReplicas();
+        assertThat(roteador.replicasSaudaveis()).isZero();
+        assertThat(bancoNaLeitura()).startsWithIgnoringCase("db_kanban_");
+    }
+
+    private String bancoNaLeitura() {
+        TransactionTemplate leitura = new TransactionTemplate(transactionManager);
+        leitura.setReadOnly(true);
+        return leitura.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private String bancoNaEscrita() {
+        return new TransactionTemplate(transactionManager)
+            .execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class));
+    }
+
+    private static void entrarComo(Long usuarioId) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(usuarioId, "u" + usuarioId + "@kanban.com", "Usuário", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+}
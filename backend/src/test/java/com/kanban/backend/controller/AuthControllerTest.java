@@ -0,0 +1,144 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.ExecutorDeHash;
+import com.kanban.backend.service.SobrecargaException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ExecutorDeHash executorDeHash;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+
+    @Test
+    void registroELoginRodamForaDaThreadDaRequisicao() throws Exception {
+        String email = "auth-" + UUID.randomUUID() + "@kanban.com";
+
+        // O cadastro: o hash e a gravação rodam na "Sala do Cofre" (resposta assíncrona).
+        executar("/api/usuarios", "{\"nome\":\"Auth\",\"email\":\"" + email + "\",\"senha\":\"123456\"}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.email").value(email))
+            .andExpect(jsonPath("$.senha").doesNotExist())
+            .andExpect(jsonPath("$.password").doesNotExist());
+        assertThat(passwordEncoder.matches("123456", usuarioRepository.findByEmail(email).orElseThrow().getSenha())).isTrue();
+
+        executar("/api/login", "{\"email\":\"" + email + "\",\"senha\":\"123456\"}")
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").isNotEmpty());
+
+        executar("/api/login", "{\"email\":\"" + email + "\",\"senha\":\"errada\"}")
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void loginCertoRefazHashAntigoComOCustoAtual() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Hash antigo");
+        usuario.setEmail("antigo-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha(new BCryptPasswordEncoder(5).encode("123456")); // Sem o prefixo "{bcrypt}"
+        usuario = usuarioRepository.save(usuario);
+
+        executar("/api/login", "{\"email\":\"" + usuario.getEmail() + "\",\"senha\":\"123456\"}")
+            .andExpect(status().isOk());
+
+        String refeito = usuarioRepository.findById(usuario.getId()).orElseThrow().getSenha();
+        assertThat(refeito).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("123456", refeito)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(refeito)).isFalse();
+
+        // Senha errada não troca nada.
+        executar("/api/login", "{\"email\":\"" + usuario.getEmail() + "\",\"senha\":\"errada\"}")
+            .andExpect(status().isForbidden());
+        assertThat(usuarioRepository.findById(usuario.getId()).orElseThrow().getSenha()).isEqualTo(refeito);
+    }
+
+    @Test
+    void forcaBrutaNumEmailRecebe429AntesDoBCrypt() throws Exception {
+        String email = "alvo-" + UUID.randomUUID() + "@kanban.com";
+        String json = "{\"email\":\"" + email + "\",\"senha\":\"chute\"}";
+        for (int i = 0; i < 5; i++) {
+            executar("/api/login", json).andExpect(status().isForbidden());
+        }
+
+        mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(request().asyncNotStarted())
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void salaDoCofreLotadaRecusaNaHoraCom503ERetryAfter() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            // Ocupa todas as mesas e todos os lugares da fila. De novo depois de um instante:
+            // uma mesa que ainda terminava a tarefa de outro teste pode ter tirado uma da fila.
+            assertThat(lotar(liberar)).isTrue();
+            Thread.sleep(100);
+            assertThat(lotar(liberar)).isTrue();
+
+            mockMvc.perform(post("/api/login").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"email\":\"ninguem@kanban.com\",\"senha\":\"x\"}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private ResultActions executar(String url, String json) throws Exception {
+        MvcResult resultado = mockMvc.perform(post(url).contentType(MediaType.APPLICATION_JSON).content(json))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(resultado));
+    }
+
+    private boolean lotar(CountDownLatch liberar) {
+        for (int i = 0; i < 1_000; i++) {
+            try {
+                executorDeHash.executar(() -> {
+                    aguardar(liberar);
+                    return null;
+                });
+            } catch (SobrecargaException e) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.kanban.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.dto.ErroDTO;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.security.UsuarioAutenticado;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Duas tentativas por escrita: movimentos concorrentes chegam ao 409 sem precisar de muitas rodadas.
+@SpringBootTest(properties = "api.quadros.conflitos.tentativas=2")
+@AutoConfigureMockMvc
+class CartaoControllerTest {
+
+    private static final int THREADS = 8;
+
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private QuadroRepository quadroRepository;
+    @Autowired private TratadorDeErros tratadorDeErros;
+
+    private Usuario usuario;
+    private Quadro quadro;
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        usuario = criarUsuario();
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro com cartões", usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void criaMoveEDevolveOsCartoesEmOrdem() throws Exception {
+        Long aFazer = quadro.getColunas().get(0).getId();
+        Long feito = quadro.getColunas().get(2).getId();
+        long primeiro = criarCartao(aFazer, "Primeiro");
+        long segundo = criarCartao(aFazer, "Segundo");
+        long terceiro = criarCartao(aFazer, "Terceiro");
+
+        // "Terceiro" vai para o topo da coluna (antes do "Primeiro"), no 'CompartimentoDeEscritas'.
+        MvcResult movimento = mockMvc.perform(put("/api/cartoes/" + terceiro + "/posicao")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"proximoId\": " + primeiro + "}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        mockMvc.perform(asyncDispatch(movimento)).andExpect(status().isOk());
+
+        // "Segundo" vai para a coluna "Feito" (vazia).
+        executar(mockMvc, put("/api/cartoes/" + segundo + "/posicao")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"colunaId\": " + feito + "}"))
+            .andExpect(status().isOk());
+
+        // "Feito" vai para antes de "A Fazer".
+        executar(mockMvc, put("/api/colunas/" + feito + "/posicao")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"proximoId\": " + aFazer + "}"))
+            .andExpect(status().isOk());
+
+        String corpo = executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        JsonNode colunas = objectMapper.readTree(corpo).get("colunas");
+
+        assertThat(colunas.findValuesAsText("nome")).containsExactly("Feito", "A Fazer", "Fazendo");
+        assertThat(colunas.get(0).get("cartoes").findValuesAsText("titulo")).containsExactly("Segundo");
+        assertThat(colunas.get(1).get("cartoes").findValuesAsText("titulo")).containsExactly("Terceiro", "Primeiro");
+    }
+
+    @Test
+    void cartaoInexistenteOuDeOutroUsuario() throws Exception {
+        long cartao = criarCartao(quadro.getColunas().get(0).getId(), "Meu");
+
+        executar(mockMvc, put("/api/cartoes/999999/posicao")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.mensagem").value("Cartão não encontrado."));
+
+        String outroToken = "Bearer " + tokenService.gerarToken(criarUsuario());
+        executar(mockMvc, put("/api/cartoes/" + cartao + "/posicao")
+                .header("Authorization", outroToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void conflitoDeEdicaoResponde409ComARevisaoAtualDoQuadro() throws Exception {
+        criarCartao(quadro.getColunas().get(0).getId(), "Disputado");
+        String etagAtual = executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // O mesmo conflito que o 'moverCartao' lança quando as tentativas acabam.
+        UsuarioAutenticado dono = new UsuarioAutenticado(usuario.getId(), usuario.getEmail(), usuario.getNome(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(dono, null, List.of()));
+        ResponseEntity<ErroDTO> resposta = tratadorDeErros.tratarConflito(
+            new ObjectOptimisticLockingFailureException(Quadro.class, quadro.getId()));
+
+        assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(resposta.getHeaders().getETag()).isEqualTo(etagAtual);
+        assertThat(resposta.getBody().getMensagem()).contains("alterado por outra pessoa");
+
+        // Para quem não é o dono: 409 sem a revisão.
+        SecurityContextHolder.clearContext();
+        assertThat(tratadorDeErros.tratarConflito(new ObjectOptimisticLockingFailureException(Quadro.class, quadro.getId()))
+            .getHeaders().getETag()).isNull();
+    }
+
+    @Test
+    void movimentosConcorrentesQueEsgotamAsTentativasRespondem409ComARevisaoAtual() throws Exception {
+        List<Long> colunas = quadro.getColunas().stream().map(coluna -> coluna.getId()).toList();
+        List<Long> cartoes = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            cartoes.add(criarCartao(colunas.get(0), "Cartão " + t));
+        }
+
+        // Rodadas de movimentos simultâneos (cada thread move o SEU cartão) até algum desistir.
+        List<MockHttpServletResponse> conflitos = new ArrayList<>();
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int rodada = 1; rodada <= 20 && conflitos.isEmpty(); rodada++) {
+                long revisaoAntes = revisaoAtual();
+                CountDownLatch largada = new CountDownLatch(1);
+                List<Future<MockHttpServletResponse>> respostas = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    long cartao = cartoes.get(t);
+                    Long destino = colunas.get((rodada + t) % colunas.size());
+                    respostas.add(threads.submit(() -> {
+                        largada.await();
+                        return executar(mockMvc, put("/api/cartoes/" + cartao + "/posicao")
+                                .header("Authorization", token)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"colunaId\": " + destino + "}"))
+                            .andReturn().getResponse();
+                    }));
+                }
+                largada.countDown();
+
+                List<MockHttpServletResponse> daRodada = new ArrayList<>();
+                for (Future<MockHttpServletResponse> resposta : respostas) {
+                    daRodada.add(resposta.get());
+                }
+                // O ETag de cada 409 é uma revisão que o vencedor já confirmou (nunca a lida
+                // antes da disputa): a do primário, depois do commit de quem ganhou.
+                List<String> revisoesConfirmadas = LongStream.rangeClosed(revisaoAntes + 1, revisaoAtual())
+                    .mapToObj(revisao -> QuadroController.etagDoQuadro(quadro.getId(), revisao))
+                    .toList();
+                for (MockHttpServletResponse resposta : daRodada) {
+                    assertThat(resposta.getStatus()).isIn(HttpStatus.OK.value(), HttpStatus.CONFLICT.value());
+                    if (resposta.getStatus() == HttpStatus.CONFLICT.value()) {
+                        assertThat(resposta.getHeader(HttpHeaders.ETAG)).isIn(revisoesConfirmadas);
+                        assertThat(resposta.getContentAsString()).contains("alterado por outra pessoa");
+                        conflitos.add(resposta);
+                    }
+                }
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+        assertThat(conflitos).as("respostas 409").isNotEmpty();
+    }
+
+    @AfterEach
+    void limparCracha() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private long criarCartao(Long colunaId, String titulo) throws Exception {
+        String corpo = executar(mockMvc, post("/api/colunas/" + colunaId + "/cartoes")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"titulo\": \"" + titulo + "\"}"))
+            .andExpect(status().isCreated())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo).get("id").asLong();
+    }
+
+    private long revisaoAtual() {
+        return quadroRepository.buscarRevisao(quadro.getId()).orElseThrow().getVersao();
+    }
+
+    private Usuario criarUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Cartões");
+        usuario.setEmail("cartoes-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        return usuarioRepository.save(usuario);
+    }
+}
@@ -0,0 +1,73 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+class MetricasTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+
+    @Test
+    void prometheusExpoeFiltroTokenRepositoriosEndpointsEHibernate() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Métricas");
+        usuario.setEmail("metricas-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = usuarioRepository.save(usuario);
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro medido", usuario.getId());
+
+        executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", "Bearer " + tokenService.gerarToken(usuario)))
+            .andExpect(status().isOk());
+
+        // Sem login: o Prometheus não tem token.
+        String metricas = mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(metricas)
+            .contains("kanban_seguranca_filtro_seconds_bucket{")
+            .contains("kanban_token_verificacao_seconds_count{")
+            .contains("cache=\"tokens-verificados\"")
+            .contains("spring_data_repository_invocations_seconds_bucket{")
+            .contains("repository=\"QuadroRepository\"")
+            .contains("http_server_requests_seconds_bucket{")
+            .contains("uri=\"/api/quadros/{id}\"")
+            .contains("hibernate_statements_total")
+            .contains("hibernate_entities_loads_total")
+            .contains("hibernate_second_level_cache_requests_total{")
+            .contains("region=\"quadros\"")
+            .contains("cache_size{")
+            .contains("cache=\"l2-quadros\"")
+            .contains("kanban_eventos_assinantes")
+            .contains("kanban_bcrypt_custo")
+            .contains("kanban_bcrypt_tempo_seconds");
+    }
+
+    @Test
+    void outrosEndpointsDoActuatorNaoSaoExpostos() throws Exception {
+        mockMvc.perform(get("/actuator/env")).andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,169 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Anel de 2 revisões e no máximo 5 revisões de atraso: dá para ver as três origens
+ * das mudanças (memória, tabela e o quadro inteiro) com poucas alterações.
+ */
+@SpringBootTest(properties = {"api.quadros.alteracoes.anel=2", "api.quadros.alteracoes.maximo=5"})
+@AutoConfigureMockMvc
+class QuadroAlteracoesTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private QuadroRepository quadroRepository;
+    @Autowired private CartaoRepository cartaoRepository;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private Usuario usuario;
+    private String token;
+    private Quadro quadro;
+    private Long aFazer;
+    private Long fazendo;
+
+    @BeforeEach
+    void criarQuadro() {
+        usuario = criarUsuario("alteracoes");
+        token = "Bearer " + tokenService.gerarToken(usuario);
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro sincronizado", usuario.getId());
+        aFazer = quadro.getColunas().get(0).getId();
+        fazendo = quadro.getColunas().get(1).getId();
+    }
+
+    @Test
+    void devolveSoOQueMudouDesdeARevisaoDoCliente() throws Exception {
+        quadroService.criarCartao(aFazer, "Parado", null, usuario.getId());
+        Cartao movido = quadroService.criarCartao(aFazer, "Movido", null, usuario.getId());
+        long revisaoDoCliente = revisaoAtual();
+
+        quadroService.moverCartao(movido.getId(), fazendo, null, null, usuario.getId());
+        Long feito = quadro.getColunas().get(2).getId();
+        quadroService.moverColuna(feito, null, aFazer, usuario.getId());
+        double daMemoria = sincronizacoes("memoria");
+
+        alteracoes(revisaoDoCliente)
+            .andExpect(header().string(HttpHeaders.ETAG, QuadroController.etagDoQuadro(quadro.getId(), revisaoAtual())))
+            .andExpect(jsonPath("$.completo").value(false))
+            .andExpect(jsonPath("$.desde").value(revisaoDoCliente))
+            .andExpect(jsonPath("$.revisao").value(revisaoDoCliente + 2))
+            .andExpect(jsonPath("$.quadro").doesNotExist())
+            // Só o cartão movido (o parado não vem), já na coluna nova.
+            .andExpect(jsonPath("$.cartoes", hasSize(1)))
+            .andExpect(jsonPath("$.cartoes[0].id").value(movido.getId()))
+            .andExpect(jsonPath("$.cartoes[0].colunaId").value(fazendo))
+            .andExpect(jsonPath("$.colunas", hasSize(1)))
+            .andExpect(jsonPath("$.colunas[0].id").value(feito))
+            .andExpect(jsonPath("$.cartoesRemovidos", hasSize(0)));
+        assertThat(sincronizacoes("memoria")).isEqualTo(daMemoria + 1);
+
+        // Em dia: nada a mandar.
+        alteracoes(revisaoAtual())
+            .andExpect(jsonPath("$.completo").value(false))
+            .andExpect(jsonPath("$.cartoes", hasSize(0)))
+            .andExpect(jsonPath("$.colunas", hasSize(0)));
+    }
+
+    @Test
+    void revisoesQueSairamDoAnelVemDaTabela() throws Exception {
+        long revisaoDoCliente = revisaoAtual();
+        Cartao primeiro = quadroService.criarCartao(aFazer, "Primeiro", null, usuario.getId());
+        Cartao segundo = quadroService.criarCartao(aFazer, "Segundo", null, usuario.getId());
+        quadroService.moverCartao(primeiro.getId(), fazendo, null, null, usuario.getId());
+        Cartao apagado = quadroService.criarCartao(fazendo, "Apagado", null, usuario.getId());
+        cartaoRepository.deleteById(apagado.getId()); // Some sem passar pelo serviço.
+        double doBanco = sincronizacoes("banco");
+
+        alteracoes(revisaoDoCliente)
+            .andExpect(jsonPath("$.completo").value(false))
+            .andExpect(jsonPath("$.revisao").value(revisaoDoCliente + 4))
+            .andExpect(jsonPath("$.cartoes[*].id").value(containsInAnyOrder(primeiro.getId().intValue(), segundo.getId().intValue())))
+            .andExpect(jsonPath("$.cartoes[?(@.id == " + primeiro.getId() + ")].colunaId").value(contains(fazendo.intValue())))
+            .andExpect(jsonPath("$.cartoesRemovidos", contains(apagado.getId().intValue())));
+        assertThat(sincronizacoes("banco")).isEqualTo(doBanco + 1);
+    }
+
+    @Test
+    void clienteAtrasadoDemaisRecebeOQuadroInteiro() throws Exception {
+        Cartao cartao = quadroService.criarCartao(aFazer, "Vai e volta", null, usuario.getId());
+        for (int i = 0; i < 3; i++) {
+            quadroService.moverCartao(cartao.getId(), fazendo, null, null, usuario.getId());
+            quadroService.moverCartao(cartao.getId(), aFazer, null, null, usuario.getId());
+        }
+
+        alteracoes(0)
+            .andExpect(jsonPath("$.completo").value(true))
+            .andExpect(jsonPath("$.revisao").value(revisaoAtual()))
+            .andExpect(jsonPath("$.quadro.colunas", hasSize(3)))
+            .andExpect(jsonPath("$.quadro.colunas[0].cartoes[0].id").value(cartao.getId()))
+            .andExpect(jsonPath("$.cartoes").doesNotExist());
+
+        // Uma revisão que o quadro ainda nem teve: também o quadro inteiro.
+        alteracoes(revisaoAtual() + 10).andExpect(jsonPath("$.completo").value(true));
+    }
+
+    @Test
+    void quadroAlheioOuRevisaoNegativaSaoRecusados() throws Exception {
+        Quadro alheio = quadroService.criarQuadroComColunasPadrao("Quadro alheio", criarUsuario("outro").getId());
+
+        executar(mockMvc, get("/api/quadros/{id}/changes", alheio.getId()).param("since", "0").header("Authorization", token))
+            .andExpect(status().isForbidden());
+        executar(mockMvc, get("/api/quadros/{id}/changes", quadro.getId()).param("since", "-1").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions alteracoes(long desde) throws Exception {
+        return executar(mockMvc, get("/api/quadros/{id}/changes", quadro.getId())
+                .param("since", String.valueOf(desde))
+                .header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+
+    private long revisaoAtual() {
+        return quadroRepository.buscarRevisao(quadro.getId()).orElseThrow().getVersao();
+    }
+
+    private double sincronizacoes(String origem) {
+        var contador = meterRegistry.find("kanban.sincronizacao").tag("origem", origem).counter();
+        return contador == null ? 0 : contador.count();
+    }
+
+    private Usuario criarUsuario(String prefixo) {
+        Usuario novo = new Usuario();
+        novo.setNome("Alterações");
+        novo.setEmail(prefixo + "-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
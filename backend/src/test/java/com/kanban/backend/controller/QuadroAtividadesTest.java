@@ -0,0 +1,92 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuadroAtividadesTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void criarUsuario() {
+        usuario = criarUsuario("atividades");
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void alteracoesConfirmadasAparecemNoHistoricoDoQuadro() throws Exception {
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro com histórico", usuario.getId());
+        Long fazendo = quadro.getColunas().get(1).getId();
+        Cartao cartao = quadroService.criarCartao(quadro.getColunas().get(0).getId(), "Escrever o changelog", null, usuario.getId());
+        quadroService.moverCartao(cartao.getId(), fazendo, null, null, usuario.getId());
+
+        // O registro vai ao disco em lotes: espera o último aparecer.
+        long limite = System.currentTimeMillis() + 5_000;
+        while (historico(quadro, "10").andReturn().getResponse().getContentAsString().split("\"tipo\"").length < 4
+                && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+
+        historico(quadro, "10")
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$[0].tipo").value("CARTAO_MOVIDO"))
+            .andExpect(jsonPath("$[0].alvoId").value(cartao.getId()))
+            .andExpect(jsonPath("$[1].tipo").value("CARTAO_CRIADO"))
+            .andExpect(jsonPath("$[2].tipo").value("QUADRO_CRIADO"))
+            .andExpect(jsonPath("$[2].quadroId").value(quadro.getId()));
+        historico(quadro, "1").andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void historicoDeQuadroAlheioOuLimiteInvalidoEhRecusado() throws Exception {
+        Quadro alheio = quadroService.criarQuadroComColunasPadrao("Quadro alheio", criarUsuario("outro").getId());
+
+        executar(mockMvc, get("/api/quadros/{id}/atividades", alheio.getId()).header("Authorization", token))
+            .andExpect(status().isForbidden());
+        executar(mockMvc, get("/api/quadros/{id}/atividades", 999_999L).header("Authorization", token))
+            .andExpect(status().isNotFound());
+        executar(mockMvc, get("/api/quadros/{id}/atividades", alheio.getId()).param("limite", "0").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions historico(Quadro quadro, String limite) throws Exception {
+        return executar(mockMvc, get("/api/quadros/{id}/atividades", quadro.getId()).param("limite", limite).header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+
+    private Usuario criarUsuario(String prefixo) {
+        Usuario novo = new Usuario();
+        novo.setNome("Atividades");
+        novo.setEmail(prefixo + "-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
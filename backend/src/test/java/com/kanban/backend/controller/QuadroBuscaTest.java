@@ -0,0 +1,111 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.BuscaDeQuadros;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {"api.busca.carga-na-inicializacao=false", "api.busca.carga.threads=3", "api.busca.carga.pagina=2"})
+@AutoConfigureMockMvc
+class QuadroBuscaTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private QuadroRepository quadroRepository;
+    @Autowired private BuscaDeQuadros buscaDeQuadros;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void criarUsuario() {
+        usuario = criarUsuario("busca");
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void quadroCriadoJaApareceNaBuscaSoParaODono() throws Exception {
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Lançamento do App", usuario.getId());
+        quadroService.criarQuadroComColunasPadrao("Lançamento alheio", criarUsuario("outro").getId());
+
+        buscar("lanc")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].tipo").value("quadro"))
+            .andExpect(jsonPath("$[0].id").value(quadro.getId()))
+            .andExpect(jsonPath("$[0].nome").value("Lançamento do App"))
+            .andExpect(jsonPath("$[0].usuarioId").doesNotExist());
+
+        buscar("FEITO")
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].tipo").value("coluna"))
+            .andExpect(jsonPath("$[0].quadroId").value(quadro.getId()));
+    }
+
+    @Test
+    void quadrosImportadosTambemEntramNoIndice() throws Exception {
+        executar(mockMvc, post("/api/quadros/importar")
+                .header("Authorization", token)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("{\"nome\": \"Suporte\", \"colunas\": [\"Triagem\", \"Resolvido\"]}\n"))
+            .andExpect(status().isOk());
+
+        buscar("triag").andExpect(jsonPath("$[0].nome").value("Triagem"));
+    }
+
+    @Test
+    void aCargaLeDoBancoOQueNaoPassouPeloServico() throws Exception {
+        // Gravado direto no repositório: o índice ainda não sabe deste quadro.
+        Quadro quadro = new Quadro();
+        quadro.setNome("Marketing Digital");
+        quadro.setUsuario(usuario);
+        quadroRepository.save(quadro);
+        buscar("marketing").andExpect(jsonPath("$", hasSize(0)));
+
+        buscaDeQuadros.carregar().get(30, TimeUnit.SECONDS);
+
+        buscar("marketing dig").andExpect(jsonPath("$[0].nome").value("Marketing Digital"));
+    }
+
+    @Test
+    void limiteForaDaFaixaEhRecusado() throws Exception {
+        executar(mockMvc, get("/api/quadros/busca").param("q", "x").param("limite", "101").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions buscar(String consulta) throws Exception {
+        return executar(mockMvc, get("/api/quadros/busca").param("q", consulta).header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+
+    private Usuario criarUsuario(String prefixo) {
+        Usuario novo = new Usuario();
+        novo.setNome("Busca");
+        novo.setEmail(prefixo + "-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kanban.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.config.CacheL2Config;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Sem a "vitrine" ('RetratosDosQuadros'): o GET do quadro passa pelas consultas em DTO (e pelo cache L2).
+@SpringBootTest(properties = "api.quadros.retratos.habilitado=false")
+@AutoConfigureMockMvc
+@Import(ContadorDeComandosJdbc.class)
+class QuadroCacheL2Test {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ContadorDeComandosJdbc contador;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private TransactionTemplate transacao;
+
+    private Usuario usuario;
+    private Quadro quadro;
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        usuario = new Usuario();
+        usuario.setNome("Cache L2");
+        usuario.setEmail("cache-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = usuarioRepository.save(usuario);
+
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro em cache", usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void quadroLidoDeNovoNaoVaiAoBanco() throws Exception {
+        Long aFazer = quadro.getColunas().get(0).getId();
+        quadroService.criarCartao(aFazer, "Primeiro", null, usuario.getId());
+        quadroService.criarCartao(aFazer, "Segundo", null, usuario.getId());
+
+        String primeiraLeitura = lerQuadro();
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long acertos = estatisticas.getQueryRegionStatistics(CacheL2Config.QUADRO_COMPLETO).getHitCount();
+        contador.zerar();
+
+        String segundaLeitura = lerQuadro();
+
+        assertThat(contador.idasAoBanco()).isZero();
+        assertThat(segundaLeitura).isEqualTo(primeiraLeitura);
+        assertThat(estatisticas.getQueryRegionStatistics(CacheL2Config.QUADRO_COMPLETO).getHitCount()).isGreaterThan(acertos);
+    }
+
+    @Test
+    void alteracoesPeloQuadroServiceAparecemNaLeituraSeguinte() throws Exception {
+        Long aFazer = quadro.getColunas().get(0).getId();
+        Long feito = quadro.getColunas().get(2).getId();
+        Long primeiro = quadroService.criarCartao(aFazer, "Primeiro", null, usuario.getId()).getId();
+        Long segundo = quadroService.criarCartao(aFazer, "Segundo", null, usuario.getId()).getId();
+        lerQuadro(); // Guarda as listas na ordem atual.
+
+        // Novo cartão, cartão reordenado e coluna reordenada: as listas guardadas mudam.
+        quadroService.criarCartao(aFazer, "Terceiro", null, usuario.getId());
+        quadroService.moverCartao(segundo, null, null, primeiro, usuario.getId());
+        quadroService.moverColuna(feito, null, aFazer, usuario.getId());
+
+        JsonNode colunas = objectMapper.readTree(lerQuadro()).get("colunas");
+        assertThat(colunas.findValuesAsText("nome")).containsExactly("Feito", "A Fazer", "Fazendo");
+        assertThat(colunas.get(1).get("cartoes").findValuesAsText("titulo")).containsExactly("Segundo", "Primeiro", "Terceiro");
+
+        // Cartão para outra coluna: as DUAS listas mudam.
+        quadroService.moverCartao(primeiro, feito, null, null, usuario.getId());
+
+        colunas = objectMapper.readTree(lerQuadro()).get("colunas");
+        assertThat(colunas.get(0).get("cartoes").findValuesAsText("titulo")).containsExactly("Primeiro");
+        assertThat(colunas.get(1).get("cartoes").findValuesAsText("titulo")).containsExactly("Segundo", "Terceiro");
+    }
+
+    @Test
+    void quadrosDoUsuarioGuardadosAteAlgumQuadroMudar() {
+        assertThat(contarQuadrosEColunas()).isEqualTo(3);
+        contador.zerar();
+
+        assertThat(contarQuadrosEColunas()).isEqualTo(3);
+        assertThat(contador.idasAoBanco()).isZero();
+
+        quadroService.criarQuadroComColunasPadrao("Segundo quadro", usuario.getId());
+        assertThat(contarQuadrosEColunas()).isEqualTo(6);
+    }
+
+    @Test
+    void usuarioPorEmailGuardadoAteASenhaMudar() {
+        String email = usuario.getEmail();
+        usuarioRepository.findByEmail(email).orElseThrow();
+        contador.zerar();
+
+        assertThat(usuarioRepository.findByEmail(email).orElseThrow().getSenha()).isEqualTo("x");
+        assertThat(contador.idasAoBanco()).isZero();
+
+        transacao.executeWithoutResult(status -> usuarioRepository.atualizarSenha(usuario.getId(), "y"));
+        assertThat(usuarioRepository.findByEmail(email).orElseThrow().getSenha()).isEqualTo("y");
+    }
+
+    private int contarQuadrosEColunas() {
+        return quadroService.listarQuadrosFormatoLegado(usuario.getId()).stream()
+            .mapToInt(q -> q.colunas().size())
+            .sum();
+    }
+
+    private String lerQuadro() throws Exception {
+        return executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+}
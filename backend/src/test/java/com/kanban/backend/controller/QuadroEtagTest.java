@@ -0,0 +1,101 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuadroEtagTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private Long usuarioId;
+    private Quadro quadro;
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("ETag");
+        usuario.setEmail("etag-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = usuarioRepository.save(usuario);
+
+        usuarioId = usuario.getId();
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro com ETag", usuarioId);
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void quadroNaoModificadoResponde304SemCarregarOQuadro() throws Exception {
+        String url = "/api/quadros/" + quadro.getId();
+        String etag = executar(mockMvc, get(url).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        executar(mockMvc, get(url).header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+
+        // O retrato do quadro já está pronto (veja 'RetratosDosQuadros'): nem a revisão é consultada.
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+        assertThat(estatisticas.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void etagAntigoRecebeOQuadroCompleto() throws Exception {
+        executar(mockMvc, get("/api/quadros/" + quadro.getId())
+                .header("Authorization", token)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"q" + quadro.getId() + "-v-1\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"q" + quadro.getId() + "-v" + quadro.getVersao() + "\""));
+    }
+
+    @Test
+    void listaMudaDeEtagQuandoUmQuadroEhCriado() throws Exception {
+        String etag = executar(mockMvc, get("/api/quadros").header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        executar(mockMvc, get("/api/quadros").header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        quadroService.criarQuadroComColunasPadrao("Outro quadro", usuarioId);
+
+        executar(mockMvc, get("/api/quadros").header("Authorization", token).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,82 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuadroEventosTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+
+    private Usuario usuario;
+    private Quadro quadro;
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        usuario = criarUsuario();
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro ao vivo", usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void avisaAsAlteracoesDoQuadroDepoisDoCommit() throws Exception {
+        MockHttpServletResponse resposta = mockMvc.perform(get("/api/quadros/" + quadro.getId() + "/events")
+                .header("Authorization", token))
+            .andExpect(request().asyncStarted())
+            .andReturn().getResponse();
+
+        Long colunaId = quadro.getColunas().get(0).getId();
+        Long cartaoId = quadroService.criarCartao(colunaId, "Novo", null, usuario.getId()).getId();
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!resposta.getContentAsString().contains("event:quadro") && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+
+        assertThat(resposta.getContentAsString())
+            .contains("event:conectado")
+            .contains("event:quadro")
+            .contains("\"tipo\":\"CARTAO_CRIADO\",\"id\":" + cartaoId);
+    }
+
+    @Test
+    void soODonoPodeOuvirOQuadro() throws Exception {
+        String outroToken = "Bearer " + tokenService.gerarToken(criarUsuario());
+
+        mockMvc.perform(get("/api/quadros/" + quadro.getId() + "/events").header("Authorization", outroToken))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/quadros/999999/events").header("Authorization", token))
+            .andExpect(status().isNotFound());
+    }
+
+    private Usuario criarUsuario() {
+        Usuario novo = new Usuario();
+        novo.setNome("Eventos");
+        novo.setEmail("eventos-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
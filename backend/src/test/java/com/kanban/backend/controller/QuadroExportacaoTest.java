@@ -0,0 +1,166 @@
+package com.kanban.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.CompartimentoDeTransferencias;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "api.quadros.exportacao.lote=2")
+@AutoConfigureMockMvc
+@Import(ContadorDeComandosJdbc.class)
+class QuadroExportacaoTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ContadorDeComandosJdbc contador;
+    @Autowired private CompartimentoDeTransferencias compartimentoDeTransferencias;
+
+    private final List<Quadro> quadros = new ArrayList<>();
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComCincoQuadros() {
+        Usuario usuario = criarUsuario();
+        for (int i = 1; i <= 5; i++) {
+            quadros.add(quadroService.criarQuadroComColunasPadrao("Quadro " + i, usuario.getId()));
+        }
+        Long aFazer = quadros.get(0).getColunas().get(0).getId();
+        quadroService.criarCartao(aFazer, "Primeiro", "Descrição", usuario.getId());
+        quadroService.criarCartao(aFazer, "Segundo", null, usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+
+        // Os quadros de outro usuário não podem aparecer na exportação.
+        quadroService.criarQuadroComColunasPadrao("Quadro alheio", criarUsuario().getId());
+    }
+
+    @Test
+    void exportaUmQuadroPorLinhaComTresConsultasPorLote() throws Exception {
+        contador.zerar();
+
+        MockHttpServletResponse resposta = exportar(get("/api/quadros/exportar"));
+
+        // 3 lotes (2 + 2 + 1) x (página de quadros + colunas + cartões).
+        assertThat(contador.idasAoBanco()).isEqualTo(9);
+        assertThat(resposta.getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON_VALUE);
+        assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        List<JsonNode> linhas = linhas(resposta.getContentAsString(StandardCharsets.UTF_8));
+        assertThat(linhas).extracting(linha -> linha.get("id").asLong())
+            .containsExactlyElementsOf(quadros.stream().map(Quadro::getId).toList());
+
+        JsonNode primeiro = linhas.get(0);
+        assertThat(primeiro.get("nome").asText()).isEqualTo("Quadro 1");
+        assertThat(primeiro.get("colunas")).extracting(coluna -> coluna.get("nome").asText())
+            .containsExactly("A Fazer", "Fazendo", "Feito");
+        assertThat(primeiro.get("colunas").get(0).get("cartoes")).extracting(cartao -> cartao.get("titulo").asText())
+            .containsExactly("Primeiro", "Segundo");
+        assertThat(primeiro.get("colunas").get(0).has("quadroId")).isFalse();
+        assertThat(linhas.get(4).get("colunas").get(0).get("cartoes")).isEmpty();
+    }
+
+    @Test
+    void comGzipARespostaSaiCompactadaComAsMesmasLinhas() throws Exception {
+        String semGzip = exportar(get("/api/quadros/exportar")).getContentAsString(StandardCharsets.UTF_8);
+
+        MockHttpServletResponse resposta = exportar(get("/api/quadros/exportar").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"));
+
+        assertThat(resposta.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(resposta.getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT_ENCODING);
+        try (GZIPInputStream descompactada = new GZIPInputStream(new ByteArrayInputStream(resposta.getContentAsByteArray()))) {
+            assertThat(new String(descompactada.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(semGzip);
+        }
+
+        MockHttpServletResponse recusada = exportar(get("/api/quadros/exportar").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"));
+        assertThat(recusada.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void comOutraTransferenciaEmAndamentoResponde503AntesDoDownload() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        try {
+            // A única vaga da "Doca de Carga" (sem fila) está ocupada.
+            compartimentoDeTransferencias.executar(() -> {
+                aguardar(liberar);
+                return null;
+            });
+
+            mockMvc.perform(get("/api/quadros/exportar").header("Authorization", token))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_DISPOSITION));
+        } finally {
+            liberar.countDown();
+        }
+    }
+
+    private MockHttpServletResponse exportar(MockHttpServletRequestBuilder requisicao) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao.header("Authorization", token))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        return mockMvc.perform(asyncDispatch(resultado))
+            .andExpect(status().isOk())
+            .andReturn().getResponse();
+    }
+
+    private List<JsonNode> linhas(String ndjson) throws Exception {
+        assertThat(ndjson).endsWith("\n");
+        List<JsonNode> linhas = new ArrayList<>();
+        for (String linha : ndjson.split("\n")) {
+            linhas.add(objectMapper.readTree(linha));
+        }
+        return linhas;
+    }
+
+    private static void aguardar(CountDownLatch liberar) {
+        try {
+            liberar.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Usuario criarUsuario() {
+        Usuario novo = new Usuario();
+        novo.setNome("Exportação");
+        novo.setEmail("exporta-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
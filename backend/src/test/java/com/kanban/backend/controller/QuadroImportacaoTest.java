@@ -0,0 +1,184 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.dto.ColunaResumoDTO;
+import com.kanban.backend.dto.QuadroResumoDTO;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.TokenService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.nullValue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mockingDetails;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "api.quadros.importacao.lote=2")
+@AutoConfigureMockMvc
+class QuadroImportacaoTest {
+
+    private static final String CINCO_QUADROS = """
+        {"nome": "Q1"}
+        {"nome": "Q2"}
+        {"nome": "Q3"}
+        {"nome": "Q4"}
+        {"nome": "Q5"}
+        """;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ColunaRepository colunaRepository;
+    @MockitoSpyBean private QuadroRepository quadroRepository;
+
+    private Usuario usuario;
+    private String token;
+
+    @BeforeEach
+    void criarUsuario() {
+        usuario = new Usuario();
+        usuario.setNome("Importação");
+        usuario.setEmail("importa-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = usuarioRepository.save(usuario);
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void jsonGravaOsQuadrosValidosEListaAsLinhasRecusadas() throws Exception {
+        String json = """
+            [
+              {"nome": "Produto", "colunas": ["Ideias", " Fazendo ", "Lançado"]},
+              {"nome": "   "},
+              {"nome": "Suporte"},
+              {"nome": "Vendas", "colunas": ["Contato", ""]},
+              {"nome": "Marketing", "colunas": []}
+            ]
+            """;
+
+        importar(MediaType.APPLICATION_JSON, json, 1)
+            .andExpect(jsonPath("$.linhasLidas").value(5))
+            .andExpect(jsonPath("$.quadrosImportados").value(3))
+            .andExpect(jsonPath("$.colunasImportadas").value(9))
+            .andExpect(jsonPath("$.lotesGravados").value(2))
+            .andExpect(jsonPath("$.totalDeErros").value(2))
+            .andExpect(jsonPath("$.erros[0].linha").value(2))
+            .andExpect(jsonPath("$.erros[0].mensagem").value("O nome do quadro é obrigatório."))
+            .andExpect(jsonPath("$.erros[1].linha").value(4))
+            .andExpect(jsonPath("$.erros[1].mensagem").value("A coluna 2 não tem nome."))
+            .andExpect(jsonPath("$.retomarDaLinha").value(nullValue()));
+
+        List<QuadroResumoDTO> quadros = quadrosDoUsuario();
+        assertThat(quadros).extracting(QuadroResumoDTO::getNome).containsExactly("Produto", "Suporte", "Marketing");
+        assertThat(colunaRepository.listarResumosPorQuadros(List.of(quadros.get(0).getId())))
+            .extracting(ColunaResumoDTO::getNome)
+            .containsExactly("Ideias", "Fazendo", "Lançado");
+        assertThat(colunaRepository.listarResumosPorQuadros(List.of(quadros.get(2).getId())))
+            .extracting(ColunaResumoDTO::getNome)
+            .containsExactly("A Fazer", "Fazendo", "Feito");
+    }
+
+    @Test
+    void csvComCabecalhoAspasECelulasVaziasNoFim() throws Exception {
+        String csv = "\uFEFFquadro,coluna1,coluna2\r\n"
+            + "\"Time, Azul\",Backlog,\"Em \"\"teste\"\"\"\r\n"
+            + "Só o nome,,\r\n";
+
+        importar(MediaType.parseMediaType("text/csv;charset=UTF-8;header=present"), csv, 1)
+            .andExpect(jsonPath("$.linhasLidas").value(2))
+            .andExpect(jsonPath("$.quadrosImportados").value(2))
+            .andExpect(jsonPath("$.colunasImportadas").value(5))
+            .andExpect(jsonPath("$.totalDeErros").value(0));
+
+        List<QuadroResumoDTO> quadros = quadrosDoUsuario();
+        assertThat(quadros).extracting(QuadroResumoDTO::getNome).containsExactly("Time, Azul", "Só o nome");
+        assertThat(colunaRepository.listarResumosPorQuadros(List.of(quadros.get(0).getId())))
+            .extracting(ColunaResumoDTO::getNome)
+            .containsExactly("Backlog", "Em \"teste\"");
+    }
+
+    @Test
+    void semHeaderPresentAPrimeiraLinhaEUmQuadroMesmoChamandoQuadro() throws Exception {
+        importar(MediaType.parseMediaType("text/csv"), "Quadro,A Fazer,Feito\r\nOutro\r\n", 1)
+            .andExpect(jsonPath("$.linhasLidas").value(2))
+            .andExpect(jsonPath("$.quadrosImportados").value(2));
+
+        assertThat(quadrosDoUsuario()).extracting(QuadroResumoDTO::getNome).containsExactly("Quadro", "Outro");
+    }
+
+    @Test
+    void loteQueFalhaNaoGravaNadaEAImportacaoRetomaDaPrimeiraLinhaDele() throws Exception {
+        // O 1º lote grava, o 2º falha no banco, os seguintes gravam.
+        // (O "espião" de um repositório repassa as chamadas ao repositório de verdade.)
+        Answer<?> repositorio = mockingDetails(quadroRepository).getMockCreationSettings().getDefaultAnswer();
+        AtomicInteger lotes = new AtomicInteger();
+        doAnswer(chamada -> {
+            if (lotes.incrementAndGet() == 2) {
+                throw new DataIntegrityViolationException("falha simulada");
+            }
+            return repositorio.answer(chamada);
+        }).when(quadroRepository).saveAll(anyIterable());
+
+        importar(MediaType.APPLICATION_NDJSON, CINCO_QUADROS, 1)
+            .andExpect(jsonPath("$.quadrosImportados").value(2))
+            .andExpect(jsonPath("$.lotesGravados").value(1))
+            .andExpect(jsonPath("$.erros[0].linha").value(3))
+            .andExpect(jsonPath("$.erros[0].mensagem").value(containsString("linhas 3 a 4")))
+            .andExpect(jsonPath("$.retomarDaLinha").value(3));
+        assertThat(quadrosDoUsuario()).extracting(QuadroResumoDTO::getNome).containsExactly("Q1", "Q2");
+
+        // O mesmo arquivo, reenviado a partir da linha indicada: nada é duplicado.
+        importar(MediaType.APPLICATION_NDJSON, CINCO_QUADROS, 3)
+            .andExpect(jsonPath("$.linhasLidas").value(5))
+            .andExpect(jsonPath("$.quadrosImportados").value(3))
+            .andExpect(jsonPath("$.retomarDaLinha").value(nullValue()));
+        assertThat(quadrosDoUsuario()).extracting(QuadroResumoDTO::getNome).containsExactly("Q1", "Q2", "Q3", "Q4", "Q5");
+    }
+
+    @Test
+    void jsonMalformadoGravaOQueVeioAntesEIndicaALinha() throws Exception {
+        importar(MediaType.APPLICATION_JSON, "[{\"nome\": \"Inteiro\"}, {\"nome\": ", 1)
+            .andExpect(jsonPath("$.quadrosImportados").value(1))
+            .andExpect(jsonPath("$.erros[0].linha").value(2))
+            .andExpect(jsonPath("$.erros[0].mensagem").value(containsString("JSON inválido")))
+            .andExpect(jsonPath("$.retomarDaLinha").value(2));
+
+        assertThat(quadrosDoUsuario()).extracting(QuadroResumoDTO::getNome).containsExactly("Inteiro");
+    }
+
+    private ResultActions importar(MediaType tipo, String corpo, long aPartirDaLinha) throws Exception {
+        return executar(mockMvc, post("/api/quadros/importar")
+                .param("aPartirDaLinha", String.valueOf(aPartirDaLinha))
+                .header("Authorization", token)
+                .contentType(tipo)
+                .content(corpo))
+            .andExpect(status().isOk());
+    }
+
+    private List<QuadroResumoDTO> quadrosDoUsuario() {
+        return quadroRepository.listarResumos(usuario.getId(), 0L, Limit.of(100));
+    }
+}
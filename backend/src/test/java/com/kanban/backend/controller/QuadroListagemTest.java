@@ -0,0 +1,128 @@
+package com.kanban.backend.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class QuadroListagemTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private QuadroController quadroController;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComCincoQuadros() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Listagem");
+        usuario.setEmail("lista-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuario = usuarioRepository.save(usuario);
+
+        for (int i = 1; i <= 5; i++) {
+            quadroService.criarQuadroComColunasPadrao("Quadro " + i, usuario.getId());
+        }
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void percorreTodasAsPaginasPeloCursorSemCarregarColunas() throws Exception {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+
+        List<String> nomes = new ArrayList<>();
+        String cursor = "";
+        int paginas = 0;
+        do {
+            JsonNode pagina = ler("/api/quadros?limite=2&cursor=" + cursor);
+            pagina.get("itens").forEach(item -> {
+                nomes.add(item.get("nome").asText());
+                assertThat(item.get("totalColunas").asInt()).isEqualTo(3);
+                assertThat(item.has("colunas")).isFalse();
+            });
+            cursor = pagina.get("proximoCursor").isNull() ? null : pagina.get("proximoCursor").asText();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(nomes).containsExactly("Quadro 1", "Quadro 2", "Quadro 3", "Quadro 4", "Quadro 5");
+        assertThat(paginas).isEqualTo(3);
+        assertThat(estatisticas.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void colunasSaoOpcionais() throws Exception {
+        JsonNode pagina = ler("/api/quadros?limite=50&incluirColunas=true");
+
+        assertThat(pagina.get("itens")).hasSize(5);
+        assertThat(pagina.get("proximoCursor").isNull()).isTrue();
+        pagina.get("itens").forEach(item ->
+            assertThat(item.get("colunas").findValuesAsText("nome")).containsExactly("A Fazer", "Fazendo", "Feito"));
+    }
+
+    @Test
+    void formatoLegadoDevolveAListaCompleta() throws Exception {
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        ReflectionTestUtils.setField(quadroController, "listagemFormatoLegado", true);
+        try {
+            JsonNode lista = ler("/api/quadros");
+            assertThat(lista.isArray()).isTrue();
+            assertThat(lista).hasSize(5);
+            assertThat(lista.get(0).get("colunas")).hasSize(3);
+
+            // O mesmo JSON da entidade, montado em DTO (nenhuma entidade carregada, nem o dono).
+            assertThat(lista.get(0).fieldNames()).toIterable()
+                .containsExactly("id", "nome", "atualizadoEm", "versao", "colunas");
+            assertThat(lista.get(0).get("colunas").get(0).fieldNames()).toIterable()
+                .containsExactly("id", "nome", "posicao", "cartoes");
+            assertThat(estatisticas.getEntityLoadCount()).isZero();
+        } finally {
+            ReflectionTestUtils.setField(quadroController, "listagemFormatoLegado", false);
+        }
+    }
+
+    @Test
+    void limiteForaDaFaixaEhRecusado() throws Exception {
+        executar(mockMvc, get("/api/quadros?limite=0").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+        executar(mockMvc, get("/api/quadros?limite=201").header("Authorization", token))
+            .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode ler(String url) throws Exception {
+        String corpo = executar(mockMvc, get(url).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(corpo);
+    }
+}
@@ -0,0 +1,103 @@
+package com.kanban.backend.controller;
+
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ContadorDeComandosJdbc.class)
+class QuadroRetratoTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private QuadroService quadroService;
+    @Autowired private TokenService tokenService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ContadorDeComandosJdbc contador;
+
+    private Usuario usuario;
+    private Quadro quadro;
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        usuario = criarUsuario();
+        quadro = quadroService.criarQuadroComColunasPadrao("Quadro na vitrine", usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void retratoProntoNaoVaiAoBanco() throws Exception {
+        quadroService.criarCartao(quadro.getColunas().get(0).getId(), "Cartão", "Descrição", usuario.getId());
+        MockHttpServletResponse primeira = ler(token);
+        contador.zerar();
+
+        MockHttpServletResponse segunda = ler(token);
+
+        assertThat(contador.idasAoBanco()).isZero();
+        assertThat(segunda.getContentAsByteArray()).isEqualTo(primeira.getContentAsByteArray());
+        assertThat(segunda.getHeader(HttpHeaders.ETAG)).isEqualTo(primeira.getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void alteracaoPeloQuadroServiceRefazORetrato() throws Exception {
+        String etagAntigo = ler(token).getHeader(HttpHeaders.ETAG);
+
+        quadroService.criarCartao(quadro.getColunas().get(1).getId(), "Novo", null, usuario.getId());
+
+        executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", token))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andExpect(jsonPath("$.colunas[1].cartoes[0].titulo").value("Novo"))
+            .andExpect(result -> assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etagAntigo));
+    }
+
+    @Test
+    void retratoTambemChecaODono() throws Exception {
+        ler(token); // O retrato fica pronto.
+        String intruso = "Bearer " + tokenService.gerarToken(criarUsuario());
+
+        executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", intruso))
+            .andExpect(status().isForbidden());
+        executar(mockMvc, get("/api/quadros/" + (quadro.getId() + 1_000)).header("Authorization", token))
+            .andExpect(status().isNotFound());
+    }
+
+    private MockHttpServletResponse ler(String autorizacao) throws Exception {
+        return executar(mockMvc, get("/api/quadros/" + quadro.getId()).header("Authorization", autorizacao))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+            .andReturn().getResponse();
+    }
+
+    private Usuario criarUsuario() {
+        Usuario novo = new Usuario();
+        novo.setNome("Retrato");
+        novo.setEmail("retrato-" + UUID.randomUUID() + "@kanban.com");
+        novo.setSenha("x");
+        return usuarioRepository.save(novo);
+    }
+}
@@ -0,0 +1,168 @@
+package com.kanban.backend.events;
+
+import com.kanban.backend.dto.AtividadeDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent.Alteracao;
+import com.kanban.backend.events.QuadroAlteradoEvent.Tipo;
+import com.kanban.backend.security.UsuarioAutenticado;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RegistroDeAtividadesTest {
+
+    @TempDir
+    Path diretorio;
+
+    private final List<RegistroDeAtividades> abertos = new ArrayList<>();
+
+    @AfterEach
+    void encerrar() {
+        abertos.forEach(RegistroDeAtividades::encerrar);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void historicoDoQuadroVemDoMaisNovoParaOMaisAntigo() throws InterruptedException {
+        RegistroDeAtividades registro = abrir(DataSize.ofMegabytes(1), Duration.ofDays(1));
+        entrarComo(9L);
+
+        registro.aoAlterarQuadro(QuadroAlteradoEvent.de(1L, Tipo.QUADRO_CRIADO, 1L));
+        registro.aoAlterarQuadro(QuadroAlteradoEvent.de(2L, Tipo.QUADRO_CRIADO, 2L)); // outro quadro
+        registro.aoAlterarQuadro(new QuadroAlteradoEvent(1L,
+            List.of(new Alteracao(Tipo.CARTAO_CRIADO, 10L), new Alteracao(Tipo.CARTAO_MOVIDO, 10L))));
+        SecurityContextHolder.clearContext();
+        registro.aoAlterarQuadro(QuadroAlteradoEvent.de(1L, Tipo.POSICOES_REESCRITAS, 5L)); // sem usuário
+        aguardar(() -> registro.historico(1L, 10).size() == 4);
+
+        List<AtividadeDTO> historico = registro.historico(1L, 10);
+        assertThat(historico).extracting(AtividadeDTO::tipo)
+            .containsExactly(Tipo.POSICOES_REESCRITAS, Tipo.CARTAO_MOVIDO, Tipo.CARTAO_CRIADO, Tipo.QUADRO_CRIADO);
+        assertThat(historico).extracting(AtividadeDTO::alvoId).containsExactly(5L, 10L, 10L, 1L);
+        assertThat(historico).extracting(AtividadeDTO::usuarioId).containsExactly(null, 9L, 9L, 9L);
+        assertThat(historico).allSatisfy(atividade -> assertThat(atividade.quadroId()).isEqualTo(1L));
+        assertThat(registro.historico(1L, 2)).extracting(AtividadeDTO::tipo)
+            .containsExactly(Tipo.POSICOES_REESCRITAS, Tipo.CARTAO_MOVIDO);
+        assertThat(registro.historico(2L, 10)).hasSize(1);
+        assertThat(registro.historico(3L, 10)).isEmpty();
+
+        // Reaberto (ex: o servidor reiniciou): o índice é refeito dos arquivos.
+        fechar(registro);
+        assertThat(abrir(DataSize.ofMegabytes(1), Duration.ofDays(1)).historico(1L, 10)).isEqualTo(historico);
+    }
+
+    @Test
+    void quedaNoMeioDeUmaGravacaoNaoPerdeOsRegistrosAnteriores() throws IOException, InterruptedException {
+        RegistroDeAtividades registro = abrir(DataSize.ofMegabytes(1), Duration.ofDays(1));
+        for (long cartao = 1; cartao <= 3; cartao++) {
+            registro.aoAlterarQuadro(QuadroAlteradoEvent.de(1L, Tipo.CARTAO_CRIADO, cartao));
+        }
+        aguardar(() -> registro.historico(1L, 10).size() == 3);
+        fechar(registro);
+
+        // A "queda": um registro pela metade depois do último (tamanho gravado, CRC e corpo não).
+        Path segmento = segmentos().get(0);
+        try (RandomAccessFile arquivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            int fim = 0;
+            arquivo.seek(fim);
+            for (int tamanho = arquivo.readInt(); tamanho != 0; tamanho = arquivo.readInt()) {
+                fim += SegmentoDeAtividades.CABECALHO + tamanho;
+                arquivo.seek(fim);
+            }
+            arquivo.seek(fim);
+            arquivo.writeInt(20);
+            arquivo.writeInt(0xCAFE);
+            arquivo.write(new byte[] {3, 42});
+        }
+
+        RegistroDeAtividades recuperado = abrir(DataSize.ofMegabytes(1), Duration.ofDays(1));
+        assertThat(recuperado.historico(1L, 10)).extracting(AtividadeDTO::alvoId).containsExactly(3L, 2L, 1L);
+
+        // As gravações continuam do ponto recuperado (sobre o lixo, que foi zerado).
+        recuperado.aoAlterarQuadro(QuadroAlteradoEvent.de(1L, Tipo.CARTAO_MOVIDO, 2L));
+        aguardar(() -> recuperado.historico(1L, 10).size() == 4);
+        fechar(recuperado);
+        assertThat(abrir(DataSize.ofMegabytes(1), Duration.ofDays(1)).historico(1L, 10))
+            .extracting(AtividadeDTO::alvoId).containsExactly(2L, 3L, 2L, 1L);
+    }
+
+    @Test
+    void segmentoCheioAbreOutroEARetencaoApagaOsAntigos() throws IOException, InterruptedException {
+        RegistroDeAtividades registro = abrir(DataSize.ofKilobytes(4), Duration.ofDays(1));
+        for (long cartao = 1; cartao <= 600; cartao++) {
+            registro.aoAlterarQuadro(QuadroAlteradoEvent.de(cartao % 2 + 1, Tipo.CARTAO_CRIADO, cartao));
+        }
+        aguardar(() -> registro.historico(1L, 1000).size() + registro.historico(2L, 1000).size() == 600);
+        assertThat(segmentos()).hasSizeGreaterThan(2);
+        assertThat(registro.historico(1L, 1000)).extracting(AtividadeDTO::alvoId).startsWith(600L, 598L, 596L);
+        assertThat(registro.historico(1L, 1000).get(299).alvoId()).isEqualTo(2L);
+        fechar(registro);
+
+        // Reaberto com uma retenção curta: só o segmento atual (o último) fica.
+        Thread.sleep(20);
+        List<Path> antes = segmentos();
+        RegistroDeAtividades reaberto = abrir(DataSize.ofKilobytes(4), Duration.ofMillis(10));
+        assertThat(segmentos()).containsExactly(antes.get(antes.size() - 1));
+        List<AtividadeDTO> restantes = reaberto.historico(1L, 1000);
+        assertThat(restantes).isNotEmpty().hasSizeLessThan(300);
+        assertThat(restantes.get(0).alvoId()).isEqualTo(600L);
+    }
+
+    @Test
+    void doisProcessosNaoGravamNoMesmoDiretorio() {
+        abrir(DataSize.ofMegabytes(1), Duration.ofDays(1));
+
+        assertThatThrownBy(() -> abrir(DataSize.ofMegabytes(1), Duration.ofDays(1)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Outro processo");
+    }
+
+    private RegistroDeAtividades abrir(DataSize tamanhoDoSegmento, Duration retencao) {
+        RegistroDeAtividades registro = new RegistroDeAtividades(true, diretorio.toString(), tamanhoDoSegmento,
+            Duration.ofMillis(5), retencao, 10_000, new SimpleMeterRegistry());
+        abertos.add(registro);
+        return registro;
+    }
+
+    private void fechar(RegistroDeAtividades registro) {
+        registro.encerrar();
+        abertos.remove(registro);
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.toString().endsWith(SegmentoDeAtividades.EXTENSAO)).sorted().toList();
+        }
+    }
+
+    private static void entrarComo(Long usuarioId) {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(usuarioId, "u" + usuarioId + "@kanban.com", "Usuário", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicao.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("tempo esgotado").isLessThan(limite);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.kanban.backend.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kanban.backend.dto.RevisaoQuadroDTO;
+import com.kanban.backend.events.QuadroAlteradoEvent.Tipo;
+import com.kanban.backend.repository.QuadroRepository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TransmissorDeEventosTest {
+
+    private static final Long QUADRO = 7L;
+
+    private final CountDownLatch liberarLento = new CountDownLatch(1);
+    private final List<String> recebidos = new CopyOnWriteArrayList<>();
+    private boolean proximoEhLento;
+    private TransmissorDeEventos transmissor;
+
+    @BeforeEach
+    void criarTransmissor() {
+        QuadroRepository quadroRepository = mock(QuadroRepository.class);
+        when(quadroRepository.buscarRevisao(QUADRO)).thenReturn(Optional.of(new RevisaoQuadroDTO(3L, 1L)));
+
+        // Intervalo curto, fila de 2 eventos por assinante, sem heartbeat durante o teste.
+        transmissor = new TransmissorDeEventos(quadroRepository, new ObjectMapper(),
+            Duration.ofMillis(50), Duration.ofHours(1), Duration.ofMinutes(1), 2, 100, 2) {
+            @Override
+            SseEmitter criarEmitter(long timeoutEmMillis) {
+                return proximoEhLento ? new EmitterLento() : new EmitterQueGrava();
+            }
+        };
+    }
+
+    @AfterEach
+    void encerrar() {
+        liberarLento.countDown();
+        transmissor.encerrar();
+    }
+
+    @Test
+    void rajadaDeAlteracoesViraUmUnicoEvento() throws InterruptedException {
+        transmissor.assinar(QUADRO, 3L);
+        aguardar(() -> recebidos.size() == 1); // "conectado"
+
+        for (long cartao = 1; cartao <= 30; cartao++) {
+            transmissor.aoAlterarQuadro(QuadroAlteradoEvent.de(QUADRO, Tipo.CARTAO_MOVIDO, cartao));
+            transmissor.aoAlterarQuadro(QuadroAlteradoEvent.de(QUADRO, Tipo.CARTAO_MOVIDO, cartao)); // repetida
+        }
+        aguardar(() -> recebidos.stream().filter(evento -> evento.contains("event:quadro")).count() >= 1
+            && recebidos.stream().collect(Collectors.joining()).contains("\"id\":30}"));
+
+        // 60 avisos (30 repetidos) viraram 1 evento (2, se um intervalo caiu no meio da rajada).
+        assertThat(transmissor.eventosPublicados()).isBetween(1L, 2L);
+        // Cada cartão aparece, e nenhum evento repete um cartão.
+        List<String> eventos = recebidos.stream().filter(evento -> evento.contains("event:quadro")).toList();
+        Pattern id = Pattern.compile("\"id\":(\\d+)}");
+        eventos.forEach(evento -> assertThat(id.matcher(evento).results().map(r -> r.group(1)).toList()).doesNotHaveDuplicates());
+        String tudo = String.join("", eventos);
+        for (long cartao = 1; cartao <= 30; cartao++) {
+            assertThat(tudo).contains("\"tipo\":\"CARTAO_MOVIDO\",\"id\":" + cartao + "}");
+        }
+        assertThat(tudo).contains("\"revisao\":3");
+    }
+
+    @Test
+    void assinanteLentoEhDerrubadoSemAtrasarOsOutros() throws InterruptedException {
+        proximoEhLento = true;
+        transmissor.assinar(QUADRO, 3L);
+        proximoEhLento = false;
+        transmissor.assinar(QUADRO, 3L);
+        assertThat(transmissor.assinantesDoQuadro(QUADRO)).isEqualTo(2);
+
+        // Um aviso por intervalo: a fila do lento (2 eventos) enche e ele cai.
+        for (long cartao = 1; cartao <= 20 && transmissor.assinantesDerrubados() == 0; cartao++) {
+            transmissor.aoAlterarQuadro(QuadroAlteradoEvent.de(QUADRO, Tipo.CARTAO_CRIADO, cartao));
+            Thread.sleep(80);
+        }
+
+        assertThat(transmissor.assinantesDerrubados()).isEqualTo(1);
+        assertThat(transmissor.eventosDescartados()).isEqualTo(1);
+        assertThat(transmissor.assinantesDoQuadro(QUADRO)).isEqualTo(1);
+
+        // O assinante rápido continua recebendo.
+        int antes = recebidos.size();
+        transmissor.aoAlterarQuadro(QuadroAlteradoEvent.de(QUADRO, Tipo.CARTAO_CRIADO, 99L));
+        aguardar(() -> recebidos.size() > antes);
+        assertThat(recebidos.get(recebidos.size() - 1)).contains("\"id\":99");
+    }
+
+    @Test
+    void quadroSemAssinantesNaoAcumulaNada() throws InterruptedException {
+        transmissor.aoAlterarQuadro(QuadroAlteradoEvent.de(QUADRO, Tipo.CARTAO_CRIADO, 1L));
+        Thread.sleep(150);
+
+        assertThat(transmissor.eventosPublicados()).isZero();
+        assertThat(transmissor.assinantes()).isZero();
+    }
+
+    private static void aguardar(BooleanSupplier condicao) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5_000;
+        while (!condicao.getAsBoolean() && System.currentTimeMillis() < limite) {
+            Thread.sleep(10);
+        }
+        assertThat(condicao.getAsBoolean()).as("condição não foi atingida a tempo").isTrue();
+    }
+
+    /** Uma conexão que grava o texto de cada evento. */
+    private class EmitterQueGrava extends SseEmitter {
+        @Override
+        public void send(Set<DataWithMediaType> itens) {
+            recebidos.add(itens.stream().map(item -> String.valueOf(item.getData())).collect(Collectors.joining()));
+        }
+    }
+
+    /** Uma conexão "travada": o primeiro envio só termina no fim do teste. */
+    private class EmitterLento extends SseEmitter {
+        @Override
+        public void send(Set<DataWithMediaType> itens) {
+            try {
+                liberarLento.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.kanban.backend.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.service.QuadroService;
+import com.kanban.backend.service.TokenService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static com.kanban.backend.support.RespostaAssincrona.executar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Compara os dois modos do 'SecurityFilter' (TOKEN x BANCO) em uma leitura de quadros:
+ * consultas SQL por requisição (pelas estatísticas do Hibernate). A vazão de cada modo
+ * fica com o 'SecurityFilterBenchmark', no JMH.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AutenticacaoBenchmarkTest {
+
+    private static final int AQUECIMENTO = 10;
+    private static final int REQUISICOES = 200;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private SecurityFilter securityFilter;
+    @Autowired private TokenService tokenService;
+    @Autowired private QuadroService quadroService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private MeterRegistry meterRegistry;
+
+    private String token;
+
+    @BeforeEach
+    void criarUsuarioComQuadro() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("bench-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha(passwordEncoder.encode("123456"));
+        usuario = usuarioRepository.save(usuario);
+
+        quadroService.criarQuadroComColunasPadrao("Quadro de Teste", usuario.getId());
+        token = "Bearer " + tokenService.gerarToken(usuario);
+    }
+
+    @Test
+    void modoTokenNaoConsultaOBancoParaAutenticar() throws Exception {
+        double banco = consultasPorRequisicao(ModoAutenticacao.BANCO);
+        double tokenMode = consultasPorRequisicao(ModoAutenticacao.TOKEN);
+
+        // O modo TOKEN economiza exatamente o 'findByEmail' de cada requisição
+        // (com o cache L2 vazio, veja 'lerQuadros').
+        assertThat(banco - tokenMode).isEqualTo(1.0);
+    }
+
+    @Test
+    void tokenInvalidoEConferidoUmaVezSo() throws Exception {
+        // Mesmo email e claims, outro segredo: a assinatura não confere.
+        String falso = "Bearer " + JWT.create()
+            .withIssuer("kanban-api")
+            .withSubject("falso@kanban.com")
+            .withClaim("id", 1L)
+            .withExpiresAt(Instant.now().plusSeconds(60))
+            .sign(Algorithm.HMAC256("outro-segredo"));
+        double antes = verificacoesInvalidas();
+
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/quadros").header("Authorization", falso))
+                .andExpect(status().is4xxClientError());
+        }
+
+        // Recusado pelo modo TOKEN, sem a segunda conferência do modo BANCO.
+        assertThat(verificacoesInvalidas() - antes).isEqualTo(3);
+    }
+
+    private double verificacoesInvalidas() {
+        return meterRegistry.get("kanban.token.verificacao").tag("resultado", "invalido").timer().count();
+    }
+
+    private double consultasPorRequisicao(ModoAutenticacao modo) throws Exception {
+        ReflectionTestUtils.setField(securityFilter, "modo", modo);
+        try {
+            for (int i = 0; i < AQUECIMENTO; i++) {
+                lerQuadros();
+            }
+
+            Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            estatisticas.clear();
+
+            for (int i = 0; i < REQUISICOES; i++) {
+                lerQuadros();
+            }
+            return (double) estatisticas.getPrepareStatementCount() / REQUISICOES;
+        } finally {
+            ReflectionTestUtils.setField(securityFilter, "modo", ModoAutenticacao.TOKEN);
+        }
+    }
+
+    private void lerQuadros() throws Exception {
+        // Cache L2 vazio: o 'findByEmail' do modo BANCO vai mesmo ao banco.
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+        executar(mockMvc, get("/api/quadros").header("Authorization", token))
+            .andExpect(status().isOk());
+    }
+}
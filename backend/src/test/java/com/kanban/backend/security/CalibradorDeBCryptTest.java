@@ -0,0 +1,25 @@
+package com.kanban.backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalibradorDeBCryptTest {
+
+    @Test
+    void orcamentoApertadoFicaNoCustoMinimo() {
+        CalibradorDeBCrypt.Calibragem calibragem = CalibradorDeBCrypt.calibrar(Duration.ofNanos(1), 4, 12);
+
+        assertThat(calibragem.custo()).isEqualTo(4);
+        assertThat(calibragem.tempo()).isPositive();
+    }
+
+    @Test
+    void orcamentoFolgadoSobeAteOCustoMaximo() {
+        CalibradorDeBCrypt.Calibragem calibragem = CalibradorDeBCrypt.calibrar(Duration.ofMinutes(1), 4, 6);
+
+        assertThat(calibragem.custo()).isEqualTo(6);
+    }
+}
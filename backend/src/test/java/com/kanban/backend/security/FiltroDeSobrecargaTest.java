@@ -0,0 +1,130 @@
+package com.kanban.backend.security;
+
+import com.kanban.backend.security.FiltroDeSobrecarga.Particao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FiltroDeSobrecargaTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final FiltroDeSobrecarga filtro = new FiltroDeSobrecarga(true, 20, 4, 200, 20,
+        Duration.ofSeconds(2), new ObjectMapper(), meterRegistry);
+
+    @Test
+    void limiteCresceComLatenciaEstavelEEncolheQuandoElaSobe() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 4, 200, 10, 300);
+
+        for (int janela = 0; janela < 30; janela++) {
+            rodarJanelaLotada(limite, 10_000_000L); // 10 ms
+        }
+        int depoisDaCalma = limite.limite();
+        assertThat(depoisDaCalma).isGreaterThan(20);
+
+        // O banco ficou 4x mais lento: as requisições fazem fila lá dentro.
+        for (int janela = 0; janela < 10; janela++) {
+            rodarJanelaLotada(limite, 40_000_000L);
+        }
+        assertThat(limite.limite()).isLessThan(depoisDaCalma * 2 / 3);
+        assertThat(limite.filaEstimadaNanos()).isPositive();
+    }
+
+    @Test
+    void comPoucaGenteOLimiteNaoCresce() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(20, 4, 200, 10, 300);
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(limite.entrar()).isTrue();
+            limite.sair(10_000_000L);
+        }
+        assertThat(limite.limite()).isEqualTo(20);
+    }
+
+    @Test
+    void particaoLotadaRecusaCom503SemAtrapalharAsOutras() throws Exception {
+        LimiteAdaptativo leituras = filtro.limite(Particao.LEITURA);
+        for (int i = 0; i < 20; i++) {
+            assertThat(leituras.entrar()).isTrue();
+        }
+
+        MockHttpServletResponse recusada = filtrar("GET", "/api/quadros");
+        assertThat(recusada.getStatus()).isEqualTo(503);
+        assertThat(recusada.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(recusada.getContentAsString()).contains("sobrecarregado");
+
+        // Escritas, login e o que está fora de /api seguem livres.
+        assertThat(filtrar("POST", "/api/quadros").getStatus()).isEqualTo(200);
+        assertThat(filtrar("POST", "/api/login").getStatus()).isEqualTo(200);
+        assertThat(filtrar("GET", "/actuator/health").getStatus()).isEqualTo(200);
+
+        leituras.sair(-1);
+        assertThat(filtrar("GET", "/api/quadros").getStatus()).isEqualTo(200);
+
+        assertThat(meterRegistry.get("kanban.sobrecarga.recusadas").tag("particao", "leitura")
+            .functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kanban.sobrecarga.limite").tag("particao", "leitura")
+            .gauge().value()).isEqualTo(20);
+        assertThat(meterRegistry.get("kanban.sobrecarga.em.andamento").tag("particao", "leitura")
+            .gauge().value()).isEqualTo(19);
+    }
+
+    @Test
+    void respostaAssincronaSoLiberaOLugarNoFimEFluxoLongoLiberaNaHora() throws Exception {
+        LimiteAdaptativo leituras = filtro.limite(Particao.LEITURA);
+
+        // Ex: um endpoint do 'CompartimentoDeQuadros' (a resposta sai depois, em outra thread).
+        MockHttpServletRequest curta = new MockHttpServletRequest("GET", "/api/quadros/1");
+        curta.setAsyncSupported(true);
+        filtro.doFilter(curta, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+        assertThat(leituras.emAndamento()).isEqualTo(1);
+        curta.getAsyncContext().complete();
+        assertThat(leituras.emAndamento()).isZero();
+
+        // Ex: os eventos ao vivo (a resposta já começou quando a thread do Tomcat volta).
+        MockHttpServletRequest longa = new MockHttpServletRequest("GET", "/api/quadros/1/events");
+        longa.setAsyncSupported(true);
+        filtro.doFilter(longa, new MockHttpServletResponse(), (req, res) -> {
+            req.startAsync();
+            res.setContentType("text/event-stream");
+        });
+        assertThat(leituras.emAndamento()).isZero();
+    }
+
+    @Test
+    void particoes() {
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("POST", "/api/login"))).isEqualTo(Particao.LOGIN);
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("POST", "/api/usuarios"))).isEqualTo(Particao.LOGIN);
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("GET", "/api/usuarios/me"))).isEqualTo(Particao.LEITURA);
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("HEAD", "/api/quadros/1"))).isEqualTo(Particao.LEITURA);
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("PUT", "/api/cartoes/1/mover"))).isEqualTo(Particao.ESCRITA);
+        assertThat(FiltroDeSobrecarga.particaoDe(new MockHttpServletRequest("GET", "/actuator/prometheus"))).isNull();
+    }
+
+    /**
+     * Lotação máxima: ocupa todos os lugares, 10 saem com a latência dada (uma
+     * janela) e o resto sai sem amostra.
+     */
+    private static void rodarJanelaLotada(LimiteAdaptativo limite, long latenciaNanos) {
+        int dentro = 0;
+        while (limite.entrar()) {
+            dentro++;
+        }
+        for (int i = 0; i < dentro; i++) {
+            limite.sair(i < 10 ? latenciaNanos : -1);
+        }
+    }
+
+    private MockHttpServletResponse filtrar(String metodo, String caminho) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filtro.doFilter(new MockHttpServletRequest(metodo, caminho), response, new MockFilterChain());
+        return response;
+    }
+}
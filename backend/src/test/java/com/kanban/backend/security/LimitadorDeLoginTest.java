@@ -0,0 +1,67 @@
+package com.kanban.backend.security;
+
+import com.kanban.backend.service.SobrecargaException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class LimitadorDeLoginTest {
+
+    private final AtomicLong agora = new AtomicLong();
+
+    // 3 tentativas por email e 10 por IP, a cada 60 s (uma ficha de email a cada 20 s).
+    private LimitadorDeLogin limitador(long maximoDeChaves) {
+        return new LimitadorDeLogin(true, 3, 10, Duration.ofSeconds(60), maximoDeChaves,
+            new SimpleMeterRegistry(), agora::get);
+    }
+
+    @Test
+    void baldeVazioRecusaCom429ERetryAfterAteAProximaFicha() {
+        LimitadorDeLogin limitador = limitador(1_000);
+        for (int i = 0; i < 3; i++) {
+            limitador.verificar("ana@kanban.com", "10.0.0.1");
+        }
+
+        SobrecargaException recusa = catchThrowableOfType(SobrecargaException.class,
+            () -> limitador.verificar("ANA@kanban.com ", "10.0.0.2"));
+        assertThat(recusa.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(recusa.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("20");
+
+        // 20 s depois, volta UMA ficha.
+        agora.addAndGet(Duration.ofSeconds(20).toNanos());
+        limitador.verificar("ana@kanban.com", "10.0.0.1");
+        assertThatThrownBy(() -> limitador.verificar("ana@kanban.com", "10.0.0.1"))
+            .isInstanceOf(SobrecargaException.class);
+    }
+
+    @Test
+    void umIpTestandoMuitosEmailsTambemEBarrado() {
+        LimitadorDeLogin limitador = limitador(1_000);
+        for (int i = 0; i < 10; i++) {
+            limitador.verificar("vitima" + i + "@kanban.com", "10.6.6.6");
+        }
+
+        assertThatThrownBy(() -> limitador.verificar("outra@kanban.com", "10.6.6.6"))
+            .isInstanceOf(SobrecargaException.class);
+        limitador.verificar("outra@kanban.com", "10.0.0.1"); // Outro IP segue livre.
+    }
+
+    @Test
+    void memoriaLimitadaMesmoComMilhoesDeChaves() {
+        LimitadorDeLogin limitador = limitador(500);
+        for (int i = 0; i < 20_000; i++) {
+            limitador.verificar("email" + i + "@kanban.com", "10.0." + (i / 256 % 256) + "." + (i % 256));
+        }
+
+        assertThat(limitador.baldes()).isLessThanOrEqualTo(2 * 500);
+    }
+}
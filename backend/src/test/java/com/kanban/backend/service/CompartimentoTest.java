@@ -0,0 +1,169 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.security.UsuarioAutenticado;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class CompartimentoTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch liberar = new CountDownLatch(1);
+
+    @AfterEach
+    void limpar() {
+        liberar.countDown();
+        SecurityContextHolder.clearContext();
+    }
+
+    // 1 thread, 1 lugar na fila, 1 conexão; prazo de 300 ms; 3 falhas abrem o disjuntor por 200 ms.
+    private Compartimento compartimento(String nome) {
+        return new Compartimento(nome, 1, 1, 1, Duration.ofSeconds(1), Duration.ofMillis(300), 3,
+            Duration.ofMillis(200), Duration.ofSeconds(2), "Lotado: " + nome, meterRegistry);
+    }
+
+    @Test
+    void lotadoRecusaNaHoraSemAfetarOutroCompartimento() throws Exception {
+        Compartimento autenticacao = compartimento("autenticacao");
+        Compartimento quadros = compartimento("quadros");
+
+        autenticacao.executar(this::esperarLiberacao); // A thread
+        autenticacao.executar(this::esperarLiberacao); // A fila
+        SobrecargaException recusa = catchThrowableOfType(SobrecargaException.class,
+            () -> autenticacao.executar(() -> "nunca"));
+        assertThat(recusa.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(recusa.getReason()).isEqualTo("Lotado: autenticacao");
+        assertThat(recusa.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+
+        assertThat(quadros.executar(() -> "ok").get()).isEqualTo("ok");
+
+        assertThat(meterRegistry.get("kanban.compartimento.recusados")
+            .tag("compartimento", "autenticacao").tag("motivo", "lotado").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("kanban.compartimento.saturacao")
+            .tag("compartimento", "autenticacao").gauge().value()).isGreaterThanOrEqualTo(0.5);
+    }
+
+    @Test
+    void disjuntorAbreComErrosDoBancoEFechaDepoisDaChamadaDeTeste() throws Exception {
+        Compartimento quadros = compartimento("quadros");
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<Object> falha = quadros.executar(() -> {
+                throw new DataAccessResourceFailureException("banco fora do ar");
+            });
+            assertThatThrownBy(falha::get).hasCauseInstanceOf(DataAccessResourceFailureException.class);
+        }
+
+        // Aberto: recusa sem nem rodar.
+        AtomicBoolean rodou = new AtomicBoolean();
+        assertThatThrownBy(() -> quadros.executar(() -> rodou.getAndSet(true)))
+            .isInstanceOf(SobrecargaException.class);
+        assertThat(rodou).isFalse();
+        assertThat(meterRegistry.get("kanban.compartimento.disjuntor.aberto")
+            .tag("compartimento", "quadros").gauge().value()).isEqualTo(1.0);
+
+        // Passada a pausa, a chamada de teste dá certo e o disjuntor fecha.
+        Thread.sleep(250);
+        assertThat(quadros.executar(() -> "ok").get()).isEqualTo("ok");
+        assertThat(quadros.executar(() -> "de novo").get()).isEqualTo("de novo");
+    }
+
+    @Test
+    void errosDaRegraDeNegocioNaoAbremODisjuntor() throws Exception {
+        Compartimento quadros = compartimento("quadros");
+        for (int i = 0; i < 5; i++) {
+            CompletableFuture<Object> naoEncontrado = quadros.executar(() -> {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+            });
+            assertThatThrownBy(naoEncontrado::get).hasCauseInstanceOf(ResponseStatusException.class);
+        }
+        assertThat(quadros.executar(() -> "ok").get()).isEqualTo("ok");
+    }
+
+    @Test
+    void prazoVencidoRespondeCom503EATarefaNaFilaNemRoda() throws Exception {
+        Compartimento quadros = compartimento("quadros");
+        CompletableFuture<String> ocupada = quadros.executar(this::esperarLiberacao);
+        AtomicBoolean rodou = new AtomicBoolean();
+        CompletableFuture<Boolean> naFila = quadros.executar(() -> rodou.getAndSet(true));
+
+        ExecutionException erro = catchThrowableOfType(ExecutionException.class, naFila::get);
+        assertThat(erro.getCause()).isInstanceOf(SobrecargaException.class);
+        assertThatThrownBy(ocupada::get).hasCauseInstanceOf(SobrecargaException.class);
+
+        liberar.countDown();
+        assertThat(quadros.executar(() -> "depois").get()).isEqualTo("depois"); // A fila andou.
+        assertThat(rodou).isFalse();
+    }
+
+    @Test
+    void chamadaDeTesteQueVenceNaFilaNaoTravaODisjuntor() throws Exception {
+        // 1 thread, 2 lugares na fila; 1 falha abre o disjuntor por 50 ms.
+        Compartimento quadros = new Compartimento("quadros", 1, 2, 1, Duration.ofSeconds(1), Duration.ofMillis(300), 1,
+            Duration.ofMillis(50), Duration.ofSeconds(2), "Lotado: quadros", meterRegistry);
+        CountDownLatch falhar = new CountDownLatch(1);
+        CompletableFuture<Object> falha = quadros.executar(() -> {
+            esperar(falhar);
+            throw new DataAccessResourceFailureException("banco fora do ar");
+        });
+        quadros.executar(this::esperarLiberacao); // Na fila: ocupa a thread depois da falha.
+        falhar.countDown();
+        assertThatThrownBy(falha::get).hasCauseInstanceOf(DataAccessResourceFailureException.class);
+
+        // Passada a pausa, a chamada de teste entra na fila (a thread está ocupada) e o prazo vence.
+        Thread.sleep(100);
+        AtomicBoolean rodou = new AtomicBoolean();
+        CompletableFuture<Boolean> chamadaDeTeste = quadros.executar(() -> rodou.getAndSet(true));
+        ExecutionException erro = catchThrowableOfType(ExecutionException.class, chamadaDeTeste::get);
+        assertThat(erro.getCause()).isInstanceOf(SobrecargaException.class);
+
+        // Ela não rodou nem vai rodar: a próxima chamada testa no lugar dela.
+        CompletableFuture<String> proxima = quadros.executar(() -> "ok");
+        liberar.countDown();
+        assertThat(proxima.get()).isEqualTo("ok");
+        assertThat(quadros.executar(() -> "de novo").get()).isEqualTo("de novo");
+        assertThat(rodou).isFalse();
+    }
+
+    @Test
+    void oCrachaDaRequisicaoVaiJuntoParaAThreadDoCompartimento() throws Exception {
+        UsuarioAutenticado usuario = new UsuarioAutenticado(7L, "u7@kanban.com", "Usuário", List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(usuario, null, usuario.getAuthorities()));
+
+        Object principal = compartimento("quadros")
+            .executar(() -> SecurityContextHolder.getContext().getAuthentication().getPrincipal())
+            .get();
+        assertThat(principal).isSameAs(usuario);
+    }
+
+    private String esperarLiberacao() {
+        esperar(liberar);
+        return "liberado";
+    }
+
+    private static void esperar(CountDownLatch sinal) {
+        try {
+            sinal.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
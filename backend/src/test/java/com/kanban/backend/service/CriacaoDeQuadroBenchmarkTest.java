@@ -0,0 +1,54 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conta as idas ao banco (comandos JDBC enviados ao driver) de
+ * 'criarQuadroComColunasPadrao'. (A latência fica para o JMH.)
+ */
+@SpringBootTest
+@Import(ContadorDeComandosJdbc.class)
+class CriacaoDeQuadroBenchmarkTest {
+
+    // Antes da contagem: as sequências já com IDs reservados, como num servidor rodando.
+    private static final int AQUECIMENTO = 200;
+    private static final int QUADROS = 1_000;
+
+    @Autowired private QuadroService quadroService;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ContadorDeComandosJdbc contador;
+
+    @Test
+    void criarQuadroCustaPoucasIdasAoBanco() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("criacao-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        Long usuarioId = usuarioRepository.save(usuario).getId();
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            quadroService.criarQuadroComColunasPadrao("Aquecimento " + i, usuarioId);
+        }
+
+        contador.zerar();
+        for (int i = 0; i < QUADROS; i++) {
+            quadroService.criarQuadroComColunasPadrao("Quadro " + i, usuarioId);
+        }
+        double idasPorQuadro = (double) contador.idasAoBanco() / QUADROS;
+
+        // 1 lote de INSERT em 'quadros' + 1 lote de INSERT em 'colunas'
+        // (+ o acesso à sequência, amortizado pelo 'allocationSize').
+        assertThat(idasPorQuadro).isLessThan(2.2);
+    }
+}
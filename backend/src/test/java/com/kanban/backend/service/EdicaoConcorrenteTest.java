@@ -0,0 +1,183 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.QuadroRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Muitas threads alterando o MESMO quadro ao mesmo tempo: nenhuma alteração confirmada
+ * pode se perder, e ninguém trava linhas ao LER para isso (nada de SELECT ... FOR UPDATE).
+ * (A trava do UPDATE da revisão, do 'tocar' ao commit, continua: é a de todo UPDATE.)
+ * Com as tentativas padrão, uma escrita pode desistir (409): ela não pode deixar rastro.
+ * (Posições de até 64 caracteres: sem rebalanceamentos no meio da contagem das revisões.)
+ */
+@SpringBootTest(properties = "api.quadros.posicao.tamanho-maximo=64")
+@Import(ContadorDeComandosJdbc.class)
+class EdicaoConcorrenteTest {
+
+    private static final int THREADS = 8;
+    private static final int MOVIMENTOS = 20;
+
+    @Autowired private QuadroService quadroService;
+    @Autowired private RepetidorDeConflitos repetidor;
+    @Autowired private QuadroRepository quadroRepository;
+    @Autowired private CartaoRepository cartaoRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private ContadorDeComandosJdbc contador;
+
+    @Test
+    void movimentosConcorrentesNoMesmoQuadroNaoSePerdem() throws Exception {
+        Long usuarioId = criarUsuario();
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro disputado", usuarioId);
+        List<Long> colunas = quadro.getColunas().stream().map(coluna -> coluna.getId()).toList();
+        List<Long> cartoes = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            cartoes.add(quadroService.criarCartao(colunas.get(0), "Cartão " + t, null, usuarioId).getId());
+        }
+        long versaoInicial = quadroRepository.buscarRevisao(quadro.getId()).orElseThrow().getVersao();
+        double desistenciasAntes = desistenciasNaMetrica();
+        contador.zerar();
+
+        // Cada thread move o SEU cartão de coluna em coluna; mais uma reordena as colunas.
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicLong confirmadas = new AtomicLong();
+        AtomicLong desistencias = new AtomicLong();
+        List<Future<Long>> ultimosDestinos = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                Long cartaoId = cartoes.get(t);
+                int deslocamento = t;
+                ultimosDestinos.add(threads.submit(() -> {
+                    largada.await();
+                    Long ultimoDestino = colunas.get(0);
+                    for (int i = 0; i < MOVIMENTOS; i++) {
+                        Long destino = colunas.get((deslocamento + i + 1) % colunas.size());
+                        if (escrever(confirmadas, desistencias, () -> repetidor.repetir("mover-cartao",
+                                () -> quadroService.moverCartao(cartaoId, destino, null, null, usuarioId)))) {
+                            ultimoDestino = destino;
+                        }
+                    }
+                    return ultimoDestino;
+                }));
+            }
+            Future<?> colunasMovidas = threads.submit(() -> {
+                largada.await();
+                for (int i = 0; i < MOVIMENTOS; i++) {
+                    Long colunaId = colunas.get(i % colunas.size());
+                    escrever(confirmadas, desistencias, () -> repetidor.repetir("mover-coluna",
+                        () -> quadroService.moverColuna(colunaId, null, null, usuarioId)));
+                }
+                return null;
+            });
+
+            largada.countDown();
+            colunasMovidas.get();
+            for (int t = 0; t < THREADS; t++) {
+                Long ultimoDestino = ultimosDestinos.get(t).get();
+                Cartao cartao = cartaoRepository.buscarComQuadro(cartoes.get(t)).orElseThrow();
+                // O último movimento CONFIRMADO de cada thread é o que vale: nenhum foi
+                // "desfeito" por outro, e nenhum desistente deixou rastro.
+                assertThat(cartao.getColuna().getId()).as("coluna do cartão %d", t).isEqualTo(ultimoDestino);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        // Cada movimento confirmado subiu a revisão do quadro exatamente uma vez.
+        assertThat(confirmadas.get() + desistencias.get()).isEqualTo((long) (THREADS + 1) * MOVIMENTOS);
+        assertThat(confirmadas.get()).isGreaterThan(desistencias.get());
+        long versaoFinal = quadroRepository.buscarRevisao(quadro.getId()).orElseThrow().getVersao();
+        assertThat(versaoFinal - versaoInicial).as("revisões do quadro").isEqualTo(confirmadas.get());
+        assertThat(quadroService.buscarQuadroCompleto(quadro.getId()).orElseThrow().colunas())
+            .flatMap(coluna -> coluna.cartoes())
+            .hasSize(THREADS);
+
+        // Os conflitos foram resolvidos repetindo (ou com 409), sem leituras com trava (pessimistas).
+        assertThat(meterRegistry.get("kanban.escrita.conflitos").tag("resultado", "repetido").counters()).isNotEmpty();
+        assertThat((long) (desistenciasNaMetrica() - desistenciasAntes)).as("desistências").isEqualTo(desistencias.get());
+        assertThat(contador.comandos())
+            .noneMatch(sql -> sql.toLowerCase(Locale.ROOT).contains("for update"));
+    }
+
+    @Test
+    void esgotadasAsTentativasOConflitoSobeComOQuadro() {
+        SimpleMeterRegistry registro = new SimpleMeterRegistry();
+        RepetidorDeConflitos tresVezes = new RepetidorDeConflitos(3, Duration.ofMillis(1), Duration.ofMillis(2), registro);
+        AtomicInteger chamadas = new AtomicInteger();
+
+        assertThatThrownBy(() -> tresVezes.repetir("mover-cartao", () -> {
+            chamadas.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Quadro.class, 42L);
+        }))
+            .isInstanceOfSatisfying(ObjectOptimisticLockingFailureException.class,
+                conflito -> assertThat(conflito.getIdentifier()).isEqualTo(42L));
+        assertThat(chamadas).hasValue(3);
+        assertThat(registro.get("kanban.escrita.conflitos").tag("operacao", "mover-cartao").tag("resultado", "repetido").counter().count()).isEqualTo(2);
+        assertThat(registro.get("kanban.escrita.conflitos").tag("operacao", "mover-cartao").tag("resultado", "desistiu").counter().count()).isEqualTo(1);
+
+        // Outros erros (ex: 404) não são repetidos.
+        chamadas.set(0);
+        assertThatThrownBy(() -> tresVezes.repetir("mover-cartao", () -> {
+            chamadas.incrementAndGet();
+            throw new IllegalStateException("não é conflito");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(chamadas).hasValue(1);
+    }
+
+    private double desistenciasNaMetrica() {
+        return meterRegistry.find("kanban.escrita.conflitos").tag("resultado", "desistiu").counters()
+            .stream().mapToDouble(Counter::count).sum();
+    }
+
+    /**
+     * Uma escrita que o controller faria: confirmada, ou 409 depois das tentativas.
+     */
+    private static boolean escrever(AtomicLong confirmadas, AtomicLong desistencias, Runnable escrita) {
+        try {
+            escrita.run();
+            confirmadas.incrementAndGet();
+            return true;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            desistencias.incrementAndGet();
+            return false;
+        }
+    }
+
+    private Long criarUsuario() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Concorrência");
+        usuario.setEmail("concorrencia-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        return usuarioRepository.save(usuario).getId();
+    }
+}
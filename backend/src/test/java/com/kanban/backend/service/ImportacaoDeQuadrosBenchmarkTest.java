@@ -0,0 +1,64 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.dto.RelatorioImportacaoDTO;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * As idas ao banco da importação em massa ('ImportadorDeQuadros'): 10 mil colunas
+ * (2 mil quadros com 5 colunas cada), em NDJSON, em lotes de 500 quadros.
+ * (A vazão fica com o 'ImportacaoDeQuadrosBenchmark', no JMH.)
+ */
+@SpringBootTest(properties = "api.quadros.importacao.lote=500")
+@Import(ContadorDeComandosJdbc.class)
+class ImportacaoDeQuadrosBenchmarkTest {
+
+    private static final int QUADROS = 2_000;
+    private static final int COLUNAS_POR_QUADRO = 5;
+
+    @Autowired private ImportadorDeQuadros importadorDeQuadros;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private ContadorDeComandosJdbc contador;
+
+    @Test
+    void importaDezMilColunasEmLotes() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("importacao-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        Long usuarioId = usuarioRepository.save(usuario).getId();
+
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < QUADROS; i++) {
+            ndjson.append("{\"nome\":\"Quadro ").append(i)
+                .append("\",\"colunas\":[\"Backlog\",\"A Fazer\",\"Fazendo\",\"Revisão\",\"Feito\"]}\n");
+        }
+        byte[] arquivo = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        contador.zerar();
+        RelatorioImportacaoDTO relatorio = importadorDeQuadros.importarJson(usuarioId, new ByteArrayInputStream(arquivo), 1);
+
+        assertThat(relatorio.getRetomarDaLinha()).isNull();
+        assertThat(relatorio.getTotalDeErros()).isZero();
+        assertThat(relatorio.getLinhasLidas()).isEqualTo(QUADROS);
+        assertThat(relatorio.getQuadrosImportados()).isEqualTo(QUADROS);
+        assertThat(relatorio.getColunasImportadas()).isEqualTo((long) QUADROS * COLUNAS_POR_QUADRO);
+        assertThat(relatorio.getLotesGravados()).isEqualTo(QUADROS / 500);
+
+        // Lotes de INSERT de 50 + sequências com reserva de 50: ~25 linhas por ida ao banco.
+        long linhasGravadas = relatorio.getQuadrosImportados() + relatorio.getColunasImportadas();
+        assertThat((double) linhasGravadas / contador.idasAoBanco()).isGreaterThan(20);
+    }
+}
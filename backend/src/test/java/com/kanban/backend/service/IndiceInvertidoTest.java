@@ -0,0 +1,101 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.dto.ItemDeBuscaDTO;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IndiceInvertidoTest {
+
+    @Test
+    void acentosMaiusculasEPrefixoNaoImportam() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.adicionar(List.of(
+            coluna(1, "A Fazer"), coluna(2, "Fazendo"), coluna(3, "Feito"), coluna(4, "Lançado")));
+
+        assertThat(nomes(indice.buscar("feíto", 10))).containsExactly("Feito");
+        assertThat(nomes(indice.buscar("FAZ", 10))).containsExactly("A Fazer", "Fazendo");
+        assertThat(nomes(indice.buscar("lanc", 10))).containsExactly("Lançado");
+        assertThat(indice.buscar("  ", 10)).isEmpty();
+        assertThat(indice.buscar("nada", 10)).isEmpty();
+    }
+
+    @Test
+    void todasAsPalavrasPrecisamAparecerEAsInteirasVemPrimeiro() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.adicionar(List.of(
+            coluna(1, "Sprint 3 - Feitos"),
+            coluna(2, "Sprint 3 - Feito"),
+            quadro(3, "Sprint 3 - Feito e revisado"),
+            coluna(4, "Sprint 4 - Feito")));
+
+        // Todas têm "sprint" e "feit...", só as três primeiras têm "3".
+        assertThat(nomes(indice.buscar("feit sprint 3", 10)))
+            .containsExactly("Sprint 3 - Feito e revisado", "Sprint 3 - Feito", "Sprint 3 - Feitos");
+        // "feito" inteiro vem antes de "feitos"; quadros antes de colunas; nomes curtos antes.
+        assertThat(nomes(indice.buscar("feito", 10)))
+            .containsExactly("Sprint 3 - Feito e revisado", "Sprint 3 - Feito", "Sprint 4 - Feito", "Sprint 3 - Feitos");
+        assertThat(nomes(indice.buscar("feito", 2)))
+            .containsExactly("Sprint 3 - Feito e revisado", "Sprint 3 - Feito");
+    }
+
+    @Test
+    void indexarDeNovoNaoDuplica() {
+        IndiceInvertido indice = new IndiceInvertido();
+        indice.adicionar(List.of(quadro(1, "Produto")));
+        indice.adicionar(List.of(quadro(1, "Produto"), coluna(1, "Produto")));
+
+        assertThat(indice.tamanho()).isEqualTo(2);
+        assertThat(indice.buscar("prod", 10)).extracting(ItemDeBuscaDTO::getTipo)
+            .containsExactly(ItemDeBuscaDTO.QUADRO, ItemDeBuscaDTO.COLUNA);
+    }
+
+    @Test
+    void buscaEmCinquentaMilItensSoOlhaAsFichasDaPalavraMaisRara() {
+        // 10 mil quadros x (o quadro + 4 colunas): o tamanho de um workspace enorme.
+        IndiceInvertido indice = new IndiceInvertido();
+        List<ItemDeBuscaDTO> itens = new ArrayList<>();
+        String[] colunas = {"A Fazer", "Fazendo", "Feito", "Em revisão"};
+        for (long id = 1; id <= 10_000; id++) {
+            itens.add(quadro(id, "Projeto " + id + " do time " + (id % 37)));
+            for (int c = 0; c < colunas.length; c++) {
+                itens.add(coluna(id * 10 + c, colunas[c]));
+            }
+        }
+        indice.adicionar(itens);
+        assertThat(indice.tamanho()).isEqualTo(50_000);
+
+        // "42" guia (42, 420-429, 4200-4299: 111 quadros), e não "projeto" (10 mil).
+        assertThat(indice.candidatos("projeto 42")).isEqualTo(111);
+        List<ItemDeBuscaDTO> projeto42 = indice.buscar("projeto 42", 200);
+        assertThat(projeto42).hasSize(111);
+        assertThat(projeto42.get(0).getNome()).isEqualTo("Projeto 42 do time 5");
+
+        // "time" (10 mil quadros) guia, e não "faz" (20 mil colunas); nenhuma ficha tem as duas.
+        assertThat(indice.candidatos("faz time")).isEqualTo(10_000);
+        assertThat(indice.buscar("faz time", 20)).isEmpty();
+
+        // Uma palavra que não está no índice: nada é olhado.
+        assertThat(indice.candidatos("projeto zzz")).isZero();
+        assertThat(indice.buscar("projeto zzz", 20)).isEmpty();
+
+        // Com o limite, só as melhores voltam: as "Em revisão", que têm "revisao" por inteiro.
+        assertThat(nomes(indice.buscar("revisao", 20))).hasSize(20).containsOnly("Em revisão");
+    }
+
+    private static ItemDeBuscaDTO quadro(long id, String nome) {
+        return new ItemDeBuscaDTO(ItemDeBuscaDTO.QUADRO, id, id, nome, 1L);
+    }
+
+    private static ItemDeBuscaDTO coluna(long id, String nome) {
+        return new ItemDeBuscaDTO(ItemDeBuscaDTO.COLUNA, id, 1L, nome, 1L);
+    }
+
+    private static List<String> nomes(List<ItemDeBuscaDTO> itens) {
+        return itens.stream().map(ItemDeBuscaDTO::getNome).toList();
+    }
+}
@@ -0,0 +1,139 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.model.Cartao;
+import com.kanban.backend.model.Coluna;
+import com.kanban.backend.model.Quadro;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.repository.CartaoRepository;
+import com.kanban.backend.repository.ColunaRepository;
+import com.kanban.backend.repository.UsuarioRepository;
+import com.kanban.backend.support.ContadorDeComandosJdbc;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conta o que muda ao mover cartões numa coluna com 10 mil cartões: cada movimento
+ * deve alterar UMA linha de 'cartoes' (mais a revisão do quadro), nunca os irmãos.
+ */
+@SpringBootTest
+@Import(ContadorDeComandosJdbc.class)
+class MoverCartaoBenchmarkTest {
+
+    private static final int CARTOES = 10_000;
+    private static final int AQUECIMENTO = 100;
+    private static final int MOVIMENTOS = 1_000;
+
+    @Autowired private QuadroService quadroService;
+    @Autowired private RebalanceadorDePosicoes rebalanceador;
+    @Autowired private RepetidorDeConflitos repetidor;
+    @Autowired private CartaoRepository cartaoRepository;
+    @Autowired private ColunaRepository colunaRepository;
+    @Autowired private UsuarioRepository usuarioRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private ContadorDeComandosJdbc contador;
+
+    private Long usuarioId;
+    private Long colunaId;
+    private List<Long> ordem; // A ordem esperada dos cartões (espelho em memória).
+
+    @BeforeEach
+    void criarColunaCom10MilCartoes() {
+        Usuario usuario = new Usuario();
+        usuario.setNome("Benchmark");
+        usuario.setEmail("mover-" + UUID.randomUUID() + "@kanban.com");
+        usuario.setSenha("x");
+        usuarioId = usuarioRepository.save(usuario).getId();
+
+        Quadro quadro = quadroService.criarQuadroComColunasPadrao("Quadro grande", usuarioId);
+        colunaId = quadro.getColunas().get(0).getId();
+
+        ordem = new TransactionTemplate(transactionManager).execute(status -> {
+            Coluna coluna = colunaRepository.getReferenceById(colunaId);
+            List<String> posicoes = RankFracionario.distribuidas(CARTOES);
+            List<Cartao> cartoes = new ArrayList<>(CARTOES);
+            for (int i = 0; i < CARTOES; i++) {
+                cartoes.add(new Cartao(null, "Cartão " + i, null, posicoes.get(i), null, coluna));
+            }
+            return cartaoRepository.saveAll(cartoes).stream().map(Cartao::getId).toList();
+        });
+        ordem = new ArrayList<>(ordem);
+    }
+
+    @Test
+    void moverCartaoAlteraUmaUnicaLinha() {
+        Random aleatorio = new Random(7);
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            moverAleatoriamente(aleatorio);
+        }
+
+        Statistics estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+        contador.zerar();
+
+        for (int i = 0; i < MOVIMENTOS; i++) {
+            moverAleatoriamente(aleatorio);
+        }
+
+        long cartoesAlterados = estatisticas.getEntityStatistics(Cartao.class.getName()).getUpdateCount();
+
+        // Só o cartão movido (os outros 9.999 não são renumerados) + a revisão do quadro.
+        assertThat(cartoesAlterados).isEqualTo(MOVIMENTOS);
+        assertThat(estatisticas.getEntityUpdateCount()).isEqualTo(2L * MOVIMENTOS);
+        // ~6 idas ao banco por movimento (leituras, os dois UPDATEs, o diário de alterações):
+        // nada que cresça com o tamanho da coluna.
+        assertThat(contador.idasAoBanco()).isLessThan(7L * MOVIMENTOS);
+
+        // E a ordem no banco é exatamente a esperada.
+        List<Long> noBanco = cartaoRepository.findByColunaIdOrderByPosicaoAscIdAsc(colunaId).stream().map(Cartao::getId).toList();
+        assertThat(noBanco).isEqualTo(ordem);
+    }
+
+    @Test
+    void posicoesCompridasSaoRebalanceadasEmSegundoPlano() throws InterruptedException {
+        // Sempre no mesmo "vão" (logo depois do primeiro): a posição cresce a cada movimento.
+        for (int i = 0; i < 200; i++) {
+            Long cartao = ordem.remove(ordem.size() - 1);
+            Long anterior = ordem.get(0);
+            Long proximo = ordem.get(1);
+            // O rebalanceamento pode "tocar" o quadro ao mesmo tempo: o mesmo repetidor do Controller.
+            repetidor.repetir("mover-cartao", () -> quadroService.moverCartao(cartao, null, anterior, proximo, usuarioId));
+            ordem.add(1, cartao);
+        }
+
+        long limite = System.currentTimeMillis() + 30_000;
+        while (rebalanceador.pendentes() > 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(50);
+        }
+
+        List<Cartao> cartoes = cartaoRepository.findByColunaIdOrderByPosicaoAscIdAsc(colunaId);
+        assertThat(cartoes).allSatisfy(cartao -> assertThat(cartao.getPosicao().length()).isLessThanOrEqualTo(24));
+        assertThat(cartoes.stream().map(Cartao::getId).toList()).isEqualTo(ordem);
+    }
+
+    private void moverAleatoriamente(Random aleatorio) {
+        Long cartao = ordem.remove(aleatorio.nextInt(ordem.size()));
+        int lugar = aleatorio.nextInt(ordem.size() + 1);
+        Long anterior = lugar == 0 ? null : ordem.get(lugar - 1);
+        Long proximo = lugar == ordem.size() ? null : ordem.get(lugar);
+
+        quadroService.moverCartao(cartao, null, anterior, proximo, usuarioId);
+        ordem.add(lugar, cartao);
+    }
+}
@@ -0,0 +1,58 @@
+package com.kanban.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RankFracionarioTest {
+
+    @Test
+    void sempreCabeUmaPosicaoEntreDuasVizinhas() {
+        Random aleatorio = new Random(42);
+        List<String> posicoes = new ArrayList<>(RankFracionario.distribuidas(3));
+
+        for (int i = 0; i < 5_000; i++) {
+            int lugar = aleatorio.nextInt(posicoes.size() + 1);
+            String antes = lugar == 0 ? null : posicoes.get(lugar - 1);
+            String depois = lugar == posicoes.size() ? null : posicoes.get(lugar);
+
+            String nova = RankFracionario.entre(antes, depois);
+
+            if (antes != null) assertThat(nova).isGreaterThan(antes);
+            if (depois != null) assertThat(nova).isLessThan(depois);
+            assertThat(nova).doesNotEndWith("0").matches("[0-9a-z]+");
+            posicoes.add(lugar, nova);
+        }
+    }
+
+    @Test
+    void inserirSempreNoMesmoLugarCresceDevagar() {
+        String primeira = RankFracionario.entre(null, null);
+        String depois = RankFracionario.entre(primeira, null);
+        for (int i = 0; i < 100; i++) {
+            depois = RankFracionario.entre(primeira, depois);
+        }
+        // ~1 caractere a cada 5 inserções.
+        assertThat(depois.length()).isBetween(15, 25);
+    }
+
+    @Test
+    void distribuidasSaoCurtasCrescentesEUnicas() {
+        List<String> posicoes = RankFracionario.distribuidas(10_000);
+
+        assertThat(posicoes).hasSize(10_000).isSorted().doesNotHaveDuplicates();
+        assertThat(posicoes).allSatisfy(posicao -> assertThat(posicao.length()).isLessThanOrEqualTo(4));
+        assertThat(posicoes).noneMatch(posicao -> posicao.endsWith("0"));
+    }
+
+    @Test
+    void vizinhasForaDeOrdemSaoRecusadas() {
+        assertThatThrownBy(() -> RankFracionario.entre("b", "a")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RankFracionario.entre("a", "a")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
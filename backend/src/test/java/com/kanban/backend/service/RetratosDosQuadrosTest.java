@@ -0,0 +1,115 @@
+package com.kanban.backend.service;
+
+import com.kanban.backend.events.QuadroAlteradoEvent;
+import com.kanban.backend.service.RetratosDosQuadros.Retrato;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RetratosDosQuadrosTest {
+
+    private final List<Runnable> reconstrucoes = new ArrayList<>();
+
+    @Test
+    void memoriaLimitadaPelosBytesDosRetratos() {
+        RetratosDosQuadros retratos = criar(id -> retrato(id, 1L, 40), 100);
+
+        for (long id = 1; id <= 10; id++) {
+            assertThat(retratos.buscar(id)).isPresent();
+        }
+
+        assertThat(retratos.bytesEmUso()).isLessThanOrEqualTo(100);
+        assertThat(retratos.tamanho()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void leiturasSimultaneasEsperamOMesmoRetratoEQuadroInexistenteNaoFicaGuardado() throws Exception {
+        CountDownLatch montando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger montagens = new AtomicInteger();
+        RetratosDosQuadros retratos = criar(id -> {
+            montagens.incrementAndGet();
+            if (id == 404L) {
+                return null;
+            }
+            montando.countDown();
+            aguardar(liberar);
+            return retrato(id, 1L, 10);
+        }, 1_000);
+
+        CompletableFuture<Retrato> primeira = CompletableFuture.supplyAsync(() -> retratos.buscar(1L).orElseThrow());
+        assertThat(montando.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Retrato> segunda = CompletableFuture.supplyAsync(() -> retratos.buscar(1L).orElseThrow());
+        liberar.countDown();
+
+        assertThat(segunda.get(5, TimeUnit.SECONDS)).isSameAs(primeira.get(5, TimeUnit.SECONDS));
+        assertThat(retratos.buscar(404L)).isEmpty();
+        assertThat(retratos.buscar(404L)).isEmpty();
+        assertThat(montagens).hasValue(3); // 1 para o quadro 1 + 2 para o inexistente
+    }
+
+    @Test
+    void retratoMontadoDuranteUmaAlteracaoEhDescartadoERefeito() throws Exception {
+        CountDownLatch montando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicLong versaoNoBanco = new AtomicLong(1);
+        RetratosDosQuadros retratos = criar(id -> {
+            long versao = versaoNoBanco.get();
+            montando.countDown();
+            aguardar(liberar);
+            return retrato(id, versao, 10);
+        }, 1_000);
+
+        // Uma leitura começa a montar a versão 1...
+        CompletableFuture<Retrato> leitura = CompletableFuture.supplyAsync(() -> retratos.buscar(7L).orElseThrow());
+        assertThat(montando.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // ...e o quadro muda (commit da versão 2) antes de ela terminar.
+        versaoNoBanco.set(2);
+        retratos.aoAlterarQuadro(QuadroAlteradoEvent.de(7L, QuadroAlteradoEvent.Tipo.CARTAO_MOVIDO, 1L));
+        liberar.countDown();
+
+        assertThat(leitura.get(5, TimeUnit.SECONDS).versao()).isEqualTo(1);
+        assertThat(retratos.prontoNaVitrine(7L)).isNull(); // A versão 1 não entrou na vitrine.
+
+        assertThat(reconstrucoes).hasSize(1);
+        reconstrucoes.get(0).run();
+        assertThat(retratos.prontoNaVitrine(7L).versao()).isEqualTo(2);
+    }
+
+    @Test
+    void alteracaoDeQuadroForaDaVitrineNaoReconstroiNada() {
+        RetratosDosQuadros retratos = criar(id -> retrato(id, 1L, 10), 1_000);
+
+        retratos.aoAlterarQuadro(QuadroAlteradoEvent.de(3L, QuadroAlteradoEvent.Tipo.CARTAO_CRIADO, 1L));
+
+        assertThat(reconstrucoes).isEmpty();
+    }
+
+    private RetratosDosQuadros criar(Function<Long, Retrato> montador, long bytesMaximos) {
+        return new RetratosDosQuadros(montador, reconstrucoes::add, true, bytesMaximos, new SimpleMeterRegistry());
+    }
+
+    private static Retrato retrato(Long id, Long versao, int bytes) {
+        return new Retrato(id, 1L, versao, new byte[bytes]);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
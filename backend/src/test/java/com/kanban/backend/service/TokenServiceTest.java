@@ -0,0 +1,147 @@
+package com.kanban.backend.service;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.kanban.backend.model.Usuario;
+import com.kanban.backend.security.UsuarioAutenticado;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "segredo-de-teste";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenService tokenService(Duration ttlMaximo) {
+        return new TokenService(SECRET, true, 10_000, ttlMaximo, meterRegistry);
+    }
+
+    @Test
+    void segundaVerificacaoDoMesmoTokenVemDoCache() {
+        TokenService tokenService = tokenService(Duration.ofMinutes(10));
+        String token = tokenService.gerarToken(usuario());
+
+        UsuarioAutenticado primeiro = tokenService.extrairUsuario(token).orElseThrow();
+        UsuarioAutenticado segundo = tokenService.extrairUsuario(token).orElseThrow();
+
+        assertThat(segundo).isEqualTo(primeiro);
+        assertThat(segundo.id()).isEqualTo(7L);
+        assertThat(tokenService.validarToken(token)).isEqualTo("cache@kanban.com");
+        assertThat(tokenService.estatisticasCache().missCount()).isEqualTo(1);
+        assertThat(tokenService.estatisticasCache().hitCount()).isEqualTo(2);
+        assertThat(verificacoes("valido")).isEqualTo(1);
+        assertThat(verificacoes("cache")).isEqualTo(2);
+    }
+
+    @Test
+    void anotacaoExpiraJuntoComOExpDoToken() throws Exception {
+        TokenService tokenService = tokenService(Duration.ofMinutes(10));
+        // 'exp' tem precisão de segundos.
+        Instant exp = Instant.now().truncatedTo(ChronoUnit.SECONDS).plusSeconds(2);
+        String token = token(Algorithm.HMAC256(SECRET), exp);
+
+        assertThat(tokenService.validarToken(token)).isEqualTo("cache@kanban.com");
+        assertThat(tokenService.validarToken(token)).isEqualTo("cache@kanban.com");
+        assertThat(tokenService.estatisticasCache().hitCount()).isEqualTo(1);
+
+        Thread.sleep(Duration.between(Instant.now(), exp).toMillis() + 200);
+
+        // Vencido: a anotação sumiu junto (não responde mais "válido" do cache).
+        assertThat(tokenService.validarToken(token)).isEmpty();
+        assertThat(tokenService.estatisticasCache().hitCount()).isEqualTo(1);
+        assertThat(tokenService.estatisticasCache().missCount()).isEqualTo(2);
+        assertThat(verificacoes("invalido")).isEqualTo(1);
+    }
+
+    @Test
+    void ttlMaximoMenorQueOExpVenceAntes() throws Exception {
+        TokenService tokenService = tokenService(Duration.ofMillis(100));
+        String token = tokenService.gerarToken(usuario());
+
+        assertThat(tokenService.validarToken(token)).isEqualTo("cache@kanban.com");
+        Thread.sleep(200);
+
+        // Ainda válido, mas conferido de novo com a "Lupa".
+        assertThat(tokenService.validarToken(token)).isEqualTo("cache@kanban.com");
+        assertThat(tokenService.estatisticasCache().hitCount()).isZero();
+        assertThat(verificacoes("valido")).isEqualTo(2);
+    }
+
+    @Test
+    void tokensInvalidosNuncaSaoAnotados() {
+        TokenService tokenService = tokenService(Duration.ofMinutes(10));
+        String bom = tokenService.gerarToken(usuario());
+        String[] partes = bom.split("\\.");
+        List<String> invalidos = List.of(
+            token(Algorithm.HMAC256("outro-segredo"), Instant.now().plusSeconds(60)), // Assinatura falsa
+            token(Algorithm.HMAC256(SECRET), Instant.now().minusSeconds(60)),         // Já vencido
+            partes[0] + "." + partes[1] + "x." + partes[2],                           // Adulterado
+            "lixo"
+        );
+
+        for (int vez = 0; vez < 2; vez++) {
+            for (String invalido : invalidos) {
+                assertThat(tokenService.validarToken(invalido)).isEmpty();
+                assertThat(tokenService.extrairUsuario(invalido)).isEmpty();
+            }
+        }
+
+        assertThat(tokenService.estatisticasCache().hitCount()).isZero();
+        assertThat(tokenService.estatisticasCache().missCount()).isEqualTo(16);
+        assertThat(verificacoes("invalido")).isEqualTo(16);
+    }
+
+    @Test
+    void tokenAntigoEValidoMasSemCracha() {
+        TokenService tokenService = tokenService(Duration.ofMinutes(10));
+        String antigo = JWT.create()
+            .withIssuer("kanban-api")
+            .withSubject("cache@kanban.com")
+            .withExpiresAt(Instant.now().plusSeconds(60))
+            .sign(Algorithm.HMAC256(SECRET));
+        String invalido = token(Algorithm.HMAC256("outro-segredo"), Instant.now().plusSeconds(60));
+
+        TokenService.TokenVerificado verificado = tokenService.verificarToken(antigo).orElseThrow();
+
+        // Válido (o filtro busca o crachá no banco, pelo email)...
+        assertThat(verificado.antigo()).isTrue();
+        assertThat(verificado.email()).isEqualTo("cache@kanban.com");
+        assertThat(tokenService.extrairUsuario(antigo)).isEmpty();
+        // ...e o inválido é só inválido (o filtro o recusa sem conferir de novo).
+        assertThat(tokenService.verificarToken(invalido)).isEmpty();
+        assertThat(verificacoes("valido")).isEqualTo(1);
+        assertThat(verificacoes("invalido")).isEqualTo(1);
+    }
+
+    private long verificacoes(String resultado) {
+        return meterRegistry.get("kanban.token.verificacao").tag("resultado", resultado).timer().count();
+    }
+
+    private static String token(Algorithm algoritmo, Instant exp) {
+        return JWT.create()
+            .withIssuer("kanban-api")
+            .withSubject("cache@kanban.com")
+            .withClaim(TokenService.CLAIM_ID, 7L)
+            .withClaim(TokenService.CLAIM_NOME, "Cache")
+            .withClaim(TokenService.CLAIM_PERMISSOES, List.of("ROLE_USER"))
+            .withExpiresAt(exp)
+            .sign(algoritmo);
+    }
+
+    private static Usuario usuario() {
+        Usuario usuario = new Usuario();
+        usuario.setId(7L);
+        usuario.setNome("Cache");
+        usuario.setEmail("cache@kanban.com");
+        return usuario;
+    }
+}
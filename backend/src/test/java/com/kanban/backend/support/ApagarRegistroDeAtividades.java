@@ -0,0 +1,42 @@
+package com.kanban.backend.support;
+
+import com.kanban.backend.events.RegistroDeAtividades;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+/**
+ * Cada contexto de teste grava o registro de atividades num diretório temporário SEU
+ * ('api.atividade.diretorio' em config/application.properties). Quando o contexto
+ * fecha, o registro é encerrado e o diretório apagado, para não sobrar lixo no disco.
+ * (Registrado em META-INF/spring.factories, vale para todos os @SpringBootTest.)
+ */
+public class ApagarRegistroDeAtividades implements ApplicationListener<ContextClosedEvent> {
+
+    private static final Path TEMPORARIOS = Path.of(System.getProperty("java.io.tmpdir")).toAbsolutePath();
+
+    @Override
+    public void onApplicationEvent(ContextClosedEvent evento) {
+        RegistroDeAtividades registro = evento.getApplicationContext()
+            .getBeanProvider(RegistroDeAtividades.class).getIfAvailable();
+        if (registro == null) {
+            return;
+        }
+        Path diretorio = registro.diretorio().toAbsolutePath();
+        if (!diretorio.startsWith(TEMPORARIOS)) {
+            return; // Só o que é temporário.
+        }
+
+        registro.encerrar(); // Antes de apagar (o @PreDestroy, depois, não faz mais nada).
+        try {
+            FileSystemUtils.deleteRecursively(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.kanban.backend.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conta as "idas ao banco" de verdade: cada execute/executeQuery/executeUpdate/executeBatch
+ * enviado ao driver JDBC. Um lote (batch) de 3 INSERTs conta como UMA ida.
+ * E guarda o texto (sem repetições) de cada comando preparado, para conferir o SQL gerado.
+ *
+ * Uso: @Import(ContadorDeComandosJdbc.class) e injete o próprio contador.
+ */
+@TestConfiguration
+public class ContadorDeComandosJdbc {
+
+    private static final Set<String> EXECUCOES = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"
+    );
+
+    private final AtomicLong idasAoBanco = new AtomicLong();
+    private final Set<String> comandos = ConcurrentHashMap.newKeySet();
+
+    public long idasAoBanco() {
+        return idasAoBanco.get();
+    }
+
+    public Set<String> comandos() {
+        return Set.copyOf(comandos);
+    }
+
+    public void zerar() {
+        idasAoBanco.set(0);
+        comandos.clear();
+    }
+
+    @Bean
+    static BeanPostProcessor contadorDeComandosJdbcPostProcessor(ContadorDeComandosJdbc contador) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String nome) {
+                return bean instanceof DataSource dataSource ? contador.envolver(dataSource) : bean;
+            }
+        };
+    }
+
+    private DataSource envolver(DataSource original) {
+        return new DelegatingDataSource(original) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return envolver(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(String usuario, String senha) throws SQLException {
+                return envolver(super.getConnection(usuario, senha));
+            }
+        };
+    }
+
+    private Connection envolver(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, metodo, args) -> {
+                if (metodo.getName().startsWith("prepare") && args != null && args[0] instanceof String sql) {
+                    comandos.add(sql);
+                }
+                Object resultado = invocar(conexao, metodo, args);
+                return resultado instanceof Statement statement ? envolver(statement) : resultado;
+            });
+    }
+
+    private Object envolver(Statement statement) {
+        Class<?> tipo = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class
+            : Statement.class;
+        return Proxy.newProxyInstance(
+            getClass().getClassLoader(),
+            new Class<?>[] {tipo},
+            (proxy, metodo, args) -> {
+                if (EXECUCOES.contains(metodo.getName())) {
+                    idasAoBanco.incrementAndGet();
+                }
+                return invocar(statement, metodo, args);
+            });
+    }
+
+    private static Object invocar(Object alvo, java.lang.reflect.Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
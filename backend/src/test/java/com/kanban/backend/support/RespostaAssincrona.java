@@ -0,0 +1,47 @@
+package com.kanban.backend.support;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.ResultHandler;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+/**
+ * Os endpoints que rodam num compartimento ('CompartimentoDeQuadros') respondem de
+ * forma assíncrona, e o MockMvc não espera sozinho pela resposta. Este ajudante faz a
+ * requisição e, se ela virou assíncrona, espera e devolve a resposta de verdade.
+ * (As recusas na porta, ex: 401, continuam síncronas.)
+ */
+public final class RespostaAssincrona {
+
+    private RespostaAssincrona() {
+    }
+
+    public static ResultActions executar(MockMvc mockMvc, RequestBuilder requisicao) throws Exception {
+        MvcResult resultado = mockMvc.perform(requisicao).andReturn();
+        if (resultado.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(resultado));
+        }
+        return new ResultActions() {
+            @Override
+            public ResultActions andExpect(ResultMatcher matcher) throws Exception {
+                matcher.match(resultado);
+                return this;
+            }
+
+            @Override
+            public ResultActions andDo(ResultHandler handler) throws Exception {
+                handler.handle(resultado);
+                return this;
+            }
+
+            @Override
+            public MvcResult andReturn() {
+                return resultado;
+            }
+        };
+    }
+}
@@ -19,6 +19,7 @@ function Dashboard() {
     const [quadros, setQuadros] = useState([]);         // Armazena a lista de quadros vindos da API
     const [mensagem, setMensagem] = useState('Carregando quadros...'); // Mensagem de feedback
     const [novoQuadroNome, setNovoQuadroNome] = useState(''); // Armazena o texto digitado para novo quadro
+    const [proximoCursor, setProximoCursor] = useState(null); // Onde começa a próxima página (null = não há mais)
     
     
     /**
@@ -28,17 +29,30 @@ function Dashboard() {
      * Busca a lista de quadros do usuário na API protegida.
      * Deixamos a função FORA do useEffect para que a possamos chamar novamente
      * *após a criação* de um novo quadro.
+     *
+     * A API é paginada: cada resposta traz { itens: [...], proximoCursor }.
+     * Sem 'cursor', busca a primeira página (e substitui a lista);
+     * com 'cursor', busca a página seguinte (e a adiciona ao final da lista).
+     * Com o formato legado ligado no backend ('api.quadros.listagem.formato-legado'),
+     * a resposta é a lista inteira (um array): vira uma página única, sem cursor.
      */
-    const fetchQuadros = async () => {
+    const fetchQuadros = async (cursor = null) => {
         try {
             // 1. CHAMA A API PROTEGIDA (O 'apiClient' anexa o token automaticamente)
-            const response = await apiClient.get('/api/quadros');
+            const response = await apiClient.get('/api/quadros', {
+                params: cursor ? { cursor } : {}
+            });
+            const { itens, proximoCursor } = Array.isArray(response.data)
+                ? { itens: response.data, proximoCursor: null }
+                : response.data;
             
-            // 2. SUCESSO! Salva a lista na "memória"
-            setQuadros(response.data);
+            // 2. SUCESSO! Salva a página na "memória"
+            const lista = cursor ? [...quadros, ...itens] : itens;
+            setQuadros(lista);
+            setProximoCursor(proximoCursor);
 
             // 3. Atualiza a mensagem de feedback
-            if (response.data.length === 0) {
+            if (lista.length === 0) {
                 setMensagem('Você ainda não tem quadros. Crie um!');
             } else {
                 setMensagem('');
@@ -151,6 +165,13 @@ function Dashboard() {
                     ))}
                 </ul>
             )}
+
+            {/* Há mais quadros? Busca a próxima página a partir do cursor. */}
+            {proximoCursor && (
+                <button onClick={() => fetchQuadros(proximoCursor)}>
+                    Carregar mais
+                </button>
+            )}
         </div>
     );
 }
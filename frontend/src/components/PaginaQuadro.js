@@ -1,4 +1,4 @@
-import React, { useState, useEffect } from 'react'; // Hooks essenciais do React
+import React, { useState, useEffect, useCallback, useRef } from 'react'; // Hooks essenciais do React
 // Imports do Roteador
 import { useParams, useNavigate } from 'react-router-dom'; // useParams (ler URL) e useNavigate (redirecionar)
 import apiClient from '../api/axiosConfig'; // O "Mensageiro Inteligente" (já anexa o token)
@@ -13,6 +13,8 @@ import apiClient from '../api/axiosConfig'; // O "Mensageiro Inteligente" (já a
  * 1. Ler o ID do quadro na URL.
  * 2. Chamar a API protegida para buscar o quadro (e suas colunas).
  * 3. Renderizar as colunas.
+ * 4. Ouvir os eventos ao vivo do quadro (/api/quadros/{id}/events) e, quando alguém
+ *    o alterar, pedir SÓ o que mudou desde a nossa revisão (/api/quadros/{id}/changes).
  */
 function PaginaQuadro() {
     // 1. LER O ID DA URL
@@ -26,6 +28,7 @@ function PaginaQuadro() {
     const [quadro, setQuadro] = useState(null); // Armazena os dados do quadro (nome, colunas, etc.)
     const [loading, setLoading] = useState(true); // Indica se a busca na API está em andamento
     const [erro, setErro] = useState(null); // Armazena mensagens de erro (404, 403, etc.)
+    const quadroAtual = useRef(null); // O quadro mais recente (a revisão dele, para a sincronização)
     
     
     /**
@@ -34,36 +37,113 @@ function PaginaQuadro() {
      * ----------------------------------------------------
      * O 'useEffect' roda quando o componente é carregado e sempre que o 'id' muda.
      */
+    const fetchQuadro = useCallback(async () => {
+        try {
+            // 1. CHAMA A API PROTEGIDA (com o ID lido na URL)
+            const response = await apiClient.get(`/api/quadros/${id}`);
+            quadroAtual.current = response.data;
+            setQuadro(response.data);
+            setLoading(false);
+        } catch (error) {
+            console.error("Erro ao buscar o quadro:", error);
+            
+            // 2. TRATAMENTO DE ERROS DE SEGURANÇA E ROTA
+            if (error.response) {
+                if (error.response.status === 404) {
+                    setErro("Quadro não encontrado."); // Não existe na URL
+                } else if (error.response.status === 403) {
+                    setErro("Você não tem permissão para acessar este quadro."); // Existe, mas pertence a outro usuário
+                } else if (error.response.status === 401) {
+                     // Token expirado: limpa o passaporte e redireciona para login
+                    localStorage.removeItem('jwtToken');
+                    navigate('/login');
+                }
+            } else {
+                setErro("Falha de rede ao carregar o quadro."); // Back-end offline
+            }
+            setLoading(false);
+        }
+    }, [id, navigate]); // Dependências: muda se o 'id' da URL mudar ou se a função 'navigate' mudar
+
+    useEffect(() => {
+        fetchQuadro();
+    }, [fetchQuadro]);
+
+    /**
+     * Pede só o que mudou desde a revisão que temos (ou o quadro inteiro, se ainda
+     * não temos nenhum). Se o servidor achar que estamos atrasados demais, a
+     * resposta já vem com o quadro inteiro ('completo').
+     */
+    const sincronizarQuadro = useCallback(async () => {
+        const atual = quadroAtual.current;
+        if (!atual) {
+            return fetchQuadro();
+        }
+        try {
+            const response = await apiClient.get(`/api/quadros/${id}/changes`, { params: { since: atual.versao } });
+            quadroAtual.current = aplicarAlteracoes(quadroAtual.current, response.data);
+            setQuadro(quadroAtual.current);
+        } catch (error) {
+            fetchQuadro(); // Na dúvida, o quadro inteiro (e o tratamento de erros dele).
+        }
+    }, [id, fetchQuadro]);
+
+
+    /**
+     * ----------------------------------------------------
+     * HOOK DE EFEITO (Eventos ao Vivo)
+     * ----------------------------------------------------
+     * Mantém aberta a conexão GET /api/quadros/{id}/events (Server-Sent Events).
+     * Usamos 'fetch' em vez de 'EventSource' porque o 'EventSource' não deixa
+     * enviar o cabeçalho 'Authorization' com o token.
+     * Quando chega um evento "quadro", pedimos só as mudanças desde a nossa revisão
+     * ('sincronizarQuadro'). Se a conexão cair, reconecta.
+     */
     useEffect(() => {
-        const fetchQuadro = async () => {
+        const controle = new AbortController();
+        let reconexao = null;
+
+        const ouvir = async () => {
             try {
-                // 1. CHAMA A API PROTEGIDA (com o ID lido na URL)
-                const response = await apiClient.get(`/api/quadros/${id}`);
-                setQuadro(response.data);
-                setLoading(false);
-            } catch (error) {
-                console.error("Erro ao buscar o quadro:", error);
-                
-                // 2. TRATAMENTO DE ERROS DE SEGURANÇA E ROTA
-                if (error.response) {
-                    if (error.response.status === 404) {
-                        setErro("Quadro não encontrado."); // Não existe na URL
-                    } else if (error.response.status === 403) {
-                        setErro("Você não tem permissão para acessar este quadro."); // Existe, mas pertence a outro usuário
-                    } else if (error.response.status === 401) {
-                         // Token expirado: limpa o passaporte e redireciona para login
-                        localStorage.removeItem('jwtToken');
-                        navigate('/login');
+                const resposta = await fetch(`${apiClient.defaults.baseURL}/api/quadros/${id}/events`, {
+                    headers: { Authorization: `Bearer ${localStorage.getItem('jwtToken')}` },
+                    signal: controle.signal,
+                });
+                if (!resposta.ok) {
+                    return; // 401/403/404: o 'fetchQuadro' já mostra o erro.
+                }
+
+                const leitor = resposta.body.getReader();
+                const decodificador = new TextDecoder();
+                let pendente = '';
+                for (;;) {
+                    const { value, done } = await leitor.read();
+                    if (done) break;
+                    pendente += decodificador.decode(value, { stream: true });
+
+                    // Os eventos SSE são separados por uma linha em branco.
+                    const blocos = pendente.split('\n\n');
+                    pendente = blocos.pop();
+                    if (blocos.some((bloco) => bloco.split('\n').includes('event:quadro'))) {
+                        sincronizarQuadro();
                     }
-                } else {
-                    setErro("Falha de rede ao carregar o quadro."); // Back-end offline
                 }
-                setLoading(false);
+            } catch (error) {
+                if (controle.signal.aborted) return; // Saímos da página.
             }
+            // A conexão caiu (ou o servidor nos derrubou por lentidão): sincroniza e reconecta.
+            reconexao = setTimeout(() => {
+                sincronizarQuadro();
+                ouvir();
+            }, 2000);
         };
 
-        fetchQuadro();
-    }, [id, navigate]); // Dependências: Roda se o 'id' da URL mudar ou se a função 'navigate' mudar
+        ouvir();
+        return () => {
+            controle.abort();
+            clearTimeout(reconexao);
+        };
+    }, [id, sincronizarQuadro]);
 
     // ----------------------------------------------------
     // LÓGICA DE RENDERIZAÇÃO CONDICIONAL
@@ -111,7 +191,16 @@ function PaginaQuadro() {
                     >
                         {/* Exibe o nome que veio do banco: "A Fazer", "Fazendo", "Feito" */}
                         <h4>{coluna.nome}</h4> 
-                        <p style={{fontStyle: 'italic', color: '#666'}}>Nenhuma tarefa.</p>
+                        {/* Os cartões já vêm do Back-End na ordem de exibição (a 'posicao' de cada um) */}
+                        {coluna.cartoes && coluna.cartoes.length > 0 ? (
+                            coluna.cartoes.map((cartao) => (
+                                <div key={cartao.id} style={{ border: '1px solid #ddd', backgroundColor: '#fff', padding: '6px', marginBottom: '6px' }}>
+                                    {cartao.titulo}
+                                </div>
+                            ))
+                        ) : (
+                            <p style={{fontStyle: 'italic', color: '#666'}}>Nenhuma tarefa.</p>
+                        )}
                     </div>
                 ))}
             </div>
@@ -121,4 +210,44 @@ function PaginaQuadro() {
     );
 }
 
+/**
+ * Aplica as mudanças (GET /api/quadros/{id}/changes) sobre o quadro que já temos,
+ * por ID: colunas e cartões alterados entram no lugar dos antigos (o cartão vai para
+ * a coluna dele agora), os removidos saem, e tudo volta à ordem das posições.
+ */
+function aplicarAlteracoes(quadro, alteracoes) {
+    if (alteracoes.completo) {
+        return alteracoes.quadro;
+    }
+    // A mesma ordem do banco: os caracteres da 'posicao' comparados um a um (sem regras de idioma).
+    const porPosicao = (a, b) => {
+        const x = a.posicao || '';
+        const y = b.posicao || '';
+        return x < y ? -1 : x > y ? 1 : a.id - b.id;
+    };
+    const colunasAlteradas = new Map(alteracoes.colunas.map((coluna) => [coluna.id, coluna]));
+    const cartoesAlterados = new Map(alteracoes.cartoes.map((cartao) => [cartao.id, cartao]));
+    const colunasRemovidas = new Set(alteracoes.colunasRemovidas);
+    const cartoesRemovidos = new Set(alteracoes.cartoesRemovidos);
+
+    const colunas = quadro.colunas
+        .filter((coluna) => !colunasRemovidas.has(coluna.id))
+        .map((coluna) => {
+            const alterada = colunasAlteradas.get(coluna.id);
+            colunasAlteradas.delete(coluna.id);
+            const cartoes = coluna.cartoes.filter((cartao) => !cartoesAlterados.has(cartao.id) && !cartoesRemovidos.has(cartao.id));
+            return { ...coluna, ...(alterada || {}), cartoes };
+        });
+    colunasAlteradas.forEach((coluna) => colunas.push({ ...coluna, cartoes: [] })); // Colunas novas
+
+    cartoesAlterados.forEach(({ colunaId, ...cartao }) => {
+        const coluna = colunas.find((c) => c.id === colunaId);
+        if (coluna) coluna.cartoes.push(cartao);
+    });
+    colunas.forEach((coluna) => coluna.cartoes.sort(porPosicao));
+    colunas.sort(porPosicao);
+
+    return { ...quadro, versao: alteracoes.revisao, colunas };
+}
+
 export default PaginaQuadro;
\ No newline at end of file